@@ -0,0 +1,74 @@
+package com.deliverar.pagos.adapters.crypto.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Buffer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Times every JSON-RPC call made by web3j, tagged by method ({@code eth_call}, {@code eth_sendRawTransaction},
+ * ...; {@code batch} for batched requests), and logs the calls slower than the configured threshold.
+ */
+@Slf4j
+public class RpcMetricsInterceptor implements Interceptor {
+
+    private static final Pattern METHOD = Pattern.compile("\"method\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final MeterRegistry meterRegistry;
+    private final Duration slowCallThreshold;
+
+    public RpcMetricsInterceptor(MeterRegistry meterRegistry, Duration slowCallThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowCallThreshold = slowCallThreshold;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String method = rpcMethod(request);
+        String outcome = "error";
+        long start = System.nanoTime();
+        try {
+            Response response = chain.proceed(request);
+            outcome = response.isSuccessful() ? "success" : "http_" + response.code();
+            return response;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer.builder("web3j.rpc.requests")
+                    .description("JSON-RPC calls to the blockchain node")
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(elapsed));
+            if (elapsed > slowCallThreshold.toNanos()) {
+                log.warn("Slow JSON-RPC call {} took {} ms ({})", method, elapsed / 1_000_000, outcome);
+            }
+        }
+    }
+
+    static String rpcMethod(Request request) {
+        if (request.body() == null) {
+            return "unknown";
+        }
+        try (Buffer buffer = new Buffer()) {
+            request.body().writeTo(buffer);
+            String body = buffer.readUtf8();
+            if (body.stripLeading().startsWith("[")) {
+                return "batch";
+            }
+            Matcher matcher = METHOD.matcher(body);
+            return matcher.find() ? matcher.group(1) : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.deliverar.pagos.adapters.crypto.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.http.HttpService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class Web3jConfig {
+
+    /**
+     * HTTP client shared by every web3j call: pooled keep-alive connections, explicit timeouts,
+     * HTTP/2 when the node negotiates it over TLS, and per-method JSON-RPC timers.
+     */
+    @Bean
+    public OkHttpClient web3jHttpClient(MeterRegistry meterRegistry,
+                                        @Value("${web3j.http.connect-timeout:PT5S}") Duration connectTimeout,
+                                        @Value("${web3j.http.read-timeout:PT30S}") Duration readTimeout,
+                                        @Value("${web3j.http.write-timeout:PT30S}") Duration writeTimeout,
+                                        @Value("${web3j.http.max-idle-connections:20}") int maxIdleConnections,
+                                        @Value("${web3j.http.keep-alive:PT5M}") Duration keepAlive,
+                                        @Value("${web3j.http.max-requests-per-host:64}") int maxRequestsPerHost,
+                                        @Value("${web3j.http.slow-call-threshold:PT1S}") Duration slowCallThreshold) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequestsPerHost);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .writeTimeout(writeTimeout)
+                .retryOnConnectionFailure(true)
+                .addInterceptor(new RpcMetricsInterceptor(meterRegistry, slowCallThreshold))
+                .build();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public Web3j web3j(@Value("${web3j.client-address}") String rpcEndpoint, OkHttpClient web3jHttpClient) {
+        return Web3j.build(new HttpService(rpcEndpoint, web3jHttpClient));
+    }
+}
@@ -0,0 +1,126 @@
+package com.deliverar.pagos.adapters.crypto.indexer;
+
+import com.deliverar.pagos.adapters.crypto.service.DeliverCoinBalancesChangedEvent;
+import com.deliverar.pagos.adapters.crypto.service.TransferCompletionService;
+import com.deliverar.pagos.domain.dtos.LedgerPosting;
+import com.deliverar.pagos.domain.entities.*;
+import com.deliverar.pagos.domain.repositories.ChainCheckpointRepository;
+import com.deliverar.pagos.domain.repositories.ChainEventRepository;
+import com.deliverar.pagos.domain.repositories.OwnerRepository;
+import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import com.deliverar.pagos.domain.usecases.ledger.PostToLedger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.deliverar.pagos.adapters.crypto.service.AmountConverter.toDecimal;
+
+/**
+ * Persists DeliverCoin Transfer logs and applies them to wallets and transactions, advancing the
+ * indexer checkpoint in the same database transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChainEventApplier {
+
+    static final String CHECKPOINT = "delivercoin-transfers";
+
+    private final ChainEventRepository chainEventRepository;
+    private final ChainCheckpointRepository chainCheckpointRepository;
+    private final OwnerRepository ownerRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransferCompletionService transferCompletionService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final PostToLedger postToLedger;
+
+    public Optional<Long> lastProcessedBlock() {
+        return chainCheckpointRepository.findById(CHECKPOINT).map(ChainCheckpoint::getLastBlock);
+    }
+
+    /**
+     * Applies the logs of a block range, in chain order, and marks {@code lastBlock} as processed.
+     * Logs that were already stored are skipped, so re-processing a range is harmless.
+     *
+     * @return number of new events applied
+     */
+    @Transactional
+    public int apply(List<Log> logs, long lastBlock) {
+        int applied = 0;
+        Set<String> touched = new HashSet<>();
+        boolean supplyChanged = false;
+        for (Log log : logs) {
+            DeliverCoin.TransferEventResponse event = applyLog(log);
+            if (event != null) {
+                applied++;
+                touched.add(event.fromEmail);
+                touched.add(event.toEmail);
+                supplyChanged |= event.fromEmail.isEmpty() || event.toEmail.isEmpty();
+            }
+        }
+        if (applied > 0) {
+            touched.remove("");
+            applicationEventPublisher.publishEvent(new DeliverCoinBalancesChangedEvent(touched, supplyChanged));
+        }
+        chainCheckpointRepository.save(ChainCheckpoint.builder()
+                .name(CHECKPOINT)
+                .lastBlock(lastBlock)
+                .updatedAt(Instant.now())
+                .build());
+        return applied;
+    }
+
+    private DeliverCoin.TransferEventResponse applyLog(Log log) {
+        int logIndex = log.getLogIndex().intValueExact();
+        if (chainEventRepository.existsByTxHashAndLogIndex(log.getTransactionHash(), logIndex)) {
+            return null;
+        }
+
+        DeliverCoin.TransferEventResponse event = DeliverCoin.getTransferEventFromLog(log);
+        BigDecimal amount = toDecimal(event.value);
+        chainEventRepository.save(ChainEvent.builder()
+                .blockNumber(log.getBlockNumber().longValueExact())
+                .txHash(log.getTransactionHash())
+                .logIndex(logIndex)
+                .fromEmail(event.fromEmail)
+                .toEmail(event.toEmail)
+                .amount(amount)
+                .build());
+
+        // Una liquidación neteada no se vuelve a aplicar: sus transacciones ya movieron los balances al registrarse
+        List<Transaction> linked = transactionRepository.findByBlockchainTxHash(log.getTransactionHash());
+        if (linked.stream().noneMatch(Transaction::isNetted)) {
+            // La cadena es la fuente de verdad del balance crypto; mint ("" -> x) y burn (x -> "") solo tocan un lado
+            adjustCryptoBalance(event.fromEmail, amount.negate());
+            adjustCryptoBalance(event.toEmail, amount);
+        }
+
+        // Si el evento corresponde a una transacción nuestra, queda confirmada
+        for (Transaction tx : linked) {
+            if (tx.getStatus() == TransactionStatus.PENDING) {
+                transferCompletionService.complete(tx.getId(), true);
+            }
+        }
+        return event;
+    }
+
+    private void adjustCryptoBalance(String email, BigDecimal delta) {
+        if (email == null || email.isEmpty() || delta.signum() == 0) {
+            return;
+        }
+        ownerRepository.findByEmail(email).ifPresentOrElse(
+                owner -> postToLedger.post(LedgerPosting.adjust(owner.getWallet().getId(), LedgerAccount.CHAIN,
+                        CurrencyType.CRYPTO, delta, "CHAIN_TRANSFER", null)),
+                () -> log.debug("Transfer event for unknown owner {}, balance not tracked", email));
+    }
+}
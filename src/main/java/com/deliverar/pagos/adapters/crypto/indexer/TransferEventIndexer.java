@@ -0,0 +1,125 @@
+package com.deliverar.pagos.adapters.crypto.indexer;
+
+import com.deliverar.pagos.adapters.crypto.ledger.DeliverCoinLedger;
+import com.deliverar.pagos.infrastructure.concurrency.Workload;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ingests DeliverCoin Transfer events from the last processed block onwards.
+ * <p>
+ * Each tick reads the pending block range from the ledger ({@code eth_getLogs} on a node), split into chunks fetched in
+ * parallel, and applies the chunks strictly in order through {@link ChainEventApplier}, so the
+ * checkpoint never moves past a range that has not been applied.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.indexer.enabled", havingValue = "true")
+public class TransferEventIndexer {
+
+    private final DeliverCoinLedger ledger;
+    private final ChainEventApplier chainEventApplier;
+    private final WorkloadExecutors workloadExecutors;
+    private final AtomicLong lagBlocks = new AtomicLong();
+
+    // Bloque inicial si no hay checkpoint: "latest" arranca desde la cabeza sin backfill
+    @Value("${app.indexer.start-block:latest}")
+    private String startBlock;
+
+    @Value("${app.indexer.chunk-size:2000}")
+    private long chunkSize;
+
+    @Value("${app.indexer.max-blocks-per-tick:50000}")
+    private long maxBlocksPerTick;
+
+    // Solo se indexan bloques con esta profundidad: un reorg más corto no deja balances huérfanos
+    @Value("${app.indexer.confirmations:12}")
+    private long confirmations;
+
+    public TransferEventIndexer(DeliverCoinLedger ledger, ChainEventApplier chainEventApplier,
+                                WorkloadExecutors workloadExecutors, MeterRegistry meterRegistry) {
+        this.ledger = ledger;
+        this.chainEventApplier = chainEventApplier;
+        this.workloadExecutors = workloadExecutors;
+        Gauge.builder("chain.indexer.lag.blocks", lagBlocks, AtomicLong::get)
+                .description("Blocks between the chain head and the last indexed block")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.indexer.poll-interval-ms:5000}")
+    public void poll() {
+        try {
+            index();
+        } catch (Exception e) {
+            log.warn("Transfer event indexing failed: {}", e.getMessage());
+        }
+    }
+
+    private void index() throws IOException {
+        long head = ledger.blockNumber() - confirmations;
+        if (head < 0) {
+            // Cadena más corta que la profundidad exigida: todavía no hay bloques confirmados
+            return;
+        }
+
+        Optional<Long> lastProcessed = chainEventApplier.lastProcessedBlock();
+        long from;
+        if (lastProcessed.isPresent()) {
+            from = lastProcessed.get() + 1;
+        } else if ("latest".equalsIgnoreCase(startBlock)) {
+            chainEventApplier.apply(List.of(), head);
+            log.info("Transfer event indexer initialised at block {}", head);
+            return;
+        } else {
+            from = Long.parseLong(startBlock);
+        }
+
+        if (from > head) {
+            lagBlocks.set(0);
+            return;
+        }
+        long to = Math.min(head, from + maxBlocksPerTick - 1);
+
+        List<Long> chunkEnds = new ArrayList<>();
+        List<CompletableFuture<List<Log>>> chunks = new ArrayList<>();
+        for (long start = from; start <= to; start += chunkSize) {
+            long chunkStart = start;
+            long chunkEnd = Math.min(to, start + chunkSize - 1);
+            chunkEnds.add(chunkEnd);
+            chunks.add(CompletableFuture.supplyAsync(
+                    () -> fetchLogs(chunkStart, chunkEnd), workloadExecutors.executor(Workload.INDEXER)));
+        }
+
+        int applied = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            applied += chainEventApplier.apply(chunks.get(i).join(), chunkEnds.get(i));
+        }
+        lagBlocks.set(head - to);
+        if (applied > 0) {
+            log.info("Indexed {} transfer events from blocks {}-{}", applied, from, to);
+        }
+    }
+
+    private List<Log> fetchLogs(long fromBlock, long toBlock) {
+        try {
+            return ledger.transferLogs(fromBlock, toBlock);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.deliverar.pagos.adapters.crypto.ledger;
+
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Client for the DeliverCoin ledger. The implementation is selected with {@code app.ledger.mode}:
+ * {@code web3j} talks to the deployed contract, {@code simulated} keeps the ledger in memory.
+ * Amounts are raw token units (see {@code AmountConverter}).
+ */
+public interface DeliverCoinLedger {
+
+    /**
+     * Signs and broadcasts a transfer without waiting for it to be mined.
+     *
+     * @return the transaction hash
+     */
+    default String submitTransfer(String fromEmail, String toEmail, BigInteger value) throws Exception {
+        return submitTransfer(fromEmail, toEmail, value, hash -> {
+        });
+    }
+
+    /**
+     * Signs and broadcasts a transfer without waiting for it to be mined. {@code beforeSend} gets the
+     * hash of the signed transaction before it leaves the service, and again if it has to be signed
+     * anew (nonce clash); if it throws, nothing is broadcast.
+     *
+     * @return the transaction hash
+     */
+    String submitTransfer(String fromEmail, String toEmail, BigInteger value, Consumer<String> beforeSend) throws Exception;
+
+    /**
+     * Mints {@code value} to {@code toEmail} and waits until the transaction is mined.
+     */
+    TransactionReceipt mint(BigInteger value, String toEmail) throws Exception;
+
+    /**
+     * Burns {@code value} from {@code fromEmail} and waits until the transaction is mined.
+     */
+    TransactionReceipt burn(BigInteger value, String fromEmail) throws Exception;
+
+    BigInteger balanceOf(String email) throws Exception;
+
+    BigInteger totalSupply() throws Exception;
+
+    /**
+     * Balances of several owners at the latest block in a single round trip. Owners that could not be
+     * read are left out.
+     */
+    default Map<String, BigInteger> balancesOf(Collection<String> emails) throws IOException {
+        return balancesOf(emails, null);
+    }
+
+    /**
+     * Balances of several owners as of {@code blockNumber}, or the latest block if it is {@code null},
+     * in a single round trip. Owners that could not be read are left out.
+     */
+    Map<String, BigInteger> balancesOf(Collection<String> emails, BigInteger blockNumber) throws IOException;
+
+    /**
+     * Receipts of the given transactions, by hash. Transactions not mined yet are left out.
+     */
+    Map<String, TransactionReceipt> receipts(Collection<String> hashes) throws IOException;
+
+    /**
+     * Hashes the ledger knows nothing about: neither pending nor mined (e.g. dropped by the node).
+     */
+    Set<String> unknownTransactions(Collection<String> hashes) throws IOException;
+
+    long blockNumber() throws IOException;
+
+    /**
+     * Transfer event logs between both blocks (inclusive), in chain order.
+     */
+    List<Log> transferLogs(long fromBlock, long toBlock) throws IOException;
+}
@@ -0,0 +1,298 @@
+package com.deliverar.pagos.adapters.crypto.ledger;
+
+import com.deliverar.pagos.domain.entities.DeliverCoin;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static com.deliverar.pagos.adapters.crypto.service.AmountConverter.toInteger;
+
+/**
+ * In-memory {@link DeliverCoinLedger} for load tests and local runs without a node. Transfers wait in
+ * a mempool until the next block is mined every {@code block-time} (or immediately when it is zero);
+ * each mined transfer emits the same Transfer log the contract would. Every call pays the configured
+ * {@code latency}, and a {@code failure-rate} fraction of the mined transactions reverts.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.ledger.mode", havingValue = "simulated")
+public class SimulatedDeliverCoinLedger implements DeliverCoinLedger {
+
+    private static final String TRANSFER_TOPIC = EventEncoder.encode(DeliverCoin.TRANSFER_EVENT);
+    private static final String CONTRACT_ADDRESS = "0x000000000000000000000000000000000000dc01";
+
+    private record PendingTransfer(String hash, String fromEmail, String toEmail, BigInteger value,
+                                   CompletableFuture<TransactionReceipt> mined) {
+    }
+
+    private final Duration latency;
+    private final double failureRate;
+    private final Duration blockTime;
+    private final long retainedBlocks;
+
+    // Estado de la cadena: solo se modifica al minar, bajo el lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, BigInteger> balances = new HashMap<>();
+    private final NavigableMap<Long, List<Log>> logsByBlock = new TreeMap<>();
+    private final NavigableMap<Long, List<String>> hashesByBlock = new TreeMap<>();
+    private BigInteger totalSupply;
+    private volatile long blockNumber;
+
+    private final Queue<PendingTransfer> mempool = new ConcurrentLinkedQueue<>();
+    private final Map<String, PendingTransfer> pending = new ConcurrentHashMap<>();
+    private final Map<String, TransactionReceipt> receipts = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService miner;
+
+    public SimulatedDeliverCoinLedger(@Value("${app.ledger.simulated.latency:PT0.05S}") Duration latency,
+                                      @Value("${app.ledger.simulated.failure-rate:0}") double failureRate,
+                                      @Value("${app.ledger.simulated.block-time:PT1S}") Duration blockTime,
+                                      @Value("${app.ledger.simulated.retained-blocks:100000}") long retainedBlocks,
+                                      @Value("${app.bootstrap.owner.email}") String ownerEmail,
+                                      @Value("${app.ledger.simulated.initial-supply:1000000}") BigDecimal initialSupply) {
+        this.latency = latency;
+        this.failureRate = failureRate;
+        this.blockTime = blockTime;
+        this.retainedBlocks = retainedBlocks;
+        // El owner arranca con todo el supply, como después del deploy + mint inicial
+        this.totalSupply = toInteger(initialSupply);
+        this.balances.put(ownerEmail, totalSupply);
+
+        if (blockTime.isZero() || blockTime.isNegative()) {
+            this.miner = null;
+        } else {
+            this.miner = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("simulated-ledger-miner").daemon().factory());
+            this.miner.scheduleAtFixedRate(this::mineBlock, blockTime.toMillis(), blockTime.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        log.info("Simulated DeliverCoin ledger started (latency {}, block time {}, failure rate {})",
+                latency, blockTime, failureRate);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (miner != null) {
+            miner.shutdownNow();
+        }
+    }
+
+    @Override
+    public String submitTransfer(String fromEmail, String toEmail, BigInteger value, Consumer<String> beforeSend) throws Exception {
+        pause();
+        return enqueue(fromEmail, toEmail, value, beforeSend).hash();
+    }
+
+    @Override
+    public TransactionReceipt mint(BigInteger value, String toEmail) throws Exception {
+        pause();
+        return awaitMined(enqueue("", toEmail, value, hash -> {
+        }));
+    }
+
+    @Override
+    public TransactionReceipt burn(BigInteger value, String fromEmail) throws Exception {
+        pause();
+        return awaitMined(enqueue(fromEmail, "", value, hash -> {
+        }));
+    }
+
+    @Override
+    public BigInteger balanceOf(String email) throws Exception {
+        pause();
+        return locked(() -> balances.getOrDefault(email, BigInteger.ZERO));
+    }
+
+    @Override
+    public BigInteger totalSupply() throws Exception {
+        pause();
+        return locked(() -> totalSupply);
+    }
+
+    // Sin historia de bloques: siempre responde con los balances actuales
+    @Override
+    public Map<String, BigInteger> balancesOf(Collection<String> emails, BigInteger blockNumber) throws IOException {
+        pause();
+        return locked(() -> {
+            Map<String, BigInteger> result = new HashMap<>();
+            emails.forEach(email -> result.put(email, balances.getOrDefault(email, BigInteger.ZERO)));
+            return result;
+        });
+    }
+
+    @Override
+    public Map<String, TransactionReceipt> receipts(Collection<String> hashes) throws IOException {
+        pause();
+        Map<String, TransactionReceipt> result = new HashMap<>();
+        for (String hash : hashes) {
+            TransactionReceipt receipt = receipts.get(hash);
+            if (receipt != null) {
+                result.put(hash, receipt);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<String> unknownTransactions(Collection<String> hashes) throws IOException {
+        pause();
+        Set<String> unknown = new HashSet<>();
+        for (String hash : hashes) {
+            if (!pending.containsKey(hash) && !receipts.containsKey(hash)) {
+                unknown.add(hash);
+            }
+        }
+        return unknown;
+    }
+
+    @Override
+    public long blockNumber() throws IOException {
+        pause();
+        return blockNumber;
+    }
+
+    @Override
+    public List<Log> transferLogs(long fromBlock, long toBlock) throws IOException {
+        pause();
+        return locked(() -> logsByBlock.subMap(fromBlock, true, toBlock, true).values().stream()
+                .flatMap(List::stream)
+                .toList());
+    }
+
+    /**
+     * Mines every transaction waiting in the mempool into a new block.
+     */
+    void mineBlock() {
+        lock.lock();
+        try {
+            long block = blockNumber + 1;
+            List<Log> blockLogs = new ArrayList<>();
+            List<String> blockHashes = new ArrayList<>();
+            PendingTransfer tx;
+            while ((tx = mempool.poll()) != null) {
+                boolean success = ThreadLocalRandom.current().nextDouble() >= failureRate && apply(tx);
+                TransactionReceipt receipt = new TransactionReceipt();
+                receipt.setTransactionHash(tx.hash());
+                receipt.setBlockNumber(Numeric.encodeQuantity(BigInteger.valueOf(block)));
+                receipt.setTo(CONTRACT_ADDRESS);
+                receipt.setStatus(success ? "0x1" : "0x0");
+                if (success) {
+                    Log transferLog = transferLog(tx, block, blockLogs.size());
+                    blockLogs.add(transferLog);
+                    receipt.setLogs(List.of(transferLog));
+                } else {
+                    receipt.setLogs(List.of());
+                }
+                receipts.put(tx.hash(), receipt);
+                pending.remove(tx.hash());
+                blockHashes.add(tx.hash());
+                tx.mined().complete(receipt);
+            }
+            logsByBlock.put(block, blockLogs);
+            hashesByBlock.put(block, blockHashes);
+            prune(block);
+            blockNumber = block;
+        } catch (Exception e) {
+            log.error("Simulated block could not be mined", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PendingTransfer enqueue(String fromEmail, String toEmail, BigInteger value, Consumer<String> beforeSend) {
+        String hash = Numeric.toHexString(Hash.sha3(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8)));
+        beforeSend.accept(hash);
+        PendingTransfer tx = new PendingTransfer(hash, fromEmail, toEmail, value, new CompletableFuture<>());
+        pending.put(hash, tx);
+        mempool.add(tx);
+        if (miner == null) {
+            mineBlock();
+        }
+        return tx;
+    }
+
+    private TransactionReceipt awaitMined(PendingTransfer tx) throws Exception {
+        return tx.mined().get(blockTime.multipliedBy(10).plusSeconds(30).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Mismas reglas que el contrato: mint desde "", burn hacia "", y no se puede gastar más que el balance
+    private boolean apply(PendingTransfer tx) {
+        if (!tx.fromEmail().isEmpty()) {
+            BigInteger fromBalance = balances.getOrDefault(tx.fromEmail(), BigInteger.ZERO);
+            if (fromBalance.compareTo(tx.value()) < 0) {
+                return false;
+            }
+            balances.put(tx.fromEmail(), fromBalance.subtract(tx.value()));
+        } else {
+            totalSupply = totalSupply.add(tx.value());
+        }
+        if (!tx.toEmail().isEmpty()) {
+            balances.merge(tx.toEmail(), tx.value(), BigInteger::add);
+        } else {
+            totalSupply = totalSupply.subtract(tx.value());
+        }
+        return true;
+    }
+
+    private static Log transferLog(PendingTransfer tx, long block, int logIndex) {
+        Log transferLog = new Log();
+        transferLog.setAddress(CONTRACT_ADDRESS);
+        transferLog.setTransactionHash(tx.hash());
+        transferLog.setBlockNumber(Numeric.encodeQuantity(BigInteger.valueOf(block)));
+        transferLog.setLogIndex(Numeric.encodeQuantity(BigInteger.valueOf(logIndex)));
+        transferLog.setTopics(List.of(TRANSFER_TOPIC));
+        transferLog.setData("0x" + FunctionEncoder.encodeConstructor(List.of(
+                new Utf8String(tx.fromEmail()), new Utf8String(tx.toEmail()), new Uint256(tx.value()))));
+        return transferLog;
+    }
+
+    // Los bloques viejos se descartan para acotar la memoria en corridas largas
+    private void prune(long head) {
+        long oldest = head - retainedBlocks;
+        while (!logsByBlock.isEmpty() && logsByBlock.firstKey() <= oldest) {
+            logsByBlock.pollFirstEntry();
+            hashesByBlock.pollFirstEntry().getValue().forEach(receipts::remove);
+        }
+    }
+
+    private <T> T locked(Callable<T> read) throws IOException {
+        lock.lock();
+        try {
+            return read.call();
+        } catch (Exception e) {
+            throw new IOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void pause() throws IOException {
+        if (latency.isZero() || latency.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while simulating RPC latency", e);
+        }
+    }
+}
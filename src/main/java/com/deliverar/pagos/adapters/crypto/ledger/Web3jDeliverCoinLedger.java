@@ -0,0 +1,214 @@
+package com.deliverar.pagos.adapters.crypto.ledger;
+
+import com.deliverar.pagos.adapters.crypto.service.DynamicGasProvider;
+import com.deliverar.pagos.adapters.crypto.service.NonceTrackingTransactionManager;
+import com.deliverar.pagos.domain.entities.DeliverCoin;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.*;
+import org.web3j.tx.TransactionManager;
+import org.web3j.tx.response.NoOpProcessor;
+import org.web3j.tx.response.PollingTransactionReceiptProcessor;
+import org.web3j.tx.response.TransactionReceiptProcessor;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * {@link DeliverCoinLedger} backed by the deployed contract through the generated {@link DeliverCoin}
+ * wrapper. Bulk reads go out as a single JSON-RPC batch; responses are matched by request id or by
+ * hash, never by position.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.ledger.mode", havingValue = "web3j", matchIfMissing = true)
+public class Web3jDeliverCoinLedger implements DeliverCoinLedger {
+
+    private final Web3j web3j;
+    private final DynamicGasProvider gasProvider;
+
+    @Value("${wallet.private.key}")
+    private String privateKey;
+
+    @Value("${contract.address}")
+    private String contractAddress;
+
+    @Value("${web3j.nonce.max-attempts:3}")
+    private int nonceMaxAttempts;
+
+    private NonceTrackingTransactionManager transactionManager;
+    private DeliverCoin deliverCoin;
+    private TransactionReceiptProcessor receiptProcessor;
+
+    @PostConstruct
+    public void init() {
+        Credentials credentials = Credentials.create(privateKey);
+        // Un único gestor de nonces para todas las transacciones firmadas por este servicio.
+        // NoOpProcessor: send() vuelve apenas el nodo acepta la transacción, sin esperar el recibo
+        transactionManager = new NonceTrackingTransactionManager(
+                web3j,
+                credentials,
+                new NoOpProcessor(web3j),
+                nonceMaxAttempts
+        );
+        receiptProcessor = new PollingTransactionReceiptProcessor(web3j,
+                TransactionManager.DEFAULT_POLLING_FREQUENCY,
+                TransactionManager.DEFAULT_POLLING_ATTEMPTS_PER_TX_HASH);
+        deliverCoin = DeliverCoin.load(
+                contractAddress,
+                web3j,
+                transactionManager,
+                gasProvider
+        );
+    }
+
+    @Override
+    public String submitTransfer(String fromEmail, String toEmail, BigInteger value, Consumer<String> beforeSend) throws Exception {
+        return transactionManager.withBeforeSend(beforeSend,
+                () -> deliverCoin.transfer(fromEmail, toEmail, value).send().getTransactionHash());
+    }
+
+    @Override
+    public TransactionReceipt mint(BigInteger value, String toEmail) throws Exception {
+        return receiptProcessor.waitForTransactionReceipt(deliverCoin.mint(value, toEmail).send().getTransactionHash());
+    }
+
+    @Override
+    public TransactionReceipt burn(BigInteger value, String fromEmail) throws Exception {
+        return receiptProcessor.waitForTransactionReceipt(deliverCoin.burn(value, fromEmail).send().getTransactionHash());
+    }
+
+    @Override
+    public BigInteger balanceOf(String email) throws Exception {
+        return deliverCoin.balanceOf(email).send();
+    }
+
+    @Override
+    public BigInteger totalSupply() throws Exception {
+        return deliverCoin.totalSupply().send();
+    }
+
+    @Override
+    public Map<String, BigInteger> balancesOf(Collection<String> emails, BigInteger blockNumber) throws IOException {
+        DefaultBlockParameter block = blockNumber == null
+                ? DefaultBlockParameterName.LATEST
+                : DefaultBlockParameter.valueOf(blockNumber);
+        BatchRequest batch = web3j.newBatch();
+        Map<Long, String> emailByRequestId = new HashMap<>();
+        for (String email : emails) {
+            Request<?, EthCall> call = web3j.ethCall(
+                    Transaction.createEthCallTransaction(null, contractAddress, FunctionEncoder.encode(balanceOfCall(email))),
+                    block);
+            emailByRequestId.put(call.getId(), email);
+            batch.add(call);
+        }
+
+        Map<String, BigInteger> balances = new HashMap<>();
+        for (Response<?> response : batch.send().getResponses()) {
+            String email = emailByRequestId.get(response.getId());
+            if (email == null || response.hasError()) {
+                continue;
+            }
+            List<Type> decoded = FunctionReturnDecoder.decode(
+                    ((EthCall) response).getValue(), balanceOfCall(email).getOutputParameters());
+            if (!decoded.isEmpty()) {
+                balances.put(email, (BigInteger) decoded.get(0).getValue());
+            }
+        }
+        return balances;
+    }
+
+    @Override
+    public Map<String, TransactionReceipt> receipts(Collection<String> hashes) throws IOException {
+        BatchRequest batch = web3j.newBatch();
+        hashes.stream().distinct().forEach(hash -> batch.add(web3j.ethGetTransactionReceipt(hash)));
+
+        // Las respuestas se indexan por hash: no dependemos del orden del batch
+        Map<String, TransactionReceipt> receipts = new HashMap<>();
+        for (Response<?> response : batch.send().getResponses()) {
+            if (response.hasError()) {
+                log.debug("Receipt lookup failed: {}", response.getError().getMessage());
+                continue;
+            }
+            ((EthGetTransactionReceipt) response).getTransactionReceipt()
+                    .ifPresent(receipt -> receipts.put(receipt.getTransactionHash(), receipt));
+        }
+        return receipts;
+    }
+
+    @Override
+    public Set<String> unknownTransactions(Collection<String> hashes) throws IOException {
+        if (hashes.isEmpty()) {
+            return Set.of();
+        }
+        BatchRequest batch = web3j.newBatch();
+        Map<Long, String> hashByRequestId = new HashMap<>();
+        for (String hash : hashes) {
+            Request<?, EthTransaction> request = web3j.ethGetTransactionByHash(hash);
+            hashByRequestId.put(request.getId(), hash);
+            batch.add(request);
+        }
+
+        Set<String> unknown = new HashSet<>();
+        for (Response<?> response : batch.send().getResponses()) {
+            String hash = hashByRequestId.get(response.getId());
+            if (hash != null && !response.hasError() && ((EthTransaction) response).getTransaction().isEmpty()) {
+                unknown.add(hash);
+            }
+        }
+        return unknown;
+    }
+
+    @Override
+    public long blockNumber() throws IOException {
+        return web3j.ethBlockNumber().send().getBlockNumber().longValueExact();
+    }
+
+    @Override
+    public List<Log> transferLogs(long fromBlock, long toBlock) throws IOException {
+        EthFilter filter = new EthFilter(
+                DefaultBlockParameter.valueOf(BigInteger.valueOf(fromBlock)),
+                DefaultBlockParameter.valueOf(BigInteger.valueOf(toBlock)),
+                contractAddress);
+        filter.addSingleTopic(EventEncoder.encode(DeliverCoin.TRANSFER_EVENT));
+        EthLog response = web3j.ethGetLogs(filter).send();
+        if (response.hasError()) {
+            throw new IOException("eth_getLogs " + fromBlock + "-" + toBlock + ": " + response.getError().getMessage());
+        }
+        return response.getLogs().stream()
+                .map(result -> (Log) result.get())
+                .filter(entry -> !entry.isRemoved())
+                .sorted(Comparator.comparing(Log::getBlockNumber).thenComparing(Log::getLogIndex))
+                .toList();
+    }
+
+    private static Function balanceOfCall(String email) {
+        return new Function(DeliverCoin.FUNC_BALANCEOF,
+                List.of(new Utf8String(email)),
+                List.of(new TypeReference<Uint256>() {}));
+    }
+}
@@ -0,0 +1,255 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.adapters.crypto.indexer.ChainEventApplier;
+import com.deliverar.pagos.adapters.crypto.ledger.DeliverCoinLedger;
+import com.deliverar.pagos.domain.dtos.ReconciliationResult;
+import com.deliverar.pagos.domain.exceptions.BadRequestException;
+import com.deliverar.pagos.infrastructure.concurrency.Workload;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.deliverar.pagos.adapters.crypto.service.AmountConverter.toDecimal;
+
+/**
+ * Bulk version of {@link DeliverCoinService#syncBalance(String)}: walks every wallet, reads the
+ * on-chain balances in JSON-RPC batches (several batches in flight on the reconciliation workload)
+ * and writes the corrections back with batched JDBC updates, each one with its ledger entries.
+ * With the indexer enabled, balances are read at the last block it processed, so transfers mined
+ * but not yet indexed are not taken for drift. Wallets with transactions still in flight (pending,
+ * or netted and not yet settled) are skipped: their stored balance already includes movements
+ * the chain does not show yet.
+ */
+@Slf4j
+@Service
+public class BalanceReconciliationService {
+
+    private static final String OWNERS_PAGE_SQL =
+            "SELECT o.email, w.id, w.crypto_balance, " +
+            "       EXISTS (SELECT 1 FROM transactions t " +
+            "               WHERE (t.origin_owner_id = o.id OR t.destination_owner_id = o.id) " +
+            "                 AND (t.status = 'PENDING' OR (t.netted = TRUE AND t.settled_at IS NULL AND t.status = 'SUCCESS'))) " +
+            "FROM owners o JOIN wallets w ON o.wallet_id = w.id " +
+            "WHERE o.email > ? ORDER BY o.email LIMIT ?";
+
+    // Solo se corrige si el balance no cambió mientras se consultaba la cadena
+    private static final String CORRECTION_SQL =
+            "UPDATE wallets SET crypto_balance = ?, updated_at = ? WHERE id = ? AND crypto_balance = ?";
+
+    // Cada corrección aplicada queda en el ledger como un asiento contra ADJUSTMENT
+    private static final String ENTRY_SQL =
+            "INSERT INTO ledger_entries (posting_id, account, wallet_id, currency, amount, concept, created_at) " +
+            "VALUES (?, ?, ?, 'CRYPTO', ?, 'RECONCILIATION', ?)";
+
+    private final DeliverCoinLedger ledger;
+    private final ChainEventApplier chainEventApplier;
+    private final JdbcTemplate jdbcTemplate;
+    private final WorkloadExecutors workloadExecutors;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Timer duration;
+    private final Counter checked;
+    private final Counter drifted;
+    private final Counter failed;
+    private final Counter skipped;
+
+    @Value("${app.indexer.enabled:false}")
+    private boolean indexerEnabled;
+
+    @Value("${app.reconciliation.page-size:1000}")
+    private int pageSize;
+
+    @Value("${app.reconciliation.rpc-batch-size:100}")
+    private int rpcBatchSize;
+
+    public BalanceReconciliationService(DeliverCoinLedger ledger, ChainEventApplier chainEventApplier,
+                                        JdbcTemplate jdbcTemplate, WorkloadExecutors workloadExecutors,
+                                        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.ledger = ledger;
+        this.chainEventApplier = chainEventApplier;
+        this.jdbcTemplate = jdbcTemplate;
+        this.workloadExecutors = workloadExecutors;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.duration = Timer.builder("wallet.reconciliation.duration")
+                .description("Time taken by a full wallet reconciliation")
+                .register(meterRegistry);
+        this.checked = Counter.builder("wallet.reconciliation.checked")
+                .description("Wallets compared against the chain")
+                .register(meterRegistry);
+        this.drifted = Counter.builder("wallet.reconciliation.drift")
+                .description("Wallets whose crypto balance differed from the chain and were corrected")
+                .register(meterRegistry);
+        this.failed = Counter.builder("wallet.reconciliation.failed")
+                .description("Wallets that could not be read from the chain")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("wallet.reconciliation.skipped")
+                .description("Wallets skipped because they had transactions in flight")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.reconciliation.cron:-}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.warn("Scheduled reconciliation skipped: {}", e.getMessage());
+        }
+    }
+
+    public ReconciliationResult reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BadRequestException("Reconciliation already running");
+        }
+        Timer.Sample sample = Timer.start();
+        long start = System.currentTimeMillis();
+        ReconciliationResult result = new ReconciliationResult();
+        try {
+            BigInteger block = readBlock();
+            String lastEmail = "";
+            List<WalletRow> page;
+            do {
+                page = jdbcTemplate.query(OWNERS_PAGE_SQL,
+                        (rs, i) -> new WalletRow(rs.getString(1), rs.getObject(2, UUID.class), rs.getBigDecimal(3),
+                                rs.getBoolean(4)),
+                        lastEmail, pageSize);
+                if (!page.isEmpty()) {
+                    reconcilePage(page, block, result);
+                    lastEmail = page.get(page.size() - 1).email();
+                }
+            } while (page.size() == pageSize);
+        } finally {
+            sample.stop(duration);
+            running.set(false);
+        }
+        result.setDurationMs(System.currentTimeMillis() - start);
+        log.info("Wallet reconciliation finished: {}", result);
+        return result;
+    }
+
+    /**
+     * Block the balances are read at: the indexer checkpoint when the indexer builds the crypto
+     * balances, {@code null} (latest) otherwise.
+     */
+    private BigInteger readBlock() {
+        if (!indexerEnabled) {
+            return null;
+        }
+        return chainEventApplier.lastProcessedBlock()
+                .map(BigInteger::valueOf)
+                .orElseThrow(() -> new BadRequestException("The indexer has not processed any block yet"));
+    }
+
+    private void reconcilePage(List<WalletRow> all, BigInteger block, ReconciliationResult result) {
+        List<WalletRow> page = all.stream().filter(row -> !row.inFlight()).toList();
+        long busy = all.size() - page.size();
+        result.setSkipped(result.getSkipped() + busy);
+        skipped.increment(busy);
+
+        List<CompletableFuture<Map<String, BigDecimal>>> batches = new ArrayList<>();
+        for (int from = 0; from < page.size(); from += rpcBatchSize) {
+            List<WalletRow> batch = page.subList(from, Math.min(page.size(), from + rpcBatchSize));
+            batches.add(CompletableFuture.supplyAsync(() -> fetchBalances(batch, block),
+                    workloadExecutors.executor(Workload.RECONCILIATION)));
+        }
+
+        Map<String, BigDecimal> onChain = new HashMap<>();
+        for (CompletableFuture<Map<String, BigDecimal>> batch : batches) {
+            try {
+                onChain.putAll(batch.join());
+            } catch (Exception e) {
+                log.warn("Balance batch failed: {}", e.getMessage());
+            }
+        }
+
+        List<Correction> corrections = new ArrayList<>();
+        Timestamp now = Timestamp.from(Instant.now());
+        for (WalletRow row : page) {
+            BigDecimal chainBalance = onChain.get(row.email());
+            if (chainBalance == null) {
+                result.setFailed(result.getFailed() + 1);
+                failed.increment();
+                continue;
+            }
+            result.setChecked(result.getChecked() + 1);
+            checked.increment();
+            if (chainBalance.compareTo(row.cryptoBalance().setScale(2, RoundingMode.HALF_UP)) != 0) {
+                corrections.add(new Correction(row.walletId(), row.cryptoBalance(), chainBalance));
+            }
+        }
+
+        if (!corrections.isEmpty()) {
+            int corrected = transactionTemplate.execute(status -> applyCorrections(corrections, now));
+            result.setCorrected(result.getCorrected() + corrected);
+            drifted.increment(corrected);
+        }
+    }
+
+    /**
+     * Writes the corrections and their ledger entries in one transaction.
+     *
+     * @return number of wallets corrected
+     */
+    private int applyCorrections(List<Correction> corrections, Timestamp now) {
+        int[] updated = jdbcTemplate.batchUpdate(CORRECTION_SQL, corrections.stream()
+                .map(c -> new Object[]{c.to(), now, c.walletId(), c.from()})
+                .toList());
+        List<Object[]> entries = new ArrayList<>();
+        int corrected = 0;
+        for (int i = 0; i < updated.length; i++) {
+            // Statement.SUCCESS_NO_INFO (-2) cuenta como actualizado
+            if (updated[i] != 0) {
+                corrected++;
+                Correction correction = corrections.get(i);
+                UUID postingId = UUID.randomUUID();
+                BigDecimal delta = correction.to().subtract(correction.from());
+                entries.add(new Object[]{postingId, "WALLET", correction.walletId(), delta, now});
+                entries.add(new Object[]{postingId, "ADJUSTMENT", null, delta.negate(), now});
+            }
+        }
+        if (!entries.isEmpty()) {
+            jdbcTemplate.batchUpdate(ENTRY_SQL, entries);
+        }
+        return corrected;
+    }
+
+    private Map<String, BigDecimal> fetchBalances(List<WalletRow> rows, BigInteger block) {
+        try {
+            Map<String, BigDecimal> balances = new HashMap<>();
+            ledger.balancesOf(rows.stream().map(WalletRow::email).toList(), block)
+                    .forEach((email, balance) -> balances.put(email, toDecimal(balance)));
+            return balances;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record WalletRow(String email, UUID walletId, BigDecimal cryptoBalance, boolean inFlight) {
+    }
+
+    private record Correction(UUID walletId, BigDecimal from, BigDecimal to) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Bounded, TTL-based cache in front of the DeliverCoin {@code balanceOf} and {@code totalSupply} reads.
+ * Concurrent misses for the same key share a single in-flight RPC call.
+ */
+public class ContractReadCache {
+
+    private static final String SUPPLY_KEY = "";
+
+    @FunctionalInterface
+    public interface ContractRead {
+        BigDecimal read(String email) throws Exception;
+    }
+
+    private final AsyncLoadingCache<String, BigDecimal> balances;
+    private final AsyncLoadingCache<String, BigDecimal> supply;
+
+    public ContractReadCache(ContractRead balanceOf, Callable<BigDecimal> totalSupply, Duration ttl, long maxSize,
+                             Executor executor, MeterRegistry meterRegistry) {
+        this.balances = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(executor)
+                .recordStats()
+                .buildAsync(balanceOf::read);
+        this.supply = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .executor(executor)
+                .recordStats()
+                .buildAsync(key -> totalSupply.call());
+        CaffeineCacheMetrics.monitor(meterRegistry, balances, "delivercoin.balances");
+        CaffeineCacheMetrics.monitor(meterRegistry, supply, "delivercoin.supply");
+    }
+
+    public BigDecimal balanceOf(String email) throws Exception {
+        return await(balances, email);
+    }
+
+    public BigDecimal totalSupply() throws Exception {
+        return await(supply, SUPPLY_KEY);
+    }
+
+    public void invalidateBalances(Collection<String> emails) {
+        balances.synchronous().invalidateAll(emails);
+    }
+
+    public void invalidateSupply() {
+        supply.synchronous().invalidateAll();
+    }
+
+    private static BigDecimal await(AsyncLoadingCache<String, BigDecimal> cache, String key) throws Exception {
+        CompletableFuture<BigDecimal> future = cache.get(key);
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Los fallos no quedan cacheados (Caffeine los descarta de forma asíncrona, acá se quitan ya):
+            // se propaga la excepción original del RPC
+            cache.asMap().remove(key, future);
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import java.util.Set;
+
+/**
+ * Published when on-chain DeliverCoin balances are known to have changed, so cached contract
+ * reads for those owners (and the total supply, for mints and burns) can be dropped.
+ */
+public record DeliverCoinBalancesChangedEvent(Set<String> emails, boolean supplyChanged) {
+}
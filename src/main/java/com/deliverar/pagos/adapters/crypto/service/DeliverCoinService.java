@@ -1,31 +1,38 @@
 package com.deliverar.pagos.adapters.crypto.service;
 
+import com.deliverar.pagos.adapters.crypto.ledger.DeliverCoinLedger;
 import com.deliverar.pagos.domain.dtos.GetCryptoSummaryInfoResponse;
+import com.deliverar.pagos.domain.dtos.LedgerPosting;
 import com.deliverar.pagos.domain.dtos.TransferRequest;
 import com.deliverar.pagos.domain.entities.*;
 import com.deliverar.pagos.domain.exceptions.BadRequestException;
+import com.deliverar.pagos.domain.exceptions.ServiceUnavailableException;
 import com.deliverar.pagos.domain.repositories.OwnerRepository;
 import com.deliverar.pagos.domain.repositories.TransactionRepository;
 import com.deliverar.pagos.domain.repositories.UserRepository;
+import com.deliverar.pagos.domain.usecases.ledger.PostToLedger;
+import com.deliverar.pagos.infrastructure.concurrency.Workload;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.web3j.crypto.Credentials;
-import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
-import org.web3j.protocol.http.HttpService;
-import org.web3j.tx.gas.StaticGasProvider;
+import org.web3j.protocol.exceptions.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
 import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 import static com.deliverar.pagos.adapters.crypto.service.AmountConverter.toDecimal;
 import static com.deliverar.pagos.adapters.crypto.service.AmountConverter.toInteger;
@@ -39,16 +46,26 @@ public class DeliverCoinService {
 
     private static final Logger log = LoggerFactory.getLogger(DeliverCoinService.class);
 
-    @Value("${wallet.private.key}")
-    private String privateKey;
+    // Con el indexador activo, los eventos Transfer de mint/burn actualizan el balance del owner
+    @Value("${app.indexer.enabled:false}")
+    private boolean indexerEnabled;
 
-    @Value("${web3j.client-address}")
-    private String rpcEndpoint;
+    // Modo settlement: los balances se aplican al instante y NetSettlementService liquida on-chain por ventanas
+    @Value("${app.settlement.enabled:false}")
+    private boolean settlementEnabled;
 
-    @Value("${contract.address}")
-    private String contractAddress;
+    @Value("${app.cache.delivercoin.ttl:PT30S}")
+    private Duration cacheTtl;
 
-    private DeliverCoin deliverCoin;
+    @Value("${app.cache.delivercoin.max-size:10000}")
+    private long cacheMaxSize;
+
+    private ContractReadCache readCache;
+    private final DeliverCoinLedger ledger;
+    private final TransferCompletionService transferCompletionService;
+    private final PostToLedger postToLedger;
+    private final WorkloadExecutors workloadExecutors;
+    private final MeterRegistry meterRegistry;
     private final TransactionRepository transactionRepository;
     private final OwnerRepository ownerRepository;
     private final UserRepository userRepository;
@@ -60,13 +77,13 @@ public class DeliverCoinService {
 
     @PostConstruct
     public void init() {
-        Web3j web3j = Web3j.build(new HttpService(rpcEndpoint));
-        Credentials credentials = Credentials.create(privateKey);
-        deliverCoin = DeliverCoin.load(
-                contractAddress,
-                web3j,
-                credentials,
-                new StaticGasProvider(BigInteger.valueOf(2_000_000_000L), BigInteger.valueOf(3_000_000))
+        readCache = new ContractReadCache(
+                email -> toDecimal(ledger.balanceOf(email)),
+                () -> toDecimal(ledger.totalSupply()),
+                cacheTtl,
+                cacheMaxSize,
+                workloadExecutors.executor(Workload.BLOCKCHAIN),
+                meterRegistry
         );
     }
 
@@ -74,14 +91,6 @@ public class DeliverCoinService {
         Owner fromOwner = getOwnerByEmail(request.getFromEmail());
         Owner toOwner = getOwnerByEmail(request.getToEmail());
 
-        BigDecimal fromOwnerBalance = fromOwner.getWallet().getCryptoBalance();
-        if (fromOwnerBalance.compareTo(request.getAmount()) < 0) {
-            throw new BadRequestException("Insufficient crypto balance");
-        }
-
-        fromOwner.getWallet().setCryptoBalance(fromOwnerBalance.subtract(request.getAmount()));
-        toOwner.getWallet().setCryptoBalance(toOwner.getWallet().getCryptoBalance().add(request.getAmount()));
-
         // Create transaction - let JPA handle timestamps automatically
         Transaction tx = Transaction.builder()
                 .id(UUID.randomUUID())
@@ -93,41 +102,13 @@ public class DeliverCoinService {
                 .concept("TRANSFER")
                 .status(TransactionStatus.PENDING)
                 .transactionDate(Instant.now())
+                .netted(settlementEnabled)
                 .build();
 
-        transactionRepository.save(tx);
-
-        CompletableFuture.runAsync(() -> {
-            try {
-                log.info("Starting async blockchain transaction for transfer, transaction ID: {}", tx.getId());
-                TransactionReceipt receipt = deliverCoin
-                        .transfer(request.getFromEmail(), request.getToEmail(), toInteger(request.getAmount()))
-                        .send();
-                log.info("Blockchain transaction successful for transfer, transaction ID: {}, hash: {}", tx.getId(), receipt.getTransactionHash());
-
-                // Reload transaction from database to avoid concurrency issues
-                Transaction updatedTx = transactionRepository.findById(tx.getId()).orElseThrow();
-                updatedTx.setStatus(TransactionStatus.SUCCESS);
-                updatedTx.setBlockchainTxHash(receipt.getTransactionHash());
-                transactionRepository.save(updatedTx);
-                log.info("Transaction status updated to SUCCESS for ID: {}", tx.getId());
-                
-                ownerRepository.save(fromOwner);
-                ownerRepository.save(toOwner);
-
-                // <<< SINCRONIZAR DESPUÉS DE TRANSFERENCIA EXITOSA
-                syncBalance(request.getFromEmail());
-                syncBalance(request.getToEmail());
-
-            } catch (Exception e) {
-                log.error("Error in async blockchain transaction for transfer, transaction ID: {}", tx.getId(), e);
-                // Reload transaction from database to avoid concurrency issues
-                Transaction updatedTx = transactionRepository.findById(tx.getId()).orElseThrow();
-                updatedTx.setStatus(TransactionStatus.FAILURE);
-                transactionRepository.save(updatedTx);
-                log.info("Transaction status updated to FAILURE for ID: {}", tx.getId());
-            }
-        });
+        // Reserva la crypto del origen; los balances se aplican cuando ReceiptTracker confirma el recibo
+        transferCompletionService.open(tx);
+
+        dispatch(tx.getId(), "transfer", request.getFromEmail(), request.getToEmail(), request.getAmount());
 
         return tx.getId();
     }
@@ -137,23 +118,6 @@ public class DeliverCoinService {
         Owner ownerAdmin = getOwnerByEmail(ownerEmail);
         // 1 crypto = 1 fiat
 
-        // Verify balance de fiat del comprador
-        if (buyer.getWallet().getFiatBalance().compareTo(cryptoAmount) < 0) {
-            throw new BadRequestException("Insufficient fiat balance");
-        }
-
-        // Verify balance de crypto del owner
-        if (balanceOf(ownerEmail).compareTo(cryptoAmount) < 0) {
-            throw new BadRequestException("Insufficient crypto balance in owner wallet");
-        }
-
-        // Subtract fiat from buyer wallet's
-        buyer.getWallet().setFiatBalance(buyer.getWallet().getFiatBalance().subtract(cryptoAmount));
-
-        // Transfer crypto from owner to buyer
-        ownerAdmin.getWallet().setCryptoBalance(ownerAdmin.getWallet().getCryptoBalance().subtract(cryptoAmount));
-        buyer.getWallet().setCryptoBalance(buyer.getWallet().getCryptoBalance().add(cryptoAmount));
-
         // Create transaction records - let JPA handle timestamps automatically
         Transaction tx = Transaction.builder()
                 .id(UUID.randomUUID())
@@ -165,46 +129,14 @@ public class DeliverCoinService {
                 .concept(TransactionConcept.BUY_CRYPTO.name())
                 .status(TransactionStatus.PENDING)
                 .transactionDate(Instant.now())
+                .netted(settlementEnabled)
                 .build();
 
-        transactionRepository.save(tx);
-
-        CompletableFuture.runAsync(() -> {
-            try {
-                log.info("Starting async blockchain transaction for buy crypto, transaction ID: {}", tx.getId());
-                TransactionReceipt receipt = deliverCoin.transfer(ownerEmail, email, toInteger(cryptoAmount)).send();
-                log.info("Blockchain transaction successful for buy crypto, transaction ID: {}, hash: {}", tx.getId(), receipt.getTransactionHash());
-                
-                // Reload transaction from database to avoid concurrency issues
-                Transaction updatedTx = transactionRepository.findById(tx.getId()).orElseThrow();
-                updatedTx.setStatus(TransactionStatus.SUCCESS);
-                updatedTx.setBlockchainTxHash(receipt.getTransactionHash());
-                transactionRepository.save(updatedTx);
-                log.info("Transaction status updated to SUCCESS for ID: {}", tx.getId());
-                
-                ownerRepository.save(ownerAdmin);
-                ownerRepository.save(buyer);
-
-                // <<< SINCRONIZAR DESPUÉS DE COMPRA EXITOSA
-                syncBalance(email);
-                syncBalance(ownerEmail);
-
-            } catch (Exception e) {
-                log.error("Error in async blockchain transaction for buy crypto, transaction ID: {}", tx.getId(), e);
-                // Reload transaction from database to avoid concurrency issues
-                Transaction updatedTx = transactionRepository.findById(tx.getId()).orElseThrow();
-                updatedTx.setStatus(TransactionStatus.FAILURE);
-                transactionRepository.save(updatedTx);
-                log.info("Transaction status updated to FAILURE for ID: {}", tx.getId());
-                
-                // Revert changes in case of failure
-                buyer.getWallet().setFiatBalance(buyer.getWallet().getFiatBalance().add(cryptoAmount));
-                buyer.getWallet().setCryptoBalance(buyer.getWallet().getCryptoBalance().subtract(cryptoAmount));
-                ownerAdmin.getWallet().setCryptoBalance(ownerAdmin.getWallet().getCryptoBalance().add(cryptoAmount));
-                ownerRepository.save(ownerAdmin);
-                ownerRepository.save(buyer);
-            }
-        });
+        // El fiat del comprador y la crypto del owner se reservan junto con la transacción; si falla se devuelven
+        transferCompletionService.open(tx);
+
+        dispatch(tx.getId(), "buy crypto", ownerEmail, email, cryptoAmount);
+
         return tx.getId();
     }
 
@@ -212,18 +144,6 @@ public class DeliverCoinService {
         Owner seller = getOwnerByEmail(email);
         Owner ownerAdmin = getOwnerByEmail(ownerEmail);
 
-        // Verify balance de crypto del vendedor
-        if (seller.getWallet().getCryptoBalance().compareTo(cryptoAmount) < 0) {
-            throw new BadRequestException("Insufficient crypto balance");
-        }
-
-        // Transfer crypto from seller to owner
-        seller.getWallet().setCryptoBalance(seller.getWallet().getCryptoBalance().subtract(cryptoAmount));
-        ownerAdmin.getWallet().setCryptoBalance(ownerAdmin.getWallet().getCryptoBalance().add(cryptoAmount));
-
-        // Add fiat to seller's wallet (1:1 conversion rate)
-        seller.getWallet().setFiatBalance(seller.getWallet().getFiatBalance().add(cryptoAmount));
-
         // Create transaction record - let JPA handle timestamps automatically
         Transaction tx = Transaction.builder()
                 .id(UUID.randomUUID())
@@ -235,49 +155,67 @@ public class DeliverCoinService {
                 .concept(TransactionConcept.SELL_CRYPTO.name())
                 .status(TransactionStatus.PENDING)
                 .transactionDate(Instant.now())
+                .netted(settlementEnabled)
                 .build();
 
-        transactionRepository.save(tx);
-
-        CompletableFuture.runAsync(() -> {
-            try {
-                log.info("Starting async blockchain transaction for sell crypto, transaction ID: {}", tx.getId());
-                TransactionReceipt receipt = deliverCoin.transfer(email, ownerEmail, toInteger(cryptoAmount)).send();
-                log.info("Blockchain transaction successful for sell crypto, transaction ID: {}, hash: {}", tx.getId(), receipt.getTransactionHash());
-                
-                // Reload transaction from database to avoid concurrency issues
-                Transaction updatedTx = transactionRepository.findById(tx.getId()).orElseThrow();
-                updatedTx.setStatus(TransactionStatus.SUCCESS);
-                updatedTx.setBlockchainTxHash(receipt.getTransactionHash());
-                transactionRepository.save(updatedTx);
-                log.info("Transaction status updated to SUCCESS for ID: {}", tx.getId());
-                
-                ownerRepository.save(seller);
-                ownerRepository.save(ownerAdmin);
-
-                // Sincronizar después de venta exitosa
-                syncBalance(email);
-                syncBalance(ownerEmail);
-
-            } catch (Exception e) {
-                log.error("Error in async blockchain transaction for sell crypto, transaction ID: {}", tx.getId(), e);
-                // Reload transaction from database to avoid concurrency issues
-                Transaction updatedTx = transactionRepository.findById(tx.getId()).orElseThrow();
-                updatedTx.setStatus(TransactionStatus.FAILURE);
-                transactionRepository.save(updatedTx);
-                log.info("Transaction status updated to FAILURE for ID: {}", tx.getId());
-                
-                // Revert changes in case of failure
-                seller.getWallet().setCryptoBalance(seller.getWallet().getCryptoBalance().add(cryptoAmount));
-                seller.getWallet().setFiatBalance(seller.getWallet().getFiatBalance().subtract(cryptoAmount));
-                ownerAdmin.getWallet().setCryptoBalance(ownerAdmin.getWallet().getCryptoBalance().subtract(cryptoAmount));
-                ownerRepository.save(seller);
-                ownerRepository.save(ownerAdmin);
-            }
-        });
+        // Reserva la crypto del vendedor; el crédito de fiat (1:1) se aplica al confirmarse la transacción
+        transferCompletionService.open(tx);
+
+        dispatch(tx.getId(), "sell crypto", email, ownerEmail, cryptoAmount);
+
         return tx.getId();
     }
 
+    private void dispatch(UUID transactionId, String operation, String fromEmail, String toEmail, BigDecimal amount) {
+        if (settlementEnabled) {
+            // Se completa ya en la base; la transferencia on-chain sale neteada en la próxima ventana
+            transferCompletionService.complete(transactionId, true);
+            return;
+        }
+        // El hash se guarda antes de que la transacción firmada salga hacia el nodo
+        broadcastAsync(transactionId, operation, () -> ledger.submitTransfer(fromEmail, toEmail, toInteger(amount),
+                hash -> transferCompletionService.recordSubmission(transactionId, hash)));
+    }
+
+    /**
+     * Broadcasts a netted settlement transfer without waiting for it to be mined. {@code beforeSend}
+     * gets the hash of the signed transfer before it is broadcast.
+     *
+     * @return the transaction hash
+     */
+    public String broadcastSettlement(String fromEmail, String toEmail, BigDecimal amount,
+                                      Consumer<String> beforeSend) throws Exception {
+        return ledger.submitTransfer(fromEmail, toEmail, toInteger(amount), beforeSend);
+    }
+
+    /**
+     * Signs and broadcasts the call without waiting for it to be mined. The call stores the hash
+     * before broadcasting, so {@link ReceiptTracker} always finds a sent transaction; a rejected
+     * broadcast, or a hash that could not be stored, marks the transaction as FAILURE.
+     *
+     * @throws ServiceUnavailableException if the blockchain executor is saturated (the transaction is marked FAILURE)
+     */
+    private void broadcastAsync(UUID transactionId, String operation, Callable<String> call) {
+        try {
+            workloadExecutors.execute(Workload.BLOCKCHAIN, () -> broadcast(transactionId, operation, call));
+        } catch (ServiceUnavailableException e) {
+            log.warn("Blockchain executor saturated, rejecting {} for transaction ID: {}", operation, transactionId);
+            transferCompletionService.complete(transactionId, false);
+            throw e;
+        }
+    }
+
+    private void broadcast(UUID transactionId, String operation, Callable<String> call) {
+        try {
+            log.info("Broadcasting blockchain transaction for {}, transaction ID: {}", operation, transactionId);
+            String txHash = call.call();
+            log.info("Blockchain transaction broadcast for {}, transaction ID: {}, hash: {}", operation, transactionId, txHash);
+        } catch (Exception e) {
+            log.error("Error broadcasting blockchain transaction for {}, transaction ID: {}", operation, transactionId, e);
+            transferCompletionService.complete(transactionId, false);
+        }
+    }
+
     public Owner getOwnerByEmail(String email) {
         return ownerRepository.findByEmail(email)
                 .orElseThrow(() -> new BadRequestException("Owner not found: " + email));
@@ -302,26 +240,54 @@ public class DeliverCoinService {
     }
 
     public TransactionReceipt mint(BigDecimal amount) throws Exception {
-        Owner ownerAdmin = getOwnerByEmail(ownerEmail);
-        ownerAdmin.getWallet().setCryptoBalance(ownerAdmin.getWallet().getCryptoBalance().add(amount));
-        ownerRepository.save(ownerAdmin);
-        return deliverCoin.mint(toInteger(amount), ownerEmail).send();
+        if (!indexerEnabled) {
+            Owner ownerAdmin = getOwnerByEmail(ownerEmail);
+            postToLedger.post(LedgerPosting.credit(LedgerAccount.ISSUANCE, ownerAdmin.getWallet().getId(),
+                    CurrencyType.CRYPTO, amount, "MINT", null));
+        }
+        TransactionReceipt receipt = checkStatus(ledger.mint(toInteger(amount), ownerEmail));
+        onBalancesChanged(new DeliverCoinBalancesChangedEvent(Set.of(ownerEmail), true));
+        return receipt;
     }
 
     public TransactionReceipt burn(BigDecimal amount) throws Exception {
-        Owner ownerAdmin = getOwnerByEmail(ownerEmail);
-        ownerAdmin.getWallet().setCryptoBalance(ownerAdmin.getWallet().getCryptoBalance().subtract(amount));
-        ownerRepository.save(ownerAdmin);
+        if (!indexerEnabled) {
+            Owner ownerAdmin = getOwnerByEmail(ownerEmail);
+            postToLedger.post(LedgerPosting.debit(ownerAdmin.getWallet().getId(), LedgerAccount.ISSUANCE,
+                    CurrencyType.CRYPTO, amount, "BURN", null));
+        }
+
+        TransactionReceipt receipt = checkStatus(ledger.burn(toInteger(amount), ownerEmail));
+        onBalancesChanged(new DeliverCoinBalancesChangedEvent(Set.of(ownerEmail), true));
+        return receipt;
+    }
 
-        return deliverCoin.burn(toInteger(amount), ownerEmail).send();
+    private TransactionReceipt checkStatus(TransactionReceipt receipt) throws Exception {
+        if (!receipt.isStatusOK()) {
+            throw new TransactionException(
+                    "Transaction " + receipt.getTransactionHash() + " has failed with status: " + receipt.getStatus(),
+                    receipt);
+        }
+        return receipt;
     }
 
     public BigDecimal balanceOf(String email) throws Exception {
-        return toDecimal(deliverCoin.balanceOf(email).send());
+        return readCache.balanceOf(email);
     }
 
     public BigDecimal totalSupply() throws Exception {
-        return toDecimal(deliverCoin.totalSupply().send());
+        return readCache.totalSupply();
+    }
+
+    /**
+     * Drops cached contract reads once our own transfers, mints or burns have been mined.
+     */
+    @EventListener
+    public void onBalancesChanged(DeliverCoinBalancesChangedEvent event) {
+        readCache.invalidateBalances(event.emails());
+        if (event.supplyChanged()) {
+            readCache.invalidateSupply();
+        }
     }
 
     public GetCryptoSummaryInfoResponse getCryptoSummaryInfo() throws Exception {
@@ -334,12 +300,15 @@ public class DeliverCoinService {
 
     public void syncBalance(String email) throws Exception {
         Owner owner = getOwnerByEmail(email);
+        // Sincronización explícita: siempre contra el nodo, no contra la caché
+        readCache.invalidateBalances(Set.of(email));
         BigDecimal blockchainBalance = balanceOf(email);
         BigDecimal databaseBalance = owner.getWallet().getCryptoBalance().setScale(2, RoundingMode.HALF_UP);
 
         if (!blockchainBalance.equals(databaseBalance)) {
-            owner.getWallet().setCryptoBalance(blockchainBalance);
-            ownerRepository.save(owner);
+            // La diferencia entra como un ajuste contra la cadena, no como una reescritura del saldo
+            postToLedger.post(LedgerPosting.adjust(owner.getWallet().getId(), LedgerAccount.ADJUSTMENT,
+                    CurrencyType.CRYPTO, blockchainBalance.subtract(owner.getWallet().getCryptoBalance()), "SYNC", null));
         }
     }
 }
@@ -0,0 +1,199 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.domain.entities.DeliverCoin;
+import com.deliverar.pagos.infrastructure.concurrency.Workload;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthEstimateGas;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+import org.web3j.tx.gas.ContractGasProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Gas provider for the DeliverCoin contract: the gas price follows {@code eth_gasPrice} (cached and
+ * refreshed in the background) and the gas limit of each state-changing function is estimated with
+ * {@code eth_estimateGas} plus a safety margin, sized for a recipient that was never funded. Cache
+ * refreshes run on the {@link Workload#BLOCKCHAIN} executor. Falls back to the previous static values when the
+ * node cannot answer.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DynamicGasProvider implements ContractGasProvider {
+
+    private static final String PRICE_KEY = "gasPrice";
+
+    private final Web3j web3j;
+    private final MeterRegistry meterRegistry;
+    private final WorkloadExecutors workloadExecutors;
+
+    @Value("${wallet.private.key}")
+    private String privateKey;
+
+    @Value("${contract.address}")
+    private String contractAddress;
+
+    @Value("${app.bootstrap.owner.email}")
+    private String ownerEmail;
+
+    @Value("${web3j.gas.price-refresh:PT15S}")
+    private Duration priceRefresh;
+
+    @Value("${web3j.gas.price-multiplier:1.1}")
+    private BigDecimal priceMultiplier;
+
+    @Value("${web3j.gas.min-price:0}")
+    private BigInteger minPrice;
+
+    @Value("${web3j.gas.max-price:200000000000}")
+    private BigInteger maxPrice;
+
+    @Value("${web3j.gas.limit-refresh:PT10M}")
+    private Duration limitRefresh;
+
+    @Value("${web3j.gas.limit-margin:1.3}")
+    private BigDecimal limitMargin;
+
+    // Valores del StaticGasProvider original, usados si el nodo no responde
+    @Value("${web3j.gas.fallback-price:2000000000}")
+    private BigInteger fallbackPrice;
+
+    @Value("${web3j.gas.fallback-limit:3000000}")
+    private BigInteger fallbackLimit;
+
+    private String fromAddress;
+    private LoadingCache<String, BigInteger> gasPrice;
+    private LoadingCache<String, BigInteger> gasLimits;
+    private final AtomicReference<BigInteger> lastPrice = new AtomicReference<>(BigInteger.ZERO);
+    private final Map<String, AtomicReference<BigInteger>> lastLimits = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        fromAddress = Credentials.create(privateKey).getAddress();
+        // Los refrescos en segundo plano son llamadas al nodo: van al executor BLOCKCHAIN, no al commonPool
+        Executor blockchain = workloadExecutors.executor(Workload.BLOCKCHAIN);
+        gasPrice = Caffeine.newBuilder()
+                .executor(blockchain)
+                .refreshAfterWrite(priceRefresh)
+                .build(key -> fetchGasPrice());
+        gasLimits = Caffeine.newBuilder()
+                .executor(blockchain)
+                .refreshAfterWrite(limitRefresh)
+                .build(this::estimateGasLimit);
+
+        Gauge.builder("delivercoin.gas.price", lastPrice, price -> price.get().doubleValue())
+                .description("Gas price (wei) used for the last DeliverCoin transaction")
+                .register(meterRegistry);
+        for (String function : List.of(DeliverCoin.FUNC_TRANSFER, DeliverCoin.FUNC_MINT, DeliverCoin.FUNC_BURN)) {
+            AtomicReference<BigInteger> limit = lastLimits.computeIfAbsent(function, f -> new AtomicReference<>(fallbackLimit));
+            Gauge.builder("delivercoin.gas.limit", limit, l -> l.get().doubleValue())
+                    .description("Gas limit chosen for the DeliverCoin function")
+                    .tag("function", function)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public BigInteger getGasPrice(String contractFunc) {
+        return getGasPrice();
+    }
+
+    @Override
+    public BigInteger getGasPrice() {
+        BigInteger price;
+        try {
+            price = gasPrice.get(PRICE_KEY);
+        } catch (Exception e) {
+            log.warn("Could not fetch gas price, using fallback {}: {}", fallbackPrice, e.getMessage());
+            price = fallbackPrice;
+        }
+        lastPrice.set(price);
+        return price;
+    }
+
+    @Override
+    public BigInteger getGasLimit(String contractFunc) {
+        BigInteger limit;
+        try {
+            limit = gasLimits.get(contractFunc);
+        } catch (Exception e) {
+            log.warn("Could not estimate gas for {}, using fallback {}: {}", contractFunc, fallbackLimit, e.getMessage());
+            limit = fallbackLimit;
+        }
+        lastLimits.computeIfAbsent(contractFunc, f -> new AtomicReference<>()).set(limit);
+        return limit;
+    }
+
+    @Override
+    public BigInteger getGasLimit() {
+        return fallbackLimit;
+    }
+
+    private BigInteger fetchGasPrice() throws IOException {
+        EthGasPrice response = web3j.ethGasPrice().send();
+        if (response.hasError()) {
+            throw new IOException(response.getError().getMessage());
+        }
+        BigInteger price = new BigDecimal(response.getGasPrice()).multiply(priceMultiplier)
+                .setScale(0, RoundingMode.CEILING)
+                .toBigInteger();
+        return price.max(minPrice).min(maxPrice);
+    }
+
+    private BigInteger estimateGasLimit(String contractFunc) throws IOException {
+        Function sample = sampleCall(contractFunc);
+        if (sample == null) {
+            return fallbackLimit;
+        }
+        EthEstimateGas response = web3j.ethEstimateGas(Transaction.createFunctionCallTransaction(
+                fromAddress, null, null, null, contractAddress, FunctionEncoder.encode(sample))).send();
+        if (response.hasError()) {
+            throw new IOException(response.getError().getMessage());
+        }
+        return new BigDecimal(response.getAmountUsed()).multiply(limitMargin)
+                .setScale(0, RoundingMode.CEILING)
+                .toBigInteger()
+                .min(fallbackLimit);
+    }
+
+    // Llamadas representativas del peor caso: el destinatario es una cuenta nunca fondeada, así la
+    // estimación incluye la escritura de un slot de cero a distinto de cero (~20k gas más que un
+    // destinatario con saldo). El límite vale para cualquier destinatario real.
+    private Function sampleCall(String contractFunc) {
+        Uint256 one = new Uint256(BigInteger.ONE);
+        Utf8String owner = new Utf8String(ownerEmail);
+        Utf8String freshRecipient = new Utf8String("gas-estimate-" + UUID.randomUUID() + "@deliverar.invalid");
+        return switch (contractFunc) {
+            case DeliverCoin.FUNC_TRANSFER -> new Function(contractFunc, List.of(owner, freshRecipient, one), List.of());
+            case DeliverCoin.FUNC_MINT -> new Function(contractFunc, List.of(one, freshRecipient), List.of());
+            case DeliverCoin.FUNC_BURN -> new Function(contractFunc, List.of(one, owner), List.of());
+            default -> null;
+        };
+    }
+}
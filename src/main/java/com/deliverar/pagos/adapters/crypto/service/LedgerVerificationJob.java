@@ -0,0 +1,72 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.domain.entities.CurrencyType;
+import com.deliverar.pagos.domain.repositories.LedgerEntryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks the double-entry invariants of the ledger: every currency sums to zero, and every wallet
+ * balance equals the sum of its entries. Results are exported as gauges so a broken invariant can
+ * be alerted on.
+ */
+@Slf4j
+@Component
+public class LedgerVerificationJob {
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final Map<CurrencyType, BigDecimal> imbalance = new EnumMap<>(CurrencyType.class);
+    private final AtomicInteger driftedWallets = new AtomicInteger();
+
+    @Value("${app.ledger.verification.max-reported-wallets:100}")
+    private int maxReportedWallets;
+
+    public LedgerVerificationJob(LedgerEntryRepository ledgerEntryRepository, MeterRegistry meterRegistry) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        for (CurrencyType currency : CurrencyType.values()) {
+            imbalance.put(currency, BigDecimal.ZERO);
+            Gauge.builder("ledger.imbalance", imbalance, m -> m.get(currency).doubleValue())
+                    .description("Sum of all ledger entries of the currency, zero when the ledger is balanced")
+                    .tag("currency", currency.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("ledger.wallets.drifted", driftedWallets, AtomicInteger::get)
+                .description("Wallets whose balance differs from the sum of their ledger entries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true if both invariants hold
+     */
+    @Scheduled(fixedDelayString = "${app.ledger.verification.interval-ms:300000}")
+    public boolean verify() {
+        boolean balanced = true;
+        for (LedgerEntryRepository.CurrencyTotal total : ledgerEntryRepository.totalsByCurrency()) {
+            imbalance.put(total.getCurrency(), total.getTotal());
+            if (total.getTotal().signum() != 0) {
+                balanced = false;
+                log.error("Ledger does not balance for {}: entries sum to {}", total.getCurrency(), total.getTotal());
+            }
+        }
+
+        List<UUID> drifted = ledgerEntryRepository.findDriftedWallets(PageRequest.of(0, maxReportedWallets));
+        driftedWallets.set(drifted.size());
+        if (!drifted.isEmpty()) {
+            log.error("{} wallets differ from their ledger entries (showing at most {}): {}",
+                    drifted.size(), maxReportedWallets, drifted);
+        }
+        return balanced && drifted.isEmpty();
+    }
+}
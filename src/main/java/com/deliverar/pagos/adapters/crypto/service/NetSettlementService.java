@@ -0,0 +1,170 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.adapters.crypto.ledger.DeliverCoinLedger;
+import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.repositories.OwnerTransactionHistoryRepository;
+import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Settlement mode: netted transactions are applied to the wallets as soon as they are created and
+ * moved on chain here, once per window, as a single transfer per (from, to) pair. Every original
+ * transaction is linked to the hash of the settlement transfer that covers it. A settlement that
+ * reverts is netted again in the next window, up to {@code app.settlement.max-attempts} times per
+ * transaction; past that the transaction is left out and reported by the
+ * {@code settlement.abandoned.transactions} gauge.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.settlement.enabled", havingValue = "true")
+public class NetSettlementService {
+
+    private final DeliverCoinLedger ledger;
+    private final TransactionRepository transactionRepository;
+    private final OwnerTransactionHistoryRepository historyRepository;
+    private final DeliverCoinService deliverCoinService;
+    private final AtomicLong abandoned = new AtomicLong();
+
+    @Value("${app.settlement.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.settlement.max-attempts:5}")
+    private int maxAttempts;
+
+    public NetSettlementService(DeliverCoinLedger ledger, TransactionRepository transactionRepository,
+                                OwnerTransactionHistoryRepository historyRepository,
+                                DeliverCoinService deliverCoinService, MeterRegistry meterRegistry) {
+        this.ledger = ledger;
+        this.transactionRepository = transactionRepository;
+        this.historyRepository = historyRepository;
+        this.deliverCoinService = deliverCoinService;
+        Gauge.builder("settlement.abandoned.transactions", abandoned, AtomicLong::get)
+                .description("Netted transactions no longer settled after reverting on chain max-attempts times")
+                .register(meterRegistry);
+    }
+
+    record NetTransfer(String fromEmail, String toEmail, BigDecimal amount, List<UUID> transactionIds) {
+    }
+
+    @Scheduled(fixedDelayString = "${app.settlement.window-ms:10000}")
+    public void settle() {
+        confirmBroadcastSettlements();
+        reportAbandoned();
+
+        List<Transaction> unsettled = transactionRepository.findUnsettled(maxAttempts, PageRequest.of(0, batchSize));
+        if (unsettled.isEmpty()) {
+            return;
+        }
+
+        List<NetTransfer> transfers = net(unsettled);
+        log.info("Settling {} netted transactions with {} on-chain transfers", unsettled.size(),
+                transfers.stream().filter(t -> t.amount().signum() > 0).count());
+        for (NetTransfer transfer : transfers) {
+            if (transfer.amount().signum() == 0) {
+                transactionRepository.markSettledWithoutTransfer(transfer.transactionIds(), Instant.now());
+                continue;
+            }
+            // El vínculo se guarda antes de que la transferencia firmada salga: el indexador nunca ve
+            // un hash de settlement sin sus transacciones y no vuelve a aplicar su delta
+            AtomicReference<String> linked = new AtomicReference<>();
+            try {
+                deliverCoinService.broadcastSettlement(transfer.fromEmail(), transfer.toEmail(), transfer.amount(), hash -> {
+                    String previous = linked.getAndSet(hash);
+                    if (previous != null) {
+                        // Refirmada tras un choque de nonce: la firma anterior no se envió
+                        requeue(previous);
+                    }
+                    transactionRepository.linkSettlement(transfer.transactionIds(), hash, Instant.now());
+                    historyRepository.linkHash(transfer.transactionIds(), hash);
+                });
+            } catch (Exception e) {
+                // Si quedó vinculada, confirmBroadcastSettlements la reencola cuando el nodo no la conozca
+                log.warn("Settlement transfer {} -> {} of {} failed (hash {}): {}", transfer.fromEmail(),
+                        transfer.toEmail(), transfer.amount(), linked.get(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Nets transactions per unordered pair of owners. Pairs whose flows cancel out are returned with a
+     * zero amount so they can be settled without touching the chain.
+     */
+    static List<NetTransfer> net(List<Transaction> transactions) {
+        Map<List<String>, BigDecimal> balances = new LinkedHashMap<>();
+        Map<List<String>, List<UUID>> ids = new HashMap<>();
+        for (Transaction tx : transactions) {
+            String from = tx.getOriginOwner().getEmail();
+            String to = tx.getDestinationOwner().getEmail();
+            // Clave ordenada: un saldo positivo va de la primera cuenta a la segunda
+            boolean forward = from.compareTo(to) < 0;
+            List<String> pair = forward ? List.of(from, to) : List.of(to, from);
+            balances.merge(pair, forward ? tx.getAmount() : tx.getAmount().negate(), BigDecimal::add);
+            ids.computeIfAbsent(pair, k -> new ArrayList<>()).add(tx.getId());
+        }
+
+        List<NetTransfer> transfers = new ArrayList<>();
+        balances.forEach((pair, balance) -> transfers.add(balance.signum() >= 0
+                ? new NetTransfer(pair.get(0), pair.get(1), balance, ids.get(pair))
+                : new NetTransfer(pair.get(1), pair.get(0), balance.negate(), ids.get(pair))));
+        return transfers;
+    }
+
+    private void reportAbandoned() {
+        long count = transactionRepository.countAbandonedSettlements(maxAttempts);
+        if (count > abandoned.getAndSet(count)) {
+            log.error("{} netted transactions reverted {} times on chain and are no longer settled; " +
+                      "reset their settlement_attempts once the cause is fixed", count, maxAttempts);
+        }
+    }
+
+    private void requeue(String hash) {
+        historyRepository.unlinkHash(hash);
+        transactionRepository.requeueSettlement(hash, Instant.now());
+    }
+
+    private void confirmBroadcastSettlements() {
+        List<String> hashes = transactionRepository.findBroadcastSettlementHashes();
+        if (hashes.isEmpty()) {
+            return;
+        }
+
+        try {
+            Map<String, TransactionReceipt> receipts = ledger.receipts(hashes);
+            List<String> missing = new ArrayList<>();
+            for (String hash : hashes) {
+                TransactionReceipt receipt = receipts.get(hash);
+                if (receipt == null) {
+                    missing.add(hash);
+                } else if (receipt.isStatusOK()) {
+                    transactionRepository.markSettled(hash, Instant.now());
+                } else {
+                    log.warn("Settlement {} reverted on chain, requeueing its transactions", hash);
+                    transactionRepository.recordSettlementRevert(hash, Instant.now());
+                    requeue(hash);
+                }
+            }
+            // Sin recibo y desconocida para el nodo: la transferencia se descartó y hay que reenviarla
+            for (String hash : ledger.unknownTransactions(missing)) {
+                log.warn("Settlement {} was dropped by the node, requeueing its transactions", hash);
+                requeue(hash);
+            }
+        } catch (IOException e) {
+            log.warn("Could not check {} broadcast settlements: {}", hashes.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.tx.FastRawTransactionManager;
+import org.web3j.tx.response.TransactionReceiptProcessor;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * Transaction manager that hands out nonces from an in-memory counter instead of asking the node
+ * for {@code eth_getTransactionCount} on every submission, so several transactions can be signed
+ * and broadcast back-to-back.
+ * <p>
+ * The counter is seeded lazily from the node's pending count. Whenever the node rejects a
+ * submission the counter is resynced, and submissions rejected because of a nonce clash
+ * ("nonce too low", "replacement transaction underpriced") are retried with a fresh nonce.
+ * "already known" means the node already holds this very signed transaction (e.g. a request
+ * re-posted by the HTTP client), so it counts as accepted: re-signing it would send it twice.
+ */
+@Slf4j
+public class NonceTrackingTransactionManager extends FastRawTransactionManager {
+
+    private static final BigInteger UNSEEDED = BigInteger.ONE.negate();
+    private static final String[] NONCE_ERRORS = {
+            "nonce too low",
+            "replacement transaction underpriced",
+            // Besu: el mismo caso que "nonce too low"
+            "nonce has already been used"
+    };
+    private static final String[] ALREADY_KNOWN_ERRORS = {
+            "already known",
+            "known transaction"
+    };
+
+    private final int maxAttempts;
+    private final ThreadLocal<Consumer<String>> beforeSend = new ThreadLocal<>();
+
+    public NonceTrackingTransactionManager(Web3j web3j, Credentials credentials,
+                                           TransactionReceiptProcessor receiptProcessor, int maxAttempts) {
+        super(web3j, credentials, receiptProcessor);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    @Override
+    public EthSendTransaction sendTransaction(BigInteger gasPrice, BigInteger gasLimit, String to,
+                                              String data, BigInteger value, boolean constructor) throws IOException {
+        return sendWithResync(() -> super.sendTransaction(gasPrice, gasLimit, to, data, value, constructor));
+    }
+
+    @Override
+    public EthSendTransaction sendEIP1559Transaction(long chainId, BigInteger maxPriorityFeePerGas, BigInteger maxFeePerGas,
+                                                     BigInteger gasLimit, String to, String data, BigInteger value,
+                                                     boolean constructor) throws IOException {
+        return sendWithResync(() -> super.sendEIP1559Transaction(
+                chainId, maxPriorityFeePerGas, maxFeePerGas, gasLimit, to, data, value, constructor));
+    }
+
+    /**
+     * Runs {@code call}, handing {@code hook} the hash of every transaction it signs before that
+     * transaction is broadcast. An exception from the hook aborts the submission.
+     */
+    public <T> T withBeforeSend(Consumer<String> hook, Callable<T> call) throws Exception {
+        beforeSend.set(hook);
+        try {
+            return call.call();
+        } finally {
+            beforeSend.remove();
+        }
+    }
+
+    /**
+     * Treats a submission the node already has in its mempool as accepted, returning the hash of
+     * the signed transaction.
+     */
+    @Override
+    public EthSendTransaction signAndSend(RawTransaction rawTransaction) throws IOException {
+        Consumer<String> hook = beforeSend.get();
+        if (hook != null) {
+            try {
+                hook.accept(Hash.sha3(sign(rawTransaction)));
+            } catch (RuntimeException e) {
+                // El nonce ya se asignó pero la transacción no sale: no puede quedar un hueco en el contador
+                resync();
+                throw e;
+            }
+        }
+        EthSendTransaction response = super.signAndSend(rawTransaction);
+        if (response == null || !response.hasError() || !isAlreadyKnown(response.getError().getMessage())) {
+            return response;
+        }
+        // La firma es determinística (RFC 6979): volver a firmar da la misma transacción y el mismo hash
+        String hash = Hash.sha3(sign(rawTransaction));
+        log.info("Node already knows transaction {} (nonce {}), treating it as accepted", hash, rawTransaction.getNonce());
+        EthSendTransaction accepted = new EthSendTransaction();
+        accepted.setId(response.getId());
+        accepted.setJsonrpc(response.getJsonrpc());
+        accepted.setResult(hash);
+        return accepted;
+    }
+
+    /**
+     * Forces the next allocation to read the pending transaction count from the node again.
+     */
+    public void resync() {
+        setNonce(UNSEEDED);
+    }
+
+    private EthSendTransaction sendWithResync(Submission submission) throws IOException {
+        EthSendTransaction response = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                response = submission.send();
+            } catch (IOException e) {
+                // We cannot tell whether the node accepted the transaction, so trust its count again
+                resync();
+                throw e;
+            }
+
+            if (!response.hasError()) {
+                return response;
+            }
+
+            // A rejected transaction leaves a gap in our counter: resync before anything else is signed
+            resync();
+            String message = response.getError().getMessage();
+            if (!isNonceError(message)) {
+                return response;
+            }
+            log.warn("Nonce clash on attempt {}/{} ({}), resyncing with node", attempt, maxAttempts, message);
+        }
+        return response;
+    }
+
+    static boolean isNonceError(String message) {
+        return matches(message, NONCE_ERRORS);
+    }
+
+    static boolean isAlreadyKnown(String message) {
+        return matches(message, ALREADY_KNOWN_ERRORS);
+    }
+
+    private static boolean matches(String message, String[] errors) {
+        if (message == null) {
+            return false;
+        }
+        String normalized = message.toLowerCase(Locale.ROOT);
+        for (String error : errors) {
+            if (normalized.contains(error)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface Submission {
+        EthSendTransaction send() throws IOException;
+    }
+}
@@ -0,0 +1,72 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Fills the owner history for transactions that have no rows in it, in batches. New transactions
+ * are written with their rows by {@link OwnerHistoryWriter}; this covers the ones created before the
+ * read model existed. Pending transactions are left for a later run, once their status is final.
+ * <p>
+ * Only transactions made before the application started are scanned, and once none of them is left
+ * without history the job stops querying.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.history.backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class OwnerHistoryBackfillJob {
+
+    private final TransactionRepository transactionRepository;
+    private final OwnerHistoryWriter ownerHistoryWriter;
+
+    // Las transacciones posteriores al arranque ya se escriben con su historial
+    private final Instant cutoff = Instant.now();
+    private volatile boolean completed;
+
+    @Value("${app.history.backfill.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.history.backfill.interval-ms:60000}")
+    public void backfill() {
+        if (completed) {
+            return;
+        }
+        int total = 0;
+        List<Transaction> batch;
+        do {
+            batch = transactionRepository.findWithoutHistory(cutoff, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                ownerHistoryWriter.backfill(batch);
+            } catch (DataIntegrityViolationException e) {
+                // Otra instancia completó el mismo lote: se reintenta en la próxima ejecución
+                log.warn("Owner history backfill collided with a concurrent run: {}", e.getMessage());
+                break;
+            }
+            total += batch.size();
+        } while (batch.size() == batchSize);
+
+        if (total > 0) {
+            log.info("Backfilled owner history for {} transactions", total);
+        }
+        // Sin pendientes por cerrar ni lotes sin historial: el backfill terminó
+        if (!transactionRepository.existsWithoutHistory(cutoff)) {
+            completed = true;
+            log.info("Owner history backfill complete");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.domain.entities.OwnerTransactionHistory;
+import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.repositories.OwnerTransactionHistoryRepository;
+import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Writes transactions together with their {@link OwnerTransactionHistory} rows, in the same database
+ * transaction, so the history never misses a committed transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class OwnerHistoryWriter {
+
+    private final TransactionRepository transactionRepository;
+    private final OwnerTransactionHistoryRepository historyRepository;
+
+    @Transactional
+    public Transaction create(Transaction tx) {
+        Transaction saved = transactionRepository.save(tx);
+        historyRepository.saveAll(OwnerTransactionHistory.rowsOf(saved));
+        return saved;
+    }
+
+    /**
+     * Adds the history rows of transactions written before the read model existed.
+     */
+    @Transactional
+    public void backfill(List<Transaction> transactions) {
+        historyRepository.saveAll(transactions.stream()
+                .flatMap(tx -> OwnerTransactionHistory.rowsOf(tx).stream())
+                .toList());
+    }
+}
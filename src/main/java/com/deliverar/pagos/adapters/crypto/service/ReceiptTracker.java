@@ -0,0 +1,121 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.adapters.crypto.ledger.DeliverCoinLedger;
+import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.entities.TransactionStatus;
+import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Polls the node for the receipts of every broadcast-but-pending transaction in a single
+ * JSON-RPC batch per tick, and completes the ones that have been mined. A transaction without a
+ * receipt after the timeout only fails once the node no longer knows it, since one still in the
+ * mempool can be mined later; PENDING transactions that were never broadcast fail after the timeout.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "web3j.receipts.enabled", havingValue = "true", matchIfMissing = true)
+public class ReceiptTracker {
+
+    private final DeliverCoinLedger ledger;
+    private final TransactionRepository transactionRepository;
+    private final TransferCompletionService transferCompletionService;
+
+    @Value("${web3j.receipts.batch-size:200}")
+    private int batchSize;
+
+    // Mismo límite que tenía el polling bloqueante de web3j (40 intentos x 15s)
+    @Value("${web3j.receipts.timeout:PT10M}")
+    private Duration timeout;
+
+    @Scheduled(fixedDelayString = "${web3j.receipts.poll-interval-ms:2000}")
+    public void poll() {
+        failUnsubmitted();
+        List<Transaction> pending = transactionRepository.findSubmittedByStatus(
+                TransactionStatus.PENDING, PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, TransactionReceipt> receipts;
+        try {
+            receipts = ledger.receipts(pending.stream().map(Transaction::getBlockchainTxHash).toList());
+        } catch (IOException e) {
+            log.warn("Could not fetch receipts for {} pending transactions: {}", pending.size(), e.getMessage());
+            return;
+        }
+
+        Instant deadline = Instant.now().minus(timeout);
+        List<Transaction> overdue = new ArrayList<>();
+        for (Transaction tx : pending) {
+            TransactionReceipt receipt = receipts.get(tx.getBlockchainTxHash());
+            if (receipt != null) {
+                if (!receipt.isStatusOK()) {
+                    log.warn("Transaction {} reverted on chain, hash: {}", tx.getId(), tx.getBlockchainTxHash());
+                }
+                complete(tx, receipt.isStatusOK());
+            } else if (tx.getTransactionDate().isBefore(deadline)) {
+                overdue.add(tx);
+            }
+        }
+        failDropped(overdue);
+    }
+
+    private void failDropped(List<Transaction> overdue) {
+        if (overdue.isEmpty()) {
+            return;
+        }
+        Set<String> unknown;
+        try {
+            unknown = ledger.unknownTransactions(overdue.stream().map(Transaction::getBlockchainTxHash).toList());
+        } catch (IOException e) {
+            log.warn("Could not check {} overdue transactions: {}", overdue.size(), e.getMessage());
+            return;
+        }
+        for (Transaction tx : overdue) {
+            if (unknown.contains(tx.getBlockchainTxHash())) {
+                log.warn("Transaction {} was dropped by the node after {}, marking as failed, hash: {}",
+                        tx.getId(), timeout, tx.getBlockchainTxHash());
+                complete(tx, false);
+            } else {
+                // Sigue en el mempool: se puede minar más tarde, devolver los fondos ahora los duplicaría
+                log.debug("Transaction {} still pending on the node after {}, hash: {}",
+                        tx.getId(), timeout, tx.getBlockchainTxHash());
+            }
+        }
+    }
+
+    private void failUnsubmitted() {
+        List<Transaction> unsubmitted = transactionRepository.findUnsubmittedBefore(
+                Instant.now().minus(timeout), PageRequest.of(0, batchSize));
+        for (Transaction tx : unsubmitted) {
+            // El hash se guarda antes de enviar: sin hash la transferencia nunca salió hacia el nodo
+            log.warn("Transaction {} was never broadcast after {}, marking as failed", tx.getId(), timeout);
+            complete(tx, false);
+        }
+    }
+
+    private void complete(Transaction tx, boolean success) {
+        try {
+            transferCompletionService.complete(tx.getId(), success);
+        } catch (Exception e) {
+            log.error("Error completing transaction {}", tx.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.domain.entities.TransactionStatus;
+
+import java.util.UUID;
+
+/**
+ * Published when a DeliverCoin transaction leaves PENDING; listeners run once the new status is committed.
+ */
+public record TransactionCompletedEvent(UUID transactionId, TransactionStatus status) {
+}
@@ -0,0 +1,102 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.entities.TransactionStatus;
+import com.deliverar.pagos.domain.exceptions.InternalServerException;
+import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process registry of callers waiting for a DeliverCoin transaction to reach its final status.
+ * Futures are completed right after {@link TransferCompletionService} commits the new status; a
+ * periodic database re-check covers completions this instance did not see (another instance, or
+ * before the caller registered) and fails the waiters that exceed the timeout.
+ */
+@Slf4j
+@Component
+public class TransactionCompletionRegistry {
+
+    private record Waiter(CompletableFuture<TransactionStatus> future, Instant deadline) {
+    }
+
+    private final TransactionRepository transactionRepository;
+    private final Map<UUID, Waiter> waiters = new ConcurrentHashMap<>();
+
+    @Value("${app.completion.timeout:PT60S}")
+    private Duration timeout;
+
+    public TransactionCompletionRegistry(TransactionRepository transactionRepository, MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        Gauge.builder("transactions.completion.waiters", waiters, Map::size)
+                .description("Callers waiting for a DeliverCoin transaction to reach its final status")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return a future completed with SUCCESS or FAILURE, or failed with {@link InternalServerException} on timeout
+     */
+    public CompletableFuture<TransactionStatus> await(UUID transactionId) {
+        Waiter waiter = waiters.computeIfAbsent(transactionId,
+                id -> new Waiter(new CompletableFuture<>(), Instant.now().plus(timeout)));
+        // Pudo haber terminado antes de registrarse (p. ej. en modo settlement se completa al crearse)
+        transactionRepository.findById(transactionId)
+                .filter(tx -> isFinal(tx.getStatus()))
+                .ifPresent(tx -> complete(transactionId, tx.getStatus()));
+        return waiter.future();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionCompleted(TransactionCompletedEvent event) {
+        complete(event.transactionId(), event.status());
+    }
+
+    @Scheduled(fixedDelayString = "${app.completion.recheck-interval-ms:5000}")
+    public void recheck() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        waiters.forEach((id, waiter) -> {
+            if (waiter.deadline().isBefore(now) && waiters.remove(id, waiter)) {
+                waiter.future().completeExceptionally(new InternalServerException(
+                        "Timeout waiting for transaction " + id + " to reach final status"));
+            }
+        });
+
+        try {
+            for (Transaction tx : transactionRepository.findAllById(List.copyOf(waiters.keySet()))) {
+                if (isFinal(tx.getStatus())) {
+                    complete(tx.getId(), tx.getStatus());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not re-check {} awaited transactions: {}", waiters.size(), e.getMessage());
+        }
+    }
+
+    private void complete(UUID transactionId, TransactionStatus status) {
+        Waiter waiter = waiters.remove(transactionId);
+        if (waiter != null) {
+            log.debug("Transaction {} reached final status {}", transactionId, status);
+            waiter.future().complete(status);
+        }
+    }
+
+    private static boolean isFinal(TransactionStatus status) {
+        return status == TransactionStatus.SUCCESS || status == TransactionStatus.FAILURE;
+    }
+}
@@ -0,0 +1,157 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.domain.dtos.LedgerPosting;
+import com.deliverar.pagos.domain.entities.CurrencyType;
+import com.deliverar.pagos.domain.entities.LedgerAccount;
+import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.entities.TransactionConcept;
+import com.deliverar.pagos.domain.entities.TransactionStatus;
+import com.deliverar.pagos.domain.repositories.LedgerEntryRepository;
+import com.deliverar.pagos.domain.repositories.OwnerTransactionHistoryRepository;
+import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import com.deliverar.pagos.domain.usecases.ledger.PostToLedger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Opens DeliverCoin transactions and records their outcome once they are broadcast and mined.
+ * The funds a transaction spends are taken with conditional ledger postings when it is opened, so
+ * concurrent requests cannot spend the same balance; SUCCESS moves them to the destination and
+ * FAILURE refunds them. With the Transfer event indexer enabled, crypto balances come from the
+ * chain events, except for netted transactions, whose settlement transfer no longer matches them
+ * one to one. The origin's crypto is held anyway, so an uncovered transfer is rejected before it is
+ * signed, and completing the transaction gives the hold back to the origin.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransferCompletionService {
+
+    private final TransactionRepository transactionRepository;
+    private final OwnerTransactionHistoryRepository historyRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final PostToLedger postToLedger;
+    private final OwnerHistoryWriter ownerHistoryWriter;
+    private final LedgerEntryRepository ledgerEntryRepository;
+
+    @Value("${app.indexer.enabled:false}")
+    private boolean indexerEnabled;
+
+    /**
+     * Creates a PENDING transaction and, in the same database transaction, takes the funds it spends:
+     * the buyer's fiat on a buy, and the origin's crypto.
+     *
+     * @throws com.deliverar.pagos.domain.exceptions.BadRequestException if a wallet does not cover
+     *                                                                   them; nothing is created
+     */
+    @Transactional
+    public Transaction open(Transaction tx) {
+        Transaction saved = ownerHistoryWriter.create(tx);
+        UUID origin = tx.getOriginOwner().getWallet().getId();
+        UUID destination = tx.getDestinationOwner().getWallet().getId();
+
+        List<LedgerPosting> reservations = new ArrayList<>();
+        if (TransactionConcept.BUY_CRYPTO.name().equals(tx.getConcept())) {
+            reservations.add(LedgerPosting.debit(destination, LedgerAccount.EXCHANGE, CurrencyType.FIAT,
+                    tx.getAmount(), tx.getConcept(), tx.getId()).requiringFunds());
+        }
+        reservations.add(LedgerPosting.debit(origin, LedgerAccount.HOLD, CurrencyType.CRYPTO,
+                tx.getAmount(), tx.getConcept(), tx.getId()).requiringFunds());
+        // Mismo orden de wallets que PostToLedger para no cruzar bloqueos con otras transacciones
+        reservations.sort(Comparator.comparing(LedgerPosting::fromWalletId));
+        reservations.forEach(postToLedger::post);
+        return saved;
+    }
+
+    @Transactional
+    public void recordSubmission(UUID transactionId, String txHash) {
+        Transaction tx = transactionRepository.findById(transactionId).orElseThrow();
+        tx.setBlockchainTxHash(txHash);
+        transactionRepository.save(tx);
+        historyRepository.linkHash(List.of(transactionId), txHash);
+    }
+
+    /**
+     * Moves a PENDING transaction to SUCCESS or FAILURE and applies its balance changes: the funds
+     * taken when it was opened go to the destination on success and back to their wallets on failure.
+     * Calling it again for an already completed transaction is a no-op.
+     *
+     * @return true if this call completed the transaction
+     */
+    @Transactional
+    public boolean complete(UUID transactionId, boolean success) {
+        TransactionStatus target = success ? TransactionStatus.SUCCESS : TransactionStatus.FAILURE;
+        int updated = transactionRepository.updateStatusIfCurrent(
+                transactionId, TransactionStatus.PENDING, target, Instant.now());
+        if (updated == 0) {
+            log.debug("Transaction {} was already completed, skipping", transactionId);
+            return false;
+        }
+        historyRepository.updateStatus(transactionId, target);
+        applicationEventPublisher.publishEvent(new TransactionCompletedEvent(transactionId, target));
+
+        Transaction tx = transactionRepository.findById(transactionId).orElseThrow();
+        // Las transacciones abiertas antes de reservar fondos no tienen asientos hasta completarse
+        boolean reserved = ledgerEntryRepository.existsByReferenceId(transactionId);
+        boolean held = reserved && ledgerEntryRepository.existsByReferenceIdAndAccount(transactionId, LedgerAccount.HOLD);
+        if (success) {
+            applyBalances(tx, reserved, held);
+            applicationEventPublisher.publishEvent(new DeliverCoinBalancesChangedEvent(
+                    Set.of(tx.getOriginOwner().getEmail(), tx.getDestinationOwner().getEmail()), false));
+        } else if (reserved) {
+            refund(tx, held);
+        }
+        log.info("Transaction status updated to {} for ID: {}", target, transactionId);
+        return true;
+    }
+
+    private void applyBalances(Transaction tx, boolean reserved, boolean held) {
+        UUID origin = tx.getOriginOwner().getWallet().getId();
+        UUID destination = tx.getDestinationOwner().getWallet().getId();
+
+        if (held) {
+            // Con indexador el evento Transfer mueve la crypto: la reserva vuelve al origen
+            postToLedger.post(LedgerPosting.credit(LedgerAccount.HOLD, appliesCrypto(tx) ? destination : origin,
+                    CurrencyType.CRYPTO, tx.getAmount(), tx.getConcept(), tx.getId()));
+        } else if (appliesCrypto(tx)) {
+            postToLedger.post(LedgerPosting.between(origin, destination, CurrencyType.CRYPTO, tx.getAmount(),
+                    tx.getConcept(), tx.getId()));
+        }
+
+        // Compra/venta contra la wallet del owner: 1 crypto = 1 fiat; el fiat de una compra ya se tomó al abrirla
+        if (TransactionConcept.BUY_CRYPTO.name().equals(tx.getConcept()) && !reserved) {
+            postToLedger.post(LedgerPosting.debit(destination, LedgerAccount.EXCHANGE, CurrencyType.FIAT, tx.getAmount(),
+                    tx.getConcept(), tx.getId()));
+        } else if (TransactionConcept.SELL_CRYPTO.name().equals(tx.getConcept())) {
+            postToLedger.post(LedgerPosting.credit(LedgerAccount.EXCHANGE, origin, CurrencyType.FIAT, tx.getAmount(),
+                    tx.getConcept(), tx.getId()));
+        }
+    }
+
+    private void refund(Transaction tx, boolean held) {
+        if (TransactionConcept.BUY_CRYPTO.name().equals(tx.getConcept())) {
+            postToLedger.post(LedgerPosting.credit(LedgerAccount.EXCHANGE, tx.getDestinationOwner().getWallet().getId(),
+                    CurrencyType.FIAT, tx.getAmount(), tx.getConcept(), tx.getId()));
+        }
+        if (held) {
+            postToLedger.post(LedgerPosting.credit(LedgerAccount.HOLD, tx.getOriginOwner().getWallet().getId(),
+                    CurrencyType.CRYPTO, tx.getAmount(), tx.getConcept(), tx.getId()));
+        }
+    }
+
+    // Sin indexador, o para transacciones neteadas, el lado crypto lo aplica este servicio
+    private boolean appliesCrypto(Transaction tx) {
+        return !indexerEnabled || tx.isNetted();
+    }
+}
@@ -5,22 +5,24 @@ import com.deliverar.pagos.adapters.rest.messaging.events.EventStatus;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
 import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
 import com.deliverar.pagos.adapters.rest.messaging.events.OutgoingEvent;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 
 /**
- * Base class for commands that need to publish events asynchronously to the Hub.
- * Provides common methods for async processing and event publishing.
+ * Base class for commands that publish their response to the Hub.
+ * Provides common methods for processing and event publishing.
  */
 @Slf4j
 public abstract class AsyncBaseCommand extends BaseCommand {
 
     protected final EventPublisher eventPublisher;
+    protected final WorkloadExecutors workloadExecutors;
 
-    protected AsyncBaseCommand(EventPublisher eventPublisher) {
+    protected AsyncBaseCommand(EventPublisher eventPublisher, WorkloadExecutors workloadExecutors) {
         this.eventPublisher = eventPublisher;
+        this.workloadExecutors = workloadExecutors;
     }
 
     /**
@@ -62,37 +64,23 @@ public abstract class AsyncBaseCommand extends BaseCommand {
     }
 
     /**
-     * Processes a task asynchronously using CompletableFuture.
+     * Runs the work of a command, publishing an error response if it is rejected. Infrastructure
+     * failures are rethrown so the inbox retries the event. Commands are already executed on the
+     * serial lane of the event's owner, so the work runs inline to keep that order.
      * 
-     * @param asyncTask The task to execute asynchronously
-     */
-    protected void processAsync(Runnable asyncTask) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                asyncTask.run();
-            } catch (Exception e) {
-                log.error("Error in async task execution", e);
-            }
-        });
-    }
-
-    /**
-     * Processes a task asynchronously with error handling for a specific event.
-     * 
-     * @param asyncTask The task to execute asynchronously
+     * @param task The work to run
      * @param originalEvent The original event for error handling
      * @param operationName The name of the operation for logging
      */
-    protected void processAsyncWithErrorHandling(Runnable asyncTask, IncomingEvent originalEvent, String operationName) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                log.info("Starting async {} operation", operationName);
-                asyncTask.run();
-                log.info("Completed async {} operation successfully", operationName);
-            } catch (Exception e) {
-                log.error("Error in async {} operation", operationName, e);
-                publishErrorResponse(originalEvent, "Failed to complete " + operationName + ": " + e.getMessage());
-            }
-        });
+    protected void processWithErrorHandling(Runnable task, IncomingEvent originalEvent, String operationName) {
+        try {
+            log.info("Starting {} operation", operationName);
+            task.run();
+            log.info("Completed {} operation successfully", operationName);
+        } catch (Exception e) {
+            log.error("Error in {} operation", operationName, e);
+            CommandFailures.rethrowIfRetryable(e);
+            publishErrorResponse(originalEvent, "Failed to complete " + operationName + ": " + e.getMessage());
+        }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -11,7 +11,8 @@ public abstract class BaseCommand implements Command {
         try {
             log.info("Executing command for event: {}", event.getTopic());
 
-            if (!validate(event)) {
+            // El payload llega ligado y validado desde el inbox
+            if (event.getBody() == null) {
                 return CommandResult.buildFailure("Invalid event payload");
             }
 
@@ -19,11 +20,11 @@ public abstract class BaseCommand implements Command {
 
         } catch (Exception e) {
             log.error("Error executing command for event: {}", event.getTopic(), e);
+            // Solo los rechazos de negocio se responden; el resto se reintenta desde el inbox
+            CommandFailures.rethrowIfRetryable(e);
             return CommandResult.buildFailure("Internal error: " + e.getMessage());
         }
     }
 
-    protected abstract boolean validate(IncomingEvent event);
-
     protected abstract CommandResult process(IncomingEvent event);
 } 
\ No newline at end of file
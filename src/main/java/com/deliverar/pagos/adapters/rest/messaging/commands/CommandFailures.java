@@ -0,0 +1,38 @@
+package com.deliverar.pagos.adapters.rest.messaging.commands;
+
+import com.deliverar.pagos.domain.exceptions.BadRequestException;
+import com.deliverar.pagos.domain.exceptions.InternalServerException;
+import com.deliverar.pagos.domain.exceptions.UnauthorizedException;
+
+/**
+ * Separates business rejections of an event, which are answered with an error response, from
+ * infrastructure failures (database, saturated executors, outbox writes), which must reach the
+ * inbox worker so the event is retried with backoff instead of being marked as processed.
+ */
+public final class CommandFailures {
+
+    private CommandFailures() {
+    }
+
+    /**
+     * Whether the error is a business rejection that retrying would not change.
+     */
+    public static boolean isRejection(Throwable error) {
+        return error instanceof BadRequestException
+                || error instanceof UnauthorizedException
+                || error instanceof IllegalArgumentException;
+    }
+
+    /**
+     * Rethrows the error unless it is a business rejection, so the caller only answers rejections.
+     */
+    public static void rethrowIfRetryable(Exception error) {
+        if (isRejection(error)) {
+            return;
+        }
+        if (error instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        throw new InternalServerException(error.getMessage(), error);
+    }
+}
@@ -32,6 +32,7 @@ public class CommandManager {
 
         } catch (Exception e) {
             log.error("Error executing command for event: {}", event.getTopic(), e);
+            CommandFailures.rethrowIfRetryable(e);
             return CommandResult.buildFailure("Command execution failed: " + e.getMessage());
         }
     }
@@ -1,29 +1,31 @@
 package com.deliverar.pagos.adapters.rest.messaging.commands.strategies;
 
 import com.deliverar.pagos.adapters.crypto.service.DeliverCoinService;
+import com.deliverar.pagos.adapters.crypto.service.TransactionCompletionRegistry;
 import com.deliverar.pagos.adapters.rest.messaging.commands.BaseCommand;
+import com.deliverar.pagos.adapters.rest.messaging.commands.CommandFailures;
 import com.deliverar.pagos.adapters.rest.messaging.commands.CommandResult;
+import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ResponseBuilder;
 import com.deliverar.pagos.adapters.rest.messaging.core.EventPublisher;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventStatus;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
 import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.TransferPayload;
 import com.deliverar.pagos.adapters.rest.messaging.events.OutgoingEvent;
 import com.deliverar.pagos.domain.dtos.TransferRequest;
 import com.deliverar.pagos.domain.entities.Owner;
 import com.deliverar.pagos.domain.entities.Transaction;
 import com.deliverar.pagos.domain.entities.TransactionStatus;
-import com.deliverar.pagos.domain.exceptions.InternalServerException;
 import com.deliverar.pagos.domain.usecases.owner.GetOwnerByEmail;
+import com.deliverar.pagos.infrastructure.concurrency.Workload;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.time.Duration;
-import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Component
@@ -33,33 +35,23 @@ public class CryptoPaymentCommand extends BaseCommand {
     private final GetOwnerByEmail getOwnerByEmailUseCase;
     private final DeliverCoinService deliverCoinService;
     private final EventPublisher eventPublisher;
-
-    private static final int MAX_WAIT_SECONDS = 60;
-    private static final int POLL_INTERVAL_MS = 20000;
+    private final WorkloadExecutors workloadExecutors;
+    private final TransactionCompletionRegistry transactionCompletionRegistry;
 
     @Override
     public boolean canHandle(EventType eventType) {
         return EventType.CRYPTO_PAYMENT_REQUEST.equals(eventType);
     }
 
-    @Override
-    protected boolean validate(IncomingEvent event) {
-        Map<String, Object> payload = event.getPayload();
-        return payload != null &&
-                payload.containsKey("fromEmail") &&
-                payload.containsKey("toEmail") &&
-                payload.containsKey("amount");
-    }
-
     @Override
     protected CommandResult process(IncomingEvent event) {
         try {
-            Map<String, Object> payload = event.getPayload();
+            TransferPayload payload = event.body(TransferPayload.class);
 
-            String fromEmail = (String) payload.get("fromEmail");
-            String toEmail = (String) payload.get("toEmail");
-            BigDecimal amount = new BigDecimal(payload.get("amount").toString());
-            String concept = (String) payload.getOrDefault("concept", "Crypto payment");
+            String fromEmail = payload.fromEmail();
+            String toEmail = payload.toEmail();
+            BigDecimal amount = payload.amount();
+            String concept = payload.conceptOr("Crypto payment");
 
             // Validate sender
             var fromOwnerOptional = getOwnerByEmailUseCase.get(fromEmail);
@@ -86,34 +78,56 @@ public class CryptoPaymentCommand extends BaseCommand {
             transferRequest.setToEmail(toEmail);
             transferRequest.setAmount(amount);
 
-            // Process the crypto transfer using the service (returns transaction ID)
-            UUID transactionId = deliverCoinService.asyncTransfer(transferRequest);
-            log.info("Crypto payment transaction initiated with ID: {}", transactionId);
-
-            // Start async processing to wait for final status and publish result
-            CompletableFuture.runAsync(() -> {
-                processTransactionCompletion(transactionId, fromEmail, toEmail, amount, concept, event);
-            });
+            // Initiate the transfer on the owner's lane; the final status is published later from the commands executor
+            processTransactionCompletion(transferRequest, concept, event);
 
             // Return immediate success - the actual result will be published asynchronously when final status is reached
             return CommandResult.buildSuccess(null, "Crypto payment initiated successfully");
 
         } catch (Exception e) {
             log.error("Error processing crypto payment command", e);
+            CommandFailures.rethrowIfRetryable(e);
             return CommandResult.buildFailure("Failed to process crypto payment: " + e.getMessage());
         }
     }
 
     /**
-     * Asynchronously processes the transaction completion and publishes the result
-     * Only publishes when the transaction reaches a final status (SUCCESS or FAILURE)
+     * Initiates the transaction and registers the publication of its result, which happens once
+     * the transaction reaches a final status (SUCCESS or FAILURE), without a thread waiting for it
+     */
+    private void processTransactionCompletion(TransferRequest transferRequest, String concept, IncomingEvent originalEvent) {
+        UUID transactionId;
+        try {
+            // Process the crypto transfer using the service (returns transaction ID)
+            transactionId = deliverCoinService.asyncTransfer(transferRequest);
+            log.info("Crypto payment transaction initiated with ID: {}", transactionId);
+        } catch (Exception e) {
+            log.error("Error initiating crypto payment transaction", e);
+            CommandFailures.rethrowIfRetryable(e);
+            publishErrorResponse("Failed to process crypto payment: " + e.getMessage(), originalEvent);
+            return;
+        }
+
+        transactionCompletionRegistry.await(transactionId).whenCompleteAsync(
+                (status, error) -> publishFinalStatus(transactionId, transferRequest, concept, originalEvent, error),
+                workloadExecutors.executor(Workload.COMMANDS));
+    }
+
+    /**
+     * Publishes the result of a transaction that reached its final status
      */
-    private void processTransactionCompletion(UUID transactionId, String fromEmail, String toEmail, BigDecimal amount, String concept, IncomingEvent originalEvent) {
+    private void publishFinalStatus(UUID transactionId, TransferRequest transferRequest, String concept, IncomingEvent originalEvent, Throwable error) {
+        String fromEmail = transferRequest.getFromEmail();
+        String toEmail = transferRequest.getToEmail();
+        BigDecimal amount = transferRequest.getAmount();
         try {
-            log.info("Starting to monitor transaction {} for final status", transactionId);
+            if (error != null) {
+                log.error("Transaction {} did not reach a final status", transactionId, error);
+                publishErrorResponse("Failed to process crypto payment: " + error.getMessage(), originalEvent);
+                return;
+            }
 
-            // Wait for the transaction to reach final status (ignore PENDING)
-            Transaction transaction = waitForFinalTransactionStatus(transactionId);
+            Transaction transaction = deliverCoinService.getTransferStatus(transactionId);
 
             if (transaction.getStatus() == TransactionStatus.FAILURE) {
                 log.info("Transaction {} reached FAILURE status, publishing error response", transactionId);
@@ -145,9 +159,7 @@ public class CryptoPaymentCommand extends BaseCommand {
             response.put("currentCryptoBalance", fromOwner.getWallet().getCryptoBalance());
 
             // Add traceData if present in the request
-            if (originalEvent.getPayload().containsKey("traceData")) {
-                response.put("traceData", originalEvent.getPayload().get("traceData"));
-            }
+            ResponseBuilder.addTraceData(response, originalEvent.getBody());
 
             // Publish success response only when final status is reached
             OutgoingEvent successEvent = OutgoingEvent.buildResponse(
@@ -160,7 +172,7 @@ public class CryptoPaymentCommand extends BaseCommand {
             log.info("Crypto payment response published successfully for transaction ID: {}", transactionId);
 
         } catch (Exception e) {
-            log.error("Error in async transaction processing for ID: {}", transactionId, e);
+            log.error("Error in transaction processing for ID: {}", transactionId, e);
             publishErrorResponse("Failed to process crypto payment: " + e.getMessage(), originalEvent);
         }
     }
@@ -172,40 +184,4 @@ public class CryptoPaymentCommand extends BaseCommand {
         eventPublisher.publishError(originalEvent, errorMessage);
         log.error("Error response published: {}", errorMessage);
     }
-
-    /**
-     * Waits for the transaction to reach a final status (SUCCESS or FAILURE)
-     * Ignores PENDING status and continues polling until final status is reached
-     *
-     * @param transactionId The transaction ID to monitor
-     * @return The transaction with final status
-     * @throws RuntimeException if timeout is reached
-     */
-    private Transaction waitForFinalTransactionStatus(UUID transactionId) {
-        Instant startTime = Instant.now();
-
-        while (Duration.between(startTime, Instant.now()).getSeconds() < MAX_WAIT_SECONDS) {
-            try {
-                Transaction transaction = deliverCoinService.getTransferStatus(transactionId);
-
-                if (transaction.getStatus() == TransactionStatus.SUCCESS ||
-                        transaction.getStatus() == TransactionStatus.FAILURE) {
-                    log.info("Transaction {} reached final status: {}", transactionId, transaction.getStatus());
-                    return transaction;
-                }
-
-                log.debug("Transaction {} still PENDING, waiting for final status...", transactionId);
-                Thread.sleep(POLL_INTERVAL_MS);
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new InternalServerException("Transaction monitoring interrupted", e);
-            } catch (Exception e) {
-                log.error("Error checking transaction status for ID: {}", transactionId, e);
-                throw new InternalServerException("Failed to check transaction status", e);
-            }
-        }
-
-        throw new InternalServerException("Timeout waiting for transaction " + transactionId + " to reach final status");
-    }
-} 
\ No newline at end of file
+}
@@ -1,16 +1,19 @@
 package com.deliverar.pagos.adapters.rest.messaging.commands.strategies;
 
 import com.deliverar.pagos.adapters.rest.messaging.commands.AsyncBaseCommand;
+import com.deliverar.pagos.adapters.rest.messaging.commands.CommandFailures;
 import com.deliverar.pagos.adapters.rest.messaging.commands.CommandResult;
 import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ResponseBuilder;
 import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ValidationUtils;
 import com.deliverar.pagos.adapters.rest.messaging.core.EventPublisher;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
 import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.AmountPayload;
 import com.deliverar.pagos.domain.entities.ExchangeOperation;
 import com.deliverar.pagos.domain.entities.Owner;
 import com.deliverar.pagos.domain.usecases.owner.ExchangeFiat;
 import com.deliverar.pagos.domain.usecases.owner.GetOwnerByEmail;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -25,8 +28,8 @@ public class FiatDepositCommand extends AsyncBaseCommand {
     private final GetOwnerByEmail getOwnerByEmailUseCase;
     private final ExchangeFiat exchangeFiatUseCase;
 
-    public FiatDepositCommand(EventPublisher eventPublisher, GetOwnerByEmail getOwnerByEmailUseCase, ExchangeFiat exchangeFiatUseCase) {
-        super(eventPublisher);
+    public FiatDepositCommand(EventPublisher eventPublisher, WorkloadExecutors workloadExecutors, GetOwnerByEmail getOwnerByEmailUseCase, ExchangeFiat exchangeFiatUseCase) {
+        super(eventPublisher, workloadExecutors);
         this.getOwnerByEmailUseCase = getOwnerByEmailUseCase;
         this.exchangeFiatUseCase = exchangeFiatUseCase;
     }
@@ -36,50 +39,35 @@ public class FiatDepositCommand extends AsyncBaseCommand {
         return EventType.FIAT_DEPOSIT_REQUEST.equals(eventType);
     }
 
-    @Override
-    protected boolean validate(IncomingEvent event) {
-        try {
-            Map<String, Object> payload = event.getPayload();
-            ValidationUtils.validateRequiredFields(payload, "email", "amount");
-            ValidationUtils.validateEmailFormat((String) payload.get("email"));
-            
-            BigDecimal amount = ValidationUtils.parseBigDecimal(payload, "amount", BigDecimal.ZERO);
-            ValidationUtils.validatePositiveAmount(amount, "amount");
-            
-            return true;
-        } catch (IllegalArgumentException e) {
-            log.warn("Validation failed: {}", e.getMessage());
-            return false;
-        }
-    }
-
     @Override
     protected CommandResult process(IncomingEvent event) {
         try {
-            Map<String, Object> payload = event.getPayload();
-            String email = (String) payload.get("email");
-            BigDecimal amount = ValidationUtils.parseBigDecimal(payload, "amount", BigDecimal.ZERO);
+            AmountPayload payload = event.body(AmountPayload.class);
+            String email = payload.email();
+            BigDecimal amount = payload.amount();
 
             log.info("Fiat deposit request initiated for email: {} with amount: {}", email, amount);
 
-            // Start async processing to process deposit and publish result
-            processAsyncWithErrorHandling(() -> {
+            // Payments lane, on the owner's partition: runs in order with the wallet's other movements
+            processWithErrorHandling(() -> {
                 processFiatDeposit(email, amount, payload, event);
             }, event, "fiat deposit");
 
-            // Return immediate success - the actual result will be published asynchronously
+            // No payload: the result has already been published by the command
             return CommandResult.buildSuccess(null, "Fiat deposit request initiated successfully");
 
         } catch (Exception e) {
             log.error("Error processing fiat deposit command", e);
+            CommandFailures.rethrowIfRetryable(e);
             return CommandResult.buildFailure("Failed to process fiat deposit request: " + e.getMessage());
         }
     }
 
     /**
-     * Asynchronously processes the fiat deposit and publishes the result
+     * Processes the fiat deposit and publishes the result
      */
-    private void processFiatDeposit(String email, BigDecimal amount, Map<String, Object> originalData, IncomingEvent originalEvent) {
+    private void processFiatDeposit(String email, BigDecimal amount, AmountPayload originalData, IncomingEvent originalEvent) {
+        boolean applied = false;
         try {
             log.info("Starting to process fiat deposit for email: {} with amount: {}", email, amount);
 
@@ -88,6 +76,7 @@ public class FiatDepositCommand extends AsyncBaseCommand {
 
             // Process the deposit using the use case
             BigDecimal newBalance = exchangeFiatUseCase.exchange(owner, amount, ExchangeOperation.INFLOW);
+            applied = true;
 
             // Get updated owner payload to get current balances
             Owner updatedOwner = ValidationUtils.validateOwnerExists(getOwnerByEmailUseCase, email);
@@ -96,7 +85,7 @@ public class FiatDepositCommand extends AsyncBaseCommand {
             Map<String, Object> response = ResponseBuilder.createResponse(originalData,
                     "email", email,
                     "amount", amount,
-                    "concept", originalData.getOrDefault("concept", "Fiat deposit"),
+                    "concept", originalData.conceptOr("Fiat deposit"),
                     "status", "SUCCESS",
                     "transactionDate", Instant.now().toString(),
                     "currentFiatBalance", updatedOwner.getWallet().getFiatBalance(),
@@ -108,7 +97,11 @@ public class FiatDepositCommand extends AsyncBaseCommand {
             log.info("Fiat deposit response published successfully for email: {}", email);
 
         } catch (Exception e) {
-            log.error("Error in async fiat deposit for email: {}", email, e);
+            log.error("Error in fiat deposit for email: {}", email, e);
+            // Con el movimiento ya aplicado no se reintenta: se duplicaría
+            if (!applied) {
+                CommandFailures.rethrowIfRetryable(e);
+            }
             publishErrorResponse(originalEvent, "Failed to process fiat deposit: " + e.getMessage());
         }
     }
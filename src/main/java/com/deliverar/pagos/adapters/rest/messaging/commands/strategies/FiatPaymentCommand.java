@@ -1,15 +1,18 @@
 package com.deliverar.pagos.adapters.rest.messaging.commands.strategies;
 
 import com.deliverar.pagos.adapters.rest.messaging.commands.AsyncBaseCommand;
+import com.deliverar.pagos.adapters.rest.messaging.commands.CommandFailures;
 import com.deliverar.pagos.adapters.rest.messaging.commands.CommandResult;
 import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ResponseBuilder;
 import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ValidationUtils;
 import com.deliverar.pagos.adapters.rest.messaging.core.EventPublisher;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
 import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.TransferPayload;
 import com.deliverar.pagos.domain.entities.Owner;
 import com.deliverar.pagos.domain.usecases.owner.GetOwnerByEmail;
 import com.deliverar.pagos.domain.usecases.owner.PayWithFiat;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -24,8 +27,8 @@ public class FiatPaymentCommand extends AsyncBaseCommand {
     private final GetOwnerByEmail getOwnerByEmailUseCase;
     private final PayWithFiat payWithFiatUseCase;
 
-    public FiatPaymentCommand(EventPublisher eventPublisher, GetOwnerByEmail getOwnerByEmailUseCase, PayWithFiat payWithFiatUseCase) {
-        super(eventPublisher);
+    public FiatPaymentCommand(EventPublisher eventPublisher, WorkloadExecutors workloadExecutors, GetOwnerByEmail getOwnerByEmailUseCase, PayWithFiat payWithFiatUseCase) {
+        super(eventPublisher, workloadExecutors);
         this.getOwnerByEmailUseCase = getOwnerByEmailUseCase;
         this.payWithFiatUseCase = payWithFiatUseCase;
     }
@@ -35,52 +38,36 @@ public class FiatPaymentCommand extends AsyncBaseCommand {
         return EventType.FIAT_PAYMENT_REQUEST.equals(eventType);
     }
 
-    @Override
-    protected boolean validate(IncomingEvent event) {
-        try {
-            Map<String, Object> payload = event.getPayload();
-            ValidationUtils.validateRequiredFields(payload, "fromEmail", "toEmail", "amount");
-            ValidationUtils.validateEmailFormat((String) payload.get("fromEmail"));
-            ValidationUtils.validateEmailFormat((String) payload.get("toEmail"));
-            
-            BigDecimal amount = ValidationUtils.parseBigDecimal(payload, "amount", BigDecimal.ZERO);
-            ValidationUtils.validatePositiveAmount(amount, "amount");
-            
-            return true;
-        } catch (IllegalArgumentException e) {
-            log.warn("Validation failed: {}", e.getMessage());
-            return false;
-        }
-    }
-
     @Override
     protected CommandResult process(IncomingEvent event) {
         try {
-            Map<String, Object> payload = event.getPayload();
-            String fromEmail = (String) payload.get("fromEmail");
-            String toEmail = (String) payload.get("toEmail");
-            BigDecimal amount = ValidationUtils.parseBigDecimal(payload, "amount", BigDecimal.ZERO);
+            TransferPayload payload = event.body(TransferPayload.class);
+            String fromEmail = payload.fromEmail();
+            String toEmail = payload.toEmail();
+            BigDecimal amount = payload.amount();
 
             log.info("Fiat payment request initiated from {} to {} with amount: {}", fromEmail, toEmail, amount);
 
-            // Start async processing to process payment and publish result
-            processAsyncWithErrorHandling(() -> {
+            // Payments lane, on the payer's partition: the payer's balance is debited first
+            processWithErrorHandling(() -> {
                 processFiatPayment(fromEmail, toEmail, amount, payload, event);
             }, event, "fiat payment");
 
-            // Return immediate success - the actual result will be published asynchronously
+            // No payload: the result has already been published by the command
             return CommandResult.buildSuccess(null, "Fiat payment request initiated successfully");
 
         } catch (Exception e) {
             log.error("Error processing fiat payment command", e);
+            CommandFailures.rethrowIfRetryable(e);
             return CommandResult.buildFailure("Failed to process fiat payment request: " + e.getMessage());
         }
     }
 
     /**
-     * Asynchronously processes the fiat payment and publishes the result
+     * Processes the fiat payment and publishes the result
      */
-    private void processFiatPayment(String fromEmail, String toEmail, BigDecimal amount, Map<String, Object> originalData, IncomingEvent originalEvent) {
+    private void processFiatPayment(String fromEmail, String toEmail, BigDecimal amount, TransferPayload originalData, IncomingEvent originalEvent) {
+        boolean applied = false;
         try {
             log.info("Starting to process fiat payment from {} to {} with amount: {}", fromEmail, toEmail, amount);
 
@@ -90,6 +77,7 @@ public class FiatPaymentCommand extends AsyncBaseCommand {
 
             // Process the transfer using the new use case
             payWithFiatUseCase.pay(fromOwner, toOwner, amount);
+            applied = true;
 
             // Get updated owner payload to get current balances
             Owner updatedFromOwner = ValidationUtils.validateOwnerExists(getOwnerByEmailUseCase, fromEmail);
@@ -99,7 +87,7 @@ public class FiatPaymentCommand extends AsyncBaseCommand {
                     "fromEmail", fromEmail,
                     "toEmail", toEmail,
                     "amount", amount,
-                    "concept", originalData.getOrDefault("concept", "Fiat payment"),
+                    "concept", originalData.conceptOr("Fiat payment"),
                     "status", "SUCCESS",
                     "transactionDate", Instant.now().toString(),
                     "currentFiatBalance", updatedFromOwner.getWallet().getFiatBalance(),
@@ -111,7 +99,11 @@ public class FiatPaymentCommand extends AsyncBaseCommand {
             log.info("Fiat payment response published successfully from {} to {}", fromEmail, toEmail);
 
         } catch (Exception e) {
-            log.error("Error in async fiat payment from {} to {}", fromEmail, toEmail, e);
+            log.error("Error in fiat payment from {} to {}", fromEmail, toEmail, e);
+            // Con el movimiento ya aplicado no se reintenta: se duplicaría
+            if (!applied) {
+                CommandFailures.rethrowIfRetryable(e);
+            }
             publishErrorResponse(originalEvent, "Failed to process fiat payment: " + e.getMessage());
         }
     }
@@ -1,16 +1,19 @@
 package com.deliverar.pagos.adapters.rest.messaging.commands.strategies;
 
 import com.deliverar.pagos.adapters.rest.messaging.commands.AsyncBaseCommand;
+import com.deliverar.pagos.adapters.rest.messaging.commands.CommandFailures;
 import com.deliverar.pagos.adapters.rest.messaging.commands.CommandResult;
 import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ResponseBuilder;
 import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ValidationUtils;
 import com.deliverar.pagos.adapters.rest.messaging.core.EventPublisher;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
 import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.AmountPayload;
 import com.deliverar.pagos.domain.entities.ExchangeOperation;
 import com.deliverar.pagos.domain.entities.Owner;
 import com.deliverar.pagos.domain.usecases.owner.ExchangeFiat;
 import com.deliverar.pagos.domain.usecases.owner.GetOwnerByEmail;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -25,8 +28,8 @@ public class FiatWithdrawalCommand extends AsyncBaseCommand {
     private final GetOwnerByEmail getOwnerByEmailUseCase;
     private final ExchangeFiat exchangeFiatUseCase;
 
-    public FiatWithdrawalCommand(EventPublisher eventPublisher, GetOwnerByEmail getOwnerByEmailUseCase, ExchangeFiat exchangeFiatUseCase) {
-        super(eventPublisher);
+    public FiatWithdrawalCommand(EventPublisher eventPublisher, WorkloadExecutors workloadExecutors, GetOwnerByEmail getOwnerByEmailUseCase, ExchangeFiat exchangeFiatUseCase) {
+        super(eventPublisher, workloadExecutors);
         this.getOwnerByEmailUseCase = getOwnerByEmailUseCase;
         this.exchangeFiatUseCase = exchangeFiatUseCase;
     }
@@ -36,61 +39,44 @@ public class FiatWithdrawalCommand extends AsyncBaseCommand {
         return EventType.FIAT_WITHDRAWAL_REQUEST.equals(eventType);
     }
 
-    @Override
-    protected boolean validate(IncomingEvent event) {
-        try {
-            Map<String, Object> payload = event.getPayload();
-            ValidationUtils.validateRequiredFields(payload, "email", "amount");
-            ValidationUtils.validateEmailFormat((String) payload.get("email"));
-            
-            BigDecimal amount = ValidationUtils.parseBigDecimal(payload, "amount", BigDecimal.ZERO);
-            ValidationUtils.validatePositiveAmount(amount, "amount");
-            
-            return true;
-        } catch (IllegalArgumentException e) {
-            log.warn("Validation failed: {}", e.getMessage());
-            return false;
-        }
-    }
-
     @Override
     protected CommandResult process(IncomingEvent event) {
         try {
-            Map<String, Object> payload = event.getPayload();
-            String email = (String) payload.get("email");
-            BigDecimal amount = ValidationUtils.parseBigDecimal(payload, "amount", BigDecimal.ZERO);
+            AmountPayload payload = event.body(AmountPayload.class);
+            String email = payload.email();
+            BigDecimal amount = payload.amount();
 
             log.info("Fiat withdrawal request initiated for email: {} with amount: {}", email, amount);
 
-            // Start async processing to process withdrawal and publish result
-            processAsyncWithErrorHandling(() -> {
+            // Payments lane, on the owner's partition, so it cannot overtake an earlier deposit
+            processWithErrorHandling(() -> {
                 processFiatWithdrawal(email, amount, payload, event);
             }, event, "fiat withdrawal");
 
-            // Return immediate success - the actual result will be published asynchronously
+            // No payload: the result has already been published by the command
             return CommandResult.buildSuccess(null, "Fiat withdrawal request initiated successfully");
 
         } catch (Exception e) {
             log.error("Error processing fiat withdrawal command", e);
+            CommandFailures.rethrowIfRetryable(e);
             return CommandResult.buildFailure("Failed to process fiat withdrawal request: " + e.getMessage());
         }
     }
 
     /**
-     * Asynchronously processes the fiat withdrawal and publishes the result
+     * Processes the fiat withdrawal and publishes the result
      */
-    private void processFiatWithdrawal(String email, BigDecimal amount, Map<String, Object> originalData, IncomingEvent originalEvent) {
+    private void processFiatWithdrawal(String email, BigDecimal amount, AmountPayload originalData, IncomingEvent originalEvent) {
+        boolean applied = false;
         try {
             log.info("Starting to process fiat withdrawal for email: {} with amount: {}", email, amount);
 
             // Validate owner exists using ValidationUtils
             Owner owner = ValidationUtils.validateOwnerExists(getOwnerByEmailUseCase, email);
 
-            // Validate sufficient balance
-            ValidationUtils.validateSufficientBalance(owner, amount, "fiat");
-
-            // Process the withdrawal using the use case
+            // Process the withdrawal using the use case; the wallet update itself rejects insufficient funds
             exchangeFiatUseCase.exchange(owner, amount, ExchangeOperation.OUTFLOW);
+            applied = true;
 
             // Get updated owner payload to get current balances
             Owner updatedOwner = ValidationUtils.validateOwnerExists(getOwnerByEmailUseCase, email);
@@ -99,7 +85,7 @@ public class FiatWithdrawalCommand extends AsyncBaseCommand {
             Map<String, Object> response = ResponseBuilder.createResponse(originalData,
                     "email", email,
                     "amount", amount,
-                    "concept", originalData.getOrDefault("concept", "Fiat withdrawal"),
+                    "concept", originalData.conceptOr("Fiat withdrawal"),
                     "status", "SUCCESS",
                     "transactionDate", Instant.now().toString(),
                     "currentFiatBalance", updatedOwner.getWallet().getFiatBalance(),
@@ -111,7 +97,11 @@ public class FiatWithdrawalCommand extends AsyncBaseCommand {
             log.info("Fiat withdrawal response published successfully for email: {}", email);
 
         } catch (Exception e) {
-            log.error("Error in async fiat withdrawal for email: {}", email, e);
+            log.error("Error in fiat withdrawal for email: {}", email, e);
+            // Con el movimiento ya aplicado no se reintenta: se duplicaría
+            if (!applied) {
+                CommandFailures.rethrowIfRetryable(e);
+            }
             publishErrorResponse(originalEvent, "Failed to process fiat withdrawal: " + e.getMessage());
         }
     }
@@ -1,34 +1,35 @@
 package com.deliverar.pagos.adapters.rest.messaging.commands.strategies;
 
 import com.deliverar.pagos.adapters.rest.messaging.commands.AsyncBaseCommand;
+import com.deliverar.pagos.adapters.rest.messaging.commands.CommandFailures;
 import com.deliverar.pagos.adapters.rest.messaging.commands.CommandResult;
-import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ResponseBuilder;
+import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ChunkedResponsePublisher;
 import com.deliverar.pagos.adapters.rest.messaging.core.EventPublisher;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
 import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.TransactionsQuery;
 import com.deliverar.pagos.domain.entities.Transaction;
 import com.deliverar.pagos.domain.usecases.user.GetAllCryptoTransactionsByDate;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
-import java.time.format.DateTimeParseException;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class GetAllCryptoTransactionsCommand extends AsyncBaseCommand {
 
     private final GetAllCryptoTransactionsByDate getAllCryptoTransactionsByDateUseCase;
+    private final ChunkedResponsePublisher chunkedResponsePublisher;
 
-    public GetAllCryptoTransactionsCommand(EventPublisher eventPublisher, GetAllCryptoTransactionsByDate getAllCryptoTransactionsByDateUseCase) {
-        super(eventPublisher);
+    public GetAllCryptoTransactionsCommand(EventPublisher eventPublisher, WorkloadExecutors workloadExecutors, GetAllCryptoTransactionsByDate getAllCryptoTransactionsByDateUseCase, ChunkedResponsePublisher chunkedResponsePublisher) {
+        super(eventPublisher, workloadExecutors);
         this.getAllCryptoTransactionsByDateUseCase = getAllCryptoTransactionsByDateUseCase;
+        this.chunkedResponsePublisher = chunkedResponsePublisher;
     }
 
     @Override
@@ -36,86 +37,49 @@ public class GetAllCryptoTransactionsCommand extends AsyncBaseCommand {
         return EventType.GET_ALL_CRYPTO_TRANSACTIONS_REQUEST.equals(eventType);
     }
 
-    @Override
-    protected boolean validate(IncomingEvent event) {
-        try {
-            Map<String, Object> payload = event.getPayload();
-            
-            // Validate transactionDateSince if present (optional)
-            if (payload.containsKey("transactionDateSince") && payload.get("transactionDateSince") != null) {
-                log.info("Transaction dates since: {}", payload.get("transactionDateSince"));
-                String dateStr = payload.get("transactionDateSince").toString();
-                if (!dateStr.isEmpty()) {
-                    Instant.parse(dateStr); // Validate date format
-                }
-            }
-            
-            return true;
-        } catch (IllegalArgumentException | DateTimeParseException e) {
-            log.warn("Validation failed: {}", e.getMessage());
-            return false;
-        }
-    }
-
     @Override
     protected CommandResult process(IncomingEvent event) {
         try {
-            Map<String, Object> payload = event.getPayload();
+            TransactionsQuery payload = event.body(TransactionsQuery.class);
 
             log.info("Get all crypto transactions request initiated");
 
-            // Start async processing to get transactions and publish result
-            processAsyncWithErrorHandling(() -> {
+            // Queries lane; the report has no owner, so it takes the next partition in turn
+            processWithErrorHandling(() -> {
                 processGetAllCryptoTransactions(payload, event);
             }, event, "get all crypto transactions");
 
-            // Return immediate success - the actual result will be published asynchronously
+            // No payload: the result has already been published by the command
             return CommandResult.buildSuccess(null, "Get all crypto transactions request initiated successfully");
 
         } catch (Exception e) {
             log.error("Error processing get all crypto transactions command", e);
+            CommandFailures.rethrowIfRetryable(e);
             return CommandResult.buildFailure("Failed to process get all crypto transactions request: " + e.getMessage());
         }
     }
 
     /**
-     * Asynchronously processes the get all crypto transactions and publishes the result
+     * Processes the get all crypto transactions and publishes the result
      */
-    private void processGetAllCryptoTransactions(Map<String, Object> originalData, IncomingEvent originalEvent) {
+    private void processGetAllCryptoTransactions(TransactionsQuery originalData, IncomingEvent originalEvent) {
         try {
             log.info("Starting to get all crypto transactions");
 
-            // Parse transactionDateSince (optional)
-            Optional<Instant> sinceDate = Optional.empty();
-            if (originalData.containsKey("transactionDateSince") && originalData.get("transactionDateSince") != null) {
-                String dateStr = originalData.get("transactionDateSince").toString();
-                if (!dateStr.isEmpty()) {
-                    sinceDate = Optional.of(Instant.parse(dateStr));
-                    log.info("Filtering all crypto transactions since: {}", sinceDate.get());
-                }
-            }
-
-            // Get all transactions using the new use case with date filtering
-            Page<Transaction> transactionsPage = getAllCryptoTransactionsByDateUseCase.get(
-                    sinceDate, 0, Integer.MAX_VALUE, Sort.Direction.DESC);
-
-            // Convert transactions to response format
-            List<Map<String, Object>> transactionsList = transactionsPage.getContent().stream()
-                    .map(this::convertTransactionToMap)
-                    .collect(Collectors.toList());
-
-            // Build response according to documentation (exact fields)
-            Map<String, Object> response = ResponseBuilder.createResponse(originalData,
-                    "transactions", transactionsList,
-                    "transactionDateSince", originalData.getOrDefault("transactionDateSince", "")
-            );
+            // transactionDateSince (optional), already parsed at intake
+            Optional<Instant> sinceDate = Optional.ofNullable(originalData.transactionDateSince());
+            sinceDate.ifPresent(since -> log.info("Filtering all crypto transactions since: {}", since));
 
-            // Publish success response
-            publishSuccessResponse(originalEvent, EventType.GET_ALL_CRYPTO_TRANSACTIONS_RESPONSE, response);
-            log.info("Get all crypto transactions response published successfully");
+            // Publish the history in parts of at most pageSize rows, one keyset page at a time
+            int parts = chunkedResponsePublisher.publish(originalEvent, EventType.GET_ALL_CRYPTO_TRANSACTIONS_RESPONSE, originalData,
+                    (after, pageSize) -> getAllCryptoTransactionsByDateUseCase.get(sinceDate, after, pageSize),
+                    this::convertTransactionToMap,
+                    "transactionDateSince", sinceDate.map(Instant::toString).orElse(""));
+            log.info("Get all crypto transactions response published successfully in {} parts", parts);
 
         } catch (Exception e) {
-            log.error("Error in async get all crypto transactions", e);
+            log.error("Error in get all crypto transactions", e);
+            CommandFailures.rethrowIfRetryable(e);
             publishErrorResponse(originalEvent, "Failed to get all crypto transactions: " + e.getMessage());
         }
     }
@@ -124,16 +88,17 @@ public class GetAllCryptoTransactionsCommand extends AsyncBaseCommand {
      * Converts a Transaction entity to a Map for the response
      */
     private Map<String, Object> convertTransactionToMap(Transaction transaction) {
-        return Map.of(
-                "fromEmail", transaction.getOriginOwner().getEmail(),
-                "toEmail", transaction.getDestinationOwner().getEmail(),
-                "amount", transaction.getAmount().toString(),
-                "concept", transaction.getConcept(),
-                "type", getTransactionType(transaction),
-                "status", transaction.getStatus().name(),
-                "blockchainTxHash", transaction.getBlockchainTxHash(),
-                "transactionDate", transaction.getTransactionDate().toString()
-        );
+        // HashMap y no Map.of: concept y blockchainTxHash pueden ser null (p. ej. una transacción neteada sin liquidar)
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("fromEmail", transaction.getOriginOwner().getEmail());
+        entry.put("toEmail", transaction.getDestinationOwner().getEmail());
+        entry.put("amount", transaction.getAmount().toString());
+        entry.put("concept", transaction.getConcept());
+        entry.put("type", getTransactionType(transaction));
+        entry.put("status", transaction.getStatus().name());
+        entry.put("blockchainTxHash", transaction.getBlockchainTxHash());
+        entry.put("transactionDate", transaction.getTransactionDate().toString());
+        return entry;
     }
 
     private String getTransactionType(Transaction transaction) {
@@ -1,10 +1,13 @@
 package com.deliverar.pagos.adapters.rest.messaging.commands.strategies;
 
 import com.deliverar.pagos.adapters.rest.messaging.commands.BaseCommand;
+import com.deliverar.pagos.adapters.rest.messaging.commands.CommandFailures;
 import com.deliverar.pagos.adapters.rest.messaging.commands.CommandResult;
+import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ResponseBuilder;
 import com.deliverar.pagos.adapters.rest.messaging.core.EventPublisher;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
 import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.OwnerPayload;
 import com.deliverar.pagos.adapters.rest.messaging.events.OutgoingEvent;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventStatus;
 import com.deliverar.pagos.domain.entities.Owner;
@@ -14,7 +17,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Component
@@ -29,17 +31,10 @@ public class GetBalancesCommand extends BaseCommand {
         return EventType.GET_BALANCES_REQUEST.equals(eventType);
     }
 
-    @Override
-    protected boolean validate(IncomingEvent event) {
-        Map<String, Object> payload = event.getPayload();
-        return payload != null && payload.containsKey("email");
-    }
-
     @Override
     protected CommandResult process(IncomingEvent event) {
         try {
-            Map<String, Object> payload = event.getPayload();
-            String email = (String) payload.get("email");
+            String email = event.body(OwnerPayload.class).email();
 
             // Validate owner
             var ownerOptional = getOwnerByEmailUseCase.get(email);
@@ -49,22 +44,21 @@ public class GetBalancesCommand extends BaseCommand {
 
             log.info("Get balances request initiated for email: {}", email);
 
-            // Start async processing to get balances and publish result
-            CompletableFuture.runAsync(() -> {
-                processBalancesRetrieval(email, event);
-            });
+            // Queries lane, on the owner's partition
+            processBalancesRetrieval(email, event);
 
-            // Return immediate success - the actual result will be published asynchronously
+            // No payload: the result has already been published by the command
             return CommandResult.buildSuccess(null, "Get balances request initiated successfully");
 
         } catch (Exception e) {
             log.error("Error processing get balances command", e);
+            CommandFailures.rethrowIfRetryable(e);
             return CommandResult.buildFailure("Failed to process get balances request: " + e.getMessage());
         }
     }
 
     /**
-     * Asynchronously processes the balances retrieval and publishes the result
+     * Processes the balances retrieval and publishes the result
      */
     private void processBalancesRetrieval(String email, IncomingEvent originalEvent) {
         try {
@@ -87,9 +81,7 @@ public class GetBalancesCommand extends BaseCommand {
             response.put("lastUpdated", owner.getWallet().getUpdatedAt().toString());
 
             // Add traceData if present in the request
-            if (originalEvent.getPayload().containsKey("traceData")) {
-                response.put("traceData", originalEvent.getPayload().get("traceData"));
-            }
+            ResponseBuilder.addTraceData(response, originalEvent.getBody());
 
             // Publish success response
             OutgoingEvent successEvent = OutgoingEvent.buildResponse(
@@ -102,7 +94,8 @@ public class GetBalancesCommand extends BaseCommand {
             log.info("Get balances response published successfully for email: {}", email);
 
         } catch (Exception e) {
-            log.error("Error in async balances retrieval for email: {}", email, e);
+            log.error("Error in balances retrieval for email: {}", email, e);
+            CommandFailures.rethrowIfRetryable(e);
             publishErrorResponse("Failed to retrieve balances: " + e.getMessage(), originalEvent);
         }
     }
@@ -1,27 +1,27 @@
 package com.deliverar.pagos.adapters.rest.messaging.commands.strategies;
 
 import com.deliverar.pagos.adapters.rest.messaging.commands.AsyncBaseCommand;
+import com.deliverar.pagos.adapters.rest.messaging.commands.CommandFailures;
 import com.deliverar.pagos.adapters.rest.messaging.commands.CommandResult;
-import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ResponseBuilder;
+import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ChunkedResponsePublisher;
 import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ValidationUtils;
 import com.deliverar.pagos.adapters.rest.messaging.core.EventPublisher;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
 import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.OwnerTransactionsQuery;
 import com.deliverar.pagos.domain.entities.Owner;
-import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.entities.OwnerTransactionHistory;
+import com.deliverar.pagos.domain.entities.TransferDirection;
 import com.deliverar.pagos.domain.usecases.owner.GetOwnerByEmail;
 import com.deliverar.pagos.domain.usecases.owner.GetOwnerCryptoTransactionsByDate;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
-import java.time.format.DateTimeParseException;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Component
@@ -29,11 +29,13 @@ public class GetUserCryptoTransactionsCommand extends AsyncBaseCommand {
 
     private final GetOwnerByEmail getOwnerByEmailUseCase;
     private final GetOwnerCryptoTransactionsByDate getOwnerCryptoTransactionsByDateUseCase;
+    private final ChunkedResponsePublisher chunkedResponsePublisher;
 
-    public GetUserCryptoTransactionsCommand(EventPublisher eventPublisher, GetOwnerByEmail getOwnerByEmailUseCase, GetOwnerCryptoTransactionsByDate getOwnerCryptoTransactionsByDateUseCase) {
-        super(eventPublisher);
+    public GetUserCryptoTransactionsCommand(EventPublisher eventPublisher, WorkloadExecutors workloadExecutors, GetOwnerByEmail getOwnerByEmailUseCase, GetOwnerCryptoTransactionsByDate getOwnerCryptoTransactionsByDateUseCase, ChunkedResponsePublisher chunkedResponsePublisher) {
+        super(eventPublisher, workloadExecutors);
         this.getOwnerByEmailUseCase = getOwnerByEmailUseCase;
         this.getOwnerCryptoTransactionsByDateUseCase = getOwnerCryptoTransactionsByDateUseCase;
+        this.chunkedResponsePublisher = chunkedResponsePublisher;
     }
 
     @Override
@@ -41,121 +43,84 @@ public class GetUserCryptoTransactionsCommand extends AsyncBaseCommand {
         return EventType.GET_USER_CRYPTO_TRANSACTIONS_REQUEST.equals(eventType);
     }
 
-    @Override
-    protected boolean validate(IncomingEvent event) {
-        try {
-            Map<String, Object> payload = event.getPayload();
-            ValidationUtils.validateRequiredFields(payload, "email");
-            ValidationUtils.validateEmailFormat((String) payload.get("email"));
-            
-            // Validate transactionDateSince if present (optional)
-            if (payload.containsKey("transactionDateSince") && payload.get("transactionDateSince") != null) {
-                log.info("Transaction dates since: {}", payload.get("transactionDateSince"));
-                String dateStr = payload.get("transactionDateSince").toString();
-                if (!dateStr.isEmpty()) {
-                    Instant.parse(dateStr); // Validate date format
-                }
-            }
-            
-            return true;
-        } catch (IllegalArgumentException | DateTimeParseException e) {
-            log.warn("Validation failed: {}", e.getMessage());
-            return false;
-        }
-    }
-
     @Override
     protected CommandResult process(IncomingEvent event) {
         try {
-            Map<String, Object> payload = event.getPayload();
-            String email = (String) payload.get("email");
+            OwnerTransactionsQuery payload = event.body(OwnerTransactionsQuery.class);
+            String email = payload.email();
 
             log.info("Get user crypto transactions request initiated for email: {}", email);
 
-            // Start async processing to get transactions and publish result
-            processAsyncWithErrorHandling(() -> {
+            // Queries lane, on the owner's partition: read the crypto history and publish it in parts
+            processWithErrorHandling(() -> {
                 processGetUserCryptoTransactions(email, payload, event);
             }, event, "get user crypto transactions");
 
-            // Return immediate success - the actual result will be published asynchronously
+            // No payload: the result has already been published by the command
             return CommandResult.buildSuccess(null, "Get user crypto transactions request initiated successfully");
 
         } catch (Exception e) {
             log.error("Error processing get user crypto transactions command", e);
+            CommandFailures.rethrowIfRetryable(e);
             return CommandResult.buildFailure("Failed to process get user crypto transactions request: " + e.getMessage());
         }
     }
 
     /**
-     * Asynchronously processes the get user crypto transactions and publishes the result
+     * Processes the get user crypto transactions and publishes the result
      */
-    private void processGetUserCryptoTransactions(String email, Map<String, Object> originalData, IncomingEvent originalEvent) {
+    private void processGetUserCryptoTransactions(String email, OwnerTransactionsQuery originalData, IncomingEvent originalEvent) {
         try {
             log.info("Starting to get crypto transactions for email: {}", email);
 
             // Validate owner exists using ValidationUtils
             Owner owner = ValidationUtils.validateOwnerExists(getOwnerByEmailUseCase, email);
 
-            // Parse transactionDateSince (optional)
-            Optional<Instant> sinceDate = Optional.empty();
-            if (originalData.containsKey("transactionDateSince") && originalData.get("transactionDateSince") != null) {
-                String dateStr = originalData.get("transactionDateSince").toString();
-                if (!dateStr.isEmpty()) {
-                    sinceDate = Optional.of(Instant.parse(dateStr));
-                    log.info("Filtering crypto transactions since: {}", sinceDate.get());
-                }
-            }
-
-            // Get transactions using the new use case with date filtering
-            Page<Transaction> transactionsPage = getOwnerCryptoTransactionsByDateUseCase.get(
-                    owner, sinceDate, 0, Integer.MAX_VALUE, Sort.Direction.DESC);
+            // transactionDateSince (optional), already parsed at intake
+            Optional<Instant> sinceDate = Optional.ofNullable(originalData.transactionDateSince());
+            sinceDate.ifPresent(since -> log.info("Filtering crypto transactions since: {}", since));
 
-            // Convert transactions to response format
-            List<Map<String, Object>> transactionsList = transactionsPage.getContent().stream()
-                    .map(this::convertTransactionToMap)
-                    .collect(Collectors.toList());
-
-            // Build response according to documentation (exact fields)
-            Map<String, Object> response = ResponseBuilder.createResponse(originalData,
+            // Publish the history in parts of at most pageSize rows, one keyset page at a time
+            int parts = chunkedResponsePublisher.publish(originalEvent, EventType.GET_USER_CRYPTO_TRANSACTIONS_RESPONSE, originalData,
+                    (after, pageSize) -> getOwnerCryptoTransactionsByDateUseCase.get(owner, sinceDate, after, pageSize),
+                    row -> convertTransactionToMap(email, row),
                     "email", email,
-                    "transactions", transactionsList,
-                    "transactionDateSince", originalData.getOrDefault("transactionDateSince", "")
-            );
-
-            // Publish success response
-            publishSuccessResponse(originalEvent, EventType.GET_USER_CRYPTO_TRANSACTIONS_RESPONSE, response);
-            log.info("Get user crypto transactions response published successfully for email: {}", email);
+                    "transactionDateSince", sinceDate.map(Instant::toString).orElse(""));
+            log.info("Get user crypto transactions response published successfully in {} parts for email: {}", parts, email);
 
         } catch (Exception e) {
-            log.error("Error in async get user crypto transactions for email: {}", email, e);
+            log.error("Error in get user crypto transactions for email: {}", email, e);
+            CommandFailures.rethrowIfRetryable(e);
             publishErrorResponse(originalEvent, "Failed to get user crypto transactions: " + e.getMessage());
         }
     }
 
     /**
-     * Converts a Transaction entity to a Map for the response
+     * Converts a history row of the owner to a Map for the response
      */
-    private Map<String, Object> convertTransactionToMap(Transaction transaction) {
-        return Map.of(
-                "id", transaction.getId().toString(),
-                "fromEmail", transaction.getOriginOwner().getEmail(),
-                "toEmail", transaction.getDestinationOwner().getEmail(),
-                "amount", transaction.getAmount().toString(),
-                "concept", transaction.getConcept(),
-                "type", getTransactionType(transaction),
-                "status", transaction.getStatus().name(),
-                "blockchainTxHash", transaction.getBlockchainTxHash(),
-                "transactionDate", transaction.getTransactionDate().toString()
-        );
+    private Map<String, Object> convertTransactionToMap(String email, OwnerTransactionHistory row) {
+        boolean outgoing = row.getDirection() == TransferDirection.OUT;
+        // Map.of no admite null y el hash falta hasta que la transacción se envía o se liquida
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("id", row.getTransactionId().toString());
+        entry.put("fromEmail", outgoing ? email : row.getCounterpartyEmail());
+        entry.put("toEmail", outgoing ? row.getCounterpartyEmail() : email);
+        entry.put("amount", row.getAmount().abs().toString());
+        entry.put("concept", row.getConcept());
+        entry.put("type", getTransactionType(row.getConcept()));
+        entry.put("status", row.getStatus().name());
+        entry.put("blockchainTxHash", row.getBlockchainTxHash());
+        entry.put("transactionDate", row.getTransactionDate().toString());
+        return entry;
     }
 
-    private String getTransactionType(Transaction transaction) {
-        if (transaction.getConcept() != null) {
-            if (transaction.getConcept().contains("BUY")) {
+    private String getTransactionType(String concept) {
+        if (concept != null) {
+            if (concept.contains("BUY")) {
                 return "BUY";
-            } else if (transaction.getConcept().contains("SELL")) {
+            } else if (concept.contains("SELL")) {
                 return "SELL";
-            } else if (transaction.getConcept().contains("TRANSFER") || transaction.getConcept().contains("PAYMENT")) {
+            } else if (concept.contains("TRANSFER") || concept.contains("PAYMENT")) {
                 return "PAYMENT";
             }
         }
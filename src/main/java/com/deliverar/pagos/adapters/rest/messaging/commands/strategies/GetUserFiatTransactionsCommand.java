@@ -1,27 +1,25 @@
 package com.deliverar.pagos.adapters.rest.messaging.commands.strategies;
 
 import com.deliverar.pagos.adapters.rest.messaging.commands.AsyncBaseCommand;
+import com.deliverar.pagos.adapters.rest.messaging.commands.CommandFailures;
 import com.deliverar.pagos.adapters.rest.messaging.commands.CommandResult;
-import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ResponseBuilder;
+import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ChunkedResponsePublisher;
 import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ValidationUtils;
 import com.deliverar.pagos.adapters.rest.messaging.core.EventPublisher;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
 import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.OwnerTransactionsQuery;
 import com.deliverar.pagos.domain.entities.FiatTransaction;
 import com.deliverar.pagos.domain.entities.Owner;
 import com.deliverar.pagos.domain.usecases.owner.GetOwnerByEmail;
 import com.deliverar.pagos.domain.usecases.owner.GetOwnerFiatTransactionsByDate;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
-import java.time.format.DateTimeParseException;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Component
@@ -29,11 +27,13 @@ public class GetUserFiatTransactionsCommand extends AsyncBaseCommand {
 
     private final GetOwnerByEmail getOwnerByEmailUseCase;
     private final GetOwnerFiatTransactionsByDate getOwnerFiatTransactionsByDateUseCase;
+    private final ChunkedResponsePublisher chunkedResponsePublisher;
 
-    public GetUserFiatTransactionsCommand(EventPublisher eventPublisher, GetOwnerByEmail getOwnerByEmailUseCase, GetOwnerFiatTransactionsByDate getOwnerFiatTransactionsByDateUseCase) {
-        super(eventPublisher);
+    public GetUserFiatTransactionsCommand(EventPublisher eventPublisher, WorkloadExecutors workloadExecutors, GetOwnerByEmail getOwnerByEmailUseCase, GetOwnerFiatTransactionsByDate getOwnerFiatTransactionsByDateUseCase, ChunkedResponsePublisher chunkedResponsePublisher) {
+        super(eventPublisher, workloadExecutors);
         this.getOwnerByEmailUseCase = getOwnerByEmailUseCase;
         this.getOwnerFiatTransactionsByDateUseCase = getOwnerFiatTransactionsByDateUseCase;
+        this.chunkedResponsePublisher = chunkedResponsePublisher;
     }
 
     @Override
@@ -41,93 +41,54 @@ public class GetUserFiatTransactionsCommand extends AsyncBaseCommand {
         return EventType.GET_USER_FIAT_TRANSACTIONS_REQUEST.equals(eventType);
     }
 
-    @Override
-    protected boolean validate(IncomingEvent event) {
-        try {
-            Map<String, Object> payload = event.getPayload();
-            ValidationUtils.validateRequiredFields(payload, "email");
-            ValidationUtils.validateEmailFormat((String) payload.get("email"));
-            
-            // Validate transactionDateSince if present (optional)
-            if (payload.containsKey("transactionDateSince") && payload.get("transactionDateSince") != null) {
-                log.info("Transaction dates since: {}", payload.get("transactionDateSince"));
-                String dateStr = payload.get("transactionDateSince").toString();
-                if (!dateStr.isEmpty()) {
-                    Instant.parse(dateStr); // Validate date format
-                }
-            }
-            
-            return true;
-        } catch (IllegalArgumentException | DateTimeParseException e) {
-            log.warn("Validation failed: {}", e.getMessage());
-            return false;
-        }
-    }
-
     @Override
     protected CommandResult process(IncomingEvent event) {
         try {
-            Map<String, Object> payload = event.getPayload();
-            String email = (String) payload.get("email");
+            OwnerTransactionsQuery payload = event.body(OwnerTransactionsQuery.class);
+            String email = payload.email();
 
             log.info("Get user fiat transactions request initiated for email: {}", email);
 
-            // Start async processing to get transactions and publish result
-            processAsyncWithErrorHandling(() -> {
+            // Queries lane, on the owner's partition: read the fiat history and publish it in parts
+            processWithErrorHandling(() -> {
                 processGetUserFiatTransactions(email, payload, event);
             }, event, "get user fiat transactions");
 
-            // Return immediate success - the actual result will be published asynchronously
+            // No payload: the result has already been published by the command
             return CommandResult.buildSuccess(null, "Get user fiat transactions request initiated successfully");
 
         } catch (Exception e) {
             log.error("Error processing get user fiat transactions command", e);
+            CommandFailures.rethrowIfRetryable(e);
             return CommandResult.buildFailure("Failed to process get user fiat transactions request: " + e.getMessage());
         }
     }
 
     /**
-     * Asynchronously processes the get user fiat transactions and publishes the result
+     * Processes the get user fiat transactions and publishes the result
      */
-    private void processGetUserFiatTransactions(String email, Map<String, Object> originalData, IncomingEvent originalEvent) {
+    private void processGetUserFiatTransactions(String email, OwnerTransactionsQuery originalData, IncomingEvent originalEvent) {
         try {
             log.info("Starting to get fiat transactions for email: {}", email);
 
             // Validate owner exists using ValidationUtils
             Owner owner = ValidationUtils.validateOwnerExists(getOwnerByEmailUseCase, email);
 
-            // Parse transactionDateSince (optional)
-            Optional<Instant> sinceDate = Optional.empty();
-            if (originalData.containsKey("transactionDateSince") && originalData.get("transactionDateSince") != null) {
-                String dateStr = originalData.get("transactionDateSince").toString();
-                if (!dateStr.isEmpty()) {
-                    sinceDate = Optional.of(Instant.parse(dateStr));
-                    log.info("Filtering transactions since: {}", sinceDate.get());
-                }
-            }
-
-            // Get transactions using the new use case with date filtering
-            Page<FiatTransaction> transactionsPage = getOwnerFiatTransactionsByDateUseCase.get(
-                    owner, sinceDate, 0, Integer.MAX_VALUE, Sort.Direction.DESC);
-
-            // Convert transactions to response format
-            List<Map<String, Object>> transactionsList = transactionsPage.getContent().stream()
-                    .map(this::convertTransactionToMap)
-                    .collect(Collectors.toList());
-
-            // Build response according to documentation (exact fields)
-            Map<String, Object> response = ResponseBuilder.createResponse(originalData,
-                    "email", email,
-                    "transactions", transactionsList,
-                    "transactionDateSince", originalData.getOrDefault("transactionDateSince", "")
-            );
+            // transactionDateSince (optional), already parsed at intake
+            Optional<Instant> sinceDate = Optional.ofNullable(originalData.transactionDateSince());
+            sinceDate.ifPresent(since -> log.info("Filtering transactions since: {}", since));
 
-            // Publish success response
-            publishSuccessResponse(originalEvent, EventType.GET_USER_FIAT_TRANSACTIONS_RESPONSE, response);
-            log.info("Get user fiat transactions response published successfully for email: {}", email);
+            // Publish the history in parts of at most pageSize rows, one keyset page at a time
+            int parts = chunkedResponsePublisher.publish(originalEvent, EventType.GET_USER_FIAT_TRANSACTIONS_RESPONSE, originalData,
+                    (after, pageSize) -> getOwnerFiatTransactionsByDateUseCase.get(owner, sinceDate, after, pageSize),
+                    this::convertTransactionToMap,
+                    "email", email,
+                    "transactionDateSince", sinceDate.map(Instant::toString).orElse(""));
+            log.info("Get user fiat transactions response published successfully in {} parts for email: {}", parts, email);
 
         } catch (Exception e) {
-            log.error("Error in async get user fiat transactions for email: {}", email, e);
+            log.error("Error in get user fiat transactions for email: {}", email, e);
+            CommandFailures.rethrowIfRetryable(e);
             publishErrorResponse(originalEvent, "Failed to get user fiat transactions: " + e.getMessage());
         }
     }
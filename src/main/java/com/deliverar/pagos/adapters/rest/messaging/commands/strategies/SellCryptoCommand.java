@@ -1,27 +1,30 @@
 package com.deliverar.pagos.adapters.rest.messaging.commands.strategies;
 
 import com.deliverar.pagos.adapters.crypto.service.DeliverCoinService;
+import com.deliverar.pagos.adapters.crypto.service.TransactionCompletionRegistry;
 import com.deliverar.pagos.adapters.rest.messaging.commands.BaseCommand;
+import com.deliverar.pagos.adapters.rest.messaging.commands.CommandFailures;
 import com.deliverar.pagos.adapters.rest.messaging.commands.CommandResult;
+import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ResponseBuilder;
 import com.deliverar.pagos.adapters.rest.messaging.core.EventPublisher;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
 import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.AmountPayload;
 import com.deliverar.pagos.adapters.rest.messaging.events.OutgoingEvent;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventStatus;
 import com.deliverar.pagos.domain.entities.Owner;
 import com.deliverar.pagos.domain.entities.Transaction;
 import com.deliverar.pagos.domain.entities.TransactionStatus;
 import com.deliverar.pagos.domain.usecases.owner.GetOwnerByEmail;
+import com.deliverar.pagos.infrastructure.concurrency.Workload;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.time.Duration;
-import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Component
@@ -31,30 +34,21 @@ public class SellCryptoCommand extends BaseCommand {
     private final GetOwnerByEmail getOwnerByEmailUseCase;
     private final DeliverCoinService deliverCoinService;
     private final EventPublisher eventPublisher;
-
-    private static final int MAX_WAIT_SECONDS = 60;
-    private static final int POLL_INTERVAL_MS = 20000;
+    private final WorkloadExecutors workloadExecutors;
+    private final TransactionCompletionRegistry transactionCompletionRegistry;
 
     @Override
     public boolean canHandle(EventType eventType) {
         return EventType.SELL_CRYPTO_REQUEST.equals(eventType);
     }
 
-    @Override
-    protected boolean validate(IncomingEvent event) {
-        Map<String, Object> payload = event.getPayload();
-        return payload != null &&
-                payload.containsKey("email") &&
-                payload.containsKey("amount");
-    }
-
     @Override
     protected CommandResult process(IncomingEvent event) {
         try {
-            Map<String, Object> payload = event.getPayload();
+            AmountPayload payload = event.body(AmountPayload.class);
 
-            String email = (String) payload.get("email");
-            BigDecimal amount = new BigDecimal(payload.get("amount").toString());
+            String email = payload.email();
+            BigDecimal amount = payload.amount();
 
             // Validate owner using the use case
             var ownerOptional = getOwnerByEmailUseCase.get(email);
@@ -62,34 +56,53 @@ public class SellCryptoCommand extends BaseCommand {
                 return CommandResult.buildFailure("Owner not found with email: " + email);
             }
 
-            // Process the crypto sale using the service (returns transaction ID)
-            UUID transactionId = deliverCoinService.sellCryptoForFiat(email, amount);
-            log.info("Sell crypto transaction initiated with ID: {}", transactionId);
-
-            // Start async processing to wait for final status and publish result
-            CompletableFuture.runAsync(() -> {
-                processTransactionCompletion(transactionId, email, amount, event);
-            });
+            // Initiate the sale on the owner's lane; the final status is published later from the commands executor
+            processTransactionCompletion(email, amount, event);
 
             // Return immediate success - the actual result will be published asynchronously when final status is reached
             return CommandResult.buildSuccess(null, "Crypto sale initiated successfully");
 
         } catch (Exception e) {
             log.error("Error processing sell crypto command", e);
+            CommandFailures.rethrowIfRetryable(e);
             return CommandResult.buildFailure("Failed to process crypto sale: " + e.getMessage());
         }
     }
 
     /**
-     * Asynchronously processes the transaction completion and publishes the result
-     * Only publishes when the transaction reaches a final status (SUCCESS or FAILURE)
+     * Initiates the transaction and registers the publication of its result, which happens once
+     * the transaction reaches a final status (SUCCESS or FAILURE), without a thread waiting for it
      */
-    private void processTransactionCompletion(UUID transactionId, String email, BigDecimal amount, IncomingEvent originalEvent) {
+    private void processTransactionCompletion(String email, BigDecimal amount, IncomingEvent originalEvent) {
+        UUID transactionId;
         try {
-            log.info("Starting to monitor transaction {} for final status", transactionId);
-            
-            // Wait for the transaction to reach final status (ignore PENDING)
-            Transaction transaction = waitForFinalTransactionStatus(transactionId);
+            // Process the crypto sale using the service (returns transaction ID)
+            transactionId = deliverCoinService.sellCryptoForFiat(email, amount);
+            log.info("Sell crypto transaction initiated with ID: {}", transactionId);
+        } catch (Exception e) {
+            log.error("Error initiating sell crypto transaction", e);
+            CommandFailures.rethrowIfRetryable(e);
+            publishErrorResponse("Failed to process crypto sale: " + e.getMessage(), originalEvent);
+            return;
+        }
+
+        transactionCompletionRegistry.await(transactionId).whenCompleteAsync(
+                (status, error) -> publishFinalStatus(transactionId, email, amount, originalEvent, error),
+                workloadExecutors.executor(Workload.COMMANDS));
+    }
+
+    /**
+     * Publishes the result of a transaction that reached its final status
+     */
+    private void publishFinalStatus(UUID transactionId, String email, BigDecimal amount, IncomingEvent originalEvent, Throwable error) {
+        try {
+            if (error != null) {
+                log.error("Transaction {} did not reach a final status", transactionId, error);
+                publishErrorResponse("Failed to process crypto sale: " + error.getMessage(), originalEvent);
+                return;
+            }
+
+            Transaction transaction = deliverCoinService.getTransferStatus(transactionId);
 
             if (transaction.getStatus() == TransactionStatus.FAILURE) {
                 log.info("Transaction {} reached FAILURE status, publishing error response", transactionId);
@@ -119,9 +132,7 @@ public class SellCryptoCommand extends BaseCommand {
             response.put("currentCryptoBalance", owner.getWallet().getCryptoBalance());
 
             // Add traceData if present in the request
-            if (originalEvent.getPayload().containsKey("traceData")) {
-                response.put("traceData", originalEvent.getPayload().get("traceData"));
-            }
+            ResponseBuilder.addTraceData(response, originalEvent.getBody());
 
             // Publish success response only when final status is reached
             OutgoingEvent successEvent = OutgoingEvent.buildResponse(
@@ -134,7 +145,7 @@ public class SellCryptoCommand extends BaseCommand {
             log.info("Sell crypto response published successfully for transaction ID: {}", transactionId);
 
         } catch (Exception e) {
-            log.error("Error in async transaction processing for ID: {}", transactionId, e);
+            log.error("Error in transaction processing for ID: {}", transactionId, e);
             publishErrorResponse("Failed to process crypto sale: " + e.getMessage(), originalEvent);
         }
     }
@@ -146,40 +157,4 @@ public class SellCryptoCommand extends BaseCommand {
         eventPublisher.publishError(originalEvent, errorMessage);
         log.error("Error response published: {}", errorMessage);
     }
-
-    /**
-     * Waits for the transaction to reach a final status (SUCCESS or FAILURE)
-     * Ignores PENDING status and continues polling until final status is reached
-     *
-     * @param transactionId The transaction ID to monitor
-     * @return The transaction with final status
-     * @throws RuntimeException if timeout is reached
-     */
-    private Transaction waitForFinalTransactionStatus(UUID transactionId) {
-        Instant startTime = Instant.now();
-
-        while (Duration.between(startTime, Instant.now()).getSeconds() < MAX_WAIT_SECONDS) {
-            try {
-                Transaction transaction = deliverCoinService.getTransferStatus(transactionId);
-
-                if (transaction.getStatus() == TransactionStatus.SUCCESS ||
-                        transaction.getStatus() == TransactionStatus.FAILURE) {
-                    log.info("Transaction {} reached final status: {}", transactionId, transaction.getStatus());
-                    return transaction;
-                }
-
-                log.debug("Transaction {} still PENDING, waiting for final status...", transactionId);
-                Thread.sleep(POLL_INTERVAL_MS);
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Transaction monitoring interrupted", e);
-            } catch (Exception e) {
-                log.error("Error checking transaction status for ID: {}", transactionId, e);
-                throw new RuntimeException("Failed to check transaction status", e);
-            }
-        }
-
-        throw new RuntimeException("Timeout waiting for transaction " + transactionId + " to reach final status");
-    }
 }
@@ -1,15 +1,18 @@
 package com.deliverar.pagos.adapters.rest.messaging.commands.strategies;
 
 import com.deliverar.pagos.adapters.rest.messaging.commands.AsyncBaseCommand;
+import com.deliverar.pagos.adapters.rest.messaging.commands.CommandFailures;
 import com.deliverar.pagos.adapters.rest.messaging.commands.CommandResult;
 import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ResponseBuilder;
 import com.deliverar.pagos.adapters.rest.messaging.commands.utils.ValidationUtils;
 import com.deliverar.pagos.adapters.rest.messaging.core.EventPublisher;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
 import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.OwnerPayload;
 import com.deliverar.pagos.domain.entities.Owner;
 import com.deliverar.pagos.domain.repositories.OwnerRepository;
 import com.deliverar.pagos.domain.usecases.owner.GetOwnerByEmail;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -23,8 +26,8 @@ public class WalletDeletionCommand extends AsyncBaseCommand {
     private final GetOwnerByEmail getOwnerByEmailUseCase;
     private final OwnerRepository ownerRepository;
 
-    public WalletDeletionCommand(EventPublisher eventPublisher, GetOwnerByEmail getOwnerByEmailUseCase, OwnerRepository ownerRepository) {
-        super(eventPublisher);
+    public WalletDeletionCommand(EventPublisher eventPublisher, WorkloadExecutors workloadExecutors, GetOwnerByEmail getOwnerByEmailUseCase, OwnerRepository ownerRepository) {
+        super(eventPublisher, workloadExecutors);
         this.getOwnerByEmailUseCase = getOwnerByEmailUseCase;
         this.ownerRepository = ownerRepository;
     }
@@ -34,45 +37,33 @@ public class WalletDeletionCommand extends AsyncBaseCommand {
         return EventType.WALLET_DELETION_REQUEST.equals(eventType);
     }
 
-    @Override
-    protected boolean validate(IncomingEvent event) {
-        try {
-            Map<String, Object> payload = event.getPayload();
-            ValidationUtils.validateRequiredFields(payload, "email");
-            ValidationUtils.validateEmailFormat((String) payload.get("email"));
-            return true;
-        } catch (IllegalArgumentException e) {
-            log.warn("Validation failed: {}", e.getMessage());
-            return false;
-        }
-    }
-
     @Override
     protected CommandResult process(IncomingEvent event) {
         try {
-            Map<String, Object> payload = event.getPayload();
-            String email = (String) payload.get("email");
+            OwnerPayload payload = event.body(OwnerPayload.class);
+            String email = payload.email();
 
             log.info("Wallet deletion request initiated for email: {}", email);
 
-            // Start async processing to delete wallet and publish result
-            processAsyncWithErrorHandling(() -> {
+            // Payments lane, on the owner's partition, after the movements already queued for the wallet
+            processWithErrorHandling(() -> {
                 processWalletDeletion(email, payload, event);
             }, event, "wallet deletion");
 
-            // Return immediate success - the actual result will be published asynchronously
+            // No payload: the result has already been published by the command
             return CommandResult.buildSuccess(null, "Wallet deletion request initiated successfully");
 
         } catch (Exception e) {
             log.error("Error processing wallet deletion command", e);
+            CommandFailures.rethrowIfRetryable(e);
             return CommandResult.buildFailure("Failed to process wallet deletion request: " + e.getMessage());
         }
     }
 
     /**
-     * Asynchronously processes the wallet deletion and publishes the result
+     * Processes the wallet deletion and publishes the result
      */
-    private void processWalletDeletion(String email, Map<String, Object> originalData, IncomingEvent originalEvent) {
+    private void processWalletDeletion(String email, OwnerPayload originalData, IncomingEvent originalEvent) {
         try {
             log.info("Starting to delete wallet for email: {}", email);
 
@@ -94,7 +85,8 @@ public class WalletDeletionCommand extends AsyncBaseCommand {
             log.info("Wallet deletion response published successfully for email: {}", email);
 
         } catch (Exception e) {
-            log.error("Error in async wallet deletion for email: {}", email, e);
+            log.error("Error in wallet deletion for email: {}", email, e);
+            CommandFailures.rethrowIfRetryable(e);
             publishErrorResponse(originalEvent, "Failed to delete wallet: " + e.getMessage());
         }
     }
@@ -0,0 +1,116 @@
+package com.deliverar.pagos.adapters.rest.messaging.commands.utils;
+
+import com.deliverar.pagos.adapters.rest.messaging.core.EventPublisher;
+import com.deliverar.pagos.adapters.rest.messaging.events.EventStatus;
+import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
+import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.OutgoingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.HistoryQuery;
+import com.deliverar.pagos.domain.dtos.KeysetPage;
+import com.deliverar.pagos.domain.dtos.TransactionCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Answers history queries in sequenced parts: each keyset page is mapped, published as its own
+ * response event ({@code part}, {@code last}, {@code nextCursor}) and dropped before the next page
+ * is read, so memory stays flat whatever the size of the history.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChunkedResponsePublisher {
+
+    private final EventPublisher eventPublisher;
+
+    @Value("${app.events.history.page-size:200}")
+    private int defaultPageSize;
+
+    @Value("${app.events.history.max-page-size:1000}")
+    private int maxPageSize;
+
+    // Tope de partes por request; si quedan filas, la última parte trae nextCursor para continuar
+    @Value("${app.events.history.max-parts:50}")
+    private int maxParts;
+
+    /**
+     * Once a part is out, a failure is not rethrown: a retry of the event would publish the earlier
+     * parts again. The sequence is closed instead with a FAILURE part carrying the error and the
+     * cursor to resume from.
+     *
+     * @param fetch  reads the page after the given cursor with the given size
+     * @param mapper converts a row to its response entry
+     * @param fields fixed fields repeated in every part, as alternating key-value pairs
+     * @return number of parts published
+     */
+    public <T> int publish(IncomingEvent originalEvent, EventType responseType, HistoryQuery query,
+                           BiFunction<Optional<TransactionCursor>, Integer, KeysetPage<T>> fetch,
+                           Function<T, Map<String, Object>> mapper, Object... fields) {
+        int pageSize = pageSize(query);
+        Optional<TransactionCursor> after = query.after();
+        int part = 0;
+        KeysetPage<T> page;
+        do {
+            try {
+                page = fetch.apply(after, pageSize);
+                List<Map<String, Object>> rows = new ArrayList<>(page.content().size());
+                for (T row : page.content()) {
+                    rows.add(mapper.apply(row));
+                }
+                publishPart(originalEvent, responseType, query, EventStatus.SUCCESS, fields,
+                        "transactions", rows,
+                        "part", part + 1,
+                        "last", !page.hasNext(),
+                        "nextCursor", page.hasNext() ? page.next().encode() : null);
+            } catch (RuntimeException e) {
+                if (part == 0) {
+                    throw e;
+                }
+                log.error("Failed to publish part {} of {}, closing the sequence", part + 1, responseType, e);
+                publishFailure(originalEvent, responseType, query, fields, part + 1, after, e);
+                return part + 1;
+            }
+            part++;
+            after = Optional.ofNullable(page.next());
+        } while (page.hasNext() && part < maxParts);
+
+        log.info("Published {} in {} parts{}", responseType, part, page.hasNext() ? " (more rows left)" : "");
+        return part;
+    }
+
+    private void publishFailure(IncomingEvent originalEvent, EventType responseType, HistoryQuery query,
+                                Object[] fields, int part, Optional<TransactionCursor> after, Exception error) {
+        try {
+            publishPart(originalEvent, responseType, query, EventStatus.FAILURE, fields,
+                    "transactions", List.of(),
+                    "part", part,
+                    "last", true,
+                    "nextCursor", after.map(TransactionCursor::encode).orElse(null),
+                    "error", "Failed to publish part " + part + ": " + error.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Could not close the {} sequence at part {}", responseType, part, e);
+        }
+    }
+
+    private void publishPart(IncomingEvent originalEvent, EventType responseType, HistoryQuery query,
+                             EventStatus status, Object[] fields, Object... partFields) {
+        Object[] pairs = Arrays.copyOf(fields, fields.length + partFields.length);
+        System.arraycopy(partFields, 0, pairs, fields.length, partFields.length);
+        eventPublisher.publish(OutgoingEvent.buildResponse(originalEvent, responseType,
+                ResponseBuilder.createResponse(query, pairs), status));
+    }
+
+    int pageSize(HistoryQuery query) {
+        return query.pageSize() == null ? defaultPageSize : Math.min(query.pageSize(), maxPageSize);
+    }
+}
@@ -1,5 +1,6 @@
 package com.deliverar.pagos.adapters.rest.messaging.commands.utils;
 
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.EventPayload;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
@@ -13,14 +14,14 @@ import java.util.Map;
 public class ResponseBuilder {
 
     /**
-     * Adds traceData to the response if present in the original payload.
+     * Adds traceData to the response if present in the request.
      *
-     * @param response        The response map to add traceData to
-     * @param originalPayload The original event payload
+     * @param response The response map to add traceData to
+     * @param request  The payload of the original event
      */
-    public static void addTraceData(Map<String, Object> response, Map<String, Object> originalPayload) {
-        if (originalPayload.containsKey("traceData")) {
-            response.put("traceData", originalPayload.get("traceData"));
+    public static void addTraceData(Map<String, Object> response, EventPayload request) {
+        if (request.traceData() != null) {
+            response.put("traceData", request.traceData());
             log.debug("Added traceData to response");
         }
     }
@@ -28,11 +29,11 @@ public class ResponseBuilder {
     /**
      * Creates a new response map with the given key-value pairs and traceData.
      *
-     * @param originalPayload The original event payload (for traceData)
-     * @param keyValuePairs   Alternating key-value pairs to add to the response
+     * @param request       The payload of the original event (for traceData)
+     * @param keyValuePairs Alternating key-value pairs to add to the response
      * @return A new Map with the specified payload and traceData
      */
-    public static Map<String, Object> createResponse(Map<String, Object> originalPayload, Object... keyValuePairs) {
+    public static Map<String, Object> createResponse(EventPayload request, Object... keyValuePairs) {
         Map<String, Object> response = new HashMap<>();
 
         // Add key-value pairs
@@ -43,8 +44,8 @@ public class ResponseBuilder {
         }
 
         // Add traceData
-        addTraceData(response, originalPayload);
+        addTraceData(response, request);
 
         return response;
     }
-} 
\ No newline at end of file
+}
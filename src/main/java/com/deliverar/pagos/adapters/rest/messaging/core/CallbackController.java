@@ -1,29 +1,31 @@
 package com.deliverar.pagos.adapters.rest.messaging.core;
 
-import com.deliverar.pagos.adapters.rest.messaging.core.dtos.Event;
 import com.deliverar.pagos.adapters.rest.messaging.core.dtos.ImmutableEvent;
+import com.deliverar.pagos.adapters.rest.messaging.inbox.EventInbox;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/callback")
 public class CallbackController {
     private static final Logger log = LoggerFactory.getLogger(CallbackController.class);
-    private final ApplicationEventPublisher applicationEventPublisher;
+    private final EventInbox eventInbox;
     private final HubPublisher hubPublisher;
 
-    public CallbackController(ApplicationEventPublisher applicationEventPublisher, HubPublisher hubPublisher) {
-        this.applicationEventPublisher = applicationEventPublisher;
+    public CallbackController(EventInbox eventInbox, HubPublisher hubPublisher) {
+        this.eventInbox = eventInbox;
         this.hubPublisher = hubPublisher;
     }
 
@@ -41,28 +43,34 @@ public class CallbackController {
 
     @Operation(summary = "Recibir evento", description = "Endpoint para recibir eventos del hub de forma asíncrona")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "Evento recibido correctamente, procesamiento asíncrono iniciado"),
-            @ApiResponse(responseCode = "200", description = "Evento recibido con errores, no se reintentará")
+            @ApiResponse(responseCode = "204", description = "Evento guardado en el inbox (o duplicado ya recibido), se procesará de forma asíncrona"),
+            @ApiResponse(responseCode = "503", description = "No se pudo guardar el evento, el hub debe reintentar")
     })
     @PostMapping
     public ResponseEntity<Void> receiveEvent(
-            @Parameter(description = "Payload del evento") @RequestBody Map<String, Object> payload,
-            @RequestHeader("x-topic") String topic) {
+            @Parameter(description = "Payload del evento") @RequestBody JsonNode payload,
+            @RequestHeader("x-topic") String topic,
+            @Parameter(description = "Id del mensaje en el hub, si lo envía") @RequestHeader(value = "x-message-id", required = false) String messageId) {
         try {
             log.info("Evento recibido del hub: topic {} - payload {}", topic, payload);
 
-            // Publicar evento interno para procesamiento asíncrono
-            Event internalEvent = Event.builder()
-                    .topic(topic)
-                    .payload(payload)
-                    .build();
-
-            applicationEventPublisher.publishEvent(internalEvent);
+            // Solo se persiste en el inbox; los workers lo ligan a su tipo y lo procesan después
+            Optional<UUID> inboxId = eventInbox.append(topic, payload, messageId);
+            if (inboxId.isPresent()) {
+                log.debug("Evento {} guardado en el inbox", inboxId.get());
+            } else {
+                log.info("Evento duplicado del hub ignorado: topic {}", topic);
+            }
 
+            return ResponseEntity.noContent().build();
+        } catch (DataIntegrityViolationException ex) {
+            // Otra entrega del mismo evento se guardó en paralelo
+            log.info("Evento duplicado del hub ignorado: topic {}", topic);
             return ResponseEntity.noContent().build();
         } catch (Exception ex) {
-            log.error("Error procesando evento del hub, devolviendo 200 OK para evitar retry", ex);
-            return ResponseEntity.ok().build();
+            // Sin persistir el evento se perdería: se pide al hub que reintente
+            log.error("Error guardando evento del hub en el inbox", ex);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
     }
 
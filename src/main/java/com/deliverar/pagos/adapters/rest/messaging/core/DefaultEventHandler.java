@@ -1,5 +1,6 @@
 package com.deliverar.pagos.adapters.rest.messaging.core;
 
+import com.deliverar.pagos.adapters.rest.messaging.commands.CommandFailures;
 import com.deliverar.pagos.adapters.rest.messaging.commands.CommandManager;
 import com.deliverar.pagos.adapters.rest.messaging.commands.CommandResult;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventStatus;
@@ -33,6 +34,7 @@ public class DefaultEventHandler implements EventHandler {
 
         } catch (Exception e) {
             log.error("Error handling event: {}", event.getTopic(), e);
+            CommandFailures.rethrowIfRetryable(e);
             publishErrorResponse(event, "Internal server error");
         }
     }
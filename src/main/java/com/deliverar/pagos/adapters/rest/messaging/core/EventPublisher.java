@@ -1,39 +1,39 @@
 package com.deliverar.pagos.adapters.rest.messaging.core;
 
-import com.deliverar.pagos.adapters.rest.messaging.core.dtos.ImmutableEvent;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventStatus;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
 import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
 import com.deliverar.pagos.adapters.rest.messaging.events.OutgoingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.outbox.EventOutbox;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.io.UncheckedIOException;
 import java.util.Map;
 
+/**
+ * Entry point for events sent to the hub. Events are written to the {@link EventOutbox}, inside the
+ * caller's transaction if there is one, and delivered later by the outbox relay.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class EventPublisher {
 
-    private final HubPublisher hubPublisher;
+    private final EventOutbox eventOutbox;
 
+    /**
+     * Stores the event in the outbox. Failures propagate so that a surrounding transaction rolls
+     * back together with the change the event describes.
+     */
     public void publish(OutgoingEvent event) {
         try {
-            log.info("Publishing event: {}", event.getTopic());
-
-            ImmutableEvent hubEvent = new ImmutableEvent(
-                    event.getTopic(),
-                    event.getPayload()
-            );
-
-            hubPublisher.publish(hubEvent)
-                    .doOnSuccess(v -> log.info("Event published successfully: {}", event.getTopic()))
-                    .doOnError(e -> log.error("Failed to publish event: {}", event.getTopic(), e))
-                    .subscribe();
-
-        } catch (Exception e) {
-            log.error("Error publishing event: {}", event.getTopic(), e);
+            Long id = eventOutbox.append(event);
+            log.info("Event {} queued in outbox: {}", event.getTopic(), id);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not serialize event " + event.getTopic(), e);
         }
     }
 
@@ -1,5 +1,6 @@
 package com.deliverar.pagos.adapters.rest.messaging.core;
 
+import com.deliverar.pagos.adapters.rest.messaging.commands.CommandFailures;
 import com.deliverar.pagos.adapters.rest.messaging.commands.CommandManager;
 import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
 import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
@@ -41,9 +42,18 @@ public class EventRouter {
             log.error("Unknown event type: {}", event.getTopic());
         } catch (Exception e) {
             log.error("Error routing event: {}", event.getTopic(), e);
+            // Los fallos de infraestructura llegan al inbox para que reintente el evento
+            CommandFailures.rethrowIfRetryable(e);
         }
     }
 
+    /**
+     * Answers an event that cannot be processed with an error response to its source.
+     */
+    public void rejectEvent(IncomingEvent event, String reason) {
+        eventPublisher.publishError(event, reason);
+    }
+
     public void registerHandler(EventType eventType, EventHandler handler) {
         handlers.put(eventType, handler);
         log.info("Registered handler for event type: {}", eventType);
@@ -2,45 +2,120 @@ package com.deliverar.pagos.adapters.rest.messaging.core;
 
 import com.deliverar.pagos.domain.exceptions.InternalServerException;
 import com.deliverar.pagos.domain.exceptions.UnauthorizedException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Hub access token. Concurrent callers share a single in-flight login, the expiry is read from the
+ * JWT {@code exp} claim and the token is renewed in the background shortly before it expires, so
+ * publishes only wait for a login on a cold start or after the hub rejects the token.
+ */
 @Slf4j
 @Service
 public class HubAuthService {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
     private final WebClient authClient;
     private final String user;
     private final String pass;
-    private final AtomicReference<String> cachedToken = new AtomicReference<>();
+    private final AtomicReference<CachedToken> cachedToken = new AtomicReference<>();
+    private final AtomicReference<Mono<String>> pendingLogin = new AtomicReference<>();
+
+    private final Counter loginSuccess;
+    private final Counter loginFailure;
+    private final Counter unauthorizedRetries;
+
+    // Vida asumida si el token no trae "exp" ni la respuesta "expires_in"
+    @Value("${hub.auth.default-ttl:PT30M}")
+    private Duration defaultTtl;
+
+    // Margen para renovar antes del vencimiento (y para no usar un token a punto de vencer)
+    @Value("${hub.auth.refresh-before:PT2M}")
+    private Duration refreshBefore;
+
+    private record CachedToken(String value, Instant expiresAt) {
+    }
 
     public HubAuthService(
             @Value("${hub.url}") String hubUrl,
             @Value("${hub.user}") String user,
-            @Value("${hub.password}") String pass
+            @Value("${hub.password}") String pass,
+            MeterRegistry meterRegistry
     ) {
         this.authClient = WebClient.builder().baseUrl(hubUrl).build();
         this.user = user;
         this.pass = pass;
+        this.loginSuccess = logins(meterRegistry, "success");
+        this.loginFailure = logins(meterRegistry, "failure");
+        this.unauthorizedRetries = Counter.builder("hub.auth.unauthorized.retries")
+                .description("Hub requests rejected with 401 and retried with a new token")
+                .register(meterRegistry);
     }
 
     public Mono<String> getToken() {
-        if (cachedToken.get() != null) {
-            return Mono.just(cachedToken.get());
+        CachedToken token = cachedToken.get();
+        if (token != null && Instant.now().isBefore(token.expiresAt())) {
+            return Mono.just(token.value());
         }
-        return login();
+        return sharedLogin();
     }
 
-    public Mono<Void> refreshToken() {
-        cachedToken.set(null);
-        return login().then();
+    /**
+     * Discards {@code rejectedToken} after a 401 and returns once a valid token is available. If
+     * another caller already replaced it, the current token is reused instead of logging in again.
+     */
+    public Mono<Void> refreshToken(String rejectedToken) {
+        unauthorizedRetries.increment();
+        CachedToken current = cachedToken.get();
+        if (current != null && current.value().equals(rejectedToken)) {
+            cachedToken.compareAndSet(current, null);
+        }
+        return getToken().then();
+    }
+
+    @Scheduled(fixedDelayString = "${hub.auth.refresh-check-ms:15000}")
+    public void refreshIfExpiring() {
+        CachedToken token = cachedToken.get();
+        if (token != null && Instant.now().plus(refreshBefore).isAfter(token.expiresAt())) {
+            log.debug("Token del Hub por vencer, renovando en segundo plano");
+            sharedLogin().subscribe(t -> {
+            }, err -> log.warn("No se pudo renovar el token del Hub: {}", err.getMessage()));
+        }
+    }
+
+    private Mono<String> sharedLogin() {
+        while (true) {
+            Mono<String> pending = pendingLogin.get();
+            if (pending != null) {
+                return pending;
+            }
+            // Un único login en vuelo: los demás callers se suscriben al mismo Mono cacheado.
+            // Se libera antes de entregar el resultado, para que un 401 posterior dispare un login nuevo
+            AtomicReference<Mono<String>> self = new AtomicReference<>();
+            Mono<String> login = login()
+                    .doOnEach(signal -> pendingLogin.compareAndSet(self.get(), null))
+                    .cache();
+            self.set(login);
+            if (pendingLogin.compareAndSet(null, login)) {
+                return login;
+            }
+        }
     }
 
     private Mono<String> login() {
@@ -63,10 +138,44 @@ public class HubAuthService {
                         sink.error(new InternalServerException("Token no encontrado en la respuesta del login"));
                         return;
                     }
-                    cachedToken.set(token);
-                    log.debug("Token obtenido exitosamente");
+                    Instant expiresAt = expiresAt(token, body.get("expires_in"));
+                    cachedToken.set(new CachedToken(token, expiresAt.minus(refreshBefore.dividedBy(2))));
+                    log.debug("Token obtenido exitosamente, vence {}", expiresAt);
                     sink.next(token);
                 })
-                .doOnError(err -> log.error("Error durante el login al Hub", err));
+                .doOnSuccess(token -> loginSuccess.increment())
+                .doOnError(err -> {
+                    loginFailure.increment();
+                    log.error("Error durante el login al Hub", err);
+                });
+    }
+
+    /**
+     * Expiry of the token: the JWT {@code exp} claim, else {@code expires_in} from the login
+     * response, else {@code hub.auth.default-ttl} from now.
+     */
+    Instant expiresAt(String token, Object expiresIn) {
+        String[] parts = token.split("\\.");
+        if (parts.length >= 2) {
+            try {
+                JsonNode exp = JSON.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+                if (exp != null && exp.canConvertToLong()) {
+                    return Instant.ofEpochSecond(exp.asLong());
+                }
+            } catch (Exception e) {
+                log.debug("Token del Hub sin claims JWT legibles: {}", e.getMessage());
+            }
+        }
+        if (expiresIn instanceof Number seconds) {
+            return Instant.now().plusSeconds(seconds.longValue());
+        }
+        return Instant.now().plus(defaultTtl);
+    }
+
+    private static Counter logins(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("hub.auth.logins")
+                .description("Logins against the hub, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
-} 
\ No newline at end of file
+}
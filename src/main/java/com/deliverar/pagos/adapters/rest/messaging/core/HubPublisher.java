@@ -2,47 +2,209 @@ package com.deliverar.pagos.adapters.rest.messaging.core;
 
 import com.deliverar.pagos.adapters.rest.messaging.core.dtos.ImmutableEvent;
 import com.deliverar.pagos.domain.exceptions.InternalServerException;
+import com.deliverar.pagos.domain.exceptions.ServiceUnavailableException;
 import com.deliverar.pagos.domain.exceptions.UnauthorizedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes events to the hub through a single bounded pipeline: callers enqueue into a Reactor
+ * sink and at most {@code hub.publish.max-in-flight} requests run at once over a shared
+ * reactor-netty connection pool. Each request has its own timeout and 5xx / IO errors are retried
+ * with jittered backoff. When the queue is full, {@link #publish} fails fast with
+ * {@link ServiceUnavailableException}.
+ */
 @Slf4j
 @Service
 public class HubPublisher {
-    private final WebClient webClient;
+    private final String hubUrl;
     private final HubAuthService authService;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Value("${hub.publish.queue-capacity:1024}")
+    private int queueCapacity;
+
+    @Value("${hub.publish.max-in-flight:32}")
+    private int maxInFlight;
+
+    @Value("${hub.publish.request-timeout:PT10S}")
+    private Duration requestTimeout;
+
+    @Value("${hub.publish.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${hub.publish.retry-backoff:PT0.5S}")
+    private Duration retryBackoff;
+
+    @Value("${hub.http.max-connections:32}")
+    private int maxConnections;
+
+    @Value("${hub.http.connect-timeout:PT5S}")
+    private Duration connectTimeout;
+
+    @Value("${hub.http.max-idle-time:PT30S}")
+    private Duration maxIdleTime;
 
-    public HubPublisher(@Value("${hub.url}") String hubUrl, HubAuthService authService) {
+    @Value("${hub.http.max-life-time:PT5M}")
+    private Duration maxLifeTime;
+
+    private WebClient webClient;
+    private ConnectionProvider connectionProvider;
+    private Sinks.Many<PublishRequest> requests;
+    private Disposable pipeline;
+    private Timer publishedLatency;
+    private Timer failedLatency;
+
+    private record PublishRequest(ImmutableEvent event, Sinks.One<Void> result, boolean retry, AtomicBoolean cancelled) {
+    }
+
+    public HubPublisher(@Value("${hub.url}") String hubUrl, HubAuthService authService, MeterRegistry meterRegistry) {
+        this.hubUrl = hubUrl;
+        this.authService = authService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        connectionProvider = ConnectionProvider.builder("hub")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(maxIdleTime)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(requestTimeout);
         this.webClient = WebClient.builder()
                 .baseUrl(hubUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
-        this.authService = authService;
+
+        requests = Sinks.many().unicast().onBackpressureBuffer(Queues.<PublishRequest>get(queueCapacity).get());
+        pipeline = requests.asFlux()
+                .doOnNext(request -> queued.decrementAndGet())
+                .flatMap(this::send, maxInFlight)
+                .subscribe();
+
+        Gauge.builder("hub.publish.queue", queued, AtomicInteger::get)
+                .description("Events waiting to be sent to the hub")
+                .register(meterRegistry);
+        Gauge.builder("hub.publish.in-flight", inFlight, AtomicInteger::get)
+                .description("Requests to the hub currently in flight")
+                .register(meterRegistry);
+        publishedLatency = latency("success");
+        failedLatency = latency("error");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pipeline.dispose();
+        connectionProvider.dispose();
     }
 
     public Mono<Void> publish(ImmutableEvent pub) {
-        log.debug("Enviando petición al Hub: {}", pub);
-        return publishWithAuth(pub, false);
+        return enqueue(pub, true);
+    }
+
+    /**
+     * Publishes with a single attempt and no pipeline retries, for callers that own the retries
+     * (the outbox). If the caller cancels before the request leaves the queue, it is never sent, so
+     * a caller that gives up and retries later does not race a copy still waiting here.
+     */
+    public Mono<Void> publishOnce(ImmutableEvent pub) {
+        return enqueue(pub, false);
+    }
+
+    private Mono<Void> enqueue(ImmutableEvent pub, boolean retry) {
+        return Mono.defer(() -> {
+            log.debug("Enviando petición al Hub: {}", pub);
+            Sinks.One<Void> result = Sinks.one();
+            AtomicBoolean cancelled = new AtomicBoolean();
+            Sinks.EmitResult emitted;
+            queued.incrementAndGet();
+            // El sink unicast admite un solo emisor a la vez
+            synchronized (requests) {
+                emitted = requests.tryEmitNext(new PublishRequest(pub, result, retry, cancelled));
+            }
+            if (emitted.isFailure()) {
+                queued.decrementAndGet();
+                return Mono.error(new ServiceUnavailableException("Hub publish queue is full (" + emitted + ")"));
+            }
+            return result.asMono().doOnCancel(() -> cancelled.set(true));
+        });
+    }
+
+    private Mono<Void> send(PublishRequest request) {
+        if (request.cancelled().get()) {
+            // El que publicó ya se rindió (timeout): no se envía una copia tardía
+            return Mono.empty();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        inFlight.incrementAndGet();
+        Mono<Void> attempt = publishWithAuth(request.event(), false);
+        if (request.retry()) {
+            attempt = attempt.retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                    .jitter(0.5)
+                    .filter(HubPublisher::isTransient)
+                    .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+        }
+        return attempt
+                .doOnSuccess(v -> {
+                    sample.stop(publishedLatency);
+                    request.result().tryEmitEmpty();
+                })
+                .onErrorResume(error -> {
+                    sample.stop(failedLatency);
+                    request.result().tryEmitError(error);
+                    return Mono.empty();
+                })
+                .doFinally(signal -> inFlight.decrementAndGet());
     }
 
     private Mono<Void> publishWithAuth(ImmutableEvent pub, boolean isRetry) {
         return authService.getToken()
-                .flatMap(token -> makeRequest(pub, token))
-                .onErrorResume(UnauthorizedException.class, error -> {
-                    if (!isRetry) {
-                        log.warn("Token expirado, refrescando y reintentando...");
-                        return authService.refreshToken()
-                                .then(publishWithAuth(pub, true));
-                    }
-                    return Mono.error(new RuntimeException("Falló autenticación después del retry"));
-                })
+                .flatMap(token -> makeRequest(pub, token)
+                        .onErrorResume(UnauthorizedException.class, error -> {
+                            if (!isRetry) {
+                                log.warn("Token rechazado por el Hub, refrescando y reintentando...");
+                                return authService.refreshToken(token)
+                                        .then(publishWithAuth(pub, true));
+                            }
+                            return Mono.error(new RuntimeException("Falló autenticación después del retry"));
+                        }))
                 .doOnSuccess(r -> log.info("Publicado en Hub: {}", pub))
                 .doOnError(err -> {
-                    if (!(err instanceof InternalServerException) || isRetry) {
+                    if (!isTransient(err)) {
                         log.error("Error publicando en Hub", err);
                     }
                 });
@@ -61,7 +223,26 @@ public class HubPublisher {
                 .onStatus(HttpStatusCode::is5xxServerError,
                         response -> Mono.error(new InternalServerException("Server error: " + response.statusCode().value())))
                 .toBodilessEntity()
+                .timeout(requestTimeout)
                 .doOnNext(response -> log.info("Core hub response status code {}", response.getStatusCode()))
                 .then();
     }
+
+    private Timer latency(String outcome) {
+        return Timer.builder("hub.publish.latency")
+                .description("Time to publish an event to the hub, retries included")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // 5xx, errores de conexión y timeouts se reintentan; 4xx no (BadRequestException de coyote extiende IOException)
+    private static boolean isTransient(Throwable error) {
+        if (error instanceof BadRequestException) {
+            return false;
+        }
+        return error instanceof InternalServerException
+                || error instanceof WebClientRequestException
+                || error instanceof IOException
+                || error instanceof TimeoutException;
+    }
 }
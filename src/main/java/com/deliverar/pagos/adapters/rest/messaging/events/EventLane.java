@@ -0,0 +1,36 @@
+package com.deliverar.pagos.adapters.rest.messaging.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lanes that incoming hub events are processed on. Each lane is claimed from the inbox separately and
+ * has its own owner partitions, queue and DB connection budget, so a burst of reports cannot delay
+ * payments. Owner lifecycle events share the payments lane and its partition by email, so a deposit
+ * that arrives after its wallet creation also runs after it. Defaults can be overridden with {@code app.lanes.<name>.partitions},
+ * {@code app.lanes.<name>.queue-capacity} and {@code app.lanes.<name>.db-connections}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EventLane {
+    // Movimientos de dinero y alta/baja de wallets, que deben ejecutarse en orden con ellos
+    PAYMENTS("payments", 16, 256, 7),
+    // Saldos e historiales, incluidos los reportes completos
+    QUERIES("queries", 4, 128, 2),
+    // Topics desconocidos, que solo se rechazan
+    ADMIN("admin", 1, 128, 1);
+
+    private final String name;
+    private final int defaultPartitions;
+    private final int defaultQueueCapacity;
+    private final int defaultDbConnections;
+
+    /**
+     * Lane of an incoming topic; topics without one fall back to {@link #ADMIN}.
+     */
+    public static EventLane forTopic(String topic) {
+        return EventType.findByTopic(topic)
+                .map(EventType::getLane)
+                .orElse(ADMIN);
+    }
+}
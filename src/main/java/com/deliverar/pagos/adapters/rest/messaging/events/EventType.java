@@ -1,29 +1,36 @@
 package com.deliverar.pagos.adapters.rest.messaging.events;
 
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.*;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Getter
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public enum EventType {
     // Eventos de Entrada
-    TENANT_CREATION_REQUEST("tenant.creado"),
-    DELIVERY_USER_CREATED_REQUEST("delivery.nuevoRepartidor"),
-    WALLET_CREATION_REQUEST("wallet.creation.request"),
-
-    WALLET_DELETION_REQUEST("wallet.deletion.request"),
-    GET_BALANCES_REQUEST("get.balances.request"),
-    GET_USER_FIAT_TRANSACTIONS_REQUEST("get.user.fiat.transactions.request"),
-    GET_USER_CRYPTO_TRANSACTIONS_REQUEST("get.user.crypto.transactions.request"),
-    FIAT_DEPOSIT_REQUEST("fiat.deposit.request"),
-    FIAT_WITHDRAWAL_REQUEST("fiat.withdrawal.request"),
-    FIAT_PAYMENT_REQUEST("fiat.payment.request"),
-    CRYPTO_PAYMENT_REQUEST("crypto.payment.request"),
-    BUY_CRYPTO_REQUEST("buy.crypto.request"),
-    SELL_CRYPTO_REQUEST("sell.crypto.request"),
-    GET_ALL_FIAT_TRANSACTIONS_REQUEST("get.all.fiat.transactions.request"),
-    GET_ALL_CRYPTO_TRANSACTIONS_REQUEST("get.all.crypto.transactions.request"),
+    TENANT_CREATION_REQUEST("tenant.creado", TenantCreatedPayload.class, EventLane.PAYMENTS),
+    DELIVERY_USER_CREATED_REQUEST("delivery.nuevoRepartidor", DeliveryUserCreatedPayload.class, EventLane.PAYMENTS),
+    WALLET_CREATION_REQUEST("wallet.creation.request", WalletCreationPayload.class, EventLane.PAYMENTS),
+
+    WALLET_DELETION_REQUEST("wallet.deletion.request", OwnerPayload.class, EventLane.PAYMENTS),
+    GET_BALANCES_REQUEST("get.balances.request", OwnerPayload.class, EventLane.QUERIES),
+    GET_USER_FIAT_TRANSACTIONS_REQUEST("get.user.fiat.transactions.request", OwnerTransactionsQuery.class, EventLane.QUERIES),
+    GET_USER_CRYPTO_TRANSACTIONS_REQUEST("get.user.crypto.transactions.request", OwnerTransactionsQuery.class, EventLane.QUERIES),
+    FIAT_DEPOSIT_REQUEST("fiat.deposit.request", AmountPayload.class, EventLane.PAYMENTS),
+    FIAT_WITHDRAWAL_REQUEST("fiat.withdrawal.request", AmountPayload.class, EventLane.PAYMENTS),
+    FIAT_PAYMENT_REQUEST("fiat.payment.request", TransferPayload.class, EventLane.PAYMENTS),
+    CRYPTO_PAYMENT_REQUEST("crypto.payment.request", TransferPayload.class, EventLane.PAYMENTS),
+    BUY_CRYPTO_REQUEST("buy.crypto.request", AmountPayload.class, EventLane.PAYMENTS),
+    SELL_CRYPTO_REQUEST("sell.crypto.request", AmountPayload.class, EventLane.PAYMENTS),
+    GET_ALL_FIAT_TRANSACTIONS_REQUEST("get.all.fiat.transactions.request", TransactionsQuery.class, EventLane.QUERIES),
+    GET_ALL_CRYPTO_TRANSACTIONS_REQUEST("get.all.crypto.transactions.request", TransactionsQuery.class, EventLane.QUERIES),
 
     // Eventos de Salida
     WALLET_CREATION_RESPONSE("wallet.creation.response"),
@@ -41,14 +48,26 @@ public enum EventType {
     GET_ALL_CRYPTO_TRANSACTIONS_RESPONSE("get.all.crypto.transactions.response"),
     ERROR_RESPONSE("blockchain.error.response");
 
+    private static final Map<String, EventType> BY_TOPIC = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(EventType::getTopic, Function.identity()));
+
     private final String topic;
 
+    // Record al que se liga el payload; null en los eventos de salida
+    private final Class<? extends EventPayload> payloadType;
+
+    // Carril en el que se procesa; null en los eventos de salida
+    private final EventLane lane;
+
+    EventType(String topic) {
+        this(topic, null, null);
+    }
+
     public static EventType fromTopic(String topic) {
-        for (EventType eventType : values()) {
-            if (eventType.topic.equals(topic)) {
-                return eventType;
-            }
-        }
-        throw new IllegalArgumentException("Unknown topic: " + topic);
+        return findByTopic(topic).orElseThrow(() -> new IllegalArgumentException("Unknown topic: " + topic));
+    }
+
+    public static Optional<EventType> findByTopic(String topic) {
+        return Optional.ofNullable(topic).map(BY_TOPIC::get);
     }
 } 
\ No newline at end of file
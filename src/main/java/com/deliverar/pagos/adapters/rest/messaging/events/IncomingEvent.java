@@ -1,25 +1,34 @@
 package com.deliverar.pagos.adapters.rest.messaging.events;
 
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.EventPayload;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
-import java.util.Map;
-
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class IncomingEvent extends Event {
     private String correlationId;
     private String source;
-    
-    public IncomingEvent(String topic, Map<String, Object> payload, String correlationId, String source) {
-        super(topic, payload);
+    // Payload ya ligado y validado; el Map genérico de Event queda vacío
+    private EventPayload body;
+
+    public IncomingEvent(String topic, EventPayload body, String correlationId, String source) {
+        super(topic, null);
+        this.body = body;
         this.correlationId = correlationId;
         this.source = source;
     }
-    
+
+    public <T extends EventPayload> T body(Class<T> type) {
+        if (!type.isInstance(body)) {
+            throw new IllegalArgumentException("Expected " + type.getSimpleName() + " payload for " + getTopic());
+        }
+        return type.cast(body);
+    }
+
     public boolean validate() {
         return getTopic() != null && !getTopic().isEmpty() && 
                correlationId != null && !correlationId.isEmpty() &&
                source != null && !source.isEmpty();
     }
-} 
\ No newline at end of file
+} 
@@ -0,0 +1,24 @@
+package com.deliverar.pagos.adapters.rest.messaging.events.payloads;
+
+import java.math.BigDecimal;
+
+/**
+ * Operation of an owner over an amount: fiat deposits and withdrawals, crypto buys and sells.
+ */
+public record AmountPayload(String email, BigDecimal amount, String concept, Object traceData) implements EventPayload {
+
+    @Override
+    public void validate() {
+        EventPayload.requireEmail(email, "email");
+        EventPayload.requirePositive(amount, "amount");
+    }
+
+    @Override
+    public String partitionKey() {
+        return email;
+    }
+
+    public String conceptOr(String defaultConcept) {
+        return concept != null ? concept : defaultConcept;
+    }
+}
@@ -0,0 +1,26 @@
+package com.deliverar.pagos.adapters.rest.messaging.events.payloads;
+
+import com.deliverar.pagos.domain.entities.OwnerType;
+
+import java.math.BigDecimal;
+
+public record DeliveryUserCreatedPayload(String nombre, String apellido, String email, BigDecimal initialFiatBalance,
+                                         Object traceData) implements OwnerCreationPayload {
+
+    @Override
+    public void validate() {
+        EventPayload.requireText(nombre, "nombre");
+        EventPayload.requireText(apellido, "apellido");
+        EventPayload.requireEmail(email, "email");
+    }
+
+    @Override
+    public String ownerName() {
+        return String.format("%s %s", nombre, apellido);
+    }
+
+    @Override
+    public OwnerType ownerType() {
+        return OwnerType.DELIVERY;
+    }
+}
@@ -0,0 +1,48 @@
+package com.deliverar.pagos.adapters.rest.messaging.events.payloads;
+
+import java.math.BigDecimal;
+
+/**
+ * Typed payload of an incoming hub event. Bound once from the stored JSON by
+ * {@link EventPayloadReader} and validated there, so commands receive fields that are already
+ * parsed and checked.
+ */
+public interface EventPayload {
+
+    /**
+     * @throws IllegalArgumentException if a required field is missing or invalid
+     */
+    void validate();
+
+    /**
+     * Email of the owner whose events must run in order, {@code null} if the event has no owner.
+     */
+    String partitionKey();
+
+    /**
+     * Opaque tracing data sent by the caller, echoed back in the response.
+     */
+    Object traceData();
+
+    static void requireText(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Required field missing: " + field);
+        }
+    }
+
+    static void requireEmail(String value, String field) {
+        requireText(value, field);
+        if (!value.contains("@")) {
+            throw new IllegalArgumentException("Invalid email format: " + field);
+        }
+    }
+
+    static void requirePositive(BigDecimal value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException("Required field missing: " + field);
+        }
+        if (value.signum() <= 0) {
+            throw new IllegalArgumentException(field + " must be positive");
+        }
+    }
+}
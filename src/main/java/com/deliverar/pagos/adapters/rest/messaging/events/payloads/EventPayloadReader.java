@@ -0,0 +1,57 @@
+package com.deliverar.pagos.adapters.rest.messaging.events.payloads;
+
+import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Binds incoming event payloads straight from their JSON to the record declared by
+ * {@link EventType#getPayloadType()}, with one {@link ObjectReader} per type built at startup,
+ * and validates them.
+ */
+@Component
+public class EventPayloadReader {
+
+    private final Map<EventType, ObjectReader> readers = new EnumMap<>(EventType.class);
+
+    public EventPayloadReader(ObjectMapper objectMapper) {
+        for (EventType type : EventType.values()) {
+            if (type.getPayloadType() != null) {
+                readers.put(type, objectMapper.readerFor(type.getPayloadType())
+                        .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+            }
+        }
+    }
+
+    /**
+     * @return the validated payload, or {@code null} if the topic carries no typed payload
+     * @throws InvalidPayloadException if the JSON does not match the type or fails validation
+     */
+    public EventPayload read(String topic, String json) {
+        ObjectReader reader = EventType.findByTopic(topic).map(readers::get).orElse(null);
+        if (reader == null) {
+            return null;
+        }
+        EventPayload payload;
+        try {
+            payload = reader.readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new InvalidPayloadException("Malformed payload: " + e.getOriginalMessage(), e);
+        }
+        if (payload == null) {
+            throw new InvalidPayloadException("Empty payload", null);
+        }
+        try {
+            payload.validate();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPayloadException(e.getMessage(), e);
+        }
+        return payload;
+    }
+}
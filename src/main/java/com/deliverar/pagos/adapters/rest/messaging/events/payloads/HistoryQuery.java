@@ -0,0 +1,35 @@
+package com.deliverar.pagos.adapters.rest.messaging.events.payloads;
+
+import com.deliverar.pagos.domain.dtos.TransactionCursor;
+import com.deliverar.pagos.domain.exceptions.BadRequestException;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Transaction history query answered in parts. {@code pageSize} bounds the rows of each part and
+ * {@code cursor}, taken from the {@code nextCursor} of a previous response, resumes the listing.
+ */
+public interface HistoryQuery extends EventPayload {
+
+    Instant transactionDateSince();
+
+    Integer pageSize();
+
+    String cursor();
+
+    default Optional<TransactionCursor> after() {
+        return TransactionCursor.parse(cursor());
+    }
+
+    default void validatePaging() {
+        if (pageSize() != null && pageSize() <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        try {
+            after();
+        } catch (BadRequestException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.deliverar.pagos.adapters.rest.messaging.events.payloads;
+
+/**
+ * The payload of an incoming event could not be bound to its type or failed validation. Retrying
+ * the event cannot fix it.
+ */
+public class InvalidPayloadException extends IllegalArgumentException {
+    public InvalidPayloadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,24 @@
+package com.deliverar.pagos.adapters.rest.messaging.events.payloads;
+
+import com.deliverar.pagos.domain.entities.OwnerType;
+
+import java.math.BigDecimal;
+
+/**
+ * Request to open a wallet for a new owner. Each hub topic names the owner differently.
+ */
+public interface OwnerCreationPayload extends EventPayload {
+
+    String email();
+
+    String ownerName();
+
+    OwnerType ownerType();
+
+    BigDecimal initialFiatBalance();
+
+    @Override
+    default String partitionKey() {
+        return email();
+    }
+}
@@ -0,0 +1,17 @@
+package com.deliverar.pagos.adapters.rest.messaging.events.payloads;
+
+/**
+ * Request about a single owner: balances, wallet deletion.
+ */
+public record OwnerPayload(String email, Object traceData) implements EventPayload {
+
+    @Override
+    public void validate() {
+        EventPayload.requireEmail(email, "email");
+    }
+
+    @Override
+    public String partitionKey() {
+        return email;
+    }
+}
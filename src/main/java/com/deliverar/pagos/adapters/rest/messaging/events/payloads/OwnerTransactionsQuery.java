@@ -0,0 +1,21 @@
+package com.deliverar.pagos.adapters.rest.messaging.events.payloads;
+
+import java.time.Instant;
+
+/**
+ * Query over the transactions of one owner, optionally since a date.
+ */
+public record OwnerTransactionsQuery(String email, Instant transactionDateSince, Integer pageSize, String cursor,
+                                     Object traceData) implements HistoryQuery {
+
+    @Override
+    public void validate() {
+        EventPayload.requireEmail(email, "email");
+        validatePaging();
+    }
+
+    @Override
+    public String partitionKey() {
+        return email;
+    }
+}
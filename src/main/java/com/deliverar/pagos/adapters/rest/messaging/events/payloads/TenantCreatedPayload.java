@@ -0,0 +1,26 @@
+package com.deliverar.pagos.adapters.rest.messaging.events.payloads;
+
+import com.deliverar.pagos.domain.entities.OwnerType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+
+public record TenantCreatedPayload(@JsonProperty("razon_social") String razonSocial, String email,
+                                   BigDecimal initialFiatBalance, Object traceData) implements OwnerCreationPayload {
+
+    @Override
+    public void validate() {
+        EventPayload.requireText(razonSocial, "razon_social");
+        EventPayload.requireEmail(email, "email");
+    }
+
+    @Override
+    public String ownerName() {
+        return razonSocial;
+    }
+
+    @Override
+    public OwnerType ownerType() {
+        return OwnerType.TENANT;
+    }
+}
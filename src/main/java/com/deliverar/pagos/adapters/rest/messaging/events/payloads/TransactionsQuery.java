@@ -0,0 +1,20 @@
+package com.deliverar.pagos.adapters.rest.messaging.events.payloads;
+
+import java.time.Instant;
+
+/**
+ * Query over the transactions of every owner, optionally since a date.
+ */
+public record TransactionsQuery(Instant transactionDateSince, Integer pageSize, String cursor,
+                                Object traceData) implements HistoryQuery {
+
+    @Override
+    public void validate() {
+        validatePaging();
+    }
+
+    @Override
+    public String partitionKey() {
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.deliverar.pagos.adapters.rest.messaging.events.payloads;
+
+import java.math.BigDecimal;
+
+/**
+ * Payment between two owners, fiat or crypto.
+ */
+public record TransferPayload(String fromEmail, String toEmail, BigDecimal amount, String concept,
+                              Object traceData) implements EventPayload {
+
+    @Override
+    public void validate() {
+        EventPayload.requireEmail(fromEmail, "fromEmail");
+        EventPayload.requireEmail(toEmail, "toEmail");
+        EventPayload.requirePositive(amount, "amount");
+    }
+
+    // El pagador: es quien ve su saldo descontado primero
+    @Override
+    public String partitionKey() {
+        return fromEmail;
+    }
+
+    public String conceptOr(String defaultConcept) {
+        return concept != null ? concept : defaultConcept;
+    }
+}
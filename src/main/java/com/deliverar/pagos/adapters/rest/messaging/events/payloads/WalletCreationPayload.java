@@ -0,0 +1,25 @@
+package com.deliverar.pagos.adapters.rest.messaging.events.payloads;
+
+import com.deliverar.pagos.domain.entities.OwnerType;
+
+import java.math.BigDecimal;
+
+public record WalletCreationPayload(String name, String email, BigDecimal initialFiatBalance,
+                                    Object traceData) implements OwnerCreationPayload {
+
+    @Override
+    public void validate() {
+        EventPayload.requireText(name, "name");
+        EventPayload.requireEmail(email, "email");
+    }
+
+    @Override
+    public String ownerName() {
+        return name;
+    }
+
+    @Override
+    public OwnerType ownerType() {
+        return OwnerType.CLIENT;
+    }
+}
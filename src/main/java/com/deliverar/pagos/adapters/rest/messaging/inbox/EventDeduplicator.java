@@ -0,0 +1,174 @@
+package com.deliverar.pagos.adapters.rest.messaging.inbox;
+
+import com.deliverar.pagos.domain.entities.ProcessedEvent;
+import com.deliverar.pagos.domain.repositories.ProcessedEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Detects hub redeliveries. Each event is fingerprinted and the fingerprint is kept for
+ * {@code app.inbox.dedup.retention} in time buckets in memory, backed by the
+ * {@code processed_events} table so duplicates are also caught across restarts and nodes.
+ */
+@Slf4j
+@Component
+public class EventDeduplicator {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final ObjectMapper canonicalMapper;
+    private final Duration retention;
+    private final long bucketMillis;
+    private final int maxEntries;
+
+    // Bucket (epochMillis / bucketMillis) -> fingerprints recibidos en ese intervalo
+    private final ConcurrentNavigableMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+    private final AtomicInteger entries = new AtomicInteger();
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+
+    public EventDeduplicator(ProcessedEventRepository processedEventRepository,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.inbox.dedup.retention:PT24H}") Duration retention,
+                             @Value("${app.inbox.dedup.buckets:24}") int bucketCount,
+                             @Value("${app.inbox.dedup.max-entries:200000}") int maxEntries) {
+        this.processedEventRepository = processedEventRepository;
+        this.canonicalMapper = objectMapper.copy().configure(JsonNodeFeature.WRITE_PROPERTIES_SORTED, true);
+        this.retention = retention;
+        this.bucketMillis = Math.max(1, retention.toMillis() / Math.max(1, bucketCount));
+        this.maxEntries = maxEntries;
+        this.memoryHits = duplicates(meterRegistry, "memory");
+        this.databaseHits = duplicates(meterRegistry, "database");
+        Gauge.builder("hub.inbox.dedup.entries", entries, AtomicInteger::get)
+                .description("Event fingerprints held in memory for deduplication")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hub message id when the hub sends one; otherwise topic plus a SHA-256 of the payload with its
+     * keys sorted, {@code traceData} included.
+     */
+    public String fingerprint(String topic, JsonNode payload, String messageId) throws JsonProcessingException {
+        if (messageId != null && !messageId.isBlank()) {
+            return messageId.length() <= 120 ? "msg:" + messageId
+                    : "msg:" + HexFormat.of().formatHex(sha256(messageId.getBytes(StandardCharsets.UTF_8)));
+        }
+        byte[] canonical = canonicalMapper.writeValueAsBytes(payload);
+        return topic + ":" + HexFormat.of().formatHex(sha256(canonical));
+    }
+
+    /**
+     * Records the fingerprint unless it was already seen inside the retention window. Must run in
+     * the transaction that stores the event: a concurrent duplicate then fails on the primary key
+     * and rolls the whole intake back.
+     *
+     * @return {@code false} if the event is a duplicate
+     */
+    public boolean register(String fingerprint, String topic) {
+        if (seenInMemory(fingerprint)) {
+            memoryHits.increment();
+            return false;
+        }
+        if (processedEventRepository.existsById(fingerprint)) {
+            remember(fingerprint);
+            databaseHits.increment();
+            return false;
+        }
+        processedEventRepository.saveAndFlush(ProcessedEvent.builder()
+                .fingerprint(fingerprint)
+                .topic(topic)
+                .receivedAt(Instant.now())
+                .build());
+        // Solo se recuerda en memoria si el alta llega a confirmarse
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(fingerprint);
+                }
+            });
+        } else {
+            remember(fingerprint);
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.inbox.dedup.purge-interval-ms:60000}")
+    public void expire() {
+        Instant cutoff = Instant.now().minus(retention);
+        evict(buckets.headMap(bucket(cutoff)));
+        try {
+            int deleted = processedEventRepository.deleteByReceivedAtBefore(cutoff);
+            if (deleted > 0) {
+                log.debug("Expired {} processed event fingerprints", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Could not expire processed event fingerprints: {}", e.getMessage());
+        }
+    }
+
+    boolean seenInMemory(String fingerprint) {
+        for (Set<String> bucket : buckets.tailMap(bucket(Instant.now().minus(retention))).values()) {
+            if (bucket.contains(fingerprint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void remember(String fingerprint) {
+        if (buckets.computeIfAbsent(bucket(Instant.now()), b -> ConcurrentHashMap.newKeySet()).add(fingerprint)
+                && entries.incrementAndGet() > maxEntries && buckets.size() > 1) {
+            // Sobre el límite se descarta el bucket más viejo; la tabla sigue cubriendo esos eventos
+            evict(buckets.headMap(buckets.firstKey(), true));
+        }
+    }
+
+    private void evict(Map<Long, Set<String>> expired) {
+        expired.values().forEach(bucket -> entries.addAndGet(-bucket.size()));
+        expired.clear();
+    }
+
+    private long bucket(Instant instant) {
+        return instant.toEpochMilli() / bucketMillis;
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter duplicates(MeterRegistry meterRegistry, String store) {
+        return Counter.builder("hub.inbox.duplicates")
+                .description("Redelivered hub events acknowledged without reprocessing, by the store that caught them")
+                .tag("store", store)
+                .register(meterRegistry);
+    }
+}
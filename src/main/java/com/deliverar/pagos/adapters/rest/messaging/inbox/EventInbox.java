@@ -0,0 +1,114 @@
+package com.deliverar.pagos.adapters.rest.messaging.inbox;
+
+import com.deliverar.pagos.adapters.rest.messaging.events.EventLane;
+import com.deliverar.pagos.domain.entities.InboxEvent;
+import com.deliverar.pagos.domain.entities.InboxStatus;
+import com.deliverar.pagos.domain.repositories.InboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Persistent inbox for hub events. The callback only appends; workers claim rows with
+ * {@code FOR UPDATE SKIP LOCKED} so several nodes can drain the same table without
+ * processing an event twice while its lease is valid.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventInbox {
+
+    private final InboxEventRepository inboxEventRepository;
+    private final EventDeduplicator eventDeduplicator;
+    private final ObjectMapper objectMapper;
+
+    // Tiempo que un worker retiene un evento antes de que otro pueda volver a tomarlo
+    @Value("${app.inbox.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${app.inbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.inbox.retry-backoff:PT10S}")
+    private Duration retryBackoff;
+
+    /**
+     * Stores the event unless it is a redelivery of one already accepted.
+     *
+     * @param messageId hub message id, {@code null} if the hub did not send one
+     * @return the inbox id, or empty for a duplicate
+     */
+    @Transactional
+    public Optional<UUID> append(String topic, JsonNode payload, String messageId) throws JsonProcessingException {
+        if (!eventDeduplicator.register(eventDeduplicator.fingerprint(topic, payload, messageId), topic)) {
+            return Optional.empty();
+        }
+        Instant now = Instant.now();
+        InboxEvent event = inboxEventRepository.save(InboxEvent.builder()
+                .topic(topic)
+                .lane(EventLane.forTopic(topic).getName())
+                .payload(objectMapper.writeValueAsString(payload))
+                .receivedAt(now)
+                .availableAt(now)
+                .build());
+        return Optional.of(event.getId());
+    }
+
+    /**
+     * Claims up to {@code limit} events of {@code lane} and leases them to the caller.
+     */
+    @Transactional
+    public List<InboxEvent> claim(EventLane lane, int limit) {
+        Instant now = Instant.now();
+        List<InboxEvent> events = inboxEventRepository.lockClaimable(now, lane.getName(), limit);
+        for (InboxEvent event : events) {
+            event.setStatus(InboxStatus.PROCESSING);
+            event.setAttempts(event.getAttempts() + 1);
+            event.setAvailableAt(now.plus(lease));
+        }
+        return events;
+    }
+
+    @Transactional
+    public void markDone(UUID id) {
+        inboxEventRepository.findById(id).ifPresent(event -> {
+            event.setStatus(InboxStatus.DONE);
+            event.setProcessedAt(Instant.now());
+            event.setLastError(null);
+        });
+    }
+
+    /**
+     * Puts the event back in the queue with a linear backoff, or marks it {@link InboxStatus#FAILED}
+     * once it has used all its attempts.
+     *
+     * @return the resulting status
+     */
+    @Transactional
+    public InboxStatus markFailed(UUID id, String error) {
+        return inboxEventRepository.findById(id).map(event -> {
+            event.setLastError(error == null ? null : error.substring(0, Math.min(error.length(), 1000)));
+            if (event.getAttempts() >= maxAttempts) {
+                event.setStatus(InboxStatus.FAILED);
+                event.setProcessedAt(Instant.now());
+                log.error("Inbox event {} ({}) failed after {} attempts: {}",
+                        id, event.getTopic(), event.getAttempts(), error);
+            } else {
+                event.setStatus(InboxStatus.PENDING);
+                event.setAvailableAt(Instant.now().plus(retryBackoff.multipliedBy(event.getAttempts())));
+            }
+            return event.getStatus();
+        }).orElse(InboxStatus.FAILED);
+    }
+}
@@ -0,0 +1,105 @@
+package com.deliverar.pagos.adapters.rest.messaging.inbox;
+
+import com.deliverar.pagos.adapters.rest.messaging.events.EventLane;
+import com.deliverar.pagos.domain.exceptions.ServiceUnavailableException;
+import com.deliverar.pagos.infrastructure.concurrency.PartitionedDispatcher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * One {@link PartitionedDispatcher} per {@link EventLane}, each with its own DB connection budget: a
+ * task holds one of the lane's permits while it runs, so a lane never uses more than its share of
+ * the Hikari pool. Exports the latency of every lane (queue and budget wait included) as a
+ * histogram.
+ */
+@Slf4j
+@Component
+public class EventLaneExecutors {
+
+    private final Map<EventLane, Lane> lanes = new EnumMap<>(EventLane.class);
+
+    private record Lane(EventLane lane, PartitionedDispatcher dispatcher, Semaphore dbConnections, Timer latency) {
+    }
+
+    public EventLaneExecutors(Environment environment, MeterRegistry meterRegistry) {
+        Duration shutdownTimeout = environment.getProperty("app.executors.shutdown-timeout", Duration.class, Duration.ofSeconds(30));
+        int budget = 0;
+        for (EventLane lane : EventLane.values()) {
+            Lane created = create(lane, environment, shutdownTimeout, meterRegistry);
+            lanes.put(lane, created);
+            budget += created.dbConnections().availablePermits();
+        }
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        // El inbox, el outbox, los jobs de cadena y REST usan el mismo pool: los carriles no pueden ocuparlo entero
+        if (budget >= poolSize) {
+            log.warn("Event lanes reserve {} DB connections and the pool only has {}, nothing is left for the " +
+                     "inbox, outbox, scheduled jobs and REST", budget, poolSize);
+        }
+    }
+
+    /**
+     * Runs the task on the partition of {@code key} within {@code lane}, holding one of the lane's
+     * DB connection permits while it runs.
+     *
+     * @return a future completed when the task finishes, or failed with
+     * {@link ServiceUnavailableException} if the lane is saturated
+     */
+    public CompletableFuture<Void> dispatch(EventLane lane, String key, Runnable task) {
+        Lane target = lanes.get(lane);
+        Timer.Sample sample = Timer.start();
+        return target.dispatcher().dispatch(key, () -> runWithBudget(target, task))
+                .whenComplete((result, error) -> sample.stop(target.latency()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.values().forEach(lane -> lane.dispatcher().shutdown());
+    }
+
+    private static void runWithBudget(Lane lane, Runnable task) {
+        try {
+            lane.dbConnections().acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted waiting for a DB connection of lane " + lane.lane().getName());
+        }
+        try {
+            task.run();
+        } finally {
+            lane.dbConnections().release();
+        }
+    }
+
+    private static Lane create(EventLane lane, Environment environment, Duration shutdownTimeout, MeterRegistry meterRegistry) {
+        String prefix = "app.lanes." + lane.getName() + ".";
+        int partitions = environment.getProperty(prefix + "partitions", Integer.class, lane.getDefaultPartitions());
+        int queueCapacity = environment.getProperty(prefix + "queue-capacity", Integer.class, lane.getDefaultQueueCapacity());
+        int dbConnections = environment.getProperty(prefix + "db-connections", Integer.class, lane.getDefaultDbConnections());
+
+        Semaphore budget = new Semaphore(dbConnections, true);
+        Gauge.builder("hub.events.db.budget.available", budget, Semaphore::availablePermits)
+                .description("DB connection permits of the lane not in use")
+                .tag("lane", lane.getName())
+                .register(meterRegistry);
+        Timer latency = Timer.builder("hub.events.latency")
+                .description("Time from dispatch to completion of a hub event, lane queue and DB budget wait included")
+                .tag("lane", lane.getName())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        PartitionedDispatcher dispatcher = new PartitionedDispatcher(
+                lane.getName(), partitions, queueCapacity, shutdownTimeout, meterRegistry);
+        log.info("Event lane {} ready ({} partitions, {} DB connections)", lane.getName(), partitions, dbConnections);
+        return new Lane(lane, dispatcher, budget, latency);
+    }
+}
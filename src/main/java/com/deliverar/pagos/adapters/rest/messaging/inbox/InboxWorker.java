@@ -0,0 +1,225 @@
+package com.deliverar.pagos.adapters.rest.messaging.inbox;
+
+import com.deliverar.pagos.adapters.rest.messaging.core.EventRouter;
+import com.deliverar.pagos.adapters.rest.messaging.events.EventLane;
+import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.EventPayload;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.EventPayloadReader;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.InvalidPayloadException;
+import com.deliverar.pagos.domain.entities.InboxEvent;
+import com.deliverar.pagos.domain.entities.InboxStatus;
+import com.deliverar.pagos.domain.repositories.InboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the {@link EventInbox}: each tick claims batches of events per {@link EventLane}, binds each
+ * payload to its type with {@link EventPayloadReader} and routes it through {@link EventRouter} on
+ * the {@link EventLaneExecutors} partition of the event's primary email, so events of one owner run
+ * in order within a lane and different owners in parallel. Lanes are drained independently, so a
+ * slow batch of reports does not hold back the next claim of payments. Exports the inbox depth and
+ * the age of its oldest unprocessed event.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.inbox.workers.enabled", havingValue = "true", matchIfMissing = true)
+public class InboxWorker {
+
+    static final List<InboxStatus> UNPROCESSED = List.of(InboxStatus.PENDING, InboxStatus.PROCESSING);
+    private final EventInbox eventInbox;
+    private final EventRouter eventRouter;
+    private final EventPayloadReader eventPayloadReader;
+    private final InboxEventRepository inboxEventRepository;
+    private final EventLaneExecutors eventLaneExecutors;
+    private final Map<EventLane, AtomicBoolean> draining = new EnumMap<>(EventLane.class);
+
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
+    private final Counter done;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter rejected;
+
+    @Value("${app.inbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.inbox.retention:P7D}")
+    private Duration retention;
+
+    public InboxWorker(EventInbox eventInbox, EventRouter eventRouter, EventPayloadReader eventPayloadReader,
+                       InboxEventRepository inboxEventRepository, EventLaneExecutors eventLaneExecutors,
+                       MeterRegistry meterRegistry) {
+        this.eventInbox = eventInbox;
+        this.eventRouter = eventRouter;
+        this.eventPayloadReader = eventPayloadReader;
+        this.inboxEventRepository = inboxEventRepository;
+        this.eventLaneExecutors = eventLaneExecutors;
+        for (EventLane lane : EventLane.values()) {
+            draining.put(lane, new AtomicBoolean());
+        }
+        Gauge.builder("hub.inbox.depth", depth, AtomicLong::get)
+                .description("Hub events waiting in the inbox or being processed")
+                .register(meterRegistry);
+        Gauge.builder("hub.inbox.oldest.age.seconds", oldestAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest unprocessed hub event")
+                .register(meterRegistry);
+        this.done = processed(meterRegistry, "done");
+        this.retried = processed(meterRegistry, "retry");
+        this.failed = processed(meterRegistry, "failed");
+        this.rejected = processed(meterRegistry, "rejected");
+    }
+
+    @Scheduled(fixedDelayString = "${app.inbox.poll-interval-ms:500}")
+    public void poll() {
+        for (EventLane lane : EventLane.values()) {
+            AtomicBoolean busy = draining.get(lane);
+            // Cada carril se drena en su propio hilo; si el anterior sigue trabajando no se lanza otro
+            if (busy.compareAndSet(false, true)) {
+                Thread.ofVirtual().name("inbox-" + lane.getName()).start(() -> {
+                    try {
+                        drain(lane);
+                    } catch (Exception e) {
+                        log.warn("Inbox processing of lane {} failed: {}", lane.getName(), e.getMessage());
+                    } finally {
+                        busy.set(false);
+                    }
+                });
+            }
+        }
+        refreshMetrics();
+    }
+
+    @Scheduled(fixedDelayString = "${app.inbox.purge-interval-ms:3600000}")
+    public void purge() {
+        try {
+            int deleted = inboxEventRepository.deleteByStatusAndProcessedAtBefore(
+                    InboxStatus.DONE, Instant.now().minus(retention));
+            if (deleted > 0) {
+                log.info("Purged {} processed inbox events", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Inbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    void drain(EventLane lane) {
+        List<InboxEvent> claimed;
+        do {
+            claimed = eventInbox.claim(lane, batchSize);
+            // Se espera el batch completo antes de reclamar el siguiente para no acaparar eventos
+            CompletableFuture.allOf(claimed.stream()
+                    .map(event -> dispatch(lane, event))
+                    .toArray(CompletableFuture[]::new)).join();
+        } while (claimed.size() == batchSize);
+    }
+
+    private CompletableFuture<Void> dispatch(EventLane lane, InboxEvent event) {
+        EventPayload payload;
+        try {
+            payload = eventPayloadReader.read(event.getTopic(), event.getPayload());
+        } catch (InvalidPayloadException e) {
+            reject(event, e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            fail(event, e);
+            return CompletableFuture.completedFuture(null);
+        }
+        // Mismo owner, misma partición del carril: sus eventos se ejecutan en orden de llegada
+        return eventLaneExecutors.dispatch(lane, partitionKey(payload), () -> process(event, payload))
+                .exceptionally(e -> {
+                    fail(event, e);
+                    return null;
+                });
+    }
+
+    private void process(InboxEvent event, EventPayload payload) {
+        try {
+            eventRouter.routeEvent(incomingEvent(event, payload));
+            eventInbox.markDone(event.getId());
+            done.increment();
+        } catch (Exception e) {
+            fail(event, e);
+        }
+    }
+
+    // Un payload inválido no se arregla reintentando: se responde el error y se da por procesado
+    private void reject(InboxEvent event, String reason) {
+        try {
+            log.warn("Inbox event {} ({}) has an invalid payload: {}", event.getId(), event.getTopic(), reason);
+            eventRouter.rejectEvent(incomingEvent(event, null), "Invalid event payload: " + reason);
+            eventInbox.markDone(event.getId());
+            rejected.increment();
+        } catch (Exception e) {
+            fail(event, e);
+        }
+    }
+
+    private static IncomingEvent incomingEvent(InboxEvent event, EventPayload payload) {
+        return new IncomingEvent(event.getTopic(), payload, event.getId().toString(), "external-hub");
+    }
+
+    /**
+     * Primary email of the event: the owner whose balances it changes first.
+     */
+    static String partitionKey(EventPayload payload) {
+        String email = payload == null ? null : payload.partitionKey();
+        return email == null || email.isBlank() ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void fail(InboxEvent event, Throwable error) {
+        log.warn("Inbox event {} ({}) failed on attempt {}: {}",
+                event.getId(), event.getTopic(), event.getAttempts(), error.getMessage());
+        InboxStatus status = eventInbox.markFailed(event.getId(), error.getMessage());
+        record(status);
+        if (status == InboxStatus.FAILED) {
+            answerExhausted(event);
+        }
+    }
+
+    private void record(InboxStatus status) {
+        (status == InboxStatus.FAILED ? failed : retried).increment();
+    }
+
+    // Sin más reintentos el origen recibe un error en lugar de quedarse esperando la respuesta
+    private void answerExhausted(InboxEvent event) {
+        try {
+            eventRouter.rejectEvent(incomingEvent(event, null), "Event could not be processed, try again later");
+        } catch (Exception e) {
+            log.warn("Could not answer failed inbox event {}: {}", event.getId(), e.getMessage());
+        }
+    }
+
+    private void refreshMetrics() {
+        try {
+            depth.set(inboxEventRepository.countByStatusIn(UNPROCESSED));
+            oldestAgeSeconds.set(inboxEventRepository.findOldestReceivedAt(UNPROCESSED)
+                    .map(oldest -> Duration.between(oldest, Instant.now()).toSeconds())
+                    .orElse(0L));
+        } catch (Exception e) {
+            log.debug("Could not refresh inbox metrics: {}", e.getMessage());
+        }
+    }
+
+    private static Counter processed(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("hub.inbox.processed")
+                .description("Hub events taken from the inbox, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,111 @@
+package com.deliverar.pagos.adapters.rest.messaging.outbox;
+
+import com.deliverar.pagos.adapters.rest.messaging.events.OutgoingEvent;
+import com.deliverar.pagos.domain.entities.OutboxEvent;
+import com.deliverar.pagos.domain.entities.OutboxStatus;
+import com.deliverar.pagos.domain.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outbox of events for the hub. {@link #append} joins the caller's transaction when there is one,
+ * so the event is stored if and only if the change that produced it is committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.outbox.lease:PT2M}")
+    private Duration lease;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.initial-backoff:PT1S}")
+    private Duration initialBackoff;
+
+    @Value("${app.outbox.max-backoff:PT5M}")
+    private Duration maxBackoff;
+
+    @Transactional
+    public Long append(OutgoingEvent event) throws JsonProcessingException {
+        Instant now = Instant.now();
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .topic(event.getTopic())
+                .payload(objectMapper.writeValueAsString(event.getPayload()))
+                .correlationId(event.getCorrelationId())
+                .createdAt(now)
+                .availableAt(now)
+                .build()).getId();
+    }
+
+    /**
+     * Claims up to {@code limit} due events, at most one per correlation id, and leases them to the caller.
+     */
+    @Transactional
+    public List<OutboxEvent> claim(int limit) {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = outboxEventRepository.lockDueHeads(now, limit);
+        for (OutboxEvent event : events) {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setAvailableAt(now.plus(lease));
+        }
+        return events;
+    }
+
+    @Transactional
+    public void markSent(Long id) {
+        outboxEventRepository.findById(id).ifPresent(event -> {
+            event.setStatus(OutboxStatus.SENT);
+            event.setSentAt(Instant.now());
+            event.setLastError(null);
+        });
+    }
+
+    /**
+     * Schedules the next attempt with exponential backoff. After the last attempt the event is marked
+     * {@link OutboxStatus#FAILED}, which also unblocks the next events of its correlation id.
+     *
+     * @return the resulting status
+     */
+    @Transactional
+    public OutboxStatus markFailed(Long id, String error) {
+        return outboxEventRepository.findById(id).map(event -> {
+            event.setLastError(error == null ? null : error.substring(0, Math.min(error.length(), 1000)));
+            if (event.getAttempts() >= maxAttempts) {
+                event.setStatus(OutboxStatus.FAILED);
+                log.error("Outbox event {} ({}) dropped after {} attempts: {}",
+                        id, event.getTopic(), event.getAttempts(), error);
+            } else {
+                event.setAvailableAt(Instant.now().plus(backoff(event.getAttempts())));
+            }
+            return event.getStatus();
+        }).orElse(OutboxStatus.FAILED);
+    }
+
+    Duration backoff(int attempts) {
+        // 1s, 2s, 4s... hasta maxBackoff
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    public Map<String, Object> payload(OutboxEvent event) throws JsonProcessingException {
+        return objectMapper.readValue(event.getPayload(), objectMapper.getTypeFactory()
+                .constructMapType(Map.class, String.class, Object.class));
+    }
+}
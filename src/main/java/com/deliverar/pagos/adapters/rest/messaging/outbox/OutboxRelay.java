@@ -0,0 +1,153 @@
+package com.deliverar.pagos.adapters.rest.messaging.outbox;
+
+import com.deliverar.pagos.adapters.rest.messaging.core.HubPublisher;
+import com.deliverar.pagos.adapters.rest.messaging.core.dtos.ImmutableEvent;
+import com.deliverar.pagos.domain.entities.OutboxEvent;
+import com.deliverar.pagos.domain.entities.OutboxStatus;
+import com.deliverar.pagos.domain.repositories.OutboxEventRepository;
+import com.deliverar.pagos.infrastructure.concurrency.Workload;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relays the {@link EventOutbox} to the hub. Each round claims the oldest pending event of every
+ * correlation id and publishes them on the {@link Workload#OUTBOX} executor, so events of one
+ * correlation go out in order while different correlations are sent concurrently.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final EventOutbox eventOutbox;
+    private final HubPublisher hubPublisher;
+    private final OutboxEventRepository outboxEventRepository;
+    private final WorkloadExecutors workloadExecutors;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Timer deliveryLag;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.send-timeout:PT30S}")
+    private Duration sendTimeout;
+
+    @Value("${app.outbox.retention:P7D}")
+    private Duration retention;
+
+    public OutboxRelay(EventOutbox eventOutbox, HubPublisher hubPublisher, OutboxEventRepository outboxEventRepository,
+                       WorkloadExecutors workloadExecutors, MeterRegistry meterRegistry) {
+        this.eventOutbox = eventOutbox;
+        this.hubPublisher = hubPublisher;
+        this.outboxEventRepository = outboxEventRepository;
+        this.workloadExecutors = workloadExecutors;
+        Gauge.builder("hub.outbox.depth", depth, AtomicLong::get)
+                .description("Events waiting in the outbox to be published to the hub")
+                .register(meterRegistry);
+        Gauge.builder("hub.outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest event not yet published to the hub")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("hub.outbox.delivery.lag")
+                .description("Time between an event being written to the outbox and reaching the hub")
+                .register(meterRegistry);
+        this.sent = published(meterRegistry, "sent");
+        this.retried = published(meterRegistry, "retry");
+        this.failed = published(meterRegistry, "failed");
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void poll() {
+        try {
+            relay();
+        } catch (Exception e) {
+            log.warn("Outbox relay failed: {}", e.getMessage());
+        } finally {
+            refreshMetrics();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        try {
+            int deleted = outboxEventRepository.deleteByStatusAndSentAtBefore(
+                    OutboxStatus.SENT, Instant.now().minus(retention));
+            if (deleted > 0) {
+                log.info("Purged {} published outbox events", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    void relay() {
+        List<OutboxEvent> claimed;
+        do {
+            claimed = eventOutbox.claim(batchSize);
+            // Tras cada ronda se liberan los siguientes eventos de cada correlation id
+            CompletableFuture.allOf(claimed.stream()
+                    .map(event -> CompletableFuture.runAsync(() -> send(event),
+                                    workloadExecutors.executor(Workload.OUTBOX))
+                            .exceptionally(e -> {
+                                record(eventOutbox.markFailed(event.getId(), e.getMessage()));
+                                return null;
+                            }))
+                    .toArray(CompletableFuture[]::new)).join();
+        } while (!claimed.isEmpty());
+    }
+
+    private void send(OutboxEvent event) {
+        try {
+            // Un solo intento por envío: los reintentos son del outbox, así no compiten con los del pipeline
+            hubPublisher.publishOnce(new ImmutableEvent(event.getTopic(), eventOutbox.payload(event)))
+                    .block(sendTimeout);
+            eventOutbox.markSent(event.getId());
+            deliveryLag.record(Duration.between(event.getCreatedAt(), Instant.now()));
+            sent.increment();
+        } catch (Exception e) {
+            log.warn("Outbox event {} ({}) failed on attempt {}: {}",
+                    event.getId(), event.getTopic(), event.getAttempts(), e.getMessage());
+            record(eventOutbox.markFailed(event.getId(), e.getMessage()));
+        }
+    }
+
+    private void record(OutboxStatus status) {
+        (status == OutboxStatus.FAILED ? failed : retried).increment();
+    }
+
+    private void refreshMetrics() {
+        try {
+            depth.set(outboxEventRepository.countByStatus(OutboxStatus.PENDING));
+            lagSeconds.set(outboxEventRepository.findOldestCreatedAt(OutboxStatus.PENDING)
+                    .map(oldest -> Duration.between(oldest, Instant.now()).toSeconds())
+                    .orElse(0L));
+        } catch (Exception e) {
+            log.debug("Could not refresh outbox metrics: {}", e.getMessage());
+        }
+    }
+
+    private static Counter published(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("hub.outbox.published")
+                .description("Outbox events handed to the hub, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -1,15 +1,19 @@
 package com.deliverar.pagos.application.controllers;
 
+import com.deliverar.pagos.adapters.crypto.service.BalanceReconciliationService;
 import com.deliverar.pagos.adapters.crypto.service.DeliverCoinService;
 import com.deliverar.pagos.domain.dtos.MintBurnRequest;
+import com.deliverar.pagos.domain.dtos.ReconciliationResult;
 import com.deliverar.pagos.domain.dtos.TransactionResponse;
 import com.deliverar.pagos.domain.dtos.TransferRequest;
 import com.deliverar.pagos.domain.dtos.BuyCryptoRequest;
 import com.deliverar.pagos.domain.dtos.SellCryptoRequest;
 import com.deliverar.pagos.domain.entities.Transaction;
 import com.deliverar.pagos.domain.exceptions.BadRequestException;
+import com.deliverar.pagos.domain.exceptions.ServiceUnavailableException;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
@@ -32,6 +36,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 public class DeliverCoinController {
 
     private final DeliverCoinService deliverCoinService;
+    private final BalanceReconciliationService balanceReconciliationService;
 
     @Operation(
             summary = "Get DeliverCoin summary info",
@@ -60,6 +65,8 @@ public class DeliverCoinController {
                 content = @Content(mediaType = "application/json",
                 schema = @Schema(example = "{\"status\": \"pending\", \"trackingId\": \"uuid\", \"message\": \"Transferencia iniciada y en proceso\"}"))),
         @ApiResponse(responseCode = "400", description = "Datos de la solicitud inválidos",
+                content = @Content),
+        @ApiResponse(responseCode = "503", description = "Demasiadas operaciones en curso, reintentar más tarde",
                 content = @Content)
     })
     @PostMapping("/transfer")
@@ -75,6 +82,8 @@ public class DeliverCoinController {
            ));
        }catch (BadRequestException e) {
               return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+         } catch (ServiceUnavailableException e) {
+              return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
          } catch (Exception e) {
               return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
        }
@@ -190,6 +199,8 @@ public class DeliverCoinController {
                 content = @Content(mediaType = "application/json",
                 schema = @Schema(example = "{\"status\": \"pending\", \"trackingId\": \"uuid\", \"message\": \"Compra iniciada y en proceso\"}"))),
         @ApiResponse(responseCode = "400", description = "Balance insuficiente o datos inválidos",
+                content = @Content),
+        @ApiResponse(responseCode = "503", description = "Demasiadas operaciones en curso, reintentar más tarde",
                 content = @Content)
     })
     @PostMapping("/buy")
@@ -203,6 +214,8 @@ public class DeliverCoinController {
             ));
         } catch (BadRequestException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (ServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
         }
@@ -215,6 +228,8 @@ public class DeliverCoinController {
                 content = @Content(mediaType = "application/json",
                 schema = @Schema(example = "{\"status\": \"pending\", \"trackingId\": \"uuid\", \"message\": \"Venta iniciada y en proceso\"}"))),
         @ApiResponse(responseCode = "400", description = "Balance insuficiente o datos inválidos",
+                content = @Content),
+        @ApiResponse(responseCode = "503", description = "Demasiadas operaciones en curso, reintentar más tarde",
                 content = @Content)
     })
     @PostMapping("/sell")
@@ -228,6 +243,8 @@ public class DeliverCoinController {
             ));
         } catch (BadRequestException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (ServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
         }
@@ -252,4 +269,26 @@ public class DeliverCoinController {
         }
     }
 
+    @Operation(summary = "Conciliar balances de todas las wallets",
+            description = "Compara el balance crypto de cada wallet con la blockchain usando batches JSON-RPC y corrige las diferencias")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Conciliación finalizada",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ReconciliationResult.class))),
+            @ApiResponse(responseCode = "400", description = "Ya hay una conciliación en curso",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Error durante la conciliación",
+                    content = @Content)
+    })
+    @PostMapping("/reconcile")
+    public ResponseEntity<Object> reconcileBalances() {
+        try {
+            return ResponseEntity.ok(balanceReconciliationService.reconcile());
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
 }
@@ -4,7 +4,7 @@ import com.deliverar.pagos.application.mappers.OwnerMapper;
 import com.deliverar.pagos.domain.dtos.*;
 import com.deliverar.pagos.domain.entities.FiatTransaction;
 import com.deliverar.pagos.domain.entities.Owner;
-import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.entities.OwnerTransactionHistory;
 import com.deliverar.pagos.domain.usecases.owner.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,11 +16,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.springframework.data.domain.Sort.by;
@@ -37,6 +39,8 @@ public class OwnerController {
     private final GetOwnerList getOwnerList;
     private final GetOwnerTransactions getOwnerTransactions;
     private final GetOwnerFiatTransactions getOwnerFiatTransactions;
+    private final GetOwnerCryptoTransactionsByDate getOwnerCryptoTransactionsByDate;
+    private final GetOwnerFiatTransactionsByDate getOwnerFiatTransactionsByDate;
     private final ExchangeFiat exchangeFiat;
 
     @Operation(
@@ -148,10 +152,10 @@ public class OwnerController {
     ) {
         log.info("Get crypto transactions of ownerId {} with page {}, size {} and sortDirection {}", id, pageNumber, size, sortDirection);
         Owner owner = getOwner.get(id);
-        Page<Transaction> page = getOwnerTransactions.get(owner, pageNumber, size, sortDirection);
+        Slice<OwnerTransactionHistory> page = getOwnerTransactions.get(owner, pageNumber, size, sortDirection);
 
         return GetTransactionsResponse.builder()
-                .transactions(ownerMapper.toTransactionDtos(page.getContent()))
+                .transactions(ownerMapper.toHistoryDtos(owner, page.getContent()))
                 .totalElements(page.getNumberOfElements())
                 .page(pageNumber)
                 .size(size)
@@ -178,7 +182,7 @@ public class OwnerController {
     ) {
         log.info("Get fiat transactions of ownerId {} with page {}, size {} and sortDirection {}", id, pageNumber, size, sortDirection);
         Owner owner = getOwner.get(id);
-        Page<FiatTransaction> page = getOwnerFiatTransactions.get(owner, pageNumber, size, sortDirection);
+        Slice<FiatTransaction> page = getOwnerFiatTransactions.get(owner, pageNumber, size, sortDirection);
 
         return GetFiatTransactionsResponse.builder()
                 .transactions(ownerMapper.toFiatTransactionDtos(page.getContent()))
@@ -190,6 +194,62 @@ public class OwnerController {
                 .build();
     }
 
+    @Operation(
+            summary = "Listar transacciones crypto del owner por cursor",
+            description = "Devuelve las transacciones crypto del owner de la más reciente a la más antigua, paginadas por cursor sobre (fecha, id)"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Transacciones obtenidas", content = @Content(schema = @Schema(implementation = GetTransactionsCursorResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor o tamaño inválido", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Owner no encontrado", content = @Content)
+    })
+    @GetMapping("/{id}/transactions/cursor")
+    @ResponseStatus(HttpStatus.OK)
+    public GetTransactionsCursorResponse getTransactionsByCursor(
+            @Parameter(description = "ID del owner", required = true) @PathVariable UUID id,
+            @Parameter(description = "Tamaño de la página (máximo 1000)", example = "10") @RequestParam(name = "size", required = false, defaultValue = "10") int size,
+            @Parameter(description = "Cursor opaco devuelto como nextCursor por la página anterior") @RequestParam(name = "cursor", required = false) String cursor
+    ) {
+        log.info("Get crypto transactions of ownerId {} by cursor with size {}", id, size);
+        Owner owner = getOwner.get(id);
+        KeysetPage<OwnerTransactionHistory> page = getOwnerCryptoTransactionsByDate.get(owner, Optional.empty(), TransactionCursor.parse(cursor), KeysetPage.pageSize(size));
+
+        return GetTransactionsCursorResponse.builder()
+                .transactions(ownerMapper.toHistoryDtos(owner, page.content()))
+                .size(page.content().size())
+                .hasNext(page.hasNext())
+                .nextCursor(page.hasNext() ? page.next().encode() : null)
+                .build();
+    }
+
+    @Operation(
+            summary = "Listar transacciones fiat del owner por cursor",
+            description = "Devuelve las transacciones fiat del owner de la más reciente a la más antigua, paginadas por cursor sobre (fecha, id)"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Transacciones obtenidas", content = @Content(schema = @Schema(implementation = GetFiatTransactionsCursorResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor o tamaño inválido", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Owner no encontrado", content = @Content)
+    })
+    @GetMapping("/{id}/transactions/fiat/cursor")
+    @ResponseStatus(HttpStatus.OK)
+    public GetFiatTransactionsCursorResponse getFiatTransactionsByCursor(
+            @Parameter(description = "ID del owner", required = true) @PathVariable UUID id,
+            @Parameter(description = "Tamaño de la página (máximo 1000)", example = "10") @RequestParam(name = "size", required = false, defaultValue = "10") int size,
+            @Parameter(description = "Cursor opaco devuelto como nextCursor por la página anterior") @RequestParam(name = "cursor", required = false) String cursor
+    ) {
+        log.info("Get fiat transactions of ownerId {} by cursor with size {}", id, size);
+        Owner owner = getOwner.get(id);
+        KeysetPage<FiatTransaction> page = getOwnerFiatTransactionsByDate.get(owner, Optional.empty(), TransactionCursor.parse(cursor), KeysetPage.pageSize(size));
+
+        return GetFiatTransactionsCursorResponse.builder()
+                .transactions(ownerMapper.toFiatTransactionDtos(page.content()))
+                .size(page.content().size())
+                .hasNext(page.hasNext())
+                .nextCursor(page.hasNext() ? page.next().encode() : null)
+                .build();
+    }
+
     @Operation(
             summary = "Realizar exchange de saldo fiat (cargar o retirar)",
             description = "Permite al owner cargar o retirar saldo fiat según la operación solicitada"
@@ -1,10 +1,16 @@
 package com.deliverar.pagos.application.controllers;
 
 import com.deliverar.pagos.application.mappers.OwnerMapper;
+import com.deliverar.pagos.domain.dtos.GetFiatTransactionsCursorResponse;
 import com.deliverar.pagos.domain.dtos.GetFiatTransactionsResponse;
+import com.deliverar.pagos.domain.dtos.GetTransactionsCursorResponse;
 import com.deliverar.pagos.domain.dtos.GetTransactionsResponse;
+import com.deliverar.pagos.domain.dtos.KeysetPage;
+import com.deliverar.pagos.domain.dtos.TransactionCursor;
 import com.deliverar.pagos.domain.entities.FiatTransaction;
 import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.usecases.user.GetAllCryptoTransactionsByDate;
+import com.deliverar.pagos.domain.usecases.user.GetAllFiatTransactionsByDate;
 import com.deliverar.pagos.domain.usecases.user.GetFiatTransactions;
 import com.deliverar.pagos.domain.usecases.user.GetTransactions;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,11 +22,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 @Tag(name = "Transacciones", description = "Operaciones relacionadas al historial de transacciones")
 @RequestMapping("/api/transactions")
 @RestController
@@ -30,6 +38,8 @@ public class TransactionHistoryController {
     private final OwnerMapper ownerMapper;
     private final GetTransactions getTransactions;
     private final GetFiatTransactions getFiatTransactions;
+    private final GetAllCryptoTransactionsByDate getAllCryptoTransactionsByDate;
+    private final GetAllFiatTransactionsByDate getAllFiatTransactionsByDate;
 
     @Operation(
             summary = "Obtener historial de transacciones",
@@ -55,7 +65,7 @@ public class TransactionHistoryController {
             @RequestParam(name = "direction", required = false, defaultValue = "DESC") Sort.Direction sortDirection
     ) {
         log.info("Get transactions with page {}, size {} and sortDirection {}", pageNumber, size, sortDirection);
-        Page<Transaction> page = getTransactions.get(pageNumber, size, sortDirection);
+        Slice<Transaction> page = getTransactions.get(pageNumber, size, sortDirection);
 
         return GetTransactionsResponse.builder()
                 .transactions(ownerMapper.toTransactionDtos(page.getContent()))
@@ -90,7 +100,7 @@ public class TransactionHistoryController {
             @Parameter(description = "Dirección de ordenamiento (ASC o DESC)", example = "DESC")
             @RequestParam(name = "direction", required = false, defaultValue = "DESC") Sort.Direction sortDirection
     ) {
-        Page<FiatTransaction> page = getFiatTransactions.get(pageNumber, size, sortDirection);
+        Slice<FiatTransaction> page = getFiatTransactions.get(pageNumber, size, sortDirection);
 
         return GetFiatTransactionsResponse.builder()
                 .transactions(ownerMapper.toFiatTransactionDtos(page.getContent()))
@@ -101,4 +111,56 @@ public class TransactionHistoryController {
                 .sortDirection(sortDirection.name())
                 .build();
     }
+
+    @Operation(
+            summary = "Obtener historial de transacciones por cursor",
+            description = "Devuelve las transacciones de la más reciente a la más antigua, paginadas por cursor sobre (fecha, id). El costo de cada página no depende de su profundidad."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Transacciones obtenidas", content = @Content(schema = @Schema(implementation = GetTransactionsCursorResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor o tamaño inválido", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+    })
+    @GetMapping("/cursor")
+    @ResponseStatus(HttpStatus.OK)
+    public GetTransactionsCursorResponse getTransactionsByCursor(
+            @Parameter(description = "Tamaño de la página (máximo 1000)", example = "10") @RequestParam(name = "size", required = false, defaultValue = "10") int size,
+            @Parameter(description = "Cursor opaco devuelto como nextCursor por la página anterior") @RequestParam(name = "cursor", required = false) String cursor
+    ) {
+        log.info("Get transactions by cursor with size {}", size);
+        KeysetPage<Transaction> page = getAllCryptoTransactionsByDate.get(Optional.empty(), TransactionCursor.parse(cursor), KeysetPage.pageSize(size));
+
+        return GetTransactionsCursorResponse.builder()
+                .transactions(ownerMapper.toTransactionDtos(page.content()))
+                .size(page.content().size())
+                .hasNext(page.hasNext())
+                .nextCursor(page.hasNext() ? page.next().encode() : null)
+                .build();
+    }
+
+    @Operation(
+            summary = "Obtener historial de transacciones fiat por cursor",
+            description = "Devuelve las transacciones fiat de la más reciente a la más antigua, paginadas por cursor sobre (fecha, id). El costo de cada página no depende de su profundidad."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Transacciones obtenidas", content = @Content(schema = @Schema(implementation = GetFiatTransactionsCursorResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor o tamaño inválido", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+    })
+    @GetMapping("/fiat/cursor")
+    @ResponseStatus(HttpStatus.OK)
+    public GetFiatTransactionsCursorResponse getFiatTransactionsByCursor(
+            @Parameter(description = "Tamaño de la página (máximo 1000)", example = "10") @RequestParam(name = "size", required = false, defaultValue = "10") int size,
+            @Parameter(description = "Cursor opaco devuelto como nextCursor por la página anterior") @RequestParam(name = "cursor", required = false) String cursor
+    ) {
+        log.info("Get fiat transactions by cursor with size {}", size);
+        KeysetPage<FiatTransaction> page = getAllFiatTransactionsByDate.get(Optional.empty(), TransactionCursor.parse(cursor), KeysetPage.pageSize(size));
+
+        return GetFiatTransactionsCursorResponse.builder()
+                .transactions(ownerMapper.toFiatTransactionDtos(page.content()))
+                .size(page.content().size())
+                .hasNext(page.hasNext())
+                .nextCursor(page.hasNext() ? page.next().encode() : null)
+                .build();
+    }
 }
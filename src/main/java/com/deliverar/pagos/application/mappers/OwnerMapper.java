@@ -5,7 +5,9 @@ import com.deliverar.pagos.domain.dtos.OwnerDto;
 import com.deliverar.pagos.domain.dtos.TransactionDto;
 import com.deliverar.pagos.domain.entities.FiatTransaction;
 import com.deliverar.pagos.domain.entities.Owner;
+import com.deliverar.pagos.domain.entities.OwnerTransactionHistory;
 import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.entities.TransferDirection;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -48,6 +50,36 @@ public class OwnerMapper {
         return transactions.stream().map(this::toTransactionDto).toList();
     }
 
+    /**
+     * Maps a history row of {@code owner}. The counterparty only carries its id and email, the row
+     * does not join its owner.
+     */
+    public TransactionDto toHistoryDto(Owner owner, OwnerTransactionHistory row) {
+        OwnerDto self = toOwnerDto(owner);
+        OwnerDto counterparty = OwnerDto.builder()
+                .id(row.getCounterpartyId())
+                .email(row.getCounterpartyEmail())
+                .build();
+        boolean outgoing = row.getDirection() == TransferDirection.OUT;
+        return TransactionDto.builder()
+                .id(row.getTransactionId())
+                .originOwner(outgoing ? self : counterparty)
+                .destinationOwner(outgoing ? counterparty : self)
+                .amount(row.getAmount().abs())
+                .currency(row.getCurrency())
+                .conversionRate(row.getConversionRate())
+                .concept(row.getConcept())
+                .blockchainTxHash(row.getBlockchainTxHash())
+                .transactionDate(row.getTransactionDate())
+                .createdAt(row.getCreatedAt())
+                .status(row.getStatus())
+                .build();
+    }
+
+    public List<TransactionDto> toHistoryDtos(Owner owner, List<OwnerTransactionHistory> rows) {
+        return rows.stream().map(row -> toHistoryDto(owner, row)).toList();
+    }
+
     public FiatTransactionDto toFiatTransactionDto(FiatTransaction entity) {
         return FiatTransactionDto.builder()
                 .id(entity.getId())
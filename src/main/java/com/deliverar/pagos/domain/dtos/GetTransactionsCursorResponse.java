@@ -0,0 +1,20 @@
+package com.deliverar.pagos.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class GetTransactionsCursorResponse {
+    List<TransactionDto> transactions;
+    int size;
+    boolean hasNext;
+    // Token opaco para pedir la página siguiente; null en la última
+    String nextCursor;
+}
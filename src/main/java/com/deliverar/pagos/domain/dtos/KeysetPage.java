@@ -0,0 +1,44 @@
+package com.deliverar.pagos.domain.dtos;
+
+import com.deliverar.pagos.domain.exceptions.BadRequestException;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page of a keyset (seek) query: the rows plus the cursor of the next page, without a count query.
+ *
+ * @param next cursor to continue from, {@code null} on the last page
+ */
+public record KeysetPage<T>(List<T> content, TransactionCursor next) {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Page size requested by a client, capped at {@link #MAX_PAGE_SIZE}.
+     *
+     * @throws BadRequestException if it is not positive
+     */
+    public static int pageSize(int requested) {
+        if (requested <= 0) {
+            throw new BadRequestException("size must be positive");
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Builds the page from a query that fetched {@code pageSize + 1} rows: the extra row only tells
+     * that there is a next page.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int pageSize, Function<T, TransactionCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, pageSize);
+        return new KeysetPage<>(content, cursorOf.apply(content.get(pageSize - 1)));
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
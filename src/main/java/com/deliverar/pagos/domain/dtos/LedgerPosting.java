@@ -0,0 +1,65 @@
+package com.deliverar.pagos.domain.dtos;
+
+import com.deliverar.pagos.domain.entities.CurrencyType;
+import com.deliverar.pagos.domain.entities.LedgerAccount;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Movement of a positive {@code amount} from one ledger account to another. Wallet sides carry the
+ * wallet id; system accounts have none. With {@code requireFunds} the debited wallet may not go
+ * below zero; without it the posting mirrors a movement already settled elsewhere (the chain, a
+ * reconciliation) and is applied as is.
+ */
+public record LedgerPosting(LedgerAccount fromAccount, UUID fromWalletId,
+                            LedgerAccount toAccount, UUID toWalletId,
+                            CurrencyType currency, BigDecimal amount,
+                            String concept, UUID referenceId, boolean requireFunds) {
+
+    public LedgerPosting {
+        Objects.requireNonNull(currency, "Currency cannot be null");
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Posting amount must be positive");
+        }
+        if ((fromAccount == LedgerAccount.WALLET) != (fromWalletId != null)
+            || (toAccount == LedgerAccount.WALLET) != (toWalletId != null)) {
+            throw new IllegalArgumentException("Only wallet sides carry a wallet id");
+        }
+    }
+
+    public static LedgerPosting between(UUID fromWalletId, UUID toWalletId, CurrencyType currency,
+                                        BigDecimal amount, String concept, UUID referenceId) {
+        return new LedgerPosting(LedgerAccount.WALLET, fromWalletId, LedgerAccount.WALLET, toWalletId,
+                currency, amount, concept, referenceId, false);
+    }
+
+    public static LedgerPosting credit(LedgerAccount source, UUID toWalletId, CurrencyType currency,
+                                       BigDecimal amount, String concept, UUID referenceId) {
+        return new LedgerPosting(source, null, LedgerAccount.WALLET, toWalletId, currency, amount, concept, referenceId, false);
+    }
+
+    public static LedgerPosting debit(UUID fromWalletId, LedgerAccount sink, CurrencyType currency,
+                                      BigDecimal amount, String concept, UUID referenceId) {
+        return new LedgerPosting(LedgerAccount.WALLET, fromWalletId, sink, null, currency, amount, concept, referenceId, false);
+    }
+
+    /**
+     * Credit or debit of a wallet against {@code counterpart}, depending on the sign of {@code delta}.
+     */
+    public static LedgerPosting adjust(UUID walletId, LedgerAccount counterpart, CurrencyType currency,
+                                       BigDecimal delta, String concept, UUID referenceId) {
+        return delta.signum() >= 0
+                ? credit(counterpart, walletId, currency, delta, concept, referenceId)
+                : debit(walletId, counterpart, currency, delta.negate(), concept, referenceId);
+    }
+
+    /**
+     * Same posting, rejected with insufficient funds if the debited wallet does not cover it.
+     */
+    public LedgerPosting requiringFunds() {
+        return new LedgerPosting(fromAccount, fromWalletId, toAccount, toWalletId, currency, amount, concept,
+                referenceId, true);
+    }
+}
@@ -0,0 +1,18 @@
+package com.deliverar.pagos.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReconciliationResult {
+    long checked;
+    long corrected;
+    long failed;
+    long skipped;
+    long durationMs;
+}
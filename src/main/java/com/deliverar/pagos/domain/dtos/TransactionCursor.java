@@ -0,0 +1,64 @@
+package com.deliverar.pagos.domain.dtos;
+
+import com.deliverar.pagos.domain.exceptions.BadRequestException;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Position in a transaction history ordered by {@code (transaction_date, id)} descending: the next
+ * page starts right after this row. Sent to clients as an opaque URL-safe token.
+ */
+public record TransactionCursor(Instant transactionDate, UUID id) {
+
+    private static final int LENGTH = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    /**
+     * Cursor before the newest possible row, used for the first page.
+     */
+    public static final TransactionCursor FIRST =
+            new TransactionCursor(Instant.parse("9999-12-31T23:59:59Z"), new UUID(-1L, -1L));
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+                .putLong(transactionDate.getEpochSecond())
+                .putInt(transactionDate.getNano())
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Decodes an optional token: blank or missing means the first page.
+     *
+     * @throws BadRequestException if the token was not produced by {@link #encode()}
+     */
+    public static Optional<TransactionCursor> parse(String token) {
+        return token == null || token.isBlank() ? Optional.empty() : Optional.of(decode(token));
+    }
+
+    /**
+     * @throws BadRequestException if the token was not produced by {@link #encode()}
+     */
+    public static TransactionCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (bytes.length != LENGTH) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            Instant date = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            return new TransactionCursor(date, new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
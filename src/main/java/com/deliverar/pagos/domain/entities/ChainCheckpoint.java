@@ -0,0 +1,31 @@
+package com.deliverar.pagos.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Last block fully processed by a chain consumer (e.g. the Transfer event indexer).
+ */
+@Entity
+@Table(name = "chain_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChainCheckpoint {
+
+    @Id
+    @Column(name = "name", nullable = false, length = 64)
+    private String name;
+
+    @Column(name = "last_block", nullable = false)
+    private Long lastBlock;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,53 @@
+package com.deliverar.pagos.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * DeliverCoin Transfer event as read from the chain. Mints have an empty {@code fromEmail}
+ * and burns an empty {@code toEmail}.
+ */
+@Entity
+@Table(name = "chain_events", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_chain_events_tx_log", columnNames = {"tx_hash", "log_index"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChainEvent {
+
+    @Id
+    @GeneratedValue
+    @Column(columnDefinition = "UUID")
+    private UUID id;
+
+    @Column(name = "block_number", nullable = false)
+    private Long blockNumber;
+
+    @Column(name = "tx_hash", nullable = false, length = 66)
+    private String txHash;
+
+    @Column(name = "log_index", nullable = false)
+    private Integer logIndex;
+
+    @Column(name = "from_email")
+    private String fromEmail;
+
+    @Column(name = "to_email")
+    private String toEmail;
+
+    @Column(name = "amount", nullable = false, precision = 18, scale = 8)
+    private BigDecimal amount;
+
+    @Builder.Default
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt = Instant.now();
+}
@@ -12,7 +12,10 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "fiat_transactions")
+@Table(name = "fiat_transactions", indexes = {
+        @Index(name = "idx_fiat_transactions_owner_date", columnList = "owner_id, transaction_date, id"),
+        @Index(name = "idx_fiat_transactions_date", columnList = "transaction_date, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,65 @@
+package com.deliverar.pagos.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Raw event received from the hub, stored before it is processed. Workers claim pending rows,
+ * route them and mark them {@link InboxStatus#DONE}; a {@code PROCESSING} row whose lease expired
+ * is claimed again.
+ */
+@Entity
+@Table(name = "event_inbox", indexes = {
+        @Index(name = "idx_event_inbox_status_available", columnList = "status, available_at"),
+        @Index(name = "idx_event_inbox_lane_available", columnList = "lane, available_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InboxEvent {
+
+    @Id
+    @GeneratedValue
+    @Column(columnDefinition = "UUID")
+    private UUID id;
+
+    @Column(name = "topic", nullable = false)
+    private String topic;
+
+    // Carril de procesamiento del topic (payments, queries, admin)
+    @Column(name = "lane", length = 16)
+    private String lane;
+
+    // Payload JSON tal como llegó del hub
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private InboxStatus status = InboxStatus.PENDING;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private Instant receivedAt;
+
+    // Momento a partir del cual un worker puede tomarlo (reintentos y leases vencidos)
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "processed_at")
+    private Instant processedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
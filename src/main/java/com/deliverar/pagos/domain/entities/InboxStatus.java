@@ -0,0 +1,8 @@
+package com.deliverar.pagos.domain.entities;
+
+public enum InboxStatus {
+    PENDING,
+    PROCESSING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,24 @@
+package com.deliverar.pagos.domain.entities;
+
+/**
+ * Side of a ledger posting. Only {@link #WALLET} entries belong to an owner; the rest are system
+ * accounts that hold the other side of money entering or leaving the wallets.
+ */
+public enum LedgerAccount {
+    // Wallet de un owner: su saldo es la suma de sus asientos
+    WALLET,
+    // Depósitos y retiros de fiat hacia fuera del sistema
+    FIAT_GATEWAY,
+    // Contrapartida 1:1 de la compra y venta de crypto
+    EXCHANGE,
+    // Crypto reservada por transacciones pendientes hasta que se confirman o fallan
+    HOLD,
+    // Mint y burn de DeliverCoin
+    ISSUANCE,
+    // Transferencias observadas en la cadena por el indexador
+    CHAIN,
+    // Correcciones del balance crypto contra la cadena
+    ADJUSTMENT,
+    // Saldos de las wallets al introducir el ledger
+    OPENING
+}
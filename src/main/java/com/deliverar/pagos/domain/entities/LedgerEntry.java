@@ -0,0 +1,60 @@
+package com.deliverar.pagos.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Immutable ledger line. Entries are written in balanced pairs sharing a {@code postingId}: the
+ * debit is negative, the credit positive, so every posting and the whole ledger sum to zero per
+ * currency. The balance of a wallet at any instant is the sum of its entries up to that instant.
+ */
+@Entity
+@Immutable
+@Table(name = "ledger_entries", indexes = {
+        @Index(name = "idx_ledger_entries_wallet_currency", columnList = "wallet_id, currency, created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "posting_id", nullable = false)
+    private UUID postingId;
+
+    // Transaction o FiatTransaction que originó el asiento, si la hay
+    @Column(name = "reference_id")
+    private UUID referenceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account", nullable = false, length = 16)
+    private LedgerAccount account;
+
+    @Column(name = "wallet_id")
+    private UUID walletId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "currency", nullable = false, length = 16)
+    private CurrencyType currency;
+
+    @Column(name = "amount", nullable = false, precision = 38, scale = 8)
+    private BigDecimal amount;
+
+    @Column(name = "concept", length = 32)
+    private String concept;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,60 @@
+package com.deliverar.pagos.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Event waiting to be published to the hub. Rows are written in the same transaction as the change
+ * that produced them and relayed in {@code id} order per correlation id.
+ */
+@Entity
+@Table(name = "event_outbox", indexes = {
+        @Index(name = "idx_event_outbox_status_available", columnList = "status, available_at"),
+        @Index(name = "idx_event_outbox_correlation", columnList = "correlation_id, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "topic", nullable = false)
+    private String topic;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "correlation_id")
+    private String correlationId;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Próximo intento: se mueve hacia adelante al reclamarlo (lease) y al fallar (backoff)
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,7 @@
+package com.deliverar.pagos.domain.entities;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,102 @@
+package com.deliverar.pagos.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read model of the crypto history: one row per participant of every {@link Transaction}, seen from
+ * that participant. The amount is signed (negative when the owner sends) and the other side is kept
+ * as a plain id and email, so the history of an owner is a single range scan with no joins.
+ */
+@Entity
+@Table(name = "owner_transaction_history",
+        uniqueConstraints = @UniqueConstraint(name = "uk_owner_history_transaction_owner",
+                columnNames = {"transaction_id", "owner_id", "direction"}),
+        indexes = @Index(name = "idx_owner_history_owner_date", columnList = "owner_id, transaction_date, transaction_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerTransactionHistory {
+    @Id
+    @GeneratedValue
+    @Column(name = "id", nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "transaction_id", nullable = false, updatable = false)
+    private UUID transactionId;
+
+    @Column(name = "owner_id", nullable = false, updatable = false)
+    private UUID ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "direction", length = 3, nullable = false, updatable = false)
+    private TransferDirection direction;
+
+    @Column(name = "counterparty_id", nullable = false, updatable = false)
+    private UUID counterpartyId;
+
+    @Column(name = "counterparty_email", nullable = false, updatable = false)
+    private String counterpartyEmail;
+
+    @Column(name = "amount", nullable = false, updatable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    private CurrencyType currency;
+
+    @Column(name = "conversion_rate", nullable = false, updatable = false)
+    private BigDecimal conversionRate;
+
+    @Column(name = "concept")
+    private String concept;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionStatus status;
+
+    @Column(name = "blockchain_tx_hash")
+    private String blockchainTxHash;
+
+    @Column(name = "transaction_date", nullable = false, updatable = false)
+    private Instant transactionDate;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    /**
+     * The two rows of a transaction: the debit of the origin owner and the credit of the destination.
+     * Both owners must be loaded.
+     */
+    public static List<OwnerTransactionHistory> rowsOf(Transaction tx) {
+        return List.of(
+                row(tx, tx.getOriginOwner(), tx.getDestinationOwner(), TransferDirection.OUT, tx.getAmount().negate()),
+                row(tx, tx.getDestinationOwner(), tx.getOriginOwner(), TransferDirection.IN, tx.getAmount()));
+    }
+
+    private static OwnerTransactionHistory row(Transaction tx, Owner owner, Owner counterparty,
+                                               TransferDirection direction, BigDecimal amount) {
+        return OwnerTransactionHistory.builder()
+                .transactionId(tx.getId())
+                .ownerId(owner.getId())
+                .direction(direction)
+                .counterpartyId(counterparty.getId())
+                .counterpartyEmail(counterparty.getEmail())
+                .amount(amount)
+                .currency(tx.getCurrency())
+                .conversionRate(tx.getConversionRate())
+                .concept(tx.getConcept())
+                .status(tx.getStatus())
+                .blockchainTxHash(tx.getBlockchainTxHash())
+                .transactionDate(tx.getTransactionDate())
+                .createdAt(tx.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.deliverar.pagos.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Fingerprint of a hub event already accepted into the inbox. The primary key makes a redelivery
+ * of the same event fail to insert, even when two nodes receive it at once.
+ */
+@Entity
+@Table(name = "processed_events", indexes = {
+        @Index(name = "idx_processed_events_received_at", columnList = "received_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedEvent {
+
+    @Id
+    @Column(name = "fingerprint", nullable = false, length = 128)
+    private String fingerprint;
+
+    @Column(name = "topic", nullable = false)
+    private String topic;
+
+    @Column(name = "received_at", nullable = false)
+    private Instant receivedAt;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,7 +15,14 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_origin_date", columnList = "origin_owner_id, transaction_date, id"),
+        @Index(name = "idx_transactions_destination_date", columnList = "destination_owner_id, transaction_date, id"),
+        @Index(name = "idx_transactions_date", columnList = "transaction_date, id"),
+        @Index(name = "idx_transactions_tx_hash", columnList = "blockchain_tx_hash"),
+        @Index(name = "idx_transactions_status_date", columnList = "status, transaction_date"),
+        @Index(name = "idx_transactions_unsettled", columnList = "netted, settled_at, transaction_date")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -61,4 +69,19 @@ public class Transaction {
 
     @Enumerated(EnumType.STRING)
     private TransactionStatus status;
+
+    // Modo settlement: el balance se aplicó en la base y el movimiento on-chain se liquida neteado por par
+    @Builder.Default
+    @ColumnDefault("false")
+    @Column(name = "netted", nullable = false)
+    private boolean netted = false;
+
+    @Column(name = "settled_at")
+    private Instant settledAt;
+
+    // Liquidaciones que revirtieron on-chain; con app.settlement.max-attempts se deja de reintentar
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "settlement_attempts", nullable = false)
+    private int settlementAttempts = 0;
 }
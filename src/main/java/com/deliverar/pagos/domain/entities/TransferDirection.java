@@ -0,0 +1,6 @@
+package com.deliverar.pagos.domain.entities;
+
+public enum TransferDirection {
+    OUT,
+    IN
+}
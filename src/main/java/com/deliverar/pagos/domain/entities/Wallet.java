@@ -12,6 +12,11 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * Balances are the running totals of the wallet's ledger entries. JPA never writes them after the
+ * insert: they only change through the atomic updates of {@code WalletRepository}, issued by a ledger
+ * posting, so a stale entity can never overwrite them.
+ */
 @Entity
 @Table(name = "wallets")
 @Data
@@ -26,11 +31,11 @@ public class Wallet {
     private UUID id;
 
     @Builder.Default
-    @Column(name = "fiat_balance", nullable = false, precision = 18, scale = 2)
+    @Column(name = "fiat_balance", nullable = false, updatable = false, precision = 18, scale = 2)
     private BigDecimal fiatBalance = BigDecimal.ZERO;
 
     @Builder.Default
-    @Column(name = "crypto_balance", nullable = false, precision = 18, scale = 8)
+    @Column(name = "crypto_balance", nullable = false, updatable = false, precision = 18, scale = 8)
     private BigDecimal cryptoBalance = BigDecimal.ZERO;
 
     @CreatedDate
@@ -0,0 +1,9 @@
+package com.deliverar.pagos.domain.repositories;
+
+import com.deliverar.pagos.domain.entities.ChainCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChainCheckpointRepository extends JpaRepository<ChainCheckpoint, String> {
+}
@@ -0,0 +1,12 @@
+package com.deliverar.pagos.domain.repositories;
+
+import com.deliverar.pagos.domain.entities.ChainEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ChainEventRepository extends JpaRepository<ChainEvent, UUID> {
+    boolean existsByTxHashAndLogIndex(String txHash, Integer logIndex);
+}
@@ -1,38 +1,68 @@
 package com.deliverar.pagos.domain.repositories;
 
 import com.deliverar.pagos.domain.entities.FiatTransaction;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface FiatTransactionRepository extends JpaRepository<FiatTransaction, UUID> {
-    Page<FiatTransaction> findByOwner_Id(
+    /**
+     * Offset page of the fiat transactions of an owner. Returns a {@link Slice}: no count query.
+     */
+    Slice<FiatTransaction> findByOwner_Id(
             UUID ownerId,
             Pageable pageable
     );
     
-    Page<FiatTransaction> findByOwner_IdAndTransactionDateGreaterThanEqual(
-            UUID ownerId,
-            Instant sinceDate,
-            Pageable pageable
+    /**
+     * Keyset page of the fiat transactions of an owner made since {@code sinceDate}, newest first,
+     * starting right after {@code (afterDate, afterId)}. No count query.
+     */
+    @Query("SELECT ft FROM FiatTransaction ft " +
+           "JOIN FETCH ft.owner " +
+           "WHERE ft.owner.id = :ownerId " +
+           "AND ft.transactionDate >= :sinceDate " +
+           "AND ft.transactionDate <= :afterDate " +
+           "AND (ft.transactionDate < :afterDate OR (ft.transactionDate = :afterDate AND ft.id < :afterId)) " +
+           "ORDER BY ft.owner.id DESC, ft.transactionDate DESC, ft.id DESC")
+    List<FiatTransaction> findByOwnerAfter(
+            @Param("ownerId") UUID ownerId,
+            @Param("sinceDate") Instant sinceDate,
+            @Param("afterDate") Instant afterDate,
+            @Param("afterId") UUID afterId,
+            Limit limit
     );
-    
+
+    /**
+     * Keyset page of all fiat transactions made since {@code sinceDate}, newest first, starting
+     * right after {@code (afterDate, afterId)}. No count query.
+     */
     @Query("SELECT ft FROM FiatTransaction ft " +
            "JOIN FETCH ft.owner " +
-           "WHERE ft.transactionDate >= :sinceDate")
-    Page<FiatTransaction> findAllByTransactionDateGreaterThanEqualWithOwner(
+           "WHERE ft.transactionDate >= :sinceDate " +
+           "AND ft.transactionDate <= :afterDate " +
+           "AND (ft.transactionDate < :afterDate OR (ft.transactionDate = :afterDate AND ft.id < :afterId)) " +
+           "ORDER BY ft.transactionDate DESC, ft.id DESC")
+    List<FiatTransaction> findAllAfter(
             @Param("sinceDate") Instant sinceDate,
-            Pageable pageable
+            @Param("afterDate") Instant afterDate,
+            @Param("afterId") UUID afterId,
+            Limit limit
     );
     
+    /**
+     * Offset page of all fiat transactions. Returns a {@link Slice}: no count query.
+     */
     @Query("SELECT ft FROM FiatTransaction ft " +
            "JOIN FETCH ft.owner")
-    Page<FiatTransaction> findAllWithOwner(Pageable pageable);
+    Slice<FiatTransaction> findAllWithOwner(Pageable pageable);
 }
@@ -0,0 +1,39 @@
+package com.deliverar.pagos.domain.repositories;
+
+import com.deliverar.pagos.domain.entities.InboxEvent;
+import com.deliverar.pagos.domain.entities.InboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface InboxEventRepository extends JpaRepository<InboxEvent, UUID> {
+
+    /**
+     * Locks up to {@code limit} claimable rows of one lane, skipping the ones another node already
+     * holds. Rows stored before lanes existed belong to {@code admin}. Must run inside a transaction.
+     */
+    @Query(value = "SELECT * FROM event_inbox " +
+                   "WHERE status IN ('PENDING', 'PROCESSING') AND available_at <= :now " +
+                   "AND COALESCE(lane, 'admin') = :lane " +
+                   "ORDER BY available_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<InboxEvent> lockClaimable(@Param("now") Instant now, @Param("lane") String lane, @Param("limit") int limit);
+
+    long countByStatusIn(List<InboxStatus> statuses);
+
+    @Query("SELECT MIN(e.receivedAt) FROM InboxEvent e WHERE e.status IN :statuses")
+    Optional<Instant> findOldestReceivedAt(@Param("statuses") List<InboxStatus> statuses);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM InboxEvent e WHERE e.status = :status AND e.processedAt < :before")
+    int deleteByStatusAndProcessedAtBefore(@Param("status") InboxStatus status, @Param("before") Instant before);
+}
@@ -0,0 +1,62 @@
+package com.deliverar.pagos.domain.repositories;
+
+import com.deliverar.pagos.domain.entities.CurrencyType;
+import com.deliverar.pagos.domain.entities.LedgerAccount;
+import com.deliverar.pagos.domain.entities.LedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    interface CurrencyTotal {
+        CurrencyType getCurrency();
+
+        BigDecimal getTotal();
+    }
+
+    /**
+     * Balance of a wallet in {@code currency} as of {@code at}.
+     */
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntry e " +
+           "WHERE e.walletId = :walletId AND e.currency = :currency AND e.createdAt <= :at")
+    BigDecimal balanceAt(
+            @Param("walletId") UUID walletId,
+            @Param("currency") CurrencyType currency,
+            @Param("at") Instant at
+    );
+
+    /**
+     * Whether any entry was posted for {@code referenceId}.
+     */
+    boolean existsByReferenceId(UUID referenceId);
+
+    /**
+     * Whether an entry against {@code account} was posted for {@code referenceId}.
+     */
+    boolean existsByReferenceIdAndAccount(UUID referenceId, LedgerAccount account);
+
+    /**
+     * Sum of all entries per currency; zero for every currency when the ledger is balanced.
+     */
+    @Query("SELECT e.currency AS currency, SUM(e.amount) AS total FROM LedgerEntry e GROUP BY e.currency")
+    List<CurrencyTotal> totalsByCurrency();
+
+    /**
+     * Wallets whose stored balances differ from the sum of their ledger entries.
+     */
+    @Query("SELECT w.id FROM Wallet w " +
+           "WHERE w.fiatBalance <> (SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntry e " +
+           "                        WHERE e.walletId = w.id AND e.currency = com.deliverar.pagos.domain.entities.CurrencyType.FIAT) " +
+           "OR w.cryptoBalance <> (SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntry e " +
+           "                       WHERE e.walletId = w.id AND e.currency = com.deliverar.pagos.domain.entities.CurrencyType.CRYPTO)")
+    List<UUID> findDriftedWallets(Pageable pageable);
+}
@@ -0,0 +1,40 @@
+package com.deliverar.pagos.domain.repositories;
+
+import com.deliverar.pagos.domain.entities.OutboxEvent;
+import com.deliverar.pagos.domain.entities.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks up to {@code limit} due events that are the oldest pending one of their correlation id,
+     * so events of the same correlation are never in flight at the same time. Must run inside a
+     * transaction.
+     */
+    @Query(value = "SELECT * FROM event_outbox o " +
+                   "WHERE o.status = 'PENDING' AND o.available_at <= :now " +
+                   "AND NOT EXISTS (SELECT 1 FROM event_outbox p WHERE p.correlation_id = o.correlation_id " +
+                   "AND p.status = 'PENDING' AND p.id < o.id) " +
+                   "ORDER BY o.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockDueHeads(@Param("now") Instant now, @Param("limit") int limit);
+
+    long countByStatus(OutboxStatus status);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.status = :status")
+    Optional<Instant> findOldestCreatedAt(@Param("status") OutboxStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.sentAt < :before")
+    int deleteByStatusAndSentAtBefore(@Param("status") OutboxStatus status, @Param("before") Instant before);
+}
@@ -0,0 +1,74 @@
+package com.deliverar.pagos.domain.repositories;
+
+import com.deliverar.pagos.domain.entities.OwnerTransactionHistory;
+import com.deliverar.pagos.domain.entities.TransactionStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OwnerTransactionHistoryRepository extends JpaRepository<OwnerTransactionHistory, UUID> {
+    /**
+     * Offset page of the crypto history of an owner. Returns a {@link Slice}: no count query.
+     */
+    Slice<OwnerTransactionHistory> findByOwnerId(
+            UUID ownerId,
+            Pageable pageable
+    );
+
+    /**
+     * Keyset page of the crypto history of an owner since {@code sinceDate}, newest first, starting
+     * right after {@code (afterDate, afterTransactionId)}. No count query. The fixed owner leads the
+     * ORDER BY so the rows come straight off the (owner, date, id) index without a sort.
+     */
+    @Query("SELECT h FROM OwnerTransactionHistory h " +
+           "WHERE h.ownerId = :ownerId " +
+           "AND h.transactionDate >= :sinceDate " +
+           "AND h.transactionDate <= :afterDate " +
+           "AND (h.transactionDate < :afterDate OR (h.transactionDate = :afterDate AND h.transactionId < :afterId)) " +
+           "ORDER BY h.ownerId DESC, h.transactionDate DESC, h.transactionId DESC")
+    List<OwnerTransactionHistory> findByOwnerAfter(
+            @Param("ownerId") UUID ownerId,
+            @Param("sinceDate") Instant sinceDate,
+            @Param("afterDate") Instant afterDate,
+            @Param("afterId") UUID afterId,
+            Limit limit
+    );
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OwnerTransactionHistory h SET h.status = :status WHERE h.transactionId = :transactionId")
+    int updateStatus(
+            @Param("transactionId") UUID transactionId,
+            @Param("status") TransactionStatus status
+    );
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OwnerTransactionHistory h SET h.blockchainTxHash = :hash " +
+           "WHERE h.transactionId IN :transactionIds AND h.blockchainTxHash IS NULL")
+    int linkHash(
+            @Param("transactionIds") List<UUID> transactionIds,
+            @Param("hash") String hash
+    );
+
+    /**
+     * Unlinks the rows of a failed settlement. Must run before the transactions themselves are unlinked.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OwnerTransactionHistory h SET h.blockchainTxHash = NULL " +
+           "WHERE h.transactionId IN (SELECT t.id FROM Transaction t WHERE t.blockchainTxHash = :hash) " +
+           "AND h.blockchainTxHash = :hash")
+    int unlinkHash(@Param("hash") String hash);
+}
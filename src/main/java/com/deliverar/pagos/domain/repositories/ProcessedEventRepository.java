@@ -0,0 +1,20 @@
+package com.deliverar.pagos.domain.repositories;
+
+import com.deliverar.pagos.domain.entities.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProcessedEvent e WHERE e.receivedAt < :before")
+    int deleteByReceivedAtBefore(@Param("before") Instant before);
+}
@@ -1,55 +1,190 @@
 package com.deliverar.pagos.domain.repositories;
 
 import com.deliverar.pagos.domain.entities.Transaction;
-import org.springframework.data.domain.Page;
+import com.deliverar.pagos.domain.entities.TransactionStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
-    Page<Transaction> findByOriginOwner_IdOrDestinationOwner_Id(
-            UUID originOwnerId,
-            UUID destinationOwnerId,
-            Pageable pageable
-    );
-    
+    /**
+     * Keyset page of all transactions made since {@code sinceDate}, newest first, starting right
+     * after {@code (afterDate, afterId)}. No count query. The plain {@code <= afterDate} bound is
+     * what lets the database start the index scan at the cursor; the OR only breaks ties by id.
+     */
     @Query("SELECT t FROM Transaction t " +
            "JOIN FETCH t.originOwner " +
            "JOIN FETCH t.destinationOwner " +
-           "WHERE (t.originOwner.id = :ownerId OR t.destinationOwner.id = :ownerId)")
-    Page<Transaction> findByOriginOwner_IdOrDestinationOwner_IdWithOwners(
-            @Param("ownerId") UUID ownerId,
-            Pageable pageable
+           "WHERE t.transactionDate >= :sinceDate " +
+           "AND t.transactionDate <= :afterDate " +
+           "AND (t.transactionDate < :afterDate OR (t.transactionDate = :afterDate AND t.id < :afterId)) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findAllAfter(
+            @Param("sinceDate") Instant sinceDate,
+            @Param("afterDate") Instant afterDate,
+            @Param("afterId") UUID afterId,
+            Limit limit
     );
     
+    /**
+     * Offset page of all transactions. Returns a {@link Slice}: no count query.
+     */
+    @Query("SELECT t FROM Transaction t " +
+           "JOIN FETCH t.originOwner " +
+           "JOIN FETCH t.destinationOwner")
+    Slice<Transaction> findAllWithOwners(Pageable pageable);
+
+    List<Transaction> findByBlockchainTxHash(String blockchainTxHash);
+
+    /**
+     * Completed transactions made before {@code before} with no rows in the owner history yet,
+     * oldest first.
+     */
     @Query("SELECT t FROM Transaction t " +
            "JOIN FETCH t.originOwner " +
            "JOIN FETCH t.destinationOwner " +
-           "WHERE (t.originOwner.id = :ownerId OR t.destinationOwner.id = :ownerId) " +
-           "AND t.transactionDate >= :sinceDate")
-    Page<Transaction> findByOriginOwner_IdOrDestinationOwner_IdAndTransactionDateGreaterThanEqualWithOwners(
-            @Param("ownerId") UUID ownerId,
-            @Param("sinceDate") Instant sinceDate,
+           "WHERE t.transactionDate < :before " +
+           "AND t.status <> com.deliverar.pagos.domain.entities.TransactionStatus.PENDING " +
+           "AND NOT EXISTS (SELECT 1 FROM OwnerTransactionHistory h WHERE h.transactionId = t.id) " +
+           "ORDER BY t.transactionDate")
+    List<Transaction> findWithoutHistory(@Param("before") Instant before, Pageable pageable);
+
+    /**
+     * Whether any transaction made before {@code before}, pending or not, still has no history rows.
+     */
+    @Query("SELECT CASE WHEN COUNT(t) > 0 THEN true ELSE false END FROM Transaction t " +
+           "WHERE t.transactionDate < :before " +
+           "AND NOT EXISTS (SELECT 1 FROM OwnerTransactionHistory h WHERE h.transactionId = t.id)")
+    boolean existsWithoutHistory(@Param("before") Instant before);
+
+    /**
+     * Transactions already broadcast to the chain (they have a hash) that are still in the given status.
+     */
+    @Query("SELECT t FROM Transaction t " +
+           "WHERE t.status = :status AND t.blockchainTxHash IS NOT NULL " +
+           "ORDER BY t.transactionDate")
+    List<Transaction> findSubmittedByStatus(
+            @Param("status") TransactionStatus status,
             Pageable pageable
     );
-    
+
+    /**
+     * PENDING transactions opened before {@code before} that never got a hash: the process stopped
+     * between opening them and signing the transfer, so nothing was broadcast.
+     */
     @Query("SELECT t FROM Transaction t " +
-           "JOIN FETCH t.originOwner " +
-           "JOIN FETCH t.destinationOwner " +
-           "WHERE t.transactionDate >= :sinceDate")
-    Page<Transaction> findAllByTransactionDateGreaterThanEqualWithOwners(
-            @Param("sinceDate") Instant sinceDate,
+           "WHERE t.status = com.deliverar.pagos.domain.entities.TransactionStatus.PENDING " +
+           "AND t.blockchainTxHash IS NULL AND t.transactionDate < :before " +
+           "ORDER BY t.transactionDate")
+    List<Transaction> findUnsubmittedBefore(
+            @Param("before") Instant before,
             Pageable pageable
     );
-    
+
+    /**
+     * Moves a transaction from {@code expected} to {@code target} only if it is still in {@code expected}.
+     *
+     * @return number of updated rows (0 if another thread already moved it)
+     */
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = :target, t.updatedAt = :now " +
+           "WHERE t.id = :id AND t.status = :expected")
+    int updateStatusIfCurrent(
+            @Param("id") UUID id,
+            @Param("expected") TransactionStatus expected,
+            @Param("target") TransactionStatus target,
+            @Param("now") Instant now
+    );
+
+    /**
+     * Netted transactions already applied to the wallets that are not yet part of an on-chain
+     * settlement, leaving out the ones whose settlement reverted {@code maxAttempts} times.
+     */
     @Query("SELECT t FROM Transaction t " +
            "JOIN FETCH t.originOwner " +
-           "JOIN FETCH t.destinationOwner")
-    Page<Transaction> findAllWithOwners(Pageable pageable);
+           "JOIN FETCH t.destinationOwner " +
+           "WHERE t.netted = true AND t.settledAt IS NULL AND t.blockchainTxHash IS NULL " +
+           "AND t.settlementAttempts < :maxAttempts " +
+           "ORDER BY t.transactionDate")
+    List<Transaction> findUnsettled(@Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    /**
+     * Netted transactions no longer settled because their settlement reverted {@code maxAttempts} times.
+     */
+    @Query("SELECT COUNT(t) FROM Transaction t " +
+           "WHERE t.netted = true AND t.settledAt IS NULL AND t.settlementAttempts >= :maxAttempts")
+    long countAbandonedSettlements(@Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Hashes of settlement transfers that were broadcast but not confirmed yet.
+     */
+    @Query("SELECT DISTINCT t.blockchainTxHash FROM Transaction t " +
+           "WHERE t.netted = true AND t.settledAt IS NULL AND t.blockchainTxHash IS NOT NULL")
+    List<String> findBroadcastSettlementHashes();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Transaction t SET t.blockchainTxHash = :hash, t.updatedAt = :now " +
+           "WHERE t.id IN :ids AND t.blockchainTxHash IS NULL")
+    int linkSettlement(
+            @Param("ids") List<UUID> ids,
+            @Param("hash") String hash,
+            @Param("now") Instant now
+    );
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Transaction t SET t.settledAt = :now, t.updatedAt = :now " +
+           "WHERE t.blockchainTxHash = :hash AND t.netted = true AND t.settledAt IS NULL")
+    int markSettled(
+            @Param("hash") String hash,
+            @Param("now") Instant now
+    );
+
+    /**
+     * Settles transactions whose pair netted to zero: nothing has to be sent on chain.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Transaction t SET t.settledAt = :now, t.updatedAt = :now " +
+           "WHERE t.id IN :ids AND t.settledAt IS NULL")
+    int markSettledWithoutTransfer(
+            @Param("ids") List<UUID> ids,
+            @Param("now") Instant now
+    );
+
+    /**
+     * Counts a reverted settlement against every transaction it covers.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Transaction t SET t.settlementAttempts = t.settlementAttempts + 1, t.updatedAt = :now " +
+           "WHERE t.blockchainTxHash = :hash AND t.netted = true AND t.settledAt IS NULL")
+    int recordSettlementRevert(
+            @Param("hash") String hash,
+            @Param("now") Instant now
+    );
+
+    /**
+     * Unlinks a failed settlement so its transactions are netted again in the next window.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Transaction t SET t.blockchainTxHash = NULL, t.updatedAt = :now " +
+           "WHERE t.blockchainTxHash = :hash AND t.netted = true AND t.settledAt IS NULL")
+    int requeueSettlement(
+            @Param("hash") String hash,
+            @Param("now") Instant now
+    );
 }
@@ -2,10 +2,78 @@ package com.deliverar.pagos.domain.repositories;
 
 import com.deliverar.pagos.domain.entities.Wallet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface WalletRepository extends JpaRepository<Wallet, UUID> {
+
+    /**
+     * Adds {@code delta} (possibly negative) to the fiat balance in a single statement.
+     *
+     * @return number of updated rows (0 if the wallet does not exist)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Wallet w SET w.fiatBalance = w.fiatBalance + :delta, w.updatedAt = :now WHERE w.id = :id")
+    int addFiat(
+            @Param("id") UUID id,
+            @Param("delta") BigDecimal delta,
+            @Param("now") Instant now
+    );
+
+    /**
+     * Adds {@code delta} (possibly negative) to the crypto balance in a single statement.
+     *
+     * @return number of updated rows (0 if the wallet does not exist)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Wallet w SET w.cryptoBalance = w.cryptoBalance + :delta, w.updatedAt = :now WHERE w.id = :id")
+    int addCrypto(
+            @Param("id") UUID id,
+            @Param("delta") BigDecimal delta,
+            @Param("now") Instant now
+    );
+
+    /**
+     * Subtracts {@code amount} from the fiat balance only if the wallet covers it, in a single statement.
+     *
+     * @return number of updated rows (0 if the wallet does not exist or has insufficient funds)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Wallet w SET w.fiatBalance = w.fiatBalance - :amount, w.updatedAt = :now " +
+           "WHERE w.id = :id AND w.fiatBalance >= :amount")
+    int withdrawFiat(
+            @Param("id") UUID id,
+            @Param("amount") BigDecimal amount,
+            @Param("now") Instant now
+    );
+
+    /**
+     * Subtracts {@code amount} from the crypto balance only if the wallet covers it, in a single statement.
+     *
+     * @return number of updated rows (0 if the wallet does not exist or has insufficient funds)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Wallet w SET w.cryptoBalance = w.cryptoBalance - :amount, w.updatedAt = :now " +
+           "WHERE w.id = :id AND w.cryptoBalance >= :amount")
+    int withdrawCrypto(
+            @Param("id") UUID id,
+            @Param("amount") BigDecimal amount,
+            @Param("now") Instant now
+    );
+
+    @Query("SELECT w.fiatBalance FROM Wallet w WHERE w.id = :id")
+    Optional<BigDecimal> findFiatBalance(@Param("id") UUID id);
 }
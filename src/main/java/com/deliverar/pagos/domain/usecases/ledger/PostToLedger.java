@@ -0,0 +1,13 @@
+package com.deliverar.pagos.domain.usecases.ledger;
+
+import com.deliverar.pagos.domain.dtos.LedgerPosting;
+
+/**
+ * Appends the debit and credit entries of a posting and applies them to the wallet balances, in the
+ * caller's transaction. A posting {@link LedgerPosting#requireFunds() requiring funds} fails with
+ * {@code BadRequestException} when the debited wallet does not cover it.
+ */
+@FunctionalInterface
+public interface PostToLedger {
+    void post(LedgerPosting posting);
+}
@@ -0,0 +1,96 @@
+package com.deliverar.pagos.domain.usecases.ledger.impl;
+
+import com.deliverar.pagos.domain.dtos.LedgerPosting;
+import com.deliverar.pagos.domain.entities.CurrencyType;
+import com.deliverar.pagos.domain.entities.LedgerAccount;
+import com.deliverar.pagos.domain.entities.LedgerEntry;
+import com.deliverar.pagos.domain.exceptions.BadRequestException;
+import com.deliverar.pagos.domain.repositories.LedgerEntryRepository;
+import com.deliverar.pagos.domain.repositories.WalletRepository;
+import com.deliverar.pagos.domain.usecases.ledger.PostToLedger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class DefaultPostToLedger implements PostToLedger {
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final WalletRepository walletRepository;
+
+    @Override
+    @Transactional
+    public void post(LedgerPosting posting) {
+        UUID postingId = UUID.randomUUID();
+        Instant now = Instant.now();
+        BigDecimal amount = posting.amount();
+
+        // Las wallets se actualizan en orden de id: dos movimientos cruzados toman los locks de fila en el mismo orden
+        UUID from = posting.fromWalletId();
+        UUID to = posting.toWalletId();
+        if (from != null && to != null && to.compareTo(from) < 0) {
+            credit(posting, now);
+            debit(posting, now);
+        } else {
+            debit(posting, now);
+            credit(posting, now);
+        }
+
+        // Solo se insertan asientos: el saldo de la wallet se mueve con un UPDATE atómico, sin reescribir la fila
+        ledgerEntryRepository.saveAll(List.of(
+                entry(postingId, posting, posting.fromAccount(), from, amount.negate(), now),
+                entry(postingId, posting, posting.toAccount(), to, amount, now)));
+    }
+
+    private void debit(LedgerPosting posting, Instant now) {
+        UUID walletId = posting.fromWalletId();
+        if (walletId == null) {
+            return;
+        }
+        if (!posting.requireFunds()) {
+            apply(walletId, posting.currency(), posting.amount().negate(), now);
+            return;
+        }
+        // El UPDATE condicional decide: sin filas afectadas no hay fondos, sin leer el saldo antes
+        int updated = posting.currency() == CurrencyType.FIAT
+                ? walletRepository.withdrawFiat(walletId, posting.amount(), now)
+                : walletRepository.withdrawCrypto(walletId, posting.amount(), now);
+        if (updated == 0) {
+            throw new BadRequestException("Insufficient " + posting.currency().name().toLowerCase() + " balance");
+        }
+    }
+
+    private void credit(LedgerPosting posting, Instant now) {
+        if (posting.toWalletId() != null) {
+            apply(posting.toWalletId(), posting.currency(), posting.amount(), now);
+        }
+    }
+
+    private void apply(UUID walletId, CurrencyType currency, BigDecimal delta, Instant now) {
+        int updated = currency == CurrencyType.FIAT
+                ? walletRepository.addFiat(walletId, delta, now)
+                : walletRepository.addCrypto(walletId, delta, now);
+        if (updated == 0) {
+            throw new BadRequestException("Wallet not found: " + walletId);
+        }
+    }
+
+    private static LedgerEntry entry(UUID postingId, LedgerPosting posting, LedgerAccount account, UUID walletId,
+                                     BigDecimal amount, Instant now) {
+        return LedgerEntry.builder()
+                .postingId(postingId)
+                .referenceId(posting.referenceId())
+                .account(account)
+                .walletId(walletId)
+                .currency(posting.currency())
+                .amount(amount)
+                .concept(posting.concept())
+                .createdAt(now)
+                .build();
+    }
+}
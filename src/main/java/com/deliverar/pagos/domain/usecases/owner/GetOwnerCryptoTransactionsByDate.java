@@ -1,14 +1,17 @@
 package com.deliverar.pagos.domain.usecases.owner;
 
+import com.deliverar.pagos.domain.dtos.KeysetPage;
+import com.deliverar.pagos.domain.dtos.TransactionCursor;
 import com.deliverar.pagos.domain.entities.Owner;
-import com.deliverar.pagos.domain.entities.Transaction;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Sort;
+import com.deliverar.pagos.domain.entities.OwnerTransactionHistory;
 
 import java.time.Instant;
 import java.util.Optional;
 
+/**
+ * Keyset page of the history since {@code sinceDate}, newest first, resuming after {@code after}.
+ */
 @FunctionalInterface
 public interface GetOwnerCryptoTransactionsByDate {
-    Page<Transaction> get(Owner owner, Optional<Instant> sinceDate, int pageNumber, int pageSize, Sort.Direction direction);
-} 
\ No newline at end of file
+    KeysetPage<OwnerTransactionHistory> get(Owner owner, Optional<Instant> sinceDate, Optional<TransactionCursor> after, int pageSize);
+}
@@ -1,14 +1,17 @@
 package com.deliverar.pagos.domain.usecases.owner;
 
+import com.deliverar.pagos.domain.dtos.KeysetPage;
+import com.deliverar.pagos.domain.dtos.TransactionCursor;
 import com.deliverar.pagos.domain.entities.FiatTransaction;
 import com.deliverar.pagos.domain.entities.Owner;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Sort;
 
 import java.time.Instant;
 import java.util.Optional;
 
+/**
+ * Keyset page of the history since {@code sinceDate}, newest first, resuming after {@code after}.
+ */
 @FunctionalInterface
 public interface GetOwnerFiatTransactionsByDate {
-    Page<FiatTransaction> get(Owner owner, Optional<Instant> sinceDate, int pageNumber, int pageSize, Sort.Direction direction);
-} 
\ No newline at end of file
+    KeysetPage<FiatTransaction> get(Owner owner, Optional<Instant> sinceDate, Optional<TransactionCursor> after, int pageSize);
+}
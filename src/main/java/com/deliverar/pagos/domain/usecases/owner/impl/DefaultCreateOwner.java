@@ -1,8 +1,12 @@
 package com.deliverar.pagos.domain.usecases.owner.impl;
 
+import com.deliverar.pagos.domain.dtos.LedgerPosting;
+import com.deliverar.pagos.domain.entities.CurrencyType;
+import com.deliverar.pagos.domain.entities.LedgerAccount;
 import com.deliverar.pagos.domain.entities.Owner;
 import com.deliverar.pagos.domain.entities.Wallet;
 import com.deliverar.pagos.domain.repositories.OwnerRepository;
+import com.deliverar.pagos.domain.usecases.ledger.PostToLedger;
 import com.deliverar.pagos.domain.usecases.owner.CreateOwner;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -17,6 +21,7 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class DefaultCreateOwner implements CreateOwner {
     private final OwnerRepository ownerRepository;
+    private final PostToLedger postToLedger;
 
     @Override
     @Transactional
@@ -27,15 +32,28 @@ public class DefaultCreateOwner implements CreateOwner {
         Objects.requireNonNull(initialFiatBalance, "InitialFiatBalance cannot be null");
         Objects.requireNonNull(initialCryptoBalance, "InitialCryptoBalance cannot be null");
 
+        // La wallet nace vacía: los saldos iniciales entran como asientos de apertura
         Wallet wallet = Wallet.builder()
-                .fiatBalance(initialFiatBalance.setScale(2, RoundingMode.HALF_UP))
-                .cryptoBalance(initialCryptoBalance.setScale(2, RoundingMode.HALF_UP))
                 .createdAt(Instant.now())
                 .updatedAt(Instant.now())
                 .build();
 
         owner.setWallet(wallet);
 
-        return ownerRepository.save(owner);
+        Owner saved = ownerRepository.save(owner);
+        Wallet savedWallet = saved.getWallet();
+        BigDecimal fiat = initialFiatBalance.setScale(2, RoundingMode.HALF_UP);
+        BigDecimal crypto = initialCryptoBalance.setScale(2, RoundingMode.HALF_UP);
+        open(savedWallet, CurrencyType.FIAT, fiat);
+        open(savedWallet, CurrencyType.CRYPTO, crypto);
+        savedWallet.setFiatBalance(fiat);
+        savedWallet.setCryptoBalance(crypto);
+        return saved;
+    }
+
+    private void open(Wallet wallet, CurrencyType currency, BigDecimal balance) {
+        if (balance.signum() != 0) {
+            postToLedger.post(LedgerPosting.adjust(wallet.getId(), LedgerAccount.OPENING, currency, balance, "OPENING", null));
+        }
     }
 }
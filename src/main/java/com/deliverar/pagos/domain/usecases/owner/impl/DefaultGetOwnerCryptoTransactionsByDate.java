@@ -1,36 +1,31 @@
 package com.deliverar.pagos.domain.usecases.owner.impl;
 
+import com.deliverar.pagos.domain.dtos.KeysetPage;
+import com.deliverar.pagos.domain.dtos.TransactionCursor;
 import com.deliverar.pagos.domain.entities.Owner;
-import com.deliverar.pagos.domain.entities.Transaction;
-import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import com.deliverar.pagos.domain.entities.OwnerTransactionHistory;
+import com.deliverar.pagos.domain.repositories.OwnerTransactionHistoryRepository;
 import com.deliverar.pagos.domain.usecases.owner.GetOwnerCryptoTransactionsByDate;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
-import static org.springframework.data.domain.Sort.by;
-
 @Component
 @RequiredArgsConstructor
 public class DefaultGetOwnerCryptoTransactionsByDate implements GetOwnerCryptoTransactionsByDate {
-    private final TransactionRepository transactionRepository;
+    private final OwnerTransactionHistoryRepository historyRepository;
 
     @Override
-    public Page<Transaction> get(Owner owner, Optional<Instant> sinceDate, int pageNumber, int pageSize, Sort.Direction direction) {
-        Pageable pageReq = PageRequest.of(pageNumber, pageSize, by(direction, "transactionDate"));
-        
-        if (sinceDate.isPresent()) {
-            return transactionRepository.findByOriginOwner_IdOrDestinationOwner_IdAndTransactionDateGreaterThanEqualWithOwners(
-                    owner.getId(), sinceDate.get(), pageReq);
-        } else {
-            return transactionRepository.findByOriginOwner_IdOrDestinationOwner_IdWithOwners(
-                    owner.getId(), pageReq);
-        }
+    public KeysetPage<OwnerTransactionHistory> get(Owner owner, Optional<Instant> sinceDate, Optional<TransactionCursor> after, int pageSize) {
+        Instant since = sinceDate.orElse(Instant.EPOCH);
+        TransactionCursor from = after.orElse(TransactionCursor.FIRST);
+        // Se pide una fila de más para saber si hay otra página sin hacer count
+        List<OwnerTransactionHistory> rows = historyRepository.findByOwnerAfter(
+                owner.getId(), since, from.transactionDate(), from.id(), Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, h -> new TransactionCursor(h.getTransactionDate(), h.getTransactionId()));
     }
-} 
\ No newline at end of file
+}
@@ -5,9 +5,9 @@ import com.deliverar.pagos.domain.entities.Owner;
 import com.deliverar.pagos.domain.repositories.FiatTransactionRepository;
 import com.deliverar.pagos.domain.usecases.owner.GetOwnerFiatTransactions;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
@@ -19,8 +19,8 @@ public class DefaultGetOwnerFiatTransactions implements GetOwnerFiatTransactions
     private final FiatTransactionRepository fiatTransactionRepository;
 
     @Override
-    public Page<FiatTransaction> get(Owner owner, int pageNumber, int pageSize, Sort.Direction direction) {
-        Pageable pageReq = PageRequest.of(pageNumber, pageSize, by(direction, "transactionDate"));
+    public Slice<FiatTransaction> get(Owner owner, int pageNumber, int pageSize, Sort.Direction direction) {
+        Pageable pageReq = PageRequest.of(pageNumber, pageSize, by(direction, "transactionDate", "id"));
         return fiatTransactionRepository.findByOwner_Id(owner.getId(), pageReq);
     }
 }
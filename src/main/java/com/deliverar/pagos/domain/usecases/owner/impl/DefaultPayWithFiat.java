@@ -1,9 +1,10 @@
 package com.deliverar.pagos.domain.usecases.owner.impl;
 
+import com.deliverar.pagos.domain.dtos.LedgerPosting;
 import com.deliverar.pagos.domain.entities.*;
 import com.deliverar.pagos.domain.exceptions.BadRequestException;
 import com.deliverar.pagos.domain.repositories.FiatTransactionRepository;
-import com.deliverar.pagos.domain.repositories.OwnerRepository;
+import com.deliverar.pagos.domain.usecases.ledger.PostToLedger;
 import com.deliverar.pagos.domain.usecases.owner.PayWithFiat;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -17,8 +18,8 @@ import java.util.Objects;
 @Component
 @RequiredArgsConstructor
 public class DefaultPayWithFiat implements PayWithFiat {
-    private final OwnerRepository ownerRepository;
     private final FiatTransactionRepository fiatTransactionRepository;
+    private final PostToLedger postToLedger;
 
     @Override
     @Transactional
@@ -37,15 +38,7 @@ public class DefaultPayWithFiat implements PayWithFiat {
             throw new BadRequestException("Transfer amount must be positive");
         }
 
-        // Validate sufficient balance
-        if (fromOwner.getWallet().getFiatBalance().compareTo(originalAmount) < 0) {
-            throw new BadRequestException("Insufficient fiat balance");
-        }
-
         BigDecimal formattedAmound = originalAmount.setScale(2, RoundingMode.HALF_UP);
-        // Update balances
-        fromOwner.getWallet().setFiatBalance(fromOwner.getWallet().getFiatBalance().subtract(formattedAmound));
-        toOwner.getWallet().setFiatBalance(toOwner.getWallet().getFiatBalance().add(formattedAmound));
 
         // Create transaction records
         FiatTransaction fromTransaction = FiatTransaction.builder()
@@ -66,9 +59,12 @@ public class DefaultPayWithFiat implements PayWithFiat {
                 .status(TransactionStatus.SUCCESS)
                 .build();
 
-        ownerRepository.save(fromOwner);
-        ownerRepository.save(toOwner);
         fiatTransactionRepository.save(fromTransaction);
         fiatTransactionRepository.save(toTransaction);
+
+        // Un único asiento balanceado mueve el saldo entre las dos wallets; falla si el pagador no tiene fondos
+        postToLedger.post(LedgerPosting.between(fromOwner.getWallet().getId(), toOwner.getWallet().getId(),
+                CurrencyType.FIAT, formattedAmound, TransactionConcept.PAYMENT.name(), fromTransaction.getId())
+                .requiringFunds());
     }
 }
@@ -1,13 +1,16 @@
 package com.deliverar.pagos.domain.usecases.user;
 
+import com.deliverar.pagos.domain.dtos.KeysetPage;
+import com.deliverar.pagos.domain.dtos.TransactionCursor;
 import com.deliverar.pagos.domain.entities.FiatTransaction;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Sort;
 
 import java.time.Instant;
 import java.util.Optional;
 
+/**
+ * Keyset page of the history since {@code sinceDate}, newest first, resuming after {@code after}.
+ */
 @FunctionalInterface
 public interface GetAllFiatTransactionsByDate {
-    Page<FiatTransaction> get(Optional<Instant> sinceDate, int pageNumber, int pageSize, Sort.Direction direction);
+    KeysetPage<FiatTransaction> get(Optional<Instant> sinceDate, Optional<TransactionCursor> after, int pageSize);
 }
@@ -1,34 +1,30 @@
 package com.deliverar.pagos.domain.usecases.user.impl;
 
+import com.deliverar.pagos.domain.dtos.KeysetPage;
+import com.deliverar.pagos.domain.dtos.TransactionCursor;
 import com.deliverar.pagos.domain.entities.Transaction;
 import com.deliverar.pagos.domain.repositories.TransactionRepository;
 import com.deliverar.pagos.domain.usecases.user.GetAllCryptoTransactionsByDate;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
-import static org.springframework.data.domain.Sort.by;
-
 @Component
 @RequiredArgsConstructor
 public class DefaultGetAllCryptoTransactionsByDate implements GetAllCryptoTransactionsByDate {
     private final TransactionRepository transactionRepository;
 
     @Override
-    public Page<Transaction> get(Optional<Instant> sinceDate, int pageNumber, int pageSize, Sort.Direction direction) {
-        Pageable pageReq = PageRequest.of(pageNumber, pageSize, by(direction, "transactionDate"));
-        
-        if (sinceDate.isPresent()) {
-            return transactionRepository.findAllByTransactionDateGreaterThanEqualWithOwners(
-                    sinceDate.get(), pageReq);
-        } else {
-            return transactionRepository.findAllWithOwners(pageReq);
-        }
+    public KeysetPage<Transaction> get(Optional<Instant> sinceDate, Optional<TransactionCursor> after, int pageSize) {
+        Instant since = sinceDate.orElse(Instant.EPOCH);
+        TransactionCursor from = after.orElse(TransactionCursor.FIRST);
+        // Se pide una fila de más para saber si hay otra página sin hacer count
+        List<Transaction> rows = transactionRepository.findAllAfter(
+                since, from.transactionDate(), from.id(), Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, t -> new TransactionCursor(t.getTransactionDate(), t.getId()));
     }
 }
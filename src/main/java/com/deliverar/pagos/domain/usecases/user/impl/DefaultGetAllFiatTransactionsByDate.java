@@ -1,34 +1,30 @@
 package com.deliverar.pagos.domain.usecases.user.impl;
 
+import com.deliverar.pagos.domain.dtos.KeysetPage;
+import com.deliverar.pagos.domain.dtos.TransactionCursor;
 import com.deliverar.pagos.domain.entities.FiatTransaction;
 import com.deliverar.pagos.domain.repositories.FiatTransactionRepository;
 import com.deliverar.pagos.domain.usecases.user.GetAllFiatTransactionsByDate;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
-import static org.springframework.data.domain.Sort.by;
-
 @Component
 @RequiredArgsConstructor
 public class DefaultGetAllFiatTransactionsByDate implements GetAllFiatTransactionsByDate {
     private final FiatTransactionRepository fiatTransactionRepository;
 
     @Override
-    public Page<FiatTransaction> get(Optional<Instant> sinceDate, int pageNumber, int pageSize, Sort.Direction direction) {
-        Pageable pageReq = PageRequest.of(pageNumber, pageSize, by(direction, "transactionDate"));
-        
-        if (sinceDate.isPresent()) {
-            return fiatTransactionRepository.findAllByTransactionDateGreaterThanEqualWithOwner(
-                    sinceDate.get(), pageReq);
-        } else {
-            return fiatTransactionRepository.findAllWithOwner(pageReq);
-        }
+    public KeysetPage<FiatTransaction> get(Optional<Instant> sinceDate, Optional<TransactionCursor> after, int pageSize) {
+        Instant since = sinceDate.orElse(Instant.EPOCH);
+        TransactionCursor from = after.orElse(TransactionCursor.FIRST);
+        // Se pide una fila de más para saber si hay otra página sin hacer count
+        List<FiatTransaction> rows = fiatTransactionRepository.findAllAfter(
+                since, from.transactionDate(), from.id(), Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, t -> new TransactionCursor(t.getTransactionDate(), t.getId()));
     }
 }
@@ -0,0 +1,102 @@
+package com.deliverar.pagos.infrastructure.concurrency;
+
+import com.deliverar.pagos.domain.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serial lanes keyed by partition (e.g. an owner's email): tasks with the same key run one at a
+ * time in submission order, tasks with different keys run in parallel on other lanes. Each lane is
+ * a single virtual thread with a bounded queue; a full lane rejects with
+ * {@link ServiceUnavailableException}. Not a bean: the owner creates one per named workload and
+ * calls {@link #shutdown()}.
+ */
+@Slf4j
+public class PartitionedDispatcher {
+
+    private final String name;
+    private final ThreadPoolExecutor[] lanes;
+    private final AtomicInteger unkeyed = new AtomicInteger();
+    private final Duration shutdownTimeout;
+
+    public PartitionedDispatcher(String name, int laneCount, int queueCapacity, Duration shutdownTimeout,
+                                 MeterRegistry meterRegistry) {
+        this.name = name;
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        this.shutdownTimeout = shutdownTimeout;
+        Counter rejected = Counter.builder("dispatcher.lane.rejected")
+                .description("Tasks rejected because their lane queue was full")
+                .tag("dispatcher", name)
+                .register(meterRegistry);
+        for (int i = 0; i < laneCount; i++) {
+            String lane = String.valueOf(i);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    1, 1,
+                    60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    Thread.ofVirtual().name(name + "-lane-" + lane + "-", 0).factory(),
+                    (task, pool) -> {
+                        rejected.increment();
+                        throw new RejectedExecutionException("Lane " + name + "/" + lane + " rejected task");
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            Gauge.builder("dispatcher.lane.queue", executor, e -> e.getQueue().size())
+                    .description("Tasks waiting in the lane")
+                    .tag("dispatcher", name)
+                    .tag("lane", lane)
+                    .register(meterRegistry);
+            lanes[i] = executor;
+        }
+        log.info("Partitioned dispatcher {} ready ({} lanes, queue capacity {})", name, laneCount, queueCapacity);
+    }
+
+    /**
+     * Runs the task on the lane of {@code key}. Tasks without a key are spread round-robin.
+     *
+     * @return a future completed when the task finishes, or failed with
+     * {@link ServiceUnavailableException} if the lane is full
+     */
+    public CompletableFuture<Void> dispatch(String key, Runnable task) {
+        try {
+            return CompletableFuture.runAsync(task, lanes[lane(key)]);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new ServiceUnavailableException("Lane " + name + " for '" + key + "' is saturated, try again later", e));
+        }
+    }
+
+    int lane(String key) {
+        int hash = key == null ? unkeyed.getAndIncrement() : key.hashCode();
+        return Math.floorMod(hash, lanes.length);
+    }
+
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        try {
+            for (ThreadPoolExecutor lane : lanes) {
+                if (!lane.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    log.warn("Lane of {} did not drain within {}, {} queued tasks dropped",
+                            name, shutdownTimeout, lane.shutdownNow().size());
+                }
+            }
+        } catch (InterruptedException e) {
+            for (ThreadPoolExecutor lane : lanes) {
+                lane.shutdownNow();
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.deliverar.pagos.infrastructure.concurrency;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Kinds of background work, each one backed by its own bounded executor in {@link WorkloadExecutors}.
+ * Defaults can be overridden with {@code app.executors.<name>.max-concurrency} and
+ * {@code app.executors.<name>.queue-capacity}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Workload {
+    // Firma y broadcast de transacciones DeliverCoin
+    BLOCKCHAIN("blockchain", 16, 500),
+    // Procesamiento asíncrono de los comandos del hub
+    COMMANDS("commands", 64, 1000),
+    // Lectura de logs (eth_getLogs) del indexador de eventos
+    INDEXER("indexer", 4, 64),
+    // Batches JSON-RPC de la conciliación de balances
+    RECONCILIATION("reconciliation", 4, 256),
+    // Envío al hub de los eventos del outbox
+    OUTBOX("outbox", 16, 512);
+
+    private final String name;
+    private final int defaultMaxConcurrency;
+    private final int defaultQueueCapacity;
+}
@@ -0,0 +1,112 @@
+package com.deliverar.pagos.infrastructure.concurrency;
+
+import com.deliverar.pagos.domain.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Named, bounded executors for blocking background work (web3j calls, DB access, hub publishing).
+ * <p>
+ * Every task runs on a virtual thread, but each {@link Workload} caps how many run at once and how
+ * many may wait in its queue. When both are full the task is rejected with a
+ * {@link ServiceUnavailableException} instead of being dropped silently.
+ */
+@Slf4j
+@Component
+public class WorkloadExecutors {
+
+    private final Map<Workload, ThreadPoolExecutor> executors = new EnumMap<>(Workload.class);
+    private final Duration shutdownTimeout;
+
+    public WorkloadExecutors(Environment environment, MeterRegistry meterRegistry) {
+        this.shutdownTimeout = environment.getProperty("app.executors.shutdown-timeout", Duration.class, Duration.ofSeconds(30));
+        for (Workload workload : Workload.values()) {
+            executors.put(workload, create(workload, environment, meterRegistry));
+        }
+    }
+
+    /**
+     * Submits a task to the executor of the given workload.
+     *
+     * @throws ServiceUnavailableException if the workload is saturated or shutting down
+     */
+    public void execute(Workload workload, Runnable task) {
+        try {
+            executors.get(workload).execute(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Workload '" + workload.getName() + "' is saturated, try again later", e);
+        }
+    }
+
+    /**
+     * Exposes a workload as a plain {@link Executor}, e.g. for {@code CompletableFuture.*Async} calls.
+     * Rejections surface as {@link ServiceUnavailableException} on submission.
+     */
+    public Executor executor(Workload workload) {
+        return task -> execute(workload, task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        executors.forEach((workload, executor) -> {
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (!executor.awaitTermination(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                    int dropped = executor.shutdownNow().size();
+                    log.warn("Workload {} did not drain within {}, {} queued tasks dropped",
+                            workload.getName(), shutdownTimeout, dropped);
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private static ThreadPoolExecutor create(Workload workload, Environment environment, MeterRegistry meterRegistry) {
+        String prefix = "app.executors." + workload.getName() + ".";
+        int maxConcurrency = environment.getProperty(prefix + "max-concurrency", Integer.class, workload.getDefaultMaxConcurrency());
+        int queueCapacity = environment.getProperty(prefix + "queue-capacity", Integer.class, workload.getDefaultQueueCapacity());
+
+        Counter rejected = Counter.builder("executor.rejected")
+                .description("Tasks rejected because the workload was saturated")
+                .tag("name", workload.getName())
+                .register(meterRegistry);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                maxConcurrency,
+                maxConcurrency,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name(workload.getName() + "-", 0).factory(),
+                (task, pool) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException("Workload " + workload.getName() + " rejected task");
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+
+        // executor.queued, executor.active, executor.pool.size, executor.completed...
+        new ExecutorServiceMetrics(executor, workload.getName(), Tags.empty()).bindTo(meterRegistry);
+        log.info("Workload executor {} ready (max concurrency {}, queue capacity {})",
+                workload.getName(), maxConcurrency, queueCapacity);
+        return executor;
+    }
+}
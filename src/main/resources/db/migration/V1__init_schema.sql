@@ -0,0 +1,70 @@
+-- Esquema base: las entidades JPA tal como las creaba hibernate ddl-auto=update antes de Flyway.
+-- Las bases existentes se toman como baseline en esta versión (spring.flyway.baseline-version=1),
+-- así que todo lo agregado después va en migraciones posteriores.
+
+-- 1. Users
+CREATE TABLE users
+(
+    id            UUID                        NOT NULL PRIMARY KEY,
+    name          VARCHAR(255)                NOT NULL,
+    email         VARCHAR(255)                NOT NULL UNIQUE,
+    password_hash VARCHAR(255)                NOT NULL,
+    role          VARCHAR(20)                 NOT NULL CHECK (role IN ('CORE', 'ADMIN', 'AUDITOR', 'TEST')),
+    created_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- 2. Wallets
+CREATE TABLE wallets
+(
+    id             UUID                        NOT NULL PRIMARY KEY,
+    fiat_balance   NUMERIC(18, 2)              NOT NULL,
+    crypto_balance NUMERIC(18, 8)              NOT NULL,
+    created_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- 3. Owners (clientes, repartidores, tenants...)
+CREATE TABLE owners
+(
+    id         UUID         NOT NULL PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    owner_type VARCHAR(10) CHECK (owner_type IN ('CLIENT', 'DELIVERY', 'TENANT', 'EMPLOYEE', 'DC_COMPANY')),
+    wallet_id  UUID UNIQUE,
+    CONSTRAINT fk_owners_wallet FOREIGN KEY (wallet_id) REFERENCES wallets (id)
+);
+
+-- 4. Transactions (crypto)
+CREATE TABLE transactions
+(
+    id                   UUID                        NOT NULL PRIMARY KEY,
+    origin_owner_id      UUID                        NOT NULL,
+    destination_owner_id UUID                        NOT NULL,
+    amount               NUMERIC(38, 2)              NOT NULL,
+    currency             VARCHAR(255) CHECK (currency IN ('CRYPTO', 'FIAT')),
+    conversion_rate      NUMERIC(38, 2)              NOT NULL,
+    concept              VARCHAR(255),
+    blockchain_tx_hash   VARCHAR(255),
+    status               VARCHAR(255) CHECK (status IN ('PENDING', 'SUCCESS', 'FAILURE')),
+    transaction_date     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at           TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at           TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_transactions_origin_owner FOREIGN KEY (origin_owner_id) REFERENCES owners (id),
+    CONSTRAINT fk_transactions_destination_owner FOREIGN KEY (destination_owner_id) REFERENCES owners (id)
+);
+
+-- 5. Fiat transactions
+CREATE TABLE fiat_transactions
+(
+    id               UUID                        NOT NULL PRIMARY KEY,
+    owner_id         UUID                        NOT NULL,
+    amount           NUMERIC(38, 2)              NOT NULL,
+    currency         VARCHAR(255) CHECK (currency IN ('CRYPTO', 'FIAT')),
+    concept          VARCHAR(20)                 NOT NULL CHECK (concept IN ('DEPOSIT', 'WITHDRAWAL', 'BUY_CRYPTO', 'SELL_CRYPTO',
+                                                                             'TRANSFER', 'PAYMENT', 'RECEIPT')),
+    status           VARCHAR(255) CHECK (status IN ('PENDING', 'SUCCESS', 'FAILURE')),
+    transaction_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_fiat_transactions_owner FOREIGN KEY (owner_id) REFERENCES owners (id)
+);
@@ -0,0 +1,71 @@
+-- Objetos agregados sobre el esquema base antes de versionar con Flyway: settlement neteado,
+-- indexador de eventos Transfer e inbox/outbox de eventos del hub.
+
+-- 1. Liquidación neteada
+ALTER TABLE transactions ADD COLUMN netted BOOLEAN DEFAULT FALSE NOT NULL;
+ALTER TABLE transactions ADD COLUMN settled_at TIMESTAMP(6) WITH TIME ZONE;
+
+-- 2. Indexador de eventos Transfer del contrato
+CREATE TABLE chain_checkpoints
+(
+    name       VARCHAR(64)                 NOT NULL PRIMARY KEY,
+    last_block BIGINT                      NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE chain_events
+(
+    id           UUID                        NOT NULL PRIMARY KEY,
+    tx_hash      VARCHAR(66)                 NOT NULL,
+    log_index    INTEGER                     NOT NULL,
+    block_number BIGINT                      NOT NULL,
+    from_email   VARCHAR(255),
+    to_email     VARCHAR(255),
+    amount       NUMERIC(18, 8)              NOT NULL,
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_chain_events_tx_log UNIQUE (tx_hash, log_index)
+);
+
+-- 3. Inbox, deduplicación y outbox de eventos del hub
+CREATE TABLE event_inbox
+(
+    id           UUID                        NOT NULL PRIMARY KEY,
+    topic        VARCHAR(255)                NOT NULL,
+    lane         VARCHAR(16),
+    payload      TEXT                        NOT NULL,
+    status       VARCHAR(16)                 NOT NULL CHECK (status IN ('PENDING', 'PROCESSING', 'DONE', 'FAILED')),
+    attempts     INTEGER                     NOT NULL,
+    received_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    available_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    processed_at TIMESTAMP(6) WITH TIME ZONE,
+    last_error   VARCHAR(1000)
+);
+
+CREATE INDEX idx_event_inbox_status_available ON event_inbox (status, available_at);
+CREATE INDEX idx_event_inbox_lane_available ON event_inbox (lane, available_at);
+
+CREATE TABLE processed_events
+(
+    fingerprint VARCHAR(128)                NOT NULL PRIMARY KEY,
+    topic       VARCHAR(255)                NOT NULL,
+    received_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_processed_events_received_at ON processed_events (received_at);
+
+CREATE TABLE event_outbox
+(
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    topic          VARCHAR(255)                NOT NULL,
+    payload        TEXT                        NOT NULL,
+    correlation_id VARCHAR(255),
+    status         VARCHAR(16)                 NOT NULL CHECK (status IN ('PENDING', 'SENT', 'FAILED')),
+    attempts       INTEGER                     NOT NULL,
+    created_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    available_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sent_at        TIMESTAMP(6) WITH TIME ZONE,
+    last_error     VARCHAR(1000)
+);
+
+CREATE INDEX idx_event_outbox_status_available ON event_outbox (status, available_at);
+CREATE INDEX idx_event_outbox_correlation ON event_outbox (correlation_id, id);
@@ -0,0 +1,23 @@
+-- Índices para las consultas calientes de los repositorios.
+-- owners.email ya está cubierto por su restricción UNIQUE.
+
+-- Historial de un owner (keyset sobre transaction_date, id): un índice por cada lado del OR,
+-- Postgres los combina con un BitmapOr
+CREATE INDEX idx_transactions_origin_date ON transactions (origin_owner_id, transaction_date, id);
+CREATE INDEX idx_transactions_destination_date ON transactions (destination_owner_id, transaction_date, id);
+
+-- Historial completo y reportes get.all.*
+CREATE INDEX idx_transactions_date ON transactions (transaction_date, id);
+
+-- Recibos, settlements y eventos del indexador buscan por hash
+CREATE INDEX idx_transactions_tx_hash ON transactions (blockchain_tx_hash);
+
+-- Transacciones enviadas a la cadena que siguen en un estado (findSubmittedByStatus)
+CREATE INDEX idx_transactions_status_date ON transactions (status, transaction_date);
+
+-- Transacciones neteadas pendientes de settlement (findUnsettled)
+CREATE INDEX idx_transactions_unsettled ON transactions (netted, settled_at, transaction_date);
+
+-- Historial fiat de un owner y completo
+CREATE INDEX idx_fiat_transactions_owner_date ON fiat_transactions (owner_id, transaction_date, id);
+CREATE INDEX idx_fiat_transactions_date ON fiat_transactions (transaction_date, id);
@@ -0,0 +1,22 @@
+-- Historial crypto por owner: una fila por participante de cada transacción, sin joins al leer.
+-- Las transacciones anteriores a esta versión las completa OwnerHistoryBackfillJob.
+CREATE TABLE owner_transaction_history
+(
+    id                 UUID                        NOT NULL PRIMARY KEY,
+    transaction_id     UUID                        NOT NULL,
+    owner_id           UUID                        NOT NULL,
+    direction          VARCHAR(3)                  NOT NULL CHECK (direction IN ('OUT', 'IN')),
+    counterparty_id    UUID                        NOT NULL,
+    counterparty_email VARCHAR(255)                NOT NULL,
+    amount             NUMERIC(38, 2)              NOT NULL,
+    currency           VARCHAR(255) CHECK (currency IN ('CRYPTO', 'FIAT')),
+    concept            VARCHAR(255),
+    status             VARCHAR(255) CHECK (status IN ('PENDING', 'SUCCESS', 'FAILURE')),
+    blockchain_tx_hash VARCHAR(255),
+    transaction_date   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    -- También sirve para actualizar el estado y el hash por transaction_id
+    CONSTRAINT uk_owner_history_transaction_owner UNIQUE (transaction_id, owner_id, direction)
+);
+
+-- Historial de un owner (keyset sobre transaction_date, transaction_id): un único range scan
+CREATE INDEX idx_owner_history_owner_date ON owner_transaction_history (owner_id, transaction_date, transaction_id);
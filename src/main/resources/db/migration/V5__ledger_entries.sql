@@ -0,0 +1,32 @@
+-- Ledger de doble entrada: asientos inmutables en pares balanceados (débito negativo, crédito positivo).
+-- wallets.fiat_balance y wallets.crypto_balance quedan como el saldo acumulado de los asientos WALLET.
+CREATE TABLE ledger_entries
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    posting_id   UUID                        NOT NULL,
+    reference_id UUID,
+    account      VARCHAR(16)                 NOT NULL CHECK (account IN ('WALLET', 'FIAT_GATEWAY', 'EXCHANGE', 'HOLD',
+                                                                         'ISSUANCE', 'CHAIN', 'ADJUSTMENT',
+                                                                         'OPENING')),
+    wallet_id    UUID,
+    currency     VARCHAR(16)                 NOT NULL CHECK (currency IN ('CRYPTO', 'FIAT')),
+    amount       NUMERIC(38, 8)              NOT NULL,
+    concept      VARCHAR(32),
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Saldo de una wallet a una fecha y verificación contra wallets
+CREATE INDEX idx_ledger_entries_wallet_currency ON ledger_entries (wallet_id, currency, created_at);
+
+-- Asientos de una transacción, para saber si ya reservó sus fondos al crearse
+CREATE INDEX idx_ledger_entries_reference ON ledger_entries (reference_id);
+
+-- Apertura: los saldos existentes entran como un asiento contra OPENING (el posting usa el id de la wallet)
+INSERT INTO ledger_entries (posting_id, account, wallet_id, currency, amount, concept, created_at)
+SELECT id, 'WALLET', id, 'FIAT', fiat_balance, 'OPENING', CURRENT_TIMESTAMP FROM wallets WHERE fiat_balance <> 0;
+INSERT INTO ledger_entries (posting_id, account, wallet_id, currency, amount, concept, created_at)
+SELECT id, 'OPENING', NULL, 'FIAT', -fiat_balance, 'OPENING', CURRENT_TIMESTAMP FROM wallets WHERE fiat_balance <> 0;
+INSERT INTO ledger_entries (posting_id, account, wallet_id, currency, amount, concept, created_at)
+SELECT id, 'WALLET', id, 'CRYPTO', crypto_balance, 'OPENING', CURRENT_TIMESTAMP FROM wallets WHERE crypto_balance <> 0;
+INSERT INTO ledger_entries (posting_id, account, wallet_id, currency, amount, concept, created_at)
+SELECT id, 'OPENING', NULL, 'CRYPTO', -crypto_balance, 'OPENING', CURRENT_TIMESTAMP FROM wallets WHERE crypto_balance <> 0;
@@ -0,0 +1,10 @@
+-- El historial devuelve la tasa de conversión y la fecha de alta de la transacción sin join
+ALTER TABLE owner_transaction_history ADD COLUMN conversion_rate NUMERIC(38, 2);
+ALTER TABLE owner_transaction_history ADD COLUMN created_at TIMESTAMP(6) WITH TIME ZONE;
+
+UPDATE owner_transaction_history h
+SET conversion_rate = (SELECT t.conversion_rate FROM transactions t WHERE t.id = h.transaction_id),
+    created_at      = (SELECT t.created_at FROM transactions t WHERE t.id = h.transaction_id);
+
+ALTER TABLE owner_transaction_history ALTER COLUMN conversion_rate SET NOT NULL;
+ALTER TABLE owner_transaction_history ALTER COLUMN created_at SET NOT NULL;
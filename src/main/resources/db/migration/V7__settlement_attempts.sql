@@ -0,0 +1,2 @@
+-- Reversiones on-chain de la liquidación de cada transacción neteada: al llegar al tope deja de reintentarse
+ALTER TABLE transactions ADD COLUMN settlement_attempts INT DEFAULT 0 NOT NULL;
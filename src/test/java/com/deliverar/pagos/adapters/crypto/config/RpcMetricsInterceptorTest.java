@@ -0,0 +1,61 @@
+package com.deliverar.pagos.adapters.crypto.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RpcMetricsInterceptorTest {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void intercept_ShouldTimeCallsByJsonRpcMethod() throws IOException {
+        OkHttpClient client = client(200);
+
+        call(client, "{\"jsonrpc\":\"2.0\",\"method\":\"eth_call\",\"params\":[],\"id\":1}");
+        call(client, "{\"jsonrpc\":\"2.0\",\"method\":\"eth_call\",\"params\":[],\"id\":2}");
+        call(client, "[{\"method\":\"eth_getTransactionReceipt\"},{\"method\":\"eth_getTransactionReceipt\"}]");
+
+        assertEquals(2, meterRegistry.get("web3j.rpc.requests")
+                .tag("method", "eth_call").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("web3j.rpc.requests")
+                .tag("method", "batch").timer().count());
+    }
+
+    @Test
+    void intercept_HttpError_ShouldBeTaggedWithStatus() throws IOException {
+        call(client(503), "{\"method\":\"eth_sendRawTransaction\"}");
+
+        assertEquals(1, meterRegistry.get("web3j.rpc.requests")
+                .tag("method", "eth_sendRawTransaction").tag("outcome", "http_503").timer().count());
+    }
+
+    // El último interceptor responde en lugar del nodo
+    private OkHttpClient client(int status) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(new RpcMetricsInterceptor(meterRegistry, Duration.ofSeconds(1)))
+                .addInterceptor(chain -> new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(status)
+                        .message("stub")
+                        .body(ResponseBody.create("{}", JSON))
+                        .build())
+                .build();
+    }
+
+    private static void call(OkHttpClient client, String body) throws IOException {
+        Request request = new Request.Builder()
+                .url("http://localhost:8545")
+                .post(RequestBody.create(body, JSON))
+                .build();
+        client.newCall(request).execute().close();
+    }
+}
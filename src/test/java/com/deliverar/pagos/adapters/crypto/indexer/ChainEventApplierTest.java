@@ -0,0 +1,133 @@
+package com.deliverar.pagos.adapters.crypto.indexer;
+
+import com.deliverar.pagos.adapters.crypto.service.DeliverCoinBalancesChangedEvent;
+import com.deliverar.pagos.adapters.crypto.service.TransferCompletionService;
+import com.deliverar.pagos.domain.dtos.LedgerPosting;
+import com.deliverar.pagos.domain.entities.*;
+import com.deliverar.pagos.domain.repositories.ChainCheckpointRepository;
+import com.deliverar.pagos.domain.repositories.ChainEventRepository;
+import com.deliverar.pagos.domain.repositories.OwnerRepository;
+import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import com.deliverar.pagos.domain.usecases.ledger.PostToLedger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChainEventApplierTest {
+
+    @Mock
+    private ChainEventRepository chainEventRepository;
+
+    @Mock
+    private ChainCheckpointRepository chainCheckpointRepository;
+
+    @Mock
+    private OwnerRepository ownerRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransferCompletionService transferCompletionService;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private PostToLedger postToLedger;
+
+    @InjectMocks
+    private ChainEventApplier chainEventApplier;
+
+    @Test
+    void apply_Transfer_ShouldMoveCryptoAndCompletePendingTransaction() {
+        Owner from = owner("from@example.com", "50.00");
+        Owner to = owner("to@example.com", "10.00");
+        Transaction pending = Transaction.builder().id(UUID.randomUUID()).status(TransactionStatus.PENDING).build();
+        when(ownerRepository.findByEmail("from@example.com")).thenReturn(Optional.of(from));
+        when(ownerRepository.findByEmail("to@example.com")).thenReturn(Optional.of(to));
+        when(transactionRepository.findByBlockchainTxHash("0xaa")).thenReturn(List.of(pending));
+
+        int applied = chainEventApplier.apply(List.of(transferLog("0xaa", 0, "from@example.com", "to@example.com", 1500)), 42);
+
+        assertEquals(1, applied);
+        verify(postToLedger).post(LedgerPosting.debit(from.getWallet().getId(), LedgerAccount.CHAIN,
+                CurrencyType.CRYPTO, new BigDecimal("15.00"), "CHAIN_TRANSFER", null));
+        verify(postToLedger).post(LedgerPosting.credit(LedgerAccount.CHAIN, to.getWallet().getId(),
+                CurrencyType.CRYPTO, new BigDecimal("15.00"), "CHAIN_TRANSFER", null));
+        verify(transferCompletionService).complete(pending.getId(), true);
+
+        ArgumentCaptor<ChainCheckpoint> checkpoint = ArgumentCaptor.forClass(ChainCheckpoint.class);
+        verify(chainCheckpointRepository).save(checkpoint.capture());
+        assertEquals(42L, checkpoint.getValue().getLastBlock());
+    }
+
+    @Test
+    void apply_Mint_ShouldOnlyCreditRecipient() {
+        Owner to = owner("owner@example.com", "0.00");
+        when(ownerRepository.findByEmail("owner@example.com")).thenReturn(Optional.of(to));
+        when(transactionRepository.findByBlockchainTxHash("0xbb")).thenReturn(List.of());
+
+        chainEventApplier.apply(List.of(transferLog("0xbb", 0, "", "owner@example.com", 10000)), 7);
+
+        verify(postToLedger).post(LedgerPosting.credit(LedgerAccount.CHAIN, to.getWallet().getId(),
+                CurrencyType.CRYPTO, new BigDecimal("100.00"), "CHAIN_TRANSFER", null));
+        verify(ownerRepository, times(1)).findByEmail(anyString());
+        verifyNoInteractions(transferCompletionService);
+        verify(applicationEventPublisher).publishEvent(
+                new DeliverCoinBalancesChangedEvent(Set.of("owner@example.com"), true));
+    }
+
+    @Test
+    void apply_AlreadyIndexedLog_ShouldBeSkipped() {
+        when(chainEventRepository.existsByTxHashAndLogIndex("0xcc", 3)).thenReturn(true);
+
+        int applied = chainEventApplier.apply(List.of(transferLog("0xcc", 3, "a@example.com", "b@example.com", 100)), 9);
+
+        assertEquals(0, applied);
+        verify(chainEventRepository, never()).save(any());
+        verifyNoInteractions(ownerRepository, transferCompletionService, applicationEventPublisher, postToLedger);
+        verify(chainCheckpointRepository).save(any());
+    }
+
+    private static Log transferLog(String txHash, int logIndex, String fromEmail, String toEmail, long value) {
+        Log log = new Log();
+        log.setTransactionHash(txHash);
+        log.setLogIndex("0x" + Integer.toHexString(logIndex));
+        log.setBlockNumber("0x1");
+        log.setTopics(List.of(EventEncoder.encode(DeliverCoin.TRANSFER_EVENT)));
+        log.setData("0x" + FunctionEncoder.encodeConstructor(List.of(
+                new Utf8String(fromEmail), new Utf8String(toEmail), new Uint256(BigInteger.valueOf(value)))));
+        return log;
+    }
+
+    private static Owner owner(String email, String cryptoBalance) {
+        return Owner.builder()
+                .id(UUID.randomUUID())
+                .email(email)
+                .wallet(Wallet.builder().id(UUID.randomUUID()).cryptoBalance(new BigDecimal(cryptoBalance)).build())
+                .build();
+    }
+}
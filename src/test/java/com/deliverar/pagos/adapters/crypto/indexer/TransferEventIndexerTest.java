@@ -0,0 +1,64 @@
+package com.deliverar.pagos.adapters.crypto.indexer;
+
+import com.deliverar.pagos.adapters.crypto.ledger.DeliverCoinLedger;
+import com.deliverar.pagos.infrastructure.concurrency.Workload;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferEventIndexerTest {
+
+    @Mock
+    private DeliverCoinLedger ledger;
+
+    @Mock
+    private ChainEventApplier chainEventApplier;
+
+    @Mock
+    private WorkloadExecutors workloadExecutors;
+
+    private TransferEventIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        indexer = new TransferEventIndexer(ledger, chainEventApplier, workloadExecutors, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(indexer, "startBlock", "latest");
+        ReflectionTestUtils.setField(indexer, "chunkSize", 2000L);
+        ReflectionTestUtils.setField(indexer, "maxBlocksPerTick", 50000L);
+        ReflectionTestUtils.setField(indexer, "confirmations", 12L);
+        lenient().when(workloadExecutors.executor(Workload.INDEXER)).thenReturn(Runnable::run);
+    }
+
+    @Test
+    void poll_ShouldOnlyIndexBlocksWithEnoughConfirmations() throws Exception {
+        when(ledger.blockNumber()).thenReturn(100L);
+        when(chainEventApplier.lastProcessedBlock()).thenReturn(Optional.of(80L));
+        when(ledger.transferLogs(81L, 88L)).thenReturn(List.of());
+
+        indexer.poll();
+
+        verify(chainEventApplier).apply(List.of(), 88L);
+    }
+
+    @Test
+    void poll_ChainShorterThanConfirmations_ShouldNotInitialiseCheckpoint() throws Exception {
+        when(ledger.blockNumber()).thenReturn(5L);
+
+        indexer.poll();
+
+        verify(chainEventApplier, never()).apply(any(), anyLong());
+        verify(ledger, never()).transferLogs(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,96 @@
+package com.deliverar.pagos.adapters.crypto.ledger;
+
+import com.deliverar.pagos.domain.entities.DeliverCoin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatedDeliverCoinLedgerTest {
+
+    private static final String OWNER = "owner@example.com";
+
+    private SimulatedDeliverCoinLedger ledger;
+
+    @AfterEach
+    void tearDown() {
+        ledger.shutdown();
+    }
+
+    @Test
+    void submitTransfer_ShouldMoveBalanceAndEmitTransferEvent() throws Exception {
+        ledger = ledger(0, Duration.ZERO);
+
+        String hash = ledger.submitTransfer(OWNER, "user@example.com", BigInteger.valueOf(2500));
+
+        TransactionReceipt receipt = ledger.receipts(List.of(hash)).get(hash);
+        assertTrue(receipt.isStatusOK());
+        assertEquals(Map.of(OWNER, BigInteger.valueOf(97_500), "user@example.com", BigInteger.valueOf(2500)),
+                ledger.balancesOf(List.of(OWNER, "user@example.com")));
+
+        List<Log> logs = ledger.transferLogs(1, ledger.blockNumber());
+        assertEquals(1, logs.size());
+        DeliverCoin.TransferEventResponse event = DeliverCoin.getTransferEventFromLog(logs.get(0));
+        assertEquals(OWNER, event.fromEmail);
+        assertEquals("user@example.com", event.toEmail);
+        assertEquals(BigInteger.valueOf(2500), event.value);
+    }
+
+    @Test
+    void submitTransfer_InsufficientBalance_ShouldRevert() throws Exception {
+        ledger = ledger(0, Duration.ZERO);
+
+        String hash = ledger.submitTransfer("user@example.com", OWNER, BigInteger.ONE);
+
+        assertFalse(ledger.receipts(List.of(hash)).get(hash).isStatusOK());
+        assertEquals(BigInteger.valueOf(100_000), ledger.balanceOf(OWNER));
+        assertTrue(ledger.transferLogs(0, ledger.blockNumber()).isEmpty());
+    }
+
+    @Test
+    void mintAndBurn_ShouldChangeTotalSupply() throws Exception {
+        ledger = ledger(0, Duration.ZERO);
+
+        assertTrue(ledger.mint(BigInteger.valueOf(500), OWNER).isStatusOK());
+        assertTrue(ledger.burn(BigInteger.valueOf(200), OWNER).isStatusOK());
+
+        assertEquals(BigInteger.valueOf(100_300), ledger.totalSupply());
+        assertEquals(BigInteger.valueOf(100_300), ledger.balanceOf(OWNER));
+    }
+
+    @Test
+    void failureRate_ShouldRevertMinedTransactions() throws Exception {
+        ledger = ledger(1, Duration.ZERO);
+
+        assertFalse(ledger.mint(BigInteger.TEN, OWNER).isStatusOK());
+        assertEquals(BigInteger.valueOf(100_000), ledger.totalSupply());
+    }
+
+    @Test
+    void submitTransfer_WithBlockTime_ShouldStayPendingUntilMined() throws Exception {
+        ledger = ledger(0, Duration.ofHours(1));
+
+        String hash = ledger.submitTransfer(OWNER, "user@example.com", BigInteger.TEN);
+
+        assertTrue(ledger.receipts(List.of(hash)).isEmpty());
+        assertEquals(Set.of("0xunknown"), ledger.unknownTransactions(List.of(hash, "0xunknown")));
+
+        ledger.mineBlock();
+
+        assertTrue(ledger.receipts(List.of(hash)).get(hash).isStatusOK());
+        assertEquals(1, ledger.blockNumber());
+    }
+
+    private static SimulatedDeliverCoinLedger ledger(double failureRate, Duration blockTime) {
+        return new SimulatedDeliverCoinLedger(Duration.ZERO, failureRate, blockTime, 1000, OWNER, new BigDecimal("1000"));
+    }
+}
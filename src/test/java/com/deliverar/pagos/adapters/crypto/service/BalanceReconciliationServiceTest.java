@@ -0,0 +1,126 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.adapters.crypto.indexer.ChainEventApplier;
+import com.deliverar.pagos.adapters.crypto.ledger.DeliverCoinLedger;
+import com.deliverar.pagos.domain.dtos.ReconciliationResult;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the reconciliation against the schema of the Flyway migrations with a mocked chain that
+ * reports 7 DeliverCoin for the test owners, while their wallets store 5. Other owners are not
+ * reported, so they are left untouched.
+ */
+@SpringBootTest
+class BalanceReconciliationServiceTest {
+
+    private static final BigInteger SEVEN = new BigInteger("700");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WorkloadExecutors workloadExecutors;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final DeliverCoinLedger ledger = mock(DeliverCoinLedger.class);
+    private final ChainEventApplier chainEventApplier = mock(ChainEventApplier.class);
+    private BalanceReconciliationService reconciliationService;
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+    private final Timestamp now = Timestamp.from(Instant.now());
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (UUID owner : new UUID[]{alice, bob, carol}) {
+            jdbcTemplate.update("INSERT INTO wallets (id, fiat_balance, crypto_balance, created_at, updated_at) " +
+                                "VALUES (?, 0, 5, ?, ?)", owner, now, now);
+            jdbcTemplate.update("INSERT INTO owners (id, name, email, owner_type, wallet_id) VALUES (?, 'x', ?, 'CLIENT', ?)",
+                    owner, email(owner), owner);
+        }
+        jdbcTemplate.update("INSERT INTO transactions (id, origin_owner_id, destination_owner_id, amount, currency, conversion_rate, " +
+                            "status, netted, transaction_date, created_at, updated_at) " +
+                            "VALUES (?, ?, ?, 1, 'CRYPTO', 1, 'PENDING', false, ?, ?, ?)",
+                UUID.randomUUID(), alice, bob, now, now, now);
+
+        when(ledger.balancesOf(any(), any())).thenAnswer(invocation -> {
+            Map<String, BigInteger> balances = new HashMap<>();
+            invocation.<Collection<String>>getArgument(0).stream()
+                    .filter(email -> email.endsWith("@reconciliation.test"))
+                    .forEach(email -> balances.put(email, SEVEN));
+            return balances;
+        });
+        reconciliationService = new BalanceReconciliationService(ledger, chainEventApplier, jdbcTemplate,
+                workloadExecutors, transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(reconciliationService, "pageSize", 1000);
+        ReflectionTestUtils.setField(reconciliationService, "rpcBatchSize", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM ledger_entries WHERE posting_id IN " +
+                            "(SELECT posting_id FROM ledger_entries WHERE wallet_id IN (?, ?, ?))", alice, bob, carol);
+        jdbcTemplate.update("DELETE FROM transactions WHERE origin_owner_id = ?", alice);
+        jdbcTemplate.update("DELETE FROM owners WHERE id IN (?, ?, ?)", alice, bob, carol);
+        jdbcTemplate.update("DELETE FROM wallets WHERE id IN (?, ?, ?)", alice, bob, carol);
+    }
+
+    @Test
+    void reconcile_WalletsWithPendingTransactions_ShouldBeSkipped() throws Exception {
+        ReconciliationResult result = reconciliationService.reconcile();
+
+        assertTrue(result.getSkipped() >= 2);
+        assertEquals(0, new BigDecimal("5").compareTo(cryptoBalance(alice)));
+        assertEquals(0, new BigDecimal("5").compareTo(cryptoBalance(bob)));
+        assertEquals(0, new BigDecimal("7").compareTo(cryptoBalance(carol)));
+        verify(ledger, never()).balancesOf(argThat(emails -> emails.contains(email(alice))), any());
+    }
+
+    @Test
+    void reconcile_WithIndexer_ShouldReadAtLastProcessedBlock() throws Exception {
+        ReflectionTestUtils.setField(reconciliationService, "indexerEnabled", true);
+        when(chainEventApplier.lastProcessedBlock()).thenReturn(Optional.of(42L));
+
+        reconciliationService.reconcile();
+
+        verify(ledger, atLeastOnce()).balancesOf(any(), eq(BigInteger.valueOf(42)));
+        verify(ledger, never()).balancesOf(any(), isNull());
+    }
+
+    private BigDecimal cryptoBalance(UUID wallet) {
+        return jdbcTemplate.queryForObject("SELECT crypto_balance FROM wallets WHERE id = ?", BigDecimal.class, wallet);
+    }
+
+    private static String email(UUID owner) {
+        return owner + "@reconciliation.test";
+    }
+}
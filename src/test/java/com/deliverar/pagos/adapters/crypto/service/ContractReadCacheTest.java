@@ -0,0 +1,91 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContractReadCacheTest {
+
+    private final AtomicInteger balanceCalls = new AtomicInteger();
+    private final AtomicInteger supplyCalls = new AtomicInteger();
+
+    @Test
+    void balanceOf_ConcurrentMisses_ShouldShareOneRpcCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ContractReadCache cache = cache(email -> {
+            balanceCalls.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return new BigDecimal("10.00");
+        });
+
+        List<CompletableFuture<BigDecimal>> readers = List.of(read(cache), read(cache), read(cache));
+        Thread.sleep(100);
+        release.countDown();
+
+        for (CompletableFuture<BigDecimal> reader : readers) {
+            assertEquals(new BigDecimal("10.00"), reader.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, balanceCalls.get());
+    }
+
+    @Test
+    void invalidate_ShouldForceNextReadToHitTheNode() throws Exception {
+        ContractReadCache cache = cache(email -> new BigDecimal(balanceCalls.incrementAndGet()));
+
+        assertEquals(BigDecimal.ONE, cache.balanceOf("a@example.com"));
+        assertEquals(BigDecimal.ONE, cache.balanceOf("a@example.com"));
+        cache.invalidateBalances(List.of("a@example.com"));
+        assertEquals(BigDecimal.TWO, cache.balanceOf("a@example.com"));
+
+        cache.totalSupply();
+        cache.totalSupply();
+        cache.invalidateSupply();
+        cache.totalSupply();
+        assertEquals(2, supplyCalls.get());
+    }
+
+    @Test
+    void balanceOf_WhenRpcFails_ShouldRethrowAndNotCache() {
+        AtomicInteger attempts = new AtomicInteger();
+        ContractReadCache cache = cache(email -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IOException("node down");
+            }
+            return BigDecimal.TEN;
+        });
+
+        assertThrows(IOException.class, () -> cache.balanceOf("a@example.com"));
+        assertDoesNotThrow(() -> assertEquals(BigDecimal.TEN, cache.balanceOf("a@example.com")));
+    }
+
+    private ContractReadCache cache(ContractReadCache.ContractRead balanceOf) {
+        return new ContractReadCache(
+                balanceOf,
+                () -> new BigDecimal(supplyCalls.incrementAndGet()),
+                Duration.ofMinutes(1),
+                100,
+                Executors.newVirtualThreadPerTaskExecutor(),
+                new SimpleMeterRegistry());
+    }
+
+    private static CompletableFuture<BigDecimal> read(ContractReadCache cache) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return cache.balanceOf("a@example.com");
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.domain.entities.DeliverCoin;
+import com.deliverar.pagos.infrastructure.concurrency.Workload;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthEstimateGas;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DynamicGasProviderTest {
+
+    @Mock
+    private Web3j web3j;
+
+    @Mock
+    private Request<?, EthGasPrice> priceRequest;
+
+    @Mock
+    private Request<?, EthEstimateGas> estimateRequest;
+
+    @Mock
+    private WorkloadExecutors workloadExecutors;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DynamicGasProvider gasProvider;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(workloadExecutors.executor(Workload.BLOCKCHAIN)).thenReturn(Runnable::run);
+        gasProvider = new DynamicGasProvider(web3j, meterRegistry, workloadExecutors);
+        ReflectionTestUtils.setField(gasProvider, "privateKey",
+                "0x4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318");
+        ReflectionTestUtils.setField(gasProvider, "contractAddress", "0x0000000000000000000000000000000000000001");
+        ReflectionTestUtils.setField(gasProvider, "ownerEmail", "owner@example.com");
+        ReflectionTestUtils.setField(gasProvider, "priceRefresh", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(gasProvider, "priceMultiplier", new BigDecimal("1.5"));
+        ReflectionTestUtils.setField(gasProvider, "minPrice", BigInteger.ZERO);
+        ReflectionTestUtils.setField(gasProvider, "maxPrice", BigInteger.valueOf(1_000));
+        ReflectionTestUtils.setField(gasProvider, "limitRefresh", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(gasProvider, "limitMargin", new BigDecimal("1.2"));
+        ReflectionTestUtils.setField(gasProvider, "fallbackPrice", BigInteger.valueOf(77));
+        ReflectionTestUtils.setField(gasProvider, "fallbackLimit", BigInteger.valueOf(3_000_000));
+        gasProvider.init();
+    }
+
+    @Test
+    void getGasPrice_ShouldApplyMultiplierAndCacheNodeValue() throws IOException {
+        doReturn(priceRequest).when(web3j).ethGasPrice();
+        when(priceRequest.send()).thenReturn(response(new EthGasPrice(), "0x64"));
+
+        assertEquals(BigInteger.valueOf(150), gasProvider.getGasPrice(DeliverCoin.FUNC_TRANSFER));
+        assertEquals(BigInteger.valueOf(150), gasProvider.getGasPrice());
+
+        verify(web3j, times(1)).ethGasPrice();
+        assertEquals(150.0, meterRegistry.get("delivercoin.gas.price").gauge().value());
+    }
+
+    @Test
+    void getGasPrice_AboveCap_ShouldBeClamped() throws IOException {
+        doReturn(priceRequest).when(web3j).ethGasPrice();
+        when(priceRequest.send()).thenReturn(response(new EthGasPrice(), "0x3e8"));
+
+        assertEquals(BigInteger.valueOf(1_000), gasProvider.getGasPrice());
+    }
+
+    @Test
+    void getGasPrice_NodeDown_ShouldUseFallback() throws IOException {
+        doReturn(priceRequest).when(web3j).ethGasPrice();
+        when(priceRequest.send()).thenThrow(new IOException("node down"));
+
+        assertEquals(BigInteger.valueOf(77), gasProvider.getGasPrice());
+    }
+
+    @Test
+    void getGasLimit_ShouldEstimateOncePerFunctionWithMargin() throws IOException {
+        doReturn(estimateRequest).when(web3j).ethEstimateGas(any());
+        when(estimateRequest.send()).thenReturn(response(new EthEstimateGas(), "0xc350"));
+
+        assertEquals(BigInteger.valueOf(60_000), gasProvider.getGasLimit(DeliverCoin.FUNC_MINT));
+        assertEquals(BigInteger.valueOf(60_000), gasProvider.getGasLimit(DeliverCoin.FUNC_MINT));
+
+        verify(web3j, times(1)).ethEstimateGas(any());
+        assertEquals(60_000.0, meterRegistry.get("delivercoin.gas.limit").tag("function", "mint").gauge().value());
+    }
+
+    @Test
+    void getGasLimit_Transfer_ShouldEstimateAgainstNeverFundedRecipient() throws IOException {
+        ArgumentCaptor<Transaction> call = ArgumentCaptor.forClass(Transaction.class);
+        doReturn(estimateRequest).when(web3j).ethEstimateGas(call.capture());
+        when(estimateRequest.send()).thenReturn(response(new EthEstimateGas(), "0xc350"));
+
+        gasProvider.getGasLimit(DeliverCoin.FUNC_TRANSFER);
+
+        String data = call.getValue().getData();
+        assertTrue(data.contains(Numeric.toHexStringNoPrefix("gas-estimate-".getBytes(StandardCharsets.UTF_8))), data);
+    }
+
+    @Test
+    void init_ShouldRefreshCachesOnBlockchainExecutor() {
+        verify(workloadExecutors, atLeastOnce()).executor(Workload.BLOCKCHAIN);
+    }
+
+    @Test
+    void getGasLimit_EstimationReverts_ShouldUseFallback() throws IOException {
+        EthEstimateGas reverted = new EthEstimateGas();
+        reverted.setError(new Response.Error(3, "execution reverted"));
+        doReturn(estimateRequest).when(web3j).ethEstimateGas(any());
+        when(estimateRequest.send()).thenReturn(reverted);
+
+        assertEquals(BigInteger.valueOf(3_000_000), gasProvider.getGasLimit(DeliverCoin.FUNC_BURN));
+    }
+
+    private static <T extends Response<String>> T response(T response, String value) {
+        response.setResult(value);
+        return response;
+    }
+}
@@ -0,0 +1,142 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.adapters.crypto.ledger.DeliverCoinLedger;
+import com.deliverar.pagos.domain.entities.Owner;
+import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.repositories.OwnerTransactionHistoryRepository;
+import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NetSettlementServiceTest {
+
+    @Mock
+    private DeliverCoinLedger ledger;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private OwnerTransactionHistoryRepository historyRepository;
+
+    @Mock
+    private DeliverCoinService deliverCoinService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NetSettlementService netSettlementService;
+
+    @BeforeEach
+    void setUp() {
+        netSettlementService = new NetSettlementService(ledger, transactionRepository, historyRepository,
+                deliverCoinService, meterRegistry);
+        ReflectionTestUtils.setField(netSettlementService, "batchSize", 100);
+        ReflectionTestUtils.setField(netSettlementService, "maxAttempts", 5);
+    }
+
+    @Test
+    void net_OppositeFlows_ShouldCollapseIntoOneTransferPerPair() {
+        Transaction buy1 = transaction("treasury@example.com", "user@example.com", "30.00");
+        Transaction buy2 = transaction("treasury@example.com", "user@example.com", "20.00");
+        Transaction sell = transaction("user@example.com", "treasury@example.com", "15.00");
+        Transaction other = transaction("other@example.com", "treasury@example.com", "5.00");
+
+        List<NetSettlementService.NetTransfer> transfers = NetSettlementService.net(List.of(buy1, sell, buy2, other));
+
+        assertEquals(2, transfers.size());
+        NetSettlementService.NetTransfer first = transfers.get(0);
+        assertEquals("treasury@example.com", first.fromEmail());
+        assertEquals("user@example.com", first.toEmail());
+        assertEquals(new BigDecimal("35.00"), first.amount());
+        assertEquals(List.of(buy1.getId(), sell.getId(), buy2.getId()), first.transactionIds());
+        assertEquals("other@example.com", transfers.get(1).fromEmail());
+    }
+
+    @Test
+    void settle_ShouldBroadcastNetTransferAndLinkTransactions() throws Exception {
+        Transaction buy = transaction("treasury@example.com", "user@example.com", "30.00");
+        Transaction sell = transaction("user@example.com", "treasury@example.com", "10.00");
+        when(transactionRepository.findBroadcastSettlementHashes()).thenReturn(List.of());
+        when(transactionRepository.findUnsettled(anyInt(), any())).thenReturn(List.of(buy, sell));
+        when(deliverCoinService.broadcastSettlement(eq("treasury@example.com"), eq("user@example.com"),
+                eq(new BigDecimal("20.00")), any())).thenAnswer(invocation -> {
+            // El vínculo tiene que existir antes de que la transferencia salga
+            invocation.<Consumer<String>>getArgument(3).accept("0xsettle");
+            verify(transactionRepository).linkSettlement(eq(List.of(buy.getId(), sell.getId())), eq("0xsettle"), any());
+            return "0xsettle";
+        });
+
+        netSettlementService.settle();
+
+        verify(historyRepository).linkHash(List.of(buy.getId(), sell.getId()), "0xsettle");
+        verifyNoInteractions(ledger);
+    }
+
+    @Test
+    void settle_PairNettingToZero_ShouldSettleWithoutTransfer() throws Exception {
+        Transaction buy = transaction("treasury@example.com", "user@example.com", "10.00");
+        Transaction sell = transaction("user@example.com", "treasury@example.com", "10.00");
+        when(transactionRepository.findBroadcastSettlementHashes()).thenReturn(List.of());
+        when(transactionRepository.findUnsettled(anyInt(), any())).thenReturn(List.of(buy, sell));
+
+        netSettlementService.settle();
+
+        verify(transactionRepository).markSettledWithoutTransfer(eq(List.of(buy.getId(), sell.getId())), any());
+        verify(deliverCoinService, never()).broadcastSettlement(any(), any(), any(), any());
+    }
+
+    @Test
+    void settle_RevertedSettlement_ShouldCountAttemptAndRequeue() throws Exception {
+        when(transactionRepository.findBroadcastSettlementHashes()).thenReturn(List.of("0xreverted"));
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setStatus("0x0");
+        when(ledger.receipts(List.of("0xreverted"))).thenReturn(Map.of("0xreverted", receipt));
+        when(transactionRepository.findUnsettled(eq(5), any())).thenReturn(List.of());
+
+        netSettlementService.settle();
+
+        InOrder inOrder = inOrder(transactionRepository);
+        inOrder.verify(transactionRepository).recordSettlementRevert(eq("0xreverted"), any());
+        inOrder.verify(transactionRepository).requeueSettlement(eq("0xreverted"), any());
+    }
+
+    @Test
+    void settle_AbandonedTransactions_ShouldBeReportedByGauge() {
+        when(transactionRepository.findBroadcastSettlementHashes()).thenReturn(List.of());
+        when(transactionRepository.countAbandonedSettlements(5)).thenReturn(3L);
+        when(transactionRepository.findUnsettled(eq(5), any())).thenReturn(List.of());
+
+        netSettlementService.settle();
+
+        assertEquals(3.0, meterRegistry.get("settlement.abandoned.transactions").gauge().value());
+    }
+
+    private static Transaction transaction(String from, String to, String amount) {
+        return Transaction.builder()
+                .id(UUID.randomUUID())
+                .originOwner(Owner.builder().email(from).build())
+                .destinationOwner(Owner.builder().email(to).build())
+                .amount(new BigDecimal(amount))
+                .netted(true)
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.tx.response.NoOpProcessor;
+import org.web3j.utils.TxHashVerifier;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NonceTrackingTransactionManagerTest {
+
+    private static final String PRIVATE_KEY = "0x4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318";
+
+    @Mock
+    private Web3j web3j;
+
+    @Mock
+    private Request<?, EthGetTransactionCount> countRequest;
+
+    @Mock
+    private Request<?, EthSendTransaction> sendRequest;
+
+    private NonceTrackingTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new NonceTrackingTransactionManager(
+                web3j, Credentials.create(PRIVATE_KEY), new NoOpProcessor(web3j), 3);
+        // Los hashes simulados no corresponden a la transacción firmada
+        transactionManager.setTxHashVerifier(new TxHashVerifier() {
+            @Override
+            public boolean verify(String hash1, String hash2) {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    void sendTransaction_AllocatesConsecutiveNoncesWithoutAskingTheNodeAgain() throws IOException {
+        stubTransactionCount("0x5");
+        doReturn(sendRequest).when(web3j).ethSendRawTransaction(anyString());
+        when(sendRequest.send()).thenReturn(accepted("0xaa"), accepted("0xbb"));
+
+        transactionManager.sendTransaction(BigInteger.ONE, BigInteger.TEN, "0x0", "", BigInteger.ZERO);
+        transactionManager.sendTransaction(BigInteger.ONE, BigInteger.TEN, "0x0", "", BigInteger.ZERO);
+
+        assertEquals(BigInteger.valueOf(6), transactionManager.getCurrentNonce());
+        verify(web3j, times(1)).ethGetTransactionCount(anyString(), any());
+    }
+
+    @Test
+    void sendTransaction_ResyncsAndRetries_WhenNonceTooLow() throws IOException {
+        stubTransactionCount("0x5", "0x9");
+        doReturn(sendRequest).when(web3j).ethSendRawTransaction(anyString());
+        when(sendRequest.send()).thenReturn(rejected("nonce too low"), accepted("0xcc"));
+
+        EthSendTransaction result = transactionManager.sendTransaction(
+                BigInteger.ONE, BigInteger.TEN, "0x0", "", BigInteger.ZERO);
+
+        assertFalse(result.hasError());
+        assertEquals("0xcc", result.getTransactionHash());
+        assertEquals(BigInteger.valueOf(9), transactionManager.getCurrentNonce());
+        verify(web3j, times(2)).ethGetTransactionCount(anyString(), any());
+    }
+
+    @Test
+    void sendTransaction_ReturnsErrorWithoutRetry_WhenRejectionIsNotNonceRelated() throws IOException {
+        stubTransactionCount("0x5");
+        doReturn(sendRequest).when(web3j).ethSendRawTransaction(anyString());
+        when(sendRequest.send()).thenReturn(rejected("insufficient funds for gas"));
+
+        EthSendTransaction result = transactionManager.sendTransaction(
+                BigInteger.ONE, BigInteger.TEN, "0x0", "", BigInteger.ZERO);
+
+        assertTrue(result.hasError());
+        verify(sendRequest, times(1)).send();
+        assertEquals(BigInteger.ONE.negate(), transactionManager.getCurrentNonce());
+    }
+
+    @Test
+    void sendTransaction_AlreadyKnown_ShouldReturnSignedHashWithoutResending() throws IOException {
+        stubTransactionCount("0x5");
+        ArgumentCaptor<String> signed = ArgumentCaptor.forClass(String.class);
+        doReturn(sendRequest).when(web3j).ethSendRawTransaction(signed.capture());
+        when(sendRequest.send()).thenReturn(rejected("already known"));
+
+        EthSendTransaction result = transactionManager.sendTransaction(
+                BigInteger.ONE, BigInteger.TEN, "0x0", "", BigInteger.ZERO);
+
+        assertFalse(result.hasError());
+        assertEquals(Hash.sha3(signed.getValue()), result.getTransactionHash());
+        assertEquals(BigInteger.valueOf(5), transactionManager.getCurrentNonce());
+        verify(sendRequest, times(1)).send();
+        verify(web3j, times(1)).ethGetTransactionCount(anyString(), any());
+    }
+
+    @Test
+    void withBeforeSend_ShouldHandOverSignedHashBeforeBroadcast() throws Exception {
+        stubTransactionCount("0x5");
+        ArgumentCaptor<String> signed = ArgumentCaptor.forClass(String.class);
+        doReturn(sendRequest).when(web3j).ethSendRawTransaction(signed.capture());
+        when(sendRequest.send()).thenReturn(accepted("0xaa"));
+        List<String> recorded = new ArrayList<>();
+
+        transactionManager.withBeforeSend(hash -> {
+            verifyNoInteractions(sendRequest);
+            recorded.add(hash);
+        }, () -> transactionManager.sendTransaction(BigInteger.ONE, BigInteger.TEN, "0x0", "", BigInteger.ZERO));
+
+        assertEquals(List.of(Hash.sha3(signed.getValue())), recorded);
+    }
+
+    @Test
+    void withBeforeSend_FailingHook_ShouldNotBroadcastAndResync() throws IOException {
+        stubTransactionCount("0x5");
+
+        assertThrows(IllegalStateException.class, () -> transactionManager.withBeforeSend(hash -> {
+            throw new IllegalStateException("db down");
+        }, () -> transactionManager.sendTransaction(BigInteger.ONE, BigInteger.TEN, "0x0", "", BigInteger.ZERO)));
+
+        verify(web3j, never()).ethSendRawTransaction(anyString());
+        assertEquals(BigInteger.ONE.negate(), transactionManager.getCurrentNonce());
+    }
+
+    @Test
+    void isNonceError_MatchesKnownNodeMessages() {
+        assertTrue(NonceTrackingTransactionManager.isNonceError("Nonce too low"));
+        assertTrue(NonceTrackingTransactionManager.isNonceError("replacement transaction underpriced"));
+        assertFalse(NonceTrackingTransactionManager.isNonceError("already known"));
+        assertTrue(NonceTrackingTransactionManager.isAlreadyKnown("known transaction: 0xabc"));
+        assertFalse(NonceTrackingTransactionManager.isNonceError("execution reverted"));
+        assertFalse(NonceTrackingTransactionManager.isNonceError(null));
+    }
+
+    private void stubTransactionCount(String first, String... next) throws IOException {
+        doReturn(countRequest).when(web3j).ethGetTransactionCount(anyString(), any());
+        EthGetTransactionCount[] rest = new EthGetTransactionCount[next.length];
+        for (int i = 0; i < next.length; i++) {
+            rest[i] = count(next[i]);
+        }
+        when(countRequest.send()).thenReturn(count(first), rest);
+    }
+
+    private static EthGetTransactionCount count(String hex) {
+        EthGetTransactionCount response = new EthGetTransactionCount();
+        response.setResult(hex);
+        return response;
+    }
+
+    private static EthSendTransaction accepted(String hash) {
+        EthSendTransaction response = new EthSendTransaction();
+        response.setResult(hash);
+        return response;
+    }
+
+    private static EthSendTransaction rejected(String message) {
+        EthSendTransaction response = new EthSendTransaction();
+        response.setError(new Response.Error(-32000, message));
+        return response;
+    }
+}
@@ -0,0 +1,76 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OwnerHistoryBackfillJobTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private OwnerHistoryWriter ownerHistoryWriter;
+
+    @InjectMocks
+    private OwnerHistoryBackfillJob backfillJob;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(backfillJob, "batchSize", 2);
+    }
+
+    @Test
+    void backfill_ShouldWriteBatchesUntilOneIsShort() {
+        List<Transaction> full = List.of(transaction(), transaction());
+        List<Transaction> last = List.of(transaction());
+        when(transactionRepository.findWithoutHistory(any(), any())).thenReturn(full, last);
+
+        backfillJob.backfill();
+
+        verify(ownerHistoryWriter).backfill(full);
+        verify(ownerHistoryWriter).backfill(last);
+        verify(transactionRepository, times(2)).findWithoutHistory(any(), any());
+    }
+
+    @Test
+    void backfill_ConcurrentRun_ShouldStopUntilNextExecution() {
+        List<Transaction> full = List.of(transaction(), transaction());
+        when(transactionRepository.findWithoutHistory(any(), any())).thenReturn(full);
+        doThrow(new DataIntegrityViolationException("duplicate")).when(ownerHistoryWriter).backfill(full);
+
+        backfillJob.backfill();
+
+        verify(transactionRepository, times(1)).findWithoutHistory(any(), any());
+    }
+
+    @Test
+    void backfill_NothingLeftWithoutHistory_ShouldStopScanning() {
+        when(transactionRepository.findWithoutHistory(any(), any())).thenReturn(List.of());
+        when(transactionRepository.existsWithoutHistory(any())).thenReturn(false);
+
+        backfillJob.backfill();
+        backfillJob.backfill();
+
+        verify(transactionRepository, times(1)).findWithoutHistory(any(), any());
+        verifyNoInteractions(ownerHistoryWriter);
+    }
+
+    private static Transaction transaction() {
+        return Transaction.builder().id(UUID.randomUUID()).build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.adapters.crypto.ledger.DeliverCoinLedger;
+import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.entities.TransactionStatus;
+import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReceiptTrackerTest {
+
+    @Mock
+    private DeliverCoinLedger ledger;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransferCompletionService transferCompletionService;
+
+    @InjectMocks
+    private ReceiptTracker receiptTracker;
+
+    private final Instant longAgo = Instant.now().minus(Duration.ofHours(1));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(receiptTracker, "batchSize", 200);
+        ReflectionTestUtils.setField(receiptTracker, "timeout", Duration.ofMinutes(10));
+    }
+
+    @Test
+    void poll_OverdueTransactionStillKnownToNode_ShouldKeepWaiting() throws Exception {
+        Transaction tx = transaction("0xmempool", longAgo);
+        when(transactionRepository.findSubmittedByStatus(eq(TransactionStatus.PENDING), any())).thenReturn(List.of(tx));
+        when(ledger.receipts(List.of("0xmempool"))).thenReturn(Map.of());
+        when(ledger.unknownTransactions(List.of("0xmempool"))).thenReturn(Set.of());
+
+        receiptTracker.poll();
+
+        verify(transferCompletionService, never()).complete(any(), anyBoolean());
+    }
+
+    @Test
+    void poll_OverdueTransactionDroppedByNode_ShouldFail() throws Exception {
+        Transaction tx = transaction("0xdropped", longAgo);
+        when(transactionRepository.findSubmittedByStatus(eq(TransactionStatus.PENDING), any())).thenReturn(List.of(tx));
+        when(ledger.receipts(List.of("0xdropped"))).thenReturn(Map.of());
+        when(ledger.unknownTransactions(List.of("0xdropped"))).thenReturn(Set.of("0xdropped"));
+
+        receiptTracker.poll();
+
+        verify(transferCompletionService).complete(tx.getId(), false);
+    }
+
+    @Test
+    void poll_PendingWithoutHashAfterTimeout_ShouldFail() {
+        Transaction tx = transaction(null, longAgo);
+        when(transactionRepository.findUnsubmittedBefore(any(), any())).thenReturn(List.of(tx));
+
+        receiptTracker.poll();
+
+        verify(transferCompletionService).complete(tx.getId(), false);
+        verifyNoInteractions(ledger);
+    }
+
+    private static Transaction transaction(String hash, Instant date) {
+        return Transaction.builder()
+                .id(UUID.randomUUID())
+                .blockchainTxHash(hash)
+                .status(TransactionStatus.PENDING)
+                .transactionDate(date)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.entities.TransactionStatus;
+import com.deliverar.pagos.domain.exceptions.InternalServerException;
+import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionCompletionRegistryTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private TransactionCompletionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TransactionCompletionRegistry(transactionRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(registry, "timeout", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void await_CompletedAfterCommit_ShouldCompleteFuture() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(transactionRepository.findById(id)).thenReturn(Optional.of(transaction(id, TransactionStatus.PENDING)));
+
+        CompletableFuture<TransactionStatus> future = registry.await(id);
+        assertFalse(future.isDone());
+
+        registry.onTransactionCompleted(new TransactionCompletedEvent(id, TransactionStatus.SUCCESS));
+
+        assertEquals(TransactionStatus.SUCCESS, future.getNow(null));
+    }
+
+    @Test
+    void await_AlreadyFinalInDatabase_ShouldCompleteImmediately() {
+        UUID id = UUID.randomUUID();
+        when(transactionRepository.findById(id)).thenReturn(Optional.of(transaction(id, TransactionStatus.FAILURE)));
+
+        assertEquals(TransactionStatus.FAILURE, registry.await(id).getNow(null));
+    }
+
+    @Test
+    void recheck_CompletedElsewhere_ShouldFallBackToDatabaseStatus() {
+        UUID id = UUID.randomUUID();
+        when(transactionRepository.findById(id)).thenReturn(Optional.empty());
+        CompletableFuture<TransactionStatus> future = registry.await(id);
+        when(transactionRepository.findAllById(any())).thenReturn(List.of(transaction(id, TransactionStatus.SUCCESS)));
+
+        registry.recheck();
+
+        assertEquals(TransactionStatus.SUCCESS, future.getNow(null));
+    }
+
+    @Test
+    void recheck_AfterTimeout_ShouldFailFuture() {
+        ReflectionTestUtils.setField(registry, "timeout", Duration.ofMillis(-1));
+        UUID id = UUID.randomUUID();
+        when(transactionRepository.findById(id)).thenReturn(Optional.empty());
+        CompletableFuture<TransactionStatus> future = registry.await(id);
+
+        registry.recheck();
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(InternalServerException.class, e.getCause());
+    }
+
+    private static Transaction transaction(UUID id, TransactionStatus status) {
+        return Transaction.builder().id(id).status(status).build();
+    }
+}
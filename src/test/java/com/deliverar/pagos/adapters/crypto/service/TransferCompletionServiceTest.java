@@ -0,0 +1,253 @@
+package com.deliverar.pagos.adapters.crypto.service;
+
+import com.deliverar.pagos.domain.dtos.LedgerPosting;
+import com.deliverar.pagos.domain.entities.*;
+import com.deliverar.pagos.domain.exceptions.BadRequestException;
+import com.deliverar.pagos.domain.repositories.LedgerEntryRepository;
+import com.deliverar.pagos.domain.repositories.OwnerTransactionHistoryRepository;
+import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import com.deliverar.pagos.domain.usecases.ledger.PostToLedger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferCompletionServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private OwnerTransactionHistoryRepository historyRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private PostToLedger postToLedger;
+
+    @Mock
+    private OwnerHistoryWriter ownerHistoryWriter;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @InjectMocks
+    private TransferCompletionService transferCompletionService;
+
+    private Owner origin;
+    private Owner destination;
+
+    @BeforeEach
+    void setUp() {
+        origin = owner("origin@example.com");
+        destination = owner("destination@example.com");
+    }
+
+    @Test
+    void open_BuyCrypto_ShouldTakeBuyerFiatAndOwnerCryptoInWalletIdOrder() {
+        origin.getWallet().setId(UUID.fromString("00000000-0000-0000-0000-000000000002"));
+        destination.getWallet().setId(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+        Transaction tx = transaction(TransactionConcept.BUY_CRYPTO.name());
+        when(ownerHistoryWriter.create(tx)).thenReturn(tx);
+
+        assertSame(tx, transferCompletionService.open(tx));
+
+        LedgerPosting fiat = LedgerPosting.debit(destination.getWallet().getId(), LedgerAccount.EXCHANGE,
+                CurrencyType.FIAT, new BigDecimal("30.00"), "BUY_CRYPTO", tx.getId()).requiringFunds();
+        LedgerPosting crypto = LedgerPosting.debit(origin.getWallet().getId(), LedgerAccount.HOLD,
+                CurrencyType.CRYPTO, new BigDecimal("30.00"), "BUY_CRYPTO", tx.getId()).requiringFunds();
+        InOrder inOrder = inOrder(ownerHistoryWriter, postToLedger);
+        inOrder.verify(ownerHistoryWriter).create(tx);
+        inOrder.verify(postToLedger).post(fiat);
+        inOrder.verify(postToLedger).post(crypto);
+        verifyNoMoreInteractions(postToLedger);
+    }
+
+    @Test
+    void open_TransferWithIndexer_ShouldStillHoldOriginCrypto() {
+        ReflectionTestUtils.setField(transferCompletionService, "indexerEnabled", true);
+        Transaction tx = transaction(TransactionConcept.TRANSFER.name());
+
+        transferCompletionService.open(tx);
+
+        verify(ownerHistoryWriter).create(tx);
+        verify(postToLedger).post(LedgerPosting.debit(origin.getWallet().getId(), LedgerAccount.HOLD,
+                CurrencyType.CRYPTO, new BigDecimal("30.00"), "TRANSFER", tx.getId()).requiringFunds());
+        verifyNoMoreInteractions(postToLedger);
+    }
+
+    @Test
+    void open_InsufficientFunds_ShouldPropagateRejection() {
+        Transaction tx = transaction(TransactionConcept.SELL_CRYPTO.name());
+        doThrow(new BadRequestException("Insufficient crypto balance")).when(postToLedger).post(any());
+
+        assertThrows(BadRequestException.class, () -> transferCompletionService.open(tx));
+    }
+
+    @Test
+    void complete_TransferSuccess_ShouldReleaseHeldCryptoToDestination() {
+        Transaction tx = transaction(TransactionConcept.TRANSFER.name());
+        stubPendingTransition(tx, TransactionStatus.SUCCESS, 1);
+        stubReservations(tx);
+
+        assertTrue(transferCompletionService.complete(tx.getId(), true));
+        verify(historyRepository).updateStatus(tx.getId(), TransactionStatus.SUCCESS);
+
+        verify(postToLedger).post(LedgerPosting.credit(LedgerAccount.HOLD, destination.getWallet().getId(),
+                CurrencyType.CRYPTO, new BigDecimal("30.00"), "TRANSFER", tx.getId()));
+        verifyNoMoreInteractions(postToLedger);
+        verify(applicationEventPublisher).publishEvent(new DeliverCoinBalancesChangedEvent(
+                Set.of("origin@example.com", "destination@example.com"), false));
+    }
+
+    @Test
+    void complete_BuyCryptoSuccess_ShouldNotDebitFiatAgain() {
+        Transaction tx = transaction(TransactionConcept.BUY_CRYPTO.name());
+        stubPendingTransition(tx, TransactionStatus.SUCCESS, 1);
+        stubReservations(tx);
+
+        transferCompletionService.complete(tx.getId(), true);
+
+        verify(postToLedger).post(LedgerPosting.credit(LedgerAccount.HOLD, destination.getWallet().getId(),
+                CurrencyType.CRYPTO, new BigDecimal("30.00"), "BUY_CRYPTO", tx.getId()));
+        verifyNoMoreInteractions(postToLedger);
+    }
+
+    @Test
+    void complete_SellCryptoSuccess_ShouldCreditSellerFiat() {
+        Transaction tx = transaction(TransactionConcept.SELL_CRYPTO.name());
+        stubPendingTransition(tx, TransactionStatus.SUCCESS, 1);
+        stubReservations(tx);
+
+        transferCompletionService.complete(tx.getId(), true);
+
+        verify(postToLedger).post(LedgerPosting.credit(LedgerAccount.HOLD, destination.getWallet().getId(),
+                CurrencyType.CRYPTO, new BigDecimal("30.00"), "SELL_CRYPTO", tx.getId()));
+        verify(postToLedger).post(LedgerPosting.credit(LedgerAccount.EXCHANGE, origin.getWallet().getId(),
+                CurrencyType.FIAT, new BigDecimal("30.00"), "SELL_CRYPTO", tx.getId()));
+    }
+
+    @Test
+    void complete_BuyCryptoSuccessWithIndexer_ShouldGiveHoldBackToOrigin() {
+        ReflectionTestUtils.setField(transferCompletionService, "indexerEnabled", true);
+        Transaction tx = transaction(TransactionConcept.BUY_CRYPTO.name());
+        stubPendingTransition(tx, TransactionStatus.SUCCESS, 1);
+        stubReservations(tx);
+
+        transferCompletionService.complete(tx.getId(), true);
+
+        verify(postToLedger).post(LedgerPosting.credit(LedgerAccount.HOLD, origin.getWallet().getId(),
+                CurrencyType.CRYPTO, new BigDecimal("30.00"), "BUY_CRYPTO", tx.getId()));
+        verifyNoMoreInteractions(postToLedger);
+    }
+
+    @Test
+    void complete_BuyCryptoFailure_ShouldRefundReservedFunds() {
+        Transaction tx = transaction(TransactionConcept.BUY_CRYPTO.name());
+        stubPendingTransition(tx, TransactionStatus.FAILURE, 1);
+        stubReservations(tx);
+
+        assertTrue(transferCompletionService.complete(tx.getId(), false));
+
+        verify(postToLedger).post(LedgerPosting.credit(LedgerAccount.EXCHANGE, destination.getWallet().getId(),
+                CurrencyType.FIAT, new BigDecimal("30.00"), "BUY_CRYPTO", tx.getId()));
+        verify(postToLedger).post(LedgerPosting.credit(LedgerAccount.HOLD, origin.getWallet().getId(),
+                CurrencyType.CRYPTO, new BigDecimal("30.00"), "BUY_CRYPTO", tx.getId()));
+        verifyNoMoreInteractions(postToLedger);
+        verify(applicationEventPublisher).publishEvent(new TransactionCompletedEvent(tx.getId(), TransactionStatus.FAILURE));
+        verifyNoMoreInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    void complete_BuyOpenedBeforeReservations_ShouldApplyWholeMovement() {
+        Transaction tx = transaction(TransactionConcept.BUY_CRYPTO.name());
+        stubPendingTransition(tx, TransactionStatus.SUCCESS, 1);
+
+        transferCompletionService.complete(tx.getId(), true);
+
+        verify(postToLedger).post(LedgerPosting.between(origin.getWallet().getId(), destination.getWallet().getId(),
+                CurrencyType.CRYPTO, new BigDecimal("30.00"), "BUY_CRYPTO", tx.getId()));
+        verify(postToLedger).post(LedgerPosting.debit(destination.getWallet().getId(), LedgerAccount.EXCHANGE,
+                CurrencyType.FIAT, new BigDecimal("30.00"), "BUY_CRYPTO", tx.getId()));
+    }
+
+    @Test
+    void complete_FailureOpenedBeforeReservations_ShouldNotTouchBalances() {
+        Transaction tx = transaction(TransactionConcept.TRANSFER.name());
+        stubPendingTransition(tx, TransactionStatus.FAILURE, 1);
+
+        assertTrue(transferCompletionService.complete(tx.getId(), false));
+
+        verifyNoInteractions(postToLedger);
+    }
+
+    @Test
+    void complete_AlreadyCompleted_ShouldBeNoOp() {
+        UUID id = UUID.randomUUID();
+        when(transactionRepository.updateStatusIfCurrent(eq(id), eq(TransactionStatus.PENDING),
+                eq(TransactionStatus.SUCCESS), any())).thenReturn(0);
+
+        assertFalse(transferCompletionService.complete(id, true));
+
+        verify(transactionRepository, never()).findById(any());
+        verifyNoInteractions(historyRepository);
+    }
+
+    private void stubReservations(Transaction tx) {
+        when(ledgerEntryRepository.existsByReferenceId(tx.getId())).thenReturn(true);
+        when(ledgerEntryRepository.existsByReferenceIdAndAccount(tx.getId(), LedgerAccount.HOLD)).thenReturn(true);
+    }
+
+    private void stubPendingTransition(Transaction tx, TransactionStatus target, int updated) {
+        when(transactionRepository.updateStatusIfCurrent(eq(tx.getId()), eq(TransactionStatus.PENDING),
+                eq(target), any())).thenReturn(updated);
+        when(transactionRepository.findById(tx.getId())).thenReturn(Optional.of(tx));
+    }
+
+    private Transaction transaction(String concept) {
+        return Transaction.builder()
+                .id(UUID.randomUUID())
+                .originOwner(origin)
+                .destinationOwner(destination)
+                .amount(new BigDecimal("30.00"))
+                .currency(CurrencyType.CRYPTO)
+                .conversionRate(BigDecimal.ONE)
+                .concept(concept)
+                .status(TransactionStatus.PENDING)
+                .transactionDate(Instant.now())
+                .build();
+    }
+
+    private static Owner owner(String email) {
+        Wallet wallet = Wallet.builder()
+                .id(UUID.randomUUID())
+                .fiatBalance(new BigDecimal("100.00"))
+                .cryptoBalance(new BigDecimal("100.00"))
+                .build();
+        return Owner.builder()
+                .id(UUID.randomUUID())
+                .name(email)
+                .email(email)
+                .ownerType(OwnerType.DELIVERY)
+                .wallet(wallet)
+                .build();
+    }
+}
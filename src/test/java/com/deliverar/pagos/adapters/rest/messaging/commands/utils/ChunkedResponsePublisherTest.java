@@ -0,0 +1,140 @@
+package com.deliverar.pagos.adapters.rest.messaging.commands.utils;
+
+import com.deliverar.pagos.adapters.rest.messaging.core.EventPublisher;
+import com.deliverar.pagos.adapters.rest.messaging.events.EventStatus;
+import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
+import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.OutgoingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.TransactionsQuery;
+import com.deliverar.pagos.domain.dtos.KeysetPage;
+import com.deliverar.pagos.domain.dtos.TransactionCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ChunkedResponsePublisherTest {
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    private ChunkedResponsePublisher publisher;
+
+    private final List<Integer> rows = List.of(5, 4, 3, 2, 1);
+    private final IncomingEvent request = new IncomingEvent("get.all.fiat.transactions.request", null, "corr-1", "external-hub");
+
+    @BeforeEach
+    void setUp() {
+        publisher = new ChunkedResponsePublisher(eventPublisher);
+        ReflectionTestUtils.setField(publisher, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(publisher, "maxPageSize", 100);
+        ReflectionTestUtils.setField(publisher, "maxParts", 10);
+    }
+
+    @Test
+    void publish_ShouldSendSequencedPartsUntilLast() {
+        int parts = publisher.publish(request, EventType.GET_ALL_FIAT_TRANSACTIONS_RESPONSE,
+                new TransactionsQuery(null, null, null, Map.of("traceId", "t")),
+                this::page, row -> Map.of("value", row), "transactionDateSince", "");
+
+        assertEquals(3, parts);
+        List<Map<String, Object>> published = published(3);
+        assertEquals(List.of(1, 2, 3), published.stream().map(p -> p.get("part")).toList());
+        assertEquals(List.of(false, false, true), published.stream().map(p -> p.get("last")).toList());
+        assertEquals(List.of(Map.of("value", 5), Map.of("value", 4)), published.get(0).get("transactions"));
+        assertEquals(List.of(Map.of("value", 1)), published.get(2).get("transactions"));
+        assertNull(published.get(2).get("nextCursor"));
+        assertEquals(Map.of("traceId", "t"), published.get(0).get("traceData"));
+        assertEquals("", published.get(1).get("transactionDateSince"));
+    }
+
+    @Test
+    void publish_PartLimitReached_ShouldLeaveCursorToResume() {
+        ReflectionTestUtils.setField(publisher, "maxParts", 1);
+
+        publisher.publish(request, EventType.GET_ALL_FIAT_TRANSACTIONS_RESPONSE,
+                new TransactionsQuery(null, 3, null, null), this::page, row -> Map.of("value", row));
+
+        Map<String, Object> only = published(1).get(0);
+        assertEquals(false, only.get("last"));
+        String cursor = (String) only.get("nextCursor");
+
+        publisher.publish(request, EventType.GET_ALL_FIAT_TRANSACTIONS_RESPONSE,
+                new TransactionsQuery(null, 3, cursor, null), this::page, row -> Map.of("value", row));
+
+        Map<String, Object> resumed = published(2).get(1);
+        assertEquals(List.of(Map.of("value", 2), Map.of("value", 1)), resumed.get("transactions"));
+        assertEquals(true, resumed.get("last"));
+    }
+
+    @Test
+    void publish_FailureAfterFirstPart_ShouldCloseSequenceInsteadOfRethrowing() {
+        int parts = publisher.publish(request, EventType.GET_ALL_FIAT_TRANSACTIONS_RESPONSE,
+                new TransactionsQuery(null, null, null, null), this::page,
+                row -> row == 3 ? Map.of("value", (Object) null) : Map.of("value", row));
+
+        assertEquals(2, parts);
+        List<OutgoingEvent> events = publishedEvents(2);
+        assertEquals(EventStatus.FAILURE, events.get(1).getStatus());
+        Map<String, Object> closing = payload(events.get(1));
+        assertEquals(2, closing.get("part"));
+        assertEquals(true, closing.get("last"));
+        assertEquals(List.of(), closing.get("transactions"));
+        assertEquals(payload(events.get(0)).get("nextCursor"), closing.get("nextCursor"));
+        assertNotNull(closing.get("error"));
+    }
+
+    @Test
+    void publish_FailureOnFirstPart_ShouldRethrowForRetry() {
+        assertThrows(NullPointerException.class, () -> publisher.publish(request,
+                EventType.GET_ALL_FIAT_TRANSACTIONS_RESPONSE, new TransactionsQuery(null, null, null, null),
+                this::page, row -> Map.of("value", (Object) null)));
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void pageSize_ShouldBeCappedByMaxPageSize() {
+        assertEquals(100, publisher.pageSize(new TransactionsQuery(null, 5000, null, null)));
+        assertEquals(2, publisher.pageSize(new TransactionsQuery(null, null, null, null)));
+    }
+
+    // Filas ordenadas de mayor a menor; el cursor guarda el valor en los segundos de la fecha
+    private KeysetPage<Integer> page(Optional<TransactionCursor> after, int pageSize) {
+        long from = after.map(c -> c.transactionDate().getEpochSecond()).orElse(Long.MAX_VALUE);
+        List<Integer> matching = new ArrayList<>(rows.stream().filter(r -> r < from).limit(pageSize + 1L).toList());
+        return KeysetPage.of(matching, pageSize, r -> new TransactionCursor(Instant.ofEpochSecond(r), UUID.randomUUID()));
+    }
+
+    private List<Map<String, Object>> published(int expected) {
+        return publishedEvents(expected).stream().map(ChunkedResponsePublisherTest::payload).toList();
+    }
+
+    private List<OutgoingEvent> publishedEvents(int expected) {
+        ArgumentCaptor<OutgoingEvent> events = ArgumentCaptor.forClass(OutgoingEvent.class);
+        verify(eventPublisher, times(expected)).publish(events.capture());
+        events.getAllValues().forEach(e -> assertEquals("corr-1", e.getCorrelationId()));
+        return events.getAllValues();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> payload(OutgoingEvent event) {
+        return (Map<String, Object>) event.getPayload();
+    }
+}
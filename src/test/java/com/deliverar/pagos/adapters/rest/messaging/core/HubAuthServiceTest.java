@@ -0,0 +1,108 @@
+package com.deliverar.pagos.adapters.rest.messaging.core;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HubAuthServiceTest {
+
+    private HttpServer hub;
+    private HubAuthService authService;
+    private final AtomicInteger logins = new AtomicInteger();
+    private volatile long expiresInSeconds = 3600;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        hub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        hub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        hub.createContext("/auth/login", exchange -> {
+            try {
+                exchange.getRequestBody().readAllBytes();
+                Thread.sleep(100);
+                int login = logins.incrementAndGet();
+                byte[] body = ("{\"access_token\":\"" + jwt(Instant.now().plusSeconds(expiresInSeconds), login) + "\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        hub.start();
+
+        authService = new HubAuthService("http://localhost:" + hub.getAddress().getPort(), "user", "pass", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(authService, "defaultTtl", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(authService, "refreshBefore", Duration.ofMinutes(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.stop(0);
+    }
+
+    @Test
+    void getToken_ConcurrentColdStart_ShouldLoginOnce() {
+        List<String> tokens = Flux.range(0, 20)
+                .flatMap(i -> authService.getToken())
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(1, logins.get());
+        assertEquals(1, tokens.stream().distinct().count());
+    }
+
+    @Test
+    void refreshToken_StaleToken_ShouldReuseTokenRenewedByAnotherCaller() {
+        String first = authService.getToken().block(Duration.ofSeconds(5));
+        authService.refreshToken(first).block(Duration.ofSeconds(5));
+        authService.refreshToken(first).block(Duration.ofSeconds(5));
+
+        assertEquals(2, logins.get());
+        assertNotEquals(first, authService.getToken().block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void refreshIfExpiring_TokenAboutToExpire_ShouldRenewInBackground() throws Exception {
+        expiresInSeconds = 60;
+        authService.getToken().block(Duration.ofSeconds(5));
+
+        authService.refreshIfExpiring();
+        Thread.sleep(500);
+
+        assertEquals(2, logins.get());
+    }
+
+    @Test
+    void expiresAt_ShouldReadJwtExpClaim() {
+        Instant exp = Instant.ofEpochSecond(Instant.now().getEpochSecond() + 600);
+
+        assertEquals(exp, authService.expiresAt(jwt(exp, 1), null));
+        assertTrue(authService.expiresAt("opaque-token", 120).isBefore(Instant.now().plusSeconds(121)));
+    }
+
+    private static String jwt(Instant exp, int login) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        String claims = encoder.encodeToString(("{\"sub\":\"user\",\"n\":" + login + ",\"exp\":" + exp.getEpochSecond() + "}")
+                .getBytes(StandardCharsets.UTF_8));
+        return header + "." + claims + ".sig";
+    }
+}
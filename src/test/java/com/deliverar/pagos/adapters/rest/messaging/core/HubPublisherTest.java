@@ -0,0 +1,104 @@
+package com.deliverar.pagos.adapters.rest.messaging.core;
+
+import com.deliverar.pagos.adapters.rest.messaging.core.dtos.ImmutableEvent;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HubPublisherTest {
+
+    @Mock
+    private HubAuthService authService;
+
+    private HttpServer hub;
+    private HubPublisher hubPublisher;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxObservedInFlight = new AtomicInteger();
+    private volatile int failuresBeforeSuccess;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        hub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        hub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        hub.createContext("/hub/publish", exchange -> {
+            maxObservedInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                exchange.getRequestBody().readAllBytes();
+                Thread.sleep(50);
+                int status = requests.incrementAndGet() <= failuresBeforeSuccess ? 503 : 200;
+                exchange.sendResponseHeaders(status, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        hub.start();
+
+        when(authService.getToken()).thenReturn(Mono.just("token"));
+        hubPublisher = new HubPublisher("http://localhost:" + hub.getAddress().getPort(), authService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(hubPublisher, "queueCapacity", 64);
+        ReflectionTestUtils.setField(hubPublisher, "maxInFlight", 2);
+        ReflectionTestUtils.setField(hubPublisher, "requestTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(hubPublisher, "maxRetries", 3);
+        ReflectionTestUtils.setField(hubPublisher, "retryBackoff", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(hubPublisher, "maxConnections", 4);
+        ReflectionTestUtils.setField(hubPublisher, "connectTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(hubPublisher, "maxIdleTime", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(hubPublisher, "maxLifeTime", Duration.ofMinutes(1));
+        hubPublisher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hubPublisher.shutdown();
+        hub.stop(0);
+    }
+
+    @Test
+    void publish_Burst_ShouldNotExceedMaxInFlight() {
+        Flux.range(0, 10)
+                .flatMap(i -> hubPublisher.publish(new ImmutableEvent("get.all.response", Map.of("i", i))))
+                .blockLast(Duration.ofSeconds(10));
+
+        assertEquals(10, requests.get());
+        assertTrue(maxObservedInFlight.get() <= 2, "max in flight was " + maxObservedInFlight.get());
+    }
+
+    @Test
+    void publish_ServerError_ShouldRetryUntilSuccess() {
+        failuresBeforeSuccess = 2;
+
+        assertDoesNotThrow(() -> hubPublisher.publish(new ImmutableEvent("topic", Map.of())).block(Duration.ofSeconds(5)));
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void publishOnce_ServerError_ShouldNotRetry() {
+        failuresBeforeSuccess = 2;
+
+        assertThrows(RuntimeException.class,
+                () -> hubPublisher.publishOnce(new ImmutableEvent("topic", Map.of())).block(Duration.ofSeconds(5)));
+        assertEquals(1, requests.get());
+    }
+}
@@ -0,0 +1,65 @@
+package com.deliverar.pagos.adapters.rest.messaging.events.payloads;
+
+import com.deliverar.pagos.domain.entities.OwnerType;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventPayloadReaderTest {
+
+    private final EventPayloadReader reader = new EventPayloadReader(JsonMapper.builder().findAndAddModules().build());
+
+    @Test
+    void read_ShouldBindTypedPayloadIgnoringUnknownFields() {
+        EventPayload payload = reader.read("fiat.deposit.request",
+                "{\"email\":\"a@example.com\",\"amount\":\"12.50\",\"extra\":1,\"traceData\":{\"traceId\":\"t-1\"}}");
+
+        AmountPayload deposit = assertInstanceOf(AmountPayload.class, payload);
+        assertEquals(new BigDecimal("12.50"), deposit.amount());
+        assertEquals("Fiat deposit", deposit.conceptOr("Fiat deposit"));
+        assertEquals(Map.of("traceId", "t-1"), deposit.traceData());
+    }
+
+    @Test
+    void read_ShouldBindTopicSpecificFieldNames() {
+        OwnerCreationPayload tenant = assertInstanceOf(OwnerCreationPayload.class,
+                reader.read("tenant.creado", "{\"razon_social\":\"Pizzeria\",\"email\":\"p@example.com\"}"));
+
+        assertEquals("Pizzeria", tenant.ownerName());
+        assertEquals(OwnerType.TENANT, tenant.ownerType());
+    }
+
+    @Test
+    void read_ShouldParseDatesAndTreatEmptyAsAbsent() {
+        OwnerTransactionsQuery since = (OwnerTransactionsQuery) reader.read("get.user.fiat.transactions.request",
+                "{\"email\":\"a@example.com\",\"transactionDateSince\":\"2024-01-01T00:00:00Z\"}");
+        OwnerTransactionsQuery empty = (OwnerTransactionsQuery) reader.read("get.user.fiat.transactions.request",
+                "{\"email\":\"a@example.com\",\"transactionDateSince\":\"\"}");
+
+        assertEquals(Instant.parse("2024-01-01T00:00:00Z"), since.transactionDateSince());
+        assertNull(empty.transactionDateSince());
+    }
+
+    @Test
+    void read_InvalidPayload_ShouldThrow() {
+        assertThrows(InvalidPayloadException.class,
+                () -> reader.read("fiat.payment.request", "{\"fromEmail\":\"a@example.com\",\"amount\":5}"));
+        assertThrows(InvalidPayloadException.class,
+                () -> reader.read("buy.crypto.request", "{\"email\":\"a@example.com\",\"amount\":\"abc\"}"));
+        assertThrows(InvalidPayloadException.class,
+                () -> reader.read("get.all.fiat.transactions.request", "{\"transactionDateSince\":\"yesterday\"}"));
+        assertThrows(InvalidPayloadException.class,
+                () -> reader.read("get.all.fiat.transactions.request", "{\"cursor\":\"not-a-cursor\"}"));
+    }
+
+    @Test
+    void read_TopicWithoutTypedPayload_ShouldReturnNull() {
+        assertNull(reader.read("unknown.topic", "{}"));
+        assertNull(reader.read("fiat.deposit.response", "{}"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.deliverar.pagos.adapters.rest.messaging.inbox;
+
+import com.deliverar.pagos.domain.repositories.ProcessedEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventDeduplicatorTest {
+
+    @Mock
+    private ProcessedEventRepository processedEventRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EventDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        deduplicator = new EventDeduplicator(processedEventRepository, new ObjectMapper(), meterRegistry,
+                Duration.ofHours(1), 12, 1000);
+    }
+
+    @Test
+    void fingerprint_SamePayloadInAnyKeyOrder_ShouldMatch() throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        JsonNode first = json.readTree("{\"email\":\"a@example.com\",\"amount\":10,\"traceData\":{\"traceId\":\"1\",\"span\":2}}");
+        JsonNode second = json.readTree("{\"traceData\":{\"span\":2,\"traceId\":\"1\"},\"amount\":10,\"email\":\"a@example.com\"}");
+        JsonNode other = json.readTree("{\"email\":\"a@example.com\",\"amount\":10,\"traceData\":{\"traceId\":\"2\",\"span\":2}}");
+
+        assertEquals(deduplicator.fingerprint("fiat.payment.request", first, null),
+                deduplicator.fingerprint("fiat.payment.request", second, null));
+        assertNotEquals(deduplicator.fingerprint("fiat.payment.request", first, null),
+                deduplicator.fingerprint("fiat.payment.request", other, null));
+        assertEquals("msg:abc", deduplicator.fingerprint("fiat.payment.request", first, "abc"));
+    }
+
+    @Test
+    void register_RedeliveryInsideWindow_ShouldBeDetectedInMemory() {
+        assertTrue(deduplicator.register("fp-1", "crypto.payment.request"));
+        assertFalse(deduplicator.register("fp-1", "crypto.payment.request"));
+
+        verify(processedEventRepository, times(1)).saveAndFlush(any());
+        verify(processedEventRepository, times(1)).existsById("fp-1");
+        assertEquals(1.0, meterRegistry.counter("hub.inbox.duplicates", "store", "memory").count());
+    }
+
+    @Test
+    void register_FingerprintStoredByAnotherNode_ShouldBeDetectedInDatabase() {
+        when(processedEventRepository.existsById("fp-2")).thenReturn(true);
+
+        assertFalse(deduplicator.register("fp-2", "fiat.payment.request"));
+
+        verify(processedEventRepository, never()).saveAndFlush(any());
+        assertEquals(1.0, meterRegistry.counter("hub.inbox.duplicates", "store", "database").count());
+    }
+}
@@ -0,0 +1,88 @@
+package com.deliverar.pagos.adapters.rest.messaging.inbox;
+
+import com.deliverar.pagos.adapters.rest.messaging.events.EventLane;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLaneExecutorsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private EventLaneExecutors eventLaneExecutors;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.lanes.payments.partitions", "4")
+                .withProperty("app.lanes.payments.db-connections", "1")
+                .withProperty("app.lanes.queries.partitions", "1")
+                .withProperty("app.lanes.queries.db-connections", "1");
+        eventLaneExecutors = new EventLaneExecutors(environment, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventLaneExecutors.shutdown();
+    }
+
+    @Test
+    void dispatch_ShouldNotExceedDbConnectionBudgetOfLane() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Runnable task = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+        };
+
+        CompletableFuture.allOf(IntStream.range(0, 8)
+                .mapToObj(i -> eventLaneExecutors.dispatch(EventLane.PAYMENTS, "owner" + i + "@example.com", task))
+                .toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void dispatch_BusyQueriesLane_ShouldNotDelayPayments() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> report = eventLaneExecutors.dispatch(EventLane.QUERIES, null, () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        eventLaneExecutors.dispatch(EventLane.PAYMENTS, "a@example.com", () -> {
+        }).get(5, TimeUnit.SECONDS);
+
+        assertFalse(report.isDone());
+        assertEquals(1, meterRegistry.get("hub.events.latency").tag("lane", "payments").timer().count());
+        release.countDown();
+        report.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void forTopic_ShouldSeparateReportsFromPayments() {
+        assertEquals(EventLane.PAYMENTS, EventLane.forTopic("fiat.payment.request"));
+        assertEquals(EventLane.PAYMENTS, EventLane.forTopic("buy.crypto.request"));
+        assertEquals(EventLane.QUERIES, EventLane.forTopic("get.all.fiat.transactions.request"));
+        assertEquals(EventLane.PAYMENTS, EventLane.forTopic("wallet.creation.request"));
+        assertEquals(EventLane.ADMIN, EventLane.forTopic("unknown.topic"));
+    }
+}
@@ -0,0 +1,174 @@
+package com.deliverar.pagos.adapters.rest.messaging.inbox;
+
+import com.deliverar.pagos.adapters.rest.messaging.commands.BaseCommand;
+import com.deliverar.pagos.adapters.rest.messaging.commands.CommandManager;
+import com.deliverar.pagos.adapters.rest.messaging.commands.CommandResult;
+import com.deliverar.pagos.adapters.rest.messaging.core.EventPublisher;
+import com.deliverar.pagos.adapters.rest.messaging.core.EventRouter;
+import com.deliverar.pagos.adapters.rest.messaging.events.EventLane;
+import com.deliverar.pagos.adapters.rest.messaging.events.EventType;
+import com.deliverar.pagos.adapters.rest.messaging.events.IncomingEvent;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.EventPayloadReader;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.OwnerPayload;
+import com.deliverar.pagos.adapters.rest.messaging.events.payloads.TransferPayload;
+import com.deliverar.pagos.domain.entities.InboxEvent;
+import com.deliverar.pagos.domain.entities.InboxStatus;
+import com.deliverar.pagos.domain.repositories.InboxEventRepository;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InboxWorkerTest {
+
+    @Mock
+    private EventInbox eventInbox;
+
+    @Mock
+    private EventRouter eventRouter;
+
+    @Mock
+    private InboxEventRepository inboxEventRepository;
+
+    @Mock
+    private EventLaneExecutors eventLaneExecutors;
+
+    private InboxWorker inboxWorker;
+
+    @BeforeEach
+    void setUp() {
+        inboxWorker = new InboxWorker(eventInbox, eventRouter,
+                new EventPayloadReader(JsonMapper.builder().findAndAddModules().build()),
+                inboxEventRepository, eventLaneExecutors, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(inboxWorker, "batchSize", 2);
+        lenient().when(eventLaneExecutors.dispatch(any(), any(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    @Test
+    void drain_FullBatch_ShouldRouteAndClaimAgain() {
+        String payload = "{\"fromEmail\":\"Ana@Example.com\",\"toEmail\":\"b@example.com\",\"amount\":\"10.5\"}";
+        InboxEvent first = event(payload);
+        InboxEvent second = event(payload);
+        when(eventInbox.claim(EventLane.PAYMENTS, 2)).thenReturn(List.of(first, second), List.of());
+
+        inboxWorker.drain(EventLane.PAYMENTS);
+
+        verify(eventLaneExecutors, times(2)).dispatch(eq(EventLane.PAYMENTS), eq("ana@example.com"), any());
+        ArgumentCaptor<IncomingEvent> routed = ArgumentCaptor.forClass(IncomingEvent.class);
+        verify(eventRouter, times(2)).routeEvent(routed.capture());
+        assertEquals(first.getId().toString(), routed.getAllValues().get(0).getCorrelationId());
+        assertEquals("external-hub", routed.getAllValues().get(0).getSource());
+        TransferPayload body = assertInstanceOf(TransferPayload.class, routed.getAllValues().get(0).getBody());
+        assertEquals(new BigDecimal("10.5"), body.amount());
+        verify(eventInbox).markDone(first.getId());
+        verify(eventInbox).markDone(second.getId());
+        verify(eventInbox, times(2)).claim(EventLane.PAYMENTS, 2);
+    }
+
+    @Test
+    void drain_WhenRoutingFails_ShouldMarkEventFailed() {
+        InboxEvent event = event("{\"fromEmail\":\"a@example.com\",\"toEmail\":\"b@example.com\",\"amount\":1}");
+        when(eventInbox.claim(EventLane.PAYMENTS, 2)).thenReturn(List.of(event));
+        doThrow(new IllegalStateException("boom")).when(eventRouter).routeEvent(any());
+        when(eventInbox.markFailed(eq(event.getId()), anyString())).thenReturn(InboxStatus.PENDING);
+
+        inboxWorker.drain(EventLane.PAYMENTS);
+
+        verify(eventInbox).markFailed(event.getId(), "boom");
+        verify(eventInbox, never()).markDone(any());
+        verify(eventInbox, times(1)).claim(EventLane.PAYMENTS, 2);
+    }
+
+    @Test
+    void drain_WhenCommandHitsInfrastructureFailure_ShouldPutEventBackToPending() {
+        InboxEvent event = event("{\"fromEmail\":\"a@example.com\",\"toEmail\":\"b@example.com\",\"amount\":1}");
+        EventInbox realInbox = new EventInbox(inboxEventRepository, null, null);
+        ReflectionTestUtils.setField(realInbox, "lease", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(realInbox, "maxAttempts", 5);
+        ReflectionTestUtils.setField(realInbox, "retryBackoff", Duration.ofSeconds(10));
+        when(inboxEventRepository.lockClaimable(any(), eq(EventLane.PAYMENTS.getName()), eq(2))).thenReturn(List.of(event));
+        when(inboxEventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        BaseCommand failing = new BaseCommand() {
+            @Override
+            protected CommandResult process(IncomingEvent incoming) {
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+
+            @Override
+            public boolean canHandle(EventType eventType) {
+                return EventType.FIAT_PAYMENT_REQUEST.equals(eventType);
+            }
+        };
+        EventPublisher eventPublisher = mock(EventPublisher.class);
+        InboxWorker worker = new InboxWorker(realInbox, new EventRouter(new CommandManager(List.of(failing)), eventPublisher),
+                new EventPayloadReader(JsonMapper.builder().findAndAddModules().build()),
+                inboxEventRepository, eventLaneExecutors, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(worker, "batchSize", 2);
+
+        worker.drain(EventLane.PAYMENTS);
+
+        assertEquals(InboxStatus.PENDING, event.getStatus());
+        assertEquals("connection refused", event.getLastError());
+        assertNull(event.getProcessedAt());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void drain_InvalidPayload_ShouldRejectWithoutRetrying() {
+        InboxEvent event = event("{\"fromEmail\":\"a@example.com\",\"toEmail\":\"b@example.com\",\"amount\":\"-3\"}");
+        when(eventInbox.claim(EventLane.PAYMENTS, 2)).thenReturn(List.of(event));
+
+        inboxWorker.drain(EventLane.PAYMENTS);
+
+        ArgumentCaptor<String> reason = ArgumentCaptor.forClass(String.class);
+        verify(eventRouter).rejectEvent(any(IncomingEvent.class), reason.capture());
+        assertTrue(reason.getValue().contains("amount must be positive"));
+        verify(eventRouter, never()).routeEvent(any());
+        verify(eventInbox).markDone(event.getId());
+        verify(eventInbox, never()).markFailed(any(), any());
+    }
+
+    @Test
+    void partitionKey_ShouldUseNormalizedOwnerEmail() {
+        assertEquals("a@example.com", InboxWorker.partitionKey(new OwnerPayload(" A@Example.com", null)));
+        assertEquals("from@example.com", InboxWorker.partitionKey(
+                new TransferPayload("From@example.com", "b@example.com", BigDecimal.ONE, null, null)));
+        assertNull(InboxWorker.partitionKey(null));
+    }
+
+    private static InboxEvent event(String payload) {
+        return InboxEvent.builder()
+                .id(UUID.randomUUID())
+                .topic("fiat.payment.request")
+                .payload(payload)
+                .status(InboxStatus.PROCESSING)
+                .attempts(1)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.deliverar.pagos.adapters.rest.messaging.outbox;
+
+import com.deliverar.pagos.domain.entities.OutboxEvent;
+import com.deliverar.pagos.domain.entities.OutboxStatus;
+import com.deliverar.pagos.domain.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventOutboxTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private EventOutbox eventOutbox;
+
+    @BeforeEach
+    void setUp() {
+        eventOutbox = new EventOutbox(outboxEventRepository, new ObjectMapper());
+        ReflectionTestUtils.setField(eventOutbox, "maxAttempts", 3);
+        ReflectionTestUtils.setField(eventOutbox, "initialBackoff", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(eventOutbox, "maxBackoff", Duration.ofSeconds(5));
+    }
+
+    @Test
+    void backoff_ShouldDoubleUpToMax() {
+        assertEquals(Duration.ofSeconds(1), eventOutbox.backoff(1));
+        assertEquals(Duration.ofSeconds(2), eventOutbox.backoff(2));
+        assertEquals(Duration.ofSeconds(4), eventOutbox.backoff(3));
+        assertEquals(Duration.ofSeconds(5), eventOutbox.backoff(4));
+        assertEquals(Duration.ofSeconds(5), eventOutbox.backoff(100));
+    }
+
+    @Test
+    void markFailed_BeforeLastAttempt_ShouldStayPendingWithBackoff() {
+        OutboxEvent event = OutboxEvent.builder().id(1L).attempts(2).availableAt(Instant.EPOCH).build();
+        when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        assertEquals(OutboxStatus.PENDING, eventOutbox.markFailed(1L, "hub down"));
+        assertTrue(event.getAvailableAt().isAfter(Instant.now().plusMillis(1500)));
+        assertEquals("hub down", event.getLastError());
+    }
+
+    @Test
+    void markFailed_LastAttempt_ShouldMarkFailed() {
+        OutboxEvent event = OutboxEvent.builder().id(1L).attempts(3).build();
+        when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        assertEquals(OutboxStatus.FAILED, eventOutbox.markFailed(1L, "hub down"));
+    }
+}
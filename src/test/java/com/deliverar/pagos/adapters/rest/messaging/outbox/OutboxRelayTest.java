@@ -0,0 +1,95 @@
+package com.deliverar.pagos.adapters.rest.messaging.outbox;
+
+import com.deliverar.pagos.adapters.rest.messaging.core.HubPublisher;
+import com.deliverar.pagos.adapters.rest.messaging.core.dtos.ImmutableEvent;
+import com.deliverar.pagos.domain.entities.OutboxEvent;
+import com.deliverar.pagos.domain.entities.OutboxStatus;
+import com.deliverar.pagos.domain.repositories.OutboxEventRepository;
+import com.deliverar.pagos.infrastructure.concurrency.Workload;
+import com.deliverar.pagos.infrastructure.concurrency.WorkloadExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private EventOutbox eventOutbox;
+
+    @Mock
+    private HubPublisher hubPublisher;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private WorkloadExecutors workloadExecutors;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(eventOutbox, hubPublisher, outboxEventRepository, workloadExecutors, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 10);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeout", Duration.ofSeconds(1));
+        lenient().when(workloadExecutors.executor(Workload.OUTBOX)).thenReturn(Runnable::run);
+    }
+
+    @Test
+    void relay_SameCorrelation_ShouldSendInClaimOrder() throws Exception {
+        OutboxEvent first = event(1L);
+        OutboxEvent second = event(2L);
+        when(eventOutbox.claim(10)).thenReturn(List.of(first), List.of(second), List.of());
+        when(eventOutbox.payload(any())).thenReturn(Map.of("status", "SUCCESS"));
+        when(hubPublisher.publishOnce(any())).thenReturn(Mono.empty());
+
+        outboxRelay.relay();
+
+        var order = inOrder(eventOutbox);
+        order.verify(eventOutbox).markSent(1L);
+        order.verify(eventOutbox).markSent(2L);
+        verify(hubPublisher, times(2)).publishOnce(new ImmutableEvent("crypto.payment.response", Map.of("status", "SUCCESS")));
+    }
+
+    @Test
+    void relay_WhenHubFails_ShouldScheduleRetry() throws Exception {
+        OutboxEvent event = event(1L);
+        when(eventOutbox.claim(10)).thenReturn(List.of(event), List.of());
+        when(eventOutbox.payload(event)).thenReturn(Map.of());
+        when(hubPublisher.publishOnce(any())).thenReturn(Mono.error(new IllegalStateException("hub down")));
+        when(eventOutbox.markFailed(eq(1L), anyString())).thenReturn(OutboxStatus.PENDING);
+
+        outboxRelay.relay();
+
+        verify(eventOutbox).markFailed(1L, "hub down");
+        verify(eventOutbox, never()).markSent(any());
+    }
+
+    private static OutboxEvent event(Long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .topic("crypto.payment.response")
+                .payload("{}")
+                .correlationId("corr-1")
+                .attempts(1)
+                .createdAt(Instant.now())
+                .availableAt(Instant.now())
+                .build();
+    }
+}
@@ -1,7 +1,9 @@
 package com.deliverar.pagos.application.controllers;
 
+import com.deliverar.pagos.adapters.crypto.service.BalanceReconciliationService;
 import com.deliverar.pagos.adapters.crypto.service.DeliverCoinService;
 import com.deliverar.pagos.domain.dtos.MintBurnRequest;
+import com.deliverar.pagos.domain.dtos.ReconciliationResult;
 import com.deliverar.pagos.domain.dtos.TransactionResponse;
 import com.deliverar.pagos.domain.dtos.TransferRequest;
 import com.deliverar.pagos.domain.dtos.BuyCryptoRequest;
@@ -25,6 +27,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -34,6 +37,9 @@ class DeliverCoinControllerTest {
     @Mock
     private DeliverCoinService deliverCoinService;
 
+    @Mock
+    private BalanceReconciliationService balanceReconciliationService;
+
     @InjectMocks
     private DeliverCoinController controller;
 
@@ -323,7 +329,7 @@ class DeliverCoinControllerTest {
     @Test
     void syncOwnerBalance_ShouldReturnSuccessMessage() throws Exception {
         DeliverCoinService service = mock(DeliverCoinService.class);
-        DeliverCoinController controller = new DeliverCoinController(service);
+        DeliverCoinController controller = new DeliverCoinController(service, mock(BalanceReconciliationService.class));
 
         String email = "owner@example.com";
         ResponseEntity<Map<String, String>> response = controller.syncOwnerBalance(email);
@@ -336,7 +342,7 @@ class DeliverCoinControllerTest {
     @Test
     void syncOwnerBalance_ShouldReturnErrorOnException() throws Exception {
         DeliverCoinService service = mock(DeliverCoinService.class);
-        DeliverCoinController controller = new DeliverCoinController(service);
+        DeliverCoinController controller = new DeliverCoinController(service, mock(BalanceReconciliationService.class));
 
         String email = "fail@example.com";
         doThrow(new RuntimeException("sync error")).when(service).syncBalance(email);
@@ -347,4 +353,24 @@ class DeliverCoinControllerTest {
         assertEquals("sync error", response.getBody().get("error"));
         verify(service).syncBalance(email);
     }
+
+    @Test
+    void reconcileBalances_ShouldReturnResult() {
+        ReconciliationResult result = ReconciliationResult.builder().checked(10).corrected(2).build();
+        when(balanceReconciliationService.reconcile()).thenReturn(result);
+
+        ResponseEntity<Object> response = controller.reconcileBalances();
+
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(result, response.getBody());
+    }
+
+    @Test
+    void reconcileBalances_AlreadyRunning_ShouldReturnBadRequest() {
+        when(balanceReconciliationService.reconcile()).thenThrow(new BadRequestException("Reconciliation already running"));
+
+        ResponseEntity<Object> response = controller.reconcileBalances();
+
+        assertEquals(400, response.getStatusCode().value());
+    }
 }
@@ -4,6 +4,8 @@ import com.deliverar.pagos.application.mappers.OwnerMapper;
 import com.deliverar.pagos.domain.dtos.CreateOwnerRequest;
 import com.deliverar.pagos.domain.dtos.FiatExchangeRequest;
 import com.deliverar.pagos.domain.dtos.FiatTransactionDto;
+import com.deliverar.pagos.domain.dtos.KeysetPage;
+import com.deliverar.pagos.domain.dtos.TransactionCursor;
 import com.deliverar.pagos.domain.dtos.TransactionDto;
 import com.deliverar.pagos.domain.entities.*;
 import com.deliverar.pagos.domain.usecases.owner.*;
@@ -19,10 +21,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -46,6 +51,10 @@ class OwnerControllerTest {
     @Mock
     private GetOwnerFiatTransactions getOwnerFiatTransactions;
     @Mock
+    private GetOwnerCryptoTransactionsByDate getOwnerCryptoTransactionsByDate;
+    @Mock
+    private GetOwnerFiatTransactionsByDate getOwnerFiatTransactionsByDate;
+    @Mock
     private ExchangeFiat exchangeFiat;
 
     private OwnerController controller;
@@ -53,7 +62,8 @@ class OwnerControllerTest {
 
     @BeforeEach
     void setUp() {
-        controller = new OwnerController(ownerMapper, createOwner, getOwner, getOwnerList, getOwnerTransactions, getOwnerFiatTransactions, exchangeFiat);
+        controller = new OwnerController(ownerMapper, createOwner, getOwner, getOwnerList, getOwnerTransactions, getOwnerFiatTransactions,
+                getOwnerCryptoTransactionsByDate, getOwnerFiatTransactionsByDate, exchangeFiat);
         mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
         ownerId = UUID.randomUUID();
     }
@@ -75,11 +85,11 @@ class OwnerControllerTest {
 
     @Test
     void getTransactions_ReturnsPage() throws Exception {
-        Transaction tx = Transaction.builder().id(UUID.randomUUID()).build();
-        Page<Transaction> page = new PageImpl<>(List.of(tx));
+        OwnerTransactionHistory row = OwnerTransactionHistory.builder().transactionId(UUID.randomUUID()).build();
+        Page<OwnerTransactionHistory> page = new PageImpl<>(List.of(row));
         when(getOwner.get(ownerId)).thenReturn(Owner.builder().id(ownerId).build());
         when(getOwnerTransactions.get(any(), anyInt(), anyInt(), any())).thenReturn(page);
-        when(ownerMapper.toTransactionDtos(anyList())).thenReturn(List.of(new TransactionDto()));
+        when(ownerMapper.toHistoryDtos(any(), anyList())).thenReturn(List.of(new TransactionDto()));
 
         mockMvc.perform(get("/api/owners/" + ownerId + "/transactions").param("page", "0").param("size", "1").param("direction", "ASC")).andExpect(status().isOk()).andExpect(jsonPath("$.transactions").isArray()).andExpect(jsonPath("$.totalElements").value(1)).andExpect(jsonPath("$.page").value(0)).andExpect(jsonPath("$.size").value(1));
     }
@@ -95,6 +105,28 @@ class OwnerControllerTest {
         mockMvc.perform(get("/api/owners/" + ownerId + "/transactions/fiat").param("page", "0").param("size", "1").param("direction", "DESC")).andExpect(status().isOk()).andExpect(jsonPath("$.transactions").isArray()).andExpect(jsonPath("$.totalElements").value(1));
     }
 
+    @Test
+    void getTransactionsByCursor_ReturnsNextCursor() throws Exception {
+        Owner owner = Owner.builder().id(ownerId).build();
+        TransactionCursor after = new TransactionCursor(Instant.parse("2025-05-01T10:00:00Z"), UUID.randomUUID());
+        TransactionCursor next = new TransactionCursor(Instant.parse("2025-04-30T08:00:00Z"), UUID.randomUUID());
+        OwnerTransactionHistory row = OwnerTransactionHistory.builder().transactionId(next.id()).transactionDate(next.transactionDate()).build();
+        when(getOwner.get(ownerId)).thenReturn(owner);
+        when(getOwnerCryptoTransactionsByDate.get(owner, Optional.empty(), Optional.of(after), 1))
+                .thenReturn(new KeysetPage<>(List.of(row), next));
+        when(ownerMapper.toHistoryDtos(eq(owner), anyList())).thenReturn(List.of(new TransactionDto()));
+
+        mockMvc.perform(get("/api/owners/" + ownerId + "/transactions/cursor").param("size", "1").param("cursor", after.encode())).andExpect(status().isOk()).andExpect(jsonPath("$.transactions").isArray()).andExpect(jsonPath("$.size").value(1)).andExpect(jsonPath("$.hasNext").value(true)).andExpect(jsonPath("$.nextCursor").value(next.encode()));
+        verify(getOwnerCryptoTransactionsByDate).get(owner, Optional.empty(), Optional.of(after), 1);
+    }
+
+    @Test
+    void getFiatTransactionsByCursor_InvalidCursor_ReturnsBadRequest() throws Exception {
+        when(getOwner.get(ownerId)).thenReturn(Owner.builder().id(ownerId).build());
+
+        mockMvc.perform(get("/api/owners/" + ownerId + "/transactions/fiat/cursor").param("cursor", "not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
     @Test
     void exchangeOwnerFiat_ReturnsAmount() throws Exception {
         FiatExchangeRequest req = new FiatExchangeRequest(BigDecimal.TEN, ExchangeOperation.INFLOW);
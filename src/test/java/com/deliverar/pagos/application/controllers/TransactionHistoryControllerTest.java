@@ -1,8 +1,11 @@
 package com.deliverar.pagos.application.controllers;
 
 import com.deliverar.pagos.application.mappers.OwnerMapper;
+import com.deliverar.pagos.domain.dtos.KeysetPage;
 import com.deliverar.pagos.domain.dtos.TransactionDto;
 import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.usecases.user.GetAllCryptoTransactionsByDate;
+import com.deliverar.pagos.domain.usecases.user.GetAllFiatTransactionsByDate;
 import com.deliverar.pagos.domain.usecases.user.GetFiatTransactions;
 import com.deliverar.pagos.domain.usecases.user.GetTransactions;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +21,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.Mockito.verify;
@@ -37,12 +41,17 @@ class TransactionHistoryControllerTest {
     private GetTransactions getTransactions;
     @Mock
     private GetFiatTransactions getFiatTransactions;
+    @Mock
+    private GetAllCryptoTransactionsByDate getAllCryptoTransactionsByDate;
+    @Mock
+    private GetAllFiatTransactionsByDate getAllFiatTransactionsByDate;
 
     private TransactionHistoryController controller;
 
     @BeforeEach
     void setUp() {
-        controller = new TransactionHistoryController(ownerMapper, getTransactions, getFiatTransactions);
+        controller = new TransactionHistoryController(ownerMapper, getTransactions, getFiatTransactions,
+                getAllCryptoTransactionsByDate, getAllFiatTransactionsByDate);
         mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
     }
 
@@ -111,4 +120,23 @@ class TransactionHistoryControllerTest {
         verify(getTransactions).get(1, 5, Sort.Direction.ASC);
         verify(ownerMapper).toTransactionDtos(page.getContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getTransactionsByCursor_FirstPage_ReturnsSliceWithoutCursor() throws Exception {
+        UUID id = UUID.randomUUID();
+        Transaction tx = Transaction.builder().id(id).build();
+        when(getAllCryptoTransactionsByDate.get(Optional.empty(), Optional.empty(), 1000))
+                .thenReturn(new KeysetPage<>(List.of(tx), null));
+        when(ownerMapper.toTransactionDtos(List.of(tx))).thenReturn(List.of(TransactionDto.builder().id(id).build()));
+
+        // Act & Assert: el tamaño pedido se recorta al máximo
+        mockMvc.perform(get("/api/transactions/cursor").param("size", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].id").value(id.toString()))
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(getAllCryptoTransactionsByDate).get(Optional.empty(), Optional.empty(), 1000);
+    }
+}
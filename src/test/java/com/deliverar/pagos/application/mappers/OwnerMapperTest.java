@@ -98,6 +98,25 @@ class OwnerMapperTest {
         assertEquals(tx.getId(), list.get(0).getId());
     }
 
+    @Test
+    void toHistoryDto_IncomingRow_ShouldPutOwnerAsDestination() {
+        Owner sender = Owner.builder().id(UUID.randomUUID()).email("sender@example.com").build();
+        tx.setOriginOwner(sender);
+        OwnerTransactionHistory incoming = OwnerTransactionHistory.rowsOf(tx).get(1);
+
+        TransactionDto dto = mapper.toHistoryDto(owner, incoming);
+
+        assertEquals(tx.getId(), dto.getId());
+        assertEquals(sender.getId(), dto.getOriginOwner().getId());
+        assertEquals("sender@example.com", dto.getOriginOwner().getEmail());
+        assertEquals(owner.getEmail(), dto.getDestinationOwner().getEmail());
+        assertEquals(tx.getAmount(), dto.getAmount());
+        assertEquals(tx.getConversionRate(), dto.getConversionRate());
+        assertEquals(tx.getBlockchainTxHash(), dto.getBlockchainTxHash());
+        assertEquals(tx.getCreatedAt(), dto.getCreatedAt());
+        assertEquals(tx.getStatus(), dto.getStatus());
+    }
+
     @Test
     void toFiatTransactionDto_MapsAllFields() {
         FiatTransactionDto dto = mapper.toFiatTransactionDto(fiatTx);
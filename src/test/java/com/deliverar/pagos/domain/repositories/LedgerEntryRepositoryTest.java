@@ -0,0 +1,98 @@
+package com.deliverar.pagos.domain.repositories;
+
+import com.deliverar.pagos.adapters.crypto.service.LedgerVerificationJob;
+import com.deliverar.pagos.domain.dtos.LedgerPosting;
+import com.deliverar.pagos.domain.entities.CurrencyType;
+import com.deliverar.pagos.domain.entities.LedgerAccount;
+import com.deliverar.pagos.domain.exceptions.BadRequestException;
+import com.deliverar.pagos.domain.usecases.ledger.PostToLedger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs postings against the schema of the Flyway migrations and checks that the wallet balances
+ * and the verification queries agree with the entries.
+ */
+@SpringBootTest
+class LedgerEntryRepositoryTest {
+
+    @Autowired
+    private PostToLedger postToLedger;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private LedgerVerificationJob ledgerVerificationJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID reference = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO wallets (id, fiat_balance, crypto_balance, created_at, updated_at) " +
+                            "VALUES (?, 0, 0, ?, ?), (?, 0, 0, ?, ?)", alice, now, now, bob, now, now);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM ledger_entries WHERE reference_id = ?", reference);
+        jdbcTemplate.update("DELETE FROM wallets WHERE id IN (?, ?)", alice, bob);
+    }
+
+    @Test
+    void post_ShouldMoveWalletBalancesAndKeepLedgerBalanced() {
+        postToLedger.post(LedgerPosting.credit(LedgerAccount.FIAT_GATEWAY, alice, CurrencyType.FIAT,
+                new BigDecimal("100.00"), "DEPOSIT", reference));
+        postToLedger.post(LedgerPosting.between(alice, bob, CurrencyType.FIAT,
+                new BigDecimal("40.00"), "PAYMENT", reference));
+
+        assertEquals(0, new BigDecimal("60.00").compareTo(walletRepository.findFiatBalance(alice).orElseThrow()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(walletRepository.findFiatBalance(bob).orElseThrow()));
+        assertEquals(0, new BigDecimal("60.00").compareTo(
+                ledgerEntryRepository.balanceAt(alice, CurrencyType.FIAT, Instant.now())));
+        assertTrue(ledgerVerificationJob.verify());
+    }
+
+    @Test
+    void post_RequiringFundsBeyondBalance_ShouldRejectAndLeaveBalances() {
+        postToLedger.post(LedgerPosting.credit(LedgerAccount.FIAT_GATEWAY, alice, CurrencyType.FIAT,
+                new BigDecimal("30.00"), "DEPOSIT", reference));
+
+        assertThrows(BadRequestException.class, () -> postToLedger.post(LedgerPosting.between(alice, bob,
+                CurrencyType.FIAT, new BigDecimal("30.01"), "PAYMENT", reference).requiringFunds()));
+
+        assertEquals(0, new BigDecimal("30.00").compareTo(walletRepository.findFiatBalance(alice).orElseThrow()));
+        assertEquals(0, walletRepository.findFiatBalance(bob).orElseThrow().signum());
+    }
+
+    @Test
+    void findDriftedWallets_BalanceWrittenOutsideLedger_ShouldReportWallet() {
+        postToLedger.post(LedgerPosting.credit(LedgerAccount.ISSUANCE, alice, CurrencyType.CRYPTO,
+                new BigDecimal("5.00"), "MINT", reference));
+        jdbcTemplate.update("UPDATE wallets SET crypto_balance = 7 WHERE id = ?", alice);
+
+        assertTrue(ledgerEntryRepository.findDriftedWallets(PageRequest.of(0, 100)).contains(alice));
+        assertFalse(ledgerEntryRepository.findDriftedWallets(PageRequest.of(0, 100)).contains(bob));
+    }
+}
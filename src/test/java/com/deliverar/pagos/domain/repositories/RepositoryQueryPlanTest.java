@@ -0,0 +1,133 @@
+package com.deliverar.pagos.domain.repositories;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks on the schema created by the Flyway migrations that the hot repository queries are
+ * answered from an index. The SQL mirrors the JPQL of the repositories; the keyset pages must seek
+ * to the cursor date in the index and read it in order, so a deep page costs the same as the first.
+ */
+@SpringBootTest
+class RepositoryQueryPlanTest {
+
+    private static final String KEYSET = "AND %1$s.transaction_date <= ? " +
+                                         "AND (%1$s.transaction_date < ? OR (%1$s.transaction_date = ? AND %1$s.%2$s < ?)) " +
+                                         "ORDER BY %3$s%1$s.transaction_date DESC, %1$s.%2$s DESC LIMIT 11";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID aliceWallet = UUID.randomUUID();
+    private final UUID bobWallet = UUID.randomUUID();
+    private final Timestamp now = Timestamp.from(Instant.now());
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO wallets (id, fiat_balance, crypto_balance, created_at, updated_at) " +
+                            "VALUES (?, 0, 0, ?, ?), (?, 0, 0, ?, ?)", aliceWallet, now, now, bobWallet, now, now);
+        jdbcTemplate.update("INSERT INTO owners (id, name, email, owner_type, wallet_id) " +
+                            "VALUES (?, 'Alice', ?, 'CLIENT', ?), (?, 'Bob', ?, 'CLIENT', ?)",
+                alice, alice + "@plan.test", aliceWallet, bob, bob + "@plan.test", bobWallet);
+        for (int i = 0; i < 300; i++) {
+            Timestamp date = Timestamp.from(now.toInstant().minusSeconds(i * 3600L));
+            UUID from = i % 2 == 0 ? alice : bob;
+            UUID to = i % 2 == 0 ? bob : alice;
+            jdbcTemplate.update("INSERT INTO fiat_transactions (id, owner_id, amount, currency, concept, status, transaction_date, created_at) " +
+                                "VALUES (?, ?, 1, 'FIAT', 'DEPOSIT', 'SUCCESS', ?, ?)", UUID.randomUUID(), from, date, date);
+            UUID transactionId = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO transactions (id, origin_owner_id, destination_owner_id, amount, currency, conversion_rate, " +
+                                "status, netted, transaction_date, created_at, updated_at) " +
+                                "VALUES (?, ?, ?, 1, 'CRYPTO', 1, 'SUCCESS', false, ?, ?, ?)", transactionId, from, to, date, date, date);
+            jdbcTemplate.update("INSERT INTO owner_transaction_history (id, transaction_id, owner_id, direction, counterparty_id, " +
+                                "counterparty_email, amount, currency, conversion_rate, status, transaction_date, created_at) " +
+                                "VALUES (?, ?, ?, 'OUT', ?, 'x', -1, 'CRYPTO', 1, 'SUCCESS', ?, ?), (?, ?, ?, 'IN', ?, 'x', 1, 'CRYPTO', 1, 'SUCCESS', ?, ?)",
+                    UUID.randomUUID(), transactionId, from, to, date, date, UUID.randomUUID(), transactionId, to, from, date, date);
+        }
+        // Sin estadísticas H2 no distingue entre índices de tablas vacías
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM owner_transaction_history WHERE owner_id IN (?, ?)", alice, bob);
+        jdbcTemplate.update("DELETE FROM transactions WHERE origin_owner_id IN (?, ?)", alice, bob);
+        jdbcTemplate.update("DELETE FROM fiat_transactions WHERE owner_id IN (?, ?)", alice, bob);
+        jdbcTemplate.update("DELETE FROM owners WHERE id IN (?, ?)", alice, bob);
+        jdbcTemplate.update("DELETE FROM wallets WHERE id IN (?, ?)", aliceWallet, bobWallet);
+    }
+
+    @Test
+    void ownerCryptoHistory_ShouldSeekOnOwnerDateIndexWithoutSorting() {
+        String plan = plan("SELECT * FROM owner_transaction_history h WHERE h.owner_id = ? AND h.transaction_date >= ? " +
+                           KEYSET.formatted("h", "transaction_id", "h.owner_id DESC, "),
+                alice, Instant.EPOCH, now, now, now, UUID.randomUUID());
+
+        assertSeeksInOrder(plan, "idx_owner_history_owner_date");
+    }
+
+    @Test
+    void allCryptoHistory_ShouldSeekOnDateIndexWithoutSorting() {
+        String plan = plan("SELECT * FROM transactions t WHERE t.transaction_date >= ? " + KEYSET.formatted("t", "id", ""),
+                Instant.EPOCH, now, now, now, UUID.randomUUID());
+
+        assertSeeksInOrder(plan, "idx_transactions_date");
+    }
+
+    @Test
+    void ownerFiatHistory_ShouldSeekOnOwnerDateIndexWithoutSorting() {
+        String plan = plan("SELECT * FROM fiat_transactions ft WHERE ft.owner_id = ? AND ft.transaction_date >= ? " +
+                           KEYSET.formatted("ft", "id", "ft.owner_id DESC, "),
+                alice, Instant.EPOCH, now, now, now, UUID.randomUUID());
+
+        assertSeeksInOrder(plan, "idx_fiat_transactions_owner_date");
+    }
+
+    @Test
+    void transactionsByHash_ShouldUseHashIndex() {
+        String plan = plan("SELECT * FROM transactions t WHERE t.blockchain_tx_hash = ?", "0xabc");
+
+        assertTrue(plan.contains("idx_transactions_tx_hash"), plan);
+    }
+
+    @Test
+    void ownerByEmail_ShouldNotScanTheTable() {
+        String plan = plan("SELECT * FROM owners o WHERE o.email = ?", alice + "@plan.test");
+
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    /**
+     * The index must be bounded by the cursor date (a seek, not a walk from the newest row) and
+     * return the rows already in page order.
+     */
+    private static void assertSeeksInOrder(String plan, String index) {
+        int start = plan.indexOf(index + ":");
+        assertTrue(start >= 0, plan);
+        String condition = plan.substring(start, plan.indexOf("*/", start));
+        assertTrue(condition.contains("transaction_date <="), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    private String plan(String sql, Object... args) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof Instant instant) {
+                args[i] = Timestamp.from(instant);
+            }
+        }
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+}
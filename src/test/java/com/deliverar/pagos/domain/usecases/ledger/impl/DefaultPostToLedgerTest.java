@@ -0,0 +1,75 @@
+package com.deliverar.pagos.domain.usecases.ledger.impl;
+
+import com.deliverar.pagos.domain.dtos.LedgerPosting;
+import com.deliverar.pagos.domain.entities.CurrencyType;
+import com.deliverar.pagos.domain.entities.LedgerAccount;
+import com.deliverar.pagos.domain.exceptions.BadRequestException;
+import com.deliverar.pagos.domain.repositories.LedgerEntryRepository;
+import com.deliverar.pagos.domain.repositories.WalletRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultPostToLedgerTest {
+
+    private static final UUID LOW = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID HIGH = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @InjectMocks
+    private DefaultPostToLedger postToLedger;
+
+    @Test
+    void post_RequiringFunds_ShouldUseConditionalWithdraw() {
+        when(walletRepository.withdrawFiat(eq(HIGH), eq(AMOUNT), any())).thenReturn(1);
+
+        postToLedger.post(LedgerPosting.debit(HIGH, LedgerAccount.FIAT_GATEWAY, CurrencyType.FIAT, AMOUNT,
+                "WITHDRAWAL", null).requiringFunds());
+
+        verify(walletRepository, never()).addFiat(any(), any(), any());
+        verify(ledgerEntryRepository).saveAll(any());
+    }
+
+    @Test
+    void post_InsufficientFunds_ShouldThrowWithoutWritingEntries() {
+        when(walletRepository.withdrawFiat(eq(LOW), eq(AMOUNT), any())).thenReturn(0);
+
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> postToLedger.post(
+                LedgerPosting.between(LOW, HIGH, CurrencyType.FIAT, AMOUNT, "PAYMENT", null).requiringFunds()));
+
+        assertEquals("Insufficient fiat balance", ex.getMessage());
+        verifyNoInteractions(ledgerEntryRepository);
+    }
+
+    @Test
+    void post_BetweenWallets_ShouldUpdateInWalletIdOrder() {
+        when(walletRepository.addCrypto(eq(LOW), any(), any())).thenReturn(1);
+        when(walletRepository.withdrawCrypto(eq(HIGH), eq(AMOUNT), any())).thenReturn(1);
+
+        postToLedger.post(LedgerPosting.between(HIGH, LOW, CurrencyType.CRYPTO, AMOUNT, "TRANSFER", null)
+                .requiringFunds());
+
+        InOrder inOrder = inOrder(walletRepository);
+        inOrder.verify(walletRepository).addCrypto(eq(LOW), eq(AMOUNT), any());
+        inOrder.verify(walletRepository).withdrawCrypto(eq(HIGH), eq(AMOUNT), any());
+    }
+}
@@ -1,9 +1,13 @@
 package com.deliverar.pagos.domain.usecases.owner.impl;
 
+import com.deliverar.pagos.domain.dtos.LedgerPosting;
+import com.deliverar.pagos.domain.entities.CurrencyType;
+import com.deliverar.pagos.domain.entities.LedgerAccount;
 import com.deliverar.pagos.domain.entities.Owner;
 import com.deliverar.pagos.domain.entities.OwnerType;
 import com.deliverar.pagos.domain.entities.Wallet;
 import com.deliverar.pagos.domain.repositories.OwnerRepository;
+import com.deliverar.pagos.domain.usecases.ledger.PostToLedger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +31,9 @@ class DefaultCreateOwnerTest {
     @Mock
     private OwnerRepository ownerRepository;
 
+    @Mock
+    private PostToLedger postToLedger;
+
     @InjectMocks
     private DefaultCreateOwner createOwner;
 
@@ -50,6 +57,7 @@ class DefaultCreateOwnerTest {
                 .ownerType(ownerType)
                 .wallet(
                         Wallet.builder()
+                                .id(UUID.randomUUID())
                                 .fiatBalance(initialFiatBalance)
                                 .cryptoBalance(initialCryptoBalance)
                                 .createdAt(Instant.now())
@@ -76,8 +84,15 @@ class DefaultCreateOwnerTest {
         assertEquals(email, toSave.getEmail(), "Owner email should match input");
         assertEquals(ownerType, toSave.getOwnerType(), "OwnerType should match input");
         assertNotNull(toSave.getWallet(), "Wallet should be initialized");
-        assertEquals(initialFiatBalance, toSave.getWallet().getFiatBalance(), "Initial fiat balance should match input");
-        assertEquals(initialCryptoBalance, toSave.getWallet().getCryptoBalance(), "Initial crypto balance should match input");
+        assertEquals(0, toSave.getWallet().getFiatBalance().signum(), "Wallet should be created empty");
+        assertEquals(0, toSave.getWallet().getCryptoBalance().signum(), "Wallet should be created empty");
+        UUID walletId = stubOwner.getWallet().getId();
+        verify(postToLedger).post(LedgerPosting.adjust(walletId, LedgerAccount.OPENING, CurrencyType.FIAT,
+                initialFiatBalance, "OPENING", null));
+        verify(postToLedger).post(LedgerPosting.adjust(walletId, LedgerAccount.OPENING, CurrencyType.CRYPTO,
+                initialCryptoBalance, "OPENING", null));
+        assertEquals(initialFiatBalance, result.getWallet().getFiatBalance(), "Initial fiat balance should match input");
+        assertEquals(initialCryptoBalance, result.getWallet().getCryptoBalance(), "Initial crypto balance should match input");
         assertNotNull(toSave.getWallet().getCreatedAt(), "Wallet creation time should be set");
         assertNotNull(toSave.getWallet().getUpdatedAt(), "Wallet update time should be set");
     }
@@ -1,12 +1,11 @@
 package com.deliverar.pagos.domain.usecases.owner.impl;
 
-import com.deliverar.pagos.domain.entities.ExchangeOperation;
-import com.deliverar.pagos.domain.entities.Owner;
-import com.deliverar.pagos.domain.entities.OwnerType;
-import com.deliverar.pagos.domain.entities.Wallet;
+import com.deliverar.pagos.domain.dtos.LedgerPosting;
+import com.deliverar.pagos.domain.entities.*;
 import com.deliverar.pagos.domain.exceptions.BadRequestException;
 import com.deliverar.pagos.domain.repositories.FiatTransactionRepository;
-import com.deliverar.pagos.domain.repositories.OwnerRepository;
+import com.deliverar.pagos.domain.repositories.WalletRepository;
+import com.deliverar.pagos.domain.usecases.ledger.PostToLedger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -27,10 +27,13 @@ import static org.mockito.Mockito.*;
 class DefaultExchangeFiatTest {
 
     @Mock
-    private OwnerRepository ownerRepository;
+    private FiatTransactionRepository fiatTransactionRepository;
 
     @Mock
-    private FiatTransactionRepository fiatTransactionRepository;
+    private WalletRepository walletRepository;
+
+    @Mock
+    private PostToLedger postToLedger;
 
     @InjectMocks
     private DefaultExchangeFiat exchangeFiat;
@@ -40,6 +43,7 @@ class DefaultExchangeFiatTest {
     @BeforeEach
     void setUp() {
         Wallet wallet = Wallet.builder()
+                .id(UUID.randomUUID())
                 .fiatBalance(new BigDecimal("100.00"))
                 .cryptoBalance(BigDecimal.ZERO)
                 .createdAt(Instant.now())
@@ -56,31 +60,41 @@ class DefaultExchangeFiatTest {
 
     @Test
     void exchange_Inflow_ShouldIncreaseBalance() {
+        UUID walletId = owner.getWallet().getId();
+        when(walletRepository.findFiatBalance(walletId)).thenReturn(Optional.of(new BigDecimal("150.00")));
+
         BigDecimal result = exchangeFiat.exchange(owner, new BigDecimal("50.00"), ExchangeOperation.INFLOW);
 
         assertEquals(new BigDecimal("150.00"), result);
-        ArgumentCaptor<Owner> captor = ArgumentCaptor.forClass(Owner.class);
-        verify(ownerRepository, times(1)).save(captor.capture());
-        verify(fiatTransactionRepository, times(1)).save(any());
-        assertEquals(new BigDecimal("150.00"), captor.getValue().getWallet().getFiatBalance());
+        ArgumentCaptor<FiatTransaction> captor = ArgumentCaptor.forClass(FiatTransaction.class);
+        verify(fiatTransactionRepository, times(1)).save(captor.capture());
+        verify(postToLedger).post(LedgerPosting.credit(LedgerAccount.FIAT_GATEWAY, walletId, CurrencyType.FIAT,
+                new BigDecimal("50.00"), "DEPOSIT", captor.getValue().getId()));
+        assertEquals(new BigDecimal("150.00"), owner.getWallet().getFiatBalance());
     }
 
     @Test
     void exchange_Outflow_ShouldDecreaseBalance() {
+        UUID walletId = owner.getWallet().getId();
+        when(walletRepository.findFiatBalance(walletId)).thenReturn(Optional.of(new BigDecimal("70.00")));
+
         BigDecimal result = exchangeFiat.exchange(owner, new BigDecimal("30.00"), ExchangeOperation.OUTFLOW);
 
         assertEquals(new BigDecimal("70.00"), result);
         verify(fiatTransactionRepository, times(1)).save(any());
-        verify(ownerRepository, times(1)).save(owner);
+        verify(postToLedger).post(LedgerPosting.debit(walletId, LedgerAccount.FIAT_GATEWAY, CurrencyType.FIAT,
+                new BigDecimal("30.00"), "WITHDRAWAL", null).requiringFunds());
     }
 
     @Test
     void exchange_Outflow_ShouldThrow_WhenInsufficientBalance() {
+        doThrow(new BadRequestException("Insufficient fiat balance")).when(postToLedger).post(any());
+
         BadRequestException ex = assertThrows(BadRequestException.class,
                 () -> exchangeFiat.exchange(owner, new BigDecimal("150.00"), ExchangeOperation.OUTFLOW)
         );
         assertEquals("Insufficient fiat balance", ex.getMessage());
-        verify(ownerRepository, never()).save(any());
+        verifyNoInteractions(walletRepository);
     }
 
     @Test
@@ -2,9 +2,10 @@ package com.deliverar.pagos.domain.usecases.owner.impl;
 
 import com.deliverar.pagos.domain.entities.CurrencyType;
 import com.deliverar.pagos.domain.entities.Owner;
-import com.deliverar.pagos.domain.entities.Transaction;
+import com.deliverar.pagos.domain.entities.OwnerTransactionHistory;
 import com.deliverar.pagos.domain.entities.TransactionStatus;
-import com.deliverar.pagos.domain.repositories.TransactionRepository;
+import com.deliverar.pagos.domain.entities.TransferDirection;
+import com.deliverar.pagos.domain.repositories.OwnerTransactionHistoryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,8 +13,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
@@ -30,7 +31,7 @@ import static org.mockito.Mockito.*;
 class DefaultGetOwnerTransactionsTest {
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private OwnerTransactionHistoryRepository historyRepository;
 
     @InjectMocks
     private DefaultGetOwnerTransactions getTransactions;
@@ -51,26 +52,25 @@ class DefaultGetOwnerTransactionsTest {
         int page = 1;
         int size = 2;
         Sort.Direction direction = Sort.Direction.DESC;
-        Transaction t1 = Transaction.builder()
-                .id(UUID.randomUUID())
-                .originOwner(owner)
-                .destinationOwner(owner)
-                .amount(new BigDecimal("10"))
-                .currency(CurrencyType.FIAT)
+        OwnerTransactionHistory t1 = OwnerTransactionHistory.builder()
+                .transactionId(UUID.randomUUID())
+                .ownerId(owner.getId())
+                .direction(TransferDirection.OUT)
+                .counterpartyEmail("alice@example.com")
+                .amount(new BigDecimal("-10"))
+                .currency(CurrencyType.CRYPTO)
                 .status(TransactionStatus.SUCCESS)
                 .transactionDate(Instant.now())
                 .build();
-        List<Transaction> list = List.of(t1);
-        Page<Transaction> stubPage = new PageImpl<>(list);
-        when(transactionRepository.findByOriginOwner_IdOrDestinationOwner_Id(
-                eq(owner.getId()), eq(owner.getId()), any())).thenReturn(stubPage);
+        List<OwnerTransactionHistory> list = List.of(t1);
+        Slice<OwnerTransactionHistory> stubPage = new SliceImpl<>(list);
+        when(historyRepository.findByOwnerId(eq(owner.getId()), any())).thenReturn(stubPage);
 
-        Page<Transaction> result = getTransactions.get(owner, page, size, direction);
+        Slice<OwnerTransactionHistory> result = getTransactions.get(owner, page, size, direction);
 
         assertEquals(stubPage, result, "Expected stub page to be returned");
         ArgumentCaptor<org.springframework.data.domain.Pageable> captor = ArgumentCaptor.forClass(org.springframework.data.domain.Pageable.class);
-        verify(transactionRepository, times(1))
-                .findByOriginOwner_IdOrDestinationOwner_Id(eq(owner.getId()), eq(owner.getId()), captor.capture());
+        verify(historyRepository, times(1)).findByOwnerId(eq(owner.getId()), captor.capture());
         var pageable = captor.getValue();
         assertEquals(page, pageable.getPageNumber());
         assertEquals(size, pageable.getPageSize());
@@ -79,12 +79,11 @@ class DefaultGetOwnerTransactionsTest {
 
     @Test
     void get_ShouldReturnEmptyPage_WhenNoTransactions() {
-        when(transactionRepository.findByOriginOwner_IdOrDestinationOwner_Id(
-                any(), any(), any())).thenReturn(Page.empty());
+        when(historyRepository.findByOwnerId(any(), any())).thenReturn(new SliceImpl<>(List.of()));
 
-        Page<Transaction> result = getTransactions.get(owner, 0, 10, Sort.Direction.ASC);
+        Slice<OwnerTransactionHistory> result = getTransactions.get(owner, 0, 10, Sort.Direction.ASC);
 
         assertTrue(result.isEmpty(), "Expected empty page when no transactions found");
-        verify(transactionRepository).findByOriginOwner_IdOrDestinationOwner_Id(eq(owner.getId()), eq(owner.getId()), any());
+        verify(historyRepository).findByOwnerId(eq(owner.getId()), any());
     }
 }
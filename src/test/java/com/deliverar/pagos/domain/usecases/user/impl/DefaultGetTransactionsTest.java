@@ -10,9 +10,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
@@ -75,15 +75,15 @@ class DefaultGetTransactionsTest {
         int page = 0, size = 5;
         Sort.Direction dir = Sort.Direction.ASC;
         List<Transaction> content = List.of(tx1, tx2);
-        Page<Transaction> stubPage = new PageImpl<>(content);
-        when(transactionRepository.findAll(any(Pageable.class)))
+        Slice<Transaction> stubPage = new SliceImpl<>(content);
+        when(transactionRepository.findAllWithOwners(any(Pageable.class)))
                 .thenReturn(stubPage);
 
-        Page<Transaction> result = getTransactions.get(page, size, dir);
+        Slice<Transaction> result = getTransactions.get(page, size, dir);
 
-        assertSame(stubPage, result, "Expected the same Page returned from repository");
+        assertSame(stubPage, result, "Expected the same Slice returned from repository");
         ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-        verify(transactionRepository, times(1)).findAll(captor.capture());
+        verify(transactionRepository, times(1)).findAllWithOwners(captor.capture());
 
         Pageable pg = captor.getValue();
         assertEquals(page, pg.getPageNumber(), "Page number should match");
@@ -94,12 +94,12 @@ class DefaultGetTransactionsTest {
 
     @Test
     void get_ShouldReturnEmptyPage_WhenRepositoryReturnsEmpty() {
-        when(transactionRepository.findAll(any(Pageable.class)))
-                .thenReturn(Page.empty());
+        when(transactionRepository.findAllWithOwners(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
 
-        Page<Transaction> result = getTransactions.get(0, 10, Sort.Direction.DESC);
+        Slice<Transaction> result = getTransactions.get(0, 10, Sort.Direction.DESC);
 
         assertTrue(result.isEmpty(), "Expected an empty page when no transactions found");
-        verify(transactionRepository).findAll(any(Pageable.class));
+        verify(transactionRepository).findAllWithOwners(any(Pageable.class));
     }
 }
@@ -0,0 +1,88 @@
+package com.deliverar.pagos.infrastructure.concurrency;
+
+import com.deliverar.pagos.domain.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedDispatcherTest {
+
+    private PartitionedDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new PartitionedDispatcher("test", 4, 1, Duration.ofSeconds(1), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_SameKey_ShouldRunInSubmissionOrder() throws Exception {
+        PartitionedDispatcher ordered = new PartitionedDispatcher("test", 4, 100, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture.allOf(IntStream.range(0, 50)
+                .mapToObj(i -> ordered.dispatch("owner@example.com", () -> executed.add(i)))
+                .toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(IntStream.range(0, 50).boxed().toList(), executed);
+        ordered.shutdown();
+    }
+
+    @Test
+    void dispatch_DifferentLanes_ShouldRunInParallel() throws Exception {
+        String first = "a@example.com";
+        String second = IntStream.range(0, 100).mapToObj(i -> "b" + i + "@example.com")
+                .filter(key -> dispatcher.lane(key) != dispatcher.lane(first))
+                .findFirst().orElseThrow();
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        Runnable waitForOther = () -> {
+            bothRunning.countDown();
+            try {
+                assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        CompletableFuture.allOf(dispatcher.dispatch(first, waitForOther), dispatcher.dispatch(second, waitForOther))
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void dispatch_FullLane_ShouldFailWithServiceUnavailable() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocked = () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        dispatcher.dispatch("a@example.com", blocked);
+        dispatcher.dispatch("a@example.com", blocked);
+
+        CompletableFuture<Void> rejected = dispatcher.dispatch("a@example.com", () -> {
+        });
+
+        ExecutionException error = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(ServiceUnavailableException.class, error.getCause());
+        release.countDown();
+    }
+}
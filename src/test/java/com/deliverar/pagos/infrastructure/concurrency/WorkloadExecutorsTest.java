@@ -0,0 +1,70 @@
+package com.deliverar.pagos.infrastructure.concurrency;
+
+import com.deliverar.pagos.domain.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadExecutorsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private WorkloadExecutors workloadExecutors;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.executors.commands.max-concurrency", "1")
+                .withProperty("app.executors.commands.queue-capacity", "1");
+        workloadExecutors = new WorkloadExecutors(environment, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workloadExecutors.shutdown();
+    }
+
+    @Test
+    void execute_RunsTaskOnVirtualThread() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        boolean[] virtual = new boolean[1];
+
+        workloadExecutors.execute(Workload.COMMANDS, () -> {
+            virtual[0] = Thread.currentThread().isVirtual();
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(virtual[0]);
+    }
+
+    @Test
+    void execute_WhenSaturated_ShouldThrowServiceUnavailableAndCountRejection() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        workloadExecutors.execute(Workload.COMMANDS, blocking);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        workloadExecutors.execute(Workload.COMMANDS, blocking);
+
+        assertThrows(ServiceUnavailableException.class, () -> workloadExecutors.execute(Workload.COMMANDS, blocking));
+        assertEquals(1.0, meterRegistry.get("executor.rejected").tag("name", "commands").counter().count());
+
+        release.countDown();
+    }
+}